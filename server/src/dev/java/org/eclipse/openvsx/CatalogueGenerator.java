@@ -0,0 +1,522 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx;
+
+import org.eclipse.openvsx.entities.FileResource;
+import org.eclipse.openvsx.entities.NamespaceMembership;
+import org.eclipse.openvsx.jooq.tables.records.*;
+import org.eclipse.openvsx.util.NamingUtil;
+import org.eclipse.openvsx.util.TargetPlatform;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.SQLDialect;
+import org.jooq.Sequence;
+import org.jooq.Table;
+import org.jooq.TableRecord;
+import org.jooq.impl.DSL;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.eclipse.openvsx.jooq.Sequences.*;
+import static org.eclipse.openvsx.jooq.Tables.*;
+
+/**
+ * Seeds a local database and storage directory with a deterministic catalogue of namespaces,
+ * extensions, versions, target platforms and file resources, bypassing the publish endpoint.
+ * The same seed and size always yield the same catalogue, so load test results of different
+ * commits are comparable.
+ * <p>
+ * Besides the catalogue, the generator writes Gatling feeders to the output directory, which
+ * the {@code MixedWorkloadSimulation} replays. The server must not run while the catalogue
+ * is generated, because the entity sequences are moved past the generated ids.
+ * <p>
+ * Run with {@code ./gradlew generateCatalogue -Pextensions=10000}, see {@code src/gatling/README.md}.
+ */
+public class CatalogueGenerator {
+
+    private static final String[] WORDS = {
+            "python", "java", "rust", "go", "docker", "yaml", "json", "git", "theme", "dark", "light", "icons",
+            "lint", "format", "snippets", "debug", "test", "markdown", "sql", "kotlin", "vue", "react", "angular",
+            "svelte", "terraform", "kubernetes", "ansible", "remote", "jupyter", "csv", "xml", "html", "css", "php",
+            "ruby", "dart", "flutter", "cpp", "cmake", "latex"
+    };
+    private static final String[] CATEGORIES = {
+            "Programming Languages", "Snippets", "Linters", "Themes", "Debuggers", "Formatters",
+            "Keymaps", "SCM Providers", "Other", "Extension Packs", "Language Packs", "Data Science",
+            "Machine Learning", "Visualization", "Notebooks", "Education", "Testing"
+    };
+    private static final String[] SORT_BYS = { "relevance", "relevance", "downloadCount", "averageRating", "timestamp" };
+    private static final String[] PLATFORM_SPECIFIC = {
+            TargetPlatform.NAME_LINUX_X64, TargetPlatform.NAME_WIN32_X64, TargetPlatform.NAME_DARWIN_ARM64
+    };
+    private static final String[] FILES = { "package.json", "README.md", "extension.vsixmanifest" };
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2020, 1, 1, 0, 0);
+    private static final int BATCH_SIZE = 500;
+    private static final int ID_GAP = 100;
+
+    private final int extensionCount;
+    private final long seed;
+    private final String jdbcUrl;
+    private final String jdbcUser;
+    private final String jdbcPassword;
+    private final Path storageDir;
+    private final Path outputDir;
+    private final boolean writeFiles;
+    private final int samples;
+    private final String tokenValue;
+
+    private final Map<Sequence<Long>, Long> nextIds = new HashMap<>();
+    private final List<GeneratedExtension> generated = new ArrayList<>();
+
+    public static void main(String[] args) throws Exception {
+        var options = new HashMap<String, String>();
+        for(var arg : args) {
+            var separator = arg.indexOf('=');
+            if(!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected arguments in the form --name=value: " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        new CatalogueGenerator(options).run();
+    }
+
+    public CatalogueGenerator(Map<String, String> options) {
+        this.extensionCount = Integer.parseInt(options.getOrDefault("extensions", "10000"));
+        this.seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        this.jdbcUrl = options.getOrDefault("jdbc-url", "jdbc:postgresql://localhost:5432/postgres");
+        this.jdbcUser = options.getOrDefault("jdbc-user", "gitpod");
+        this.jdbcPassword = options.getOrDefault("jdbc-password", "gitpod");
+        this.storageDir = Path.of(options.getOrDefault("storage", "/tmp"));
+        this.outputDir = Path.of(options.getOrDefault("output", "build/catalogue"));
+        this.writeFiles = Boolean.parseBoolean(options.getOrDefault("files", "true"));
+        this.samples = Integer.parseInt(options.getOrDefault("samples", "10000"));
+        this.tokenValue = "catalogue_token_" + seed;
+    }
+
+    public void run() throws SQLException, IOException {
+        var start = System.currentTimeMillis();
+        try (var connection = DriverManager.getConnection(jdbcUrl, jdbcUser, jdbcPassword)) {
+            var dsl = DSL.using(connection, SQLDialect.POSTGRES);
+            var random = new Random(seed);
+            var namespaceNames = namespaceNames(random);
+            if(dsl.fetchExists(NAMESPACE, NAMESPACE.NAME.eq(namespaceNames[0]))) {
+                throw new IllegalStateException("The catalogue with seed " + seed + " has already been generated. "
+                        + "Empty the database or use a different seed.");
+            }
+
+            reserveIds(dsl);
+            var tokenId = dsl.transactionResult(configuration -> createPublisher(configuration.dsl()));
+            var namespaceIds = dsl.transactionResult(configuration -> createNamespaces(configuration.dsl(), namespaceNames, tokenId));
+            for(var offset = 0; offset < extensionCount; offset += BATCH_SIZE) {
+                var end = Math.min(offset + BATCH_SIZE, extensionCount);
+                var batchOffset = offset;
+                dsl.transaction(configuration -> createExtensions(configuration.dsl(), random, batchOffset, end, namespaceNames, namespaceIds, tokenId));
+                System.out.printf("Generated %d of %d extensions%n", end, extensionCount);
+            }
+
+            updateSequences(dsl);
+        }
+
+        writeFeeders(new Random(seed + 1));
+        System.out.printf("Generated %d extensions with %d versions in %d s, feeders written to %s%n",
+                extensionCount, generated.stream().mapToInt(e -> e.versions().size()).sum(),
+                (System.currentTimeMillis() - start) / 1000, outputDir.toAbsolutePath());
+    }
+
+    private String[] namespaceNames(Random random) {
+        var names = new String[Math.max(1, extensionCount / 8)];
+        for(var i = 0; i < names.length; i++) {
+            names[i] = WORDS[random.nextInt(WORDS.length)] + "-publisher-" + seed + "-" + i;
+        }
+
+        return names;
+    }
+
+    /**
+     * Start the generated ids after the ids in use, including the blocks that the server may have allocated.
+     */
+    private void reserveIds(DSLContext dsl) {
+        reserveIds(dsl, USER_DATA_SEQ, USER_DATA, USER_DATA.ID);
+        reserveIds(dsl, PERSONAL_ACCESS_TOKEN_SEQ, PERSONAL_ACCESS_TOKEN, PERSONAL_ACCESS_TOKEN.ID);
+        reserveIds(dsl, NAMESPACE_SEQ, NAMESPACE, NAMESPACE.ID);
+        reserveIds(dsl, NAMESPACE_MEMBERSHIP_SEQ, NAMESPACE_MEMBERSHIP, NAMESPACE_MEMBERSHIP.ID);
+        reserveIds(dsl, EXTENSION_SEQ, EXTENSION, EXTENSION.ID);
+        reserveIds(dsl, EXTENSION_VERSION_SEQ, EXTENSION_VERSION, EXTENSION_VERSION.ID);
+        reserveIds(dsl, FILE_RESOURCE_SEQ, FILE_RESOURCE, FILE_RESOURCE.ID);
+    }
+
+    private void reserveIds(DSLContext dsl, Sequence<Long> sequence, Table<?> table, Field<Long> id) {
+        var maxId = Optional.ofNullable(dsl.select(DSL.max(id)).from(table).fetchOne(0, Long.class)).orElse(0L);
+        var sequenceValue = dsl.nextval(sequence);
+        nextIds.put(sequence, Math.max(maxId, sequenceValue) + 1);
+    }
+
+    private long nextId(Sequence<Long> sequence) {
+        return nextIds.merge(sequence, 1L, Long::sum) - 1;
+    }
+
+    /**
+     * Move the sequences past the generated ids, so that the server doesn't allocate them again.
+     */
+    private void updateSequences(DSLContext dsl) {
+        nextIds.forEach((sequence, nextId) -> dsl.alterSequence(sequence).restartWith(nextId + ID_GAP).execute());
+    }
+
+    private long createPublisher(DSLContext dsl) {
+        var token = dsl.selectFrom(PERSONAL_ACCESS_TOKEN).where(PERSONAL_ACCESS_TOKEN.VALUE.eq(tokenValue)).fetchOne();
+        if(token != null) {
+            return token.getId();
+        }
+
+        var user = dsl.newRecord(USER_DATA);
+        user.setId(nextId(USER_DATA_SEQ));
+        user.setLoginName("catalogue_publisher_" + seed);
+        user.setProvider("github");
+        user.store();
+
+        token = dsl.newRecord(PERSONAL_ACCESS_TOKEN);
+        token.setId(nextId(PERSONAL_ACCESS_TOKEN_SEQ));
+        token.setUserData(user.getId());
+        token.setValue(tokenValue);
+        token.setActive(true);
+        token.setCreatedTimestamp(LocalDateTime.now());
+        token.setAccessedTimestamp(LocalDateTime.now());
+        token.setDescription("Publisher of the generated catalogue");
+        token.store();
+        return token.getId();
+    }
+
+    private long[] createNamespaces(DSLContext dsl, String[] names, long tokenId) {
+        var userId = dsl.select(PERSONAL_ACCESS_TOKEN.USER_DATA).from(PERSONAL_ACCESS_TOKEN)
+                .where(PERSONAL_ACCESS_TOKEN.ID.eq(tokenId))
+                .fetchOne(PERSONAL_ACCESS_TOKEN.USER_DATA);
+
+        var random = new Random(seed);
+        var ids = new long[names.length];
+        var records = new ArrayList<TableRecord<?>>();
+        for(var i = 0; i < names.length; i++) {
+            var namespace = new NamespaceRecord();
+            namespace.setId(nextId(NAMESPACE_SEQ));
+            namespace.setName(names[i]);
+            namespace.setPublicId(uuid(random));
+            records.add(namespace);
+            ids[i] = namespace.getId();
+
+            var membership = new NamespaceMembershipRecord();
+            membership.setId(nextId(NAMESPACE_MEMBERSHIP_SEQ));
+            membership.setNamespace(namespace.getId());
+            membership.setUserData(userId);
+            membership.setRole(NamespaceMembership.ROLE_OWNER);
+            records.add(membership);
+        }
+
+        dsl.batchInsert(records).execute();
+        return ids;
+    }
+
+    private void createExtensions(
+            DSLContext dsl,
+            Random random,
+            int offset,
+            int end,
+            String[] namespaceNames,
+            long[] namespaceIds,
+            long tokenId
+    ) throws IOException {
+        var extensions = new ArrayList<ExtensionRecord>();
+        var versions = new ArrayList<ExtensionVersionRecord>();
+        var resources = new ArrayList<FileResourceRecord>();
+        for(var i = offset; i < end; i++) {
+            // a few namespaces publish many extensions, most publish only a few
+            var namespaceIndex = (int) (namespaceIds.length * Math.pow(random.nextDouble(), 2));
+            var namespaceName = namespaceNames[namespaceIndex];
+            var words = new String[] { WORDS[random.nextInt(WORDS.length)], WORDS[random.nextInt(WORDS.length)] };
+            var name = words[0] + "-" + words[1] + "-" + i;
+
+            var extension = new ExtensionRecord();
+            extension.setId(nextId(EXTENSION_SEQ));
+            extension.setPublicId(uuid(random));
+            extension.setNamespaceId(namespaceIds[namespaceIndex]);
+            extension.setName(name);
+            extension.setActive(true);
+            extension.setDeprecated(random.nextInt(50) == 0);
+            extension.setDownloadable(true);
+            // the download counts follow a power law, the extensions with lower indexes are more popular
+            extension.setDownloadCount((int) (10_000_000 / Math.pow(i + 1, 0.8)));
+            if(random.nextInt(3) == 0) {
+                extension.setReviewCount((long) random.nextInt(200) + 1);
+                extension.setAverageRating(1.0 + random.nextInt(41) / 10.0);
+            }
+            extensions.add(extension);
+
+            var generatedVersions = new ArrayList<GeneratedVersion>();
+            var versionCount = 1 + (int) Math.floor(-Math.log(1 - random.nextDouble()) * 2);
+            var platformSpecific = random.nextInt(100) < 15;
+            var timestamp = EPOCH.plusMinutes(random.nextInt(1_000_000));
+            for(var v = 0; v < versionCount; v++) {
+                var version = "1." + v + "." + random.nextInt(10);
+                var preRelease = v == versionCount - 1 && versionCount > 1 && random.nextInt(10) == 0;
+                timestamp = timestamp.plusHours(1 + random.nextInt(24 * 60));
+                var targetPlatforms = platformSpecific ? PLATFORM_SPECIFIC : new String[] { TargetPlatform.NAME_UNIVERSAL };
+                for(var targetPlatform : targetPlatforms) {
+                    var extVersion = new ExtensionVersionRecord();
+                    extVersion.setId(nextId(EXTENSION_VERSION_SEQ));
+                    extVersion.setExtensionId(extension.getId());
+                    extVersion.setVersion(version);
+                    extVersion.setSemverMajor(1);
+                    extVersion.setSemverMinor(v);
+                    extVersion.setSemverPatch(Integer.parseInt(version.substring(version.lastIndexOf('.') + 1)));
+                    extVersion.setSemverIsPreRelease(false);
+                    extVersion.setTargetPlatform(targetPlatform);
+                    extVersion.setUniversalTargetPlatform(TargetPlatform.isUniversal(targetPlatform));
+                    extVersion.setPreRelease(preRelease);
+                    extVersion.setPreview(false);
+                    extVersion.setActive(true);
+                    extVersion.setPotentiallyMalicious(false);
+                    extVersion.setTimestamp(timestamp);
+                    extVersion.setPublishedWithId(tokenId);
+                    extVersion.setDisplayName(capitalize(words[0]) + " " + capitalize(words[1]));
+                    extVersion.setDescription("Adds " + words[0] + " and " + words[1] + " support, generated with seed " + seed);
+                    extVersion.setLicense("EPL-2.0");
+                    extVersion.setEngines(new String[] { "vscode@^1.70.0" });
+                    extVersion.setCategories(new String[] { CATEGORIES[random.nextInt(CATEGORIES.length)] });
+                    extVersion.setTags(new String[] { words[0], words[1], WORDS[random.nextInt(WORDS.length)] });
+                    extVersion.setExtensionKind(new String[] { "workspace" });
+                    extVersion.setRepository("https://github.com/" + namespaceName + "/" + name);
+                    versions.add(extVersion);
+
+                    var fileNames = new ArrayList<String>();
+                    var download = NamingUtil.toFileFormat(namespaceName, name, targetPlatform, version, ".vsix");
+                    fileNames.add(download);
+                    resources.add(resource(extVersion, FileResource.DOWNLOAD, download));
+                    resources.add(resource(extVersion, FileResource.MANIFEST, FILES[0]));
+                    resources.add(resource(extVersion, FileResource.README, FILES[1]));
+                    resources.add(resource(extVersion, FileResource.VSIXMANIFEST, FILES[2]));
+                    fileNames.addAll(List.of(FILES));
+                    if(writeFiles) {
+                        writeFiles(namespaceName, name, targetPlatform, version, download, extVersion);
+                    }
+
+                    generatedVersions.add(new GeneratedVersion(version, targetPlatform, fileNames));
+                }
+            }
+
+            generated.add(new GeneratedExtension(namespaceName, name, generatedVersions));
+        }
+
+        dsl.batchInsert(extensions).execute();
+        dsl.batchInsert(versions).execute();
+        dsl.batchInsert(resources).execute();
+    }
+
+    private FileResourceRecord resource(ExtensionVersionRecord extVersion, String type, String name) {
+        var resource = new FileResourceRecord();
+        resource.setId(nextId(FILE_RESOURCE_SEQ));
+        resource.setExtensionId(extVersion.getId());
+        resource.setType(type);
+        resource.setName(name);
+        resource.setStorageType(FileResource.STORAGE_LOCAL);
+        return resource;
+    }
+
+    /**
+     * Write the files of a version to the same location as {@code LocalStorageService}.
+     */
+    private void writeFiles(
+            String namespaceName,
+            String extensionName,
+            String targetPlatform,
+            String version,
+            String download,
+            ExtensionVersionRecord extVersion
+    ) throws IOException {
+        var dir = storageDir.resolve(namespaceName).resolve(extensionName);
+        if(!TargetPlatform.isUniversal(targetPlatform)) {
+            dir = dir.resolve(targetPlatform);
+        }
+        dir = Files.createDirectories(dir.resolve(version));
+
+        var packageJson = packageJson(namespaceName, extensionName, version, extVersion);
+        var readme = "# " + extVersion.getDisplayName() + "\n\n" + extVersion.getDescription() + "\n";
+        var vsixManifest = vsixManifest(namespaceName, extensionName, version, targetPlatform, extVersion);
+        Files.writeString(dir.resolve(FILES[0]), packageJson);
+        Files.writeString(dir.resolve(FILES[1]), readme);
+        Files.writeString(dir.resolve(FILES[2]), vsixManifest);
+        Files.write(dir.resolve(download), vsix(packageJson, readme, vsixManifest));
+    }
+
+    private byte[] vsix(String packageJson, String readme, String vsixManifest) {
+        var bytes = new ByteArrayOutputStream();
+        try (var zip = new ZipOutputStream(bytes)) {
+            putEntry(zip, "extension.vsixmanifest", vsixManifest);
+            putEntry(zip, "extension/package.json", packageJson);
+            putEntry(zip, "extension/README.md", readme);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private void putEntry(ZipOutputStream zip, String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    private String packageJson(String namespaceName, String extensionName, String version, ExtensionVersionRecord extVersion) {
+        return """
+                {
+                  "name": "%s",
+                  "publisher": "%s",
+                  "version": "%s",
+                  "displayName": "%s",
+                  "description": "%s",
+                  "license": "%s",
+                  "engines": { "vscode": "^1.70.0" },
+                  "categories": ["%s"]
+                }
+                """.formatted(extensionName, namespaceName, version, extVersion.getDisplayName(),
+                extVersion.getDescription(), extVersion.getLicense(), extVersion.getCategories()[0]);
+    }
+
+    private String vsixManifest(String namespaceName, String extensionName, String version, String targetPlatform, ExtensionVersionRecord extVersion) {
+        var targetPlatformAttribute = TargetPlatform.isUniversal(targetPlatform) ? "" : " TargetPlatform=\"" + targetPlatform + "\"";
+        return """
+                <?xml version="1.0" encoding="utf-8"?>
+                <PackageManifest Version="2.0.0" xmlns="http://schemas.microsoft.com/developer/vsx-schema/2011">
+                  <Metadata>
+                    <Identity Language="en-US" Id="%s" Version="%s" Publisher="%s"%s/>
+                    <DisplayName>%s</DisplayName>
+                    <Description xml:space="preserve">%s</Description>
+                    <Tags>%s</Tags>
+                    <Categories>%s</Categories>
+                    <GalleryFlags>Public</GalleryFlags>
+                    <Properties>
+                      <Property Id="Microsoft.VisualStudio.Code.Engine" Value="^1.70.0" />
+                      <Property Id="Microsoft.VisualStudio.Code.PreRelease" Value="%s" />
+                    </Properties>
+                  </Metadata>
+                  <Installation>
+                    <InstallationTarget Id="Microsoft.VisualStudio.Code"/>
+                  </Installation>
+                  <Dependencies/>
+                  <Assets>
+                    <Asset Type="Microsoft.VisualStudio.Code.Manifest" Path="extension/package.json" Addressable="true" />
+                    <Asset Type="Microsoft.VisualStudio.Services.Content.Details" Path="extension/README.md" Addressable="true" />
+                  </Assets>
+                </PackageManifest>
+                """.formatted(extensionName, version, namespaceName, targetPlatformAttribute, extVersion.getDisplayName(),
+                extVersion.getDescription(), String.join(",", extVersion.getTags()), extVersion.getCategories()[0],
+                extVersion.getPreRelease());
+    }
+
+    /**
+     * Write the Gatling feeders. The requested extensions are sampled with a skew towards
+     * the popular extensions, like the requests of real clients.
+     */
+    private void writeFeeders(Random random) throws IOException {
+        Files.createDirectories(outputDir);
+
+        var extensions = new ArrayList<String>();
+        extensions.add("namespace,name");
+        generated.forEach(e -> extensions.add(e.namespace() + "," + e.name()));
+        Files.write(outputDir.resolve("extensions.csv"), extensions);
+
+        // VS Code checks all installed extensions for updates at once
+        var updateChecks = new ArrayList<String>();
+        updateChecks.add("extensions");
+        for(var i = 0; i < samples; i++) {
+            var installed = new TreeSet<String>();
+            var installedCount = 1 + random.nextInt(30);
+            while(installed.size() < Math.min(installedCount, generated.size())) {
+                var extension = popular(random);
+                installed.add(extension.namespace() + "." + extension.name());
+            }
+            updateChecks.add(String.join(";", installed));
+        }
+        Files.write(outputDir.resolve("update-checks.csv"), updateChecks);
+
+        var assets = new ArrayList<String>();
+        assets.add("path");
+        for(var i = 0; i < samples; i++) {
+            var extension = popular(random);
+            // most clients fetch the assets of the latest version
+            var versions = extension.versions();
+            var version = random.nextInt(4) == 0
+                    ? versions.get(random.nextInt(versions.size()))
+                    : versions.get(versions.size() - 1);
+            var file = version.files().get(random.nextInt(version.files().size()));
+            var segments = new ArrayList<>(List.of("", "api", extension.namespace(), extension.name()));
+            if(!TargetPlatform.isUniversal(version.targetPlatform())) {
+                segments.add(version.targetPlatform());
+            }
+            segments.addAll(List.of(version.version(), "file", file));
+            assets.add(String.join("/", segments));
+        }
+        Files.write(outputDir.resolve("assets.csv"), assets);
+
+        var searches = new ArrayList<String>();
+        searches.add("query");
+        for(var i = 0; i < samples; i++) {
+            var query = new StringJoiner("&");
+            if(random.nextInt(5) > 0) {
+                query.add("query=" + WORDS[random.nextInt(WORDS.length)]);
+            }
+            if(random.nextInt(4) == 0) {
+                query.add("category=" + CATEGORIES[random.nextInt(CATEGORIES.length)].replace(" ", "%20"));
+            }
+            query.add("sortBy=" + SORT_BYS[random.nextInt(SORT_BYS.length)]);
+            query.add("offset=" + (random.nextInt(10) == 0 ? 50 * random.nextInt(5) : 0));
+            query.add("size=" + (random.nextBoolean() ? 50 : 18));
+            searches.add(query.toString());
+        }
+        Files.write(outputDir.resolve("searches.csv"), searches);
+
+        // only universal extensions get new versions, so that no target platform is missing
+        var publishes = new ArrayList<String>();
+        publishes.add("namespace,name");
+        generated.stream()
+                .filter(e -> e.versions().stream().allMatch(v -> TargetPlatform.isUniversal(v.targetPlatform())))
+                .limit(samples)
+                .forEach(e -> publishes.add(e.namespace() + "," + e.name()));
+        Files.write(outputDir.resolve("publishes.csv"), publishes);
+
+        Files.write(outputDir.resolve("access-tokens.csv"), List.of("access_token", tokenValue));
+    }
+
+    private GeneratedExtension popular(Random random) {
+        return generated.get((int) (generated.size() * Math.pow(random.nextDouble(), 3)));
+    }
+
+    private String uuid(Random random) {
+        return new UUID(random.nextLong(), random.nextLong()).toString();
+    }
+
+    private String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    private record GeneratedExtension(String namespace, String name, List<GeneratedVersion> versions) {}
+
+    private record GeneratedVersion(String version, String targetPlatform, List<String> files) {}
+}
@@ -0,0 +1,30 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx
+
+import io.gatling.core.Predef._
+
+import org.eclipse.openvsx.Scenarios._
+
+import scala.concurrent.duration.DurationInt
+
+/**
+ * Sends requests at a constant rate (open workload), so that the throughput and the tail latency
+ * can be compared across catalogue sizes, e.g. with 10k, 50k and 100k generated extensions.
+ */
+class MixedWorkloadSimulation extends Simulation {
+  val requestsPerSecond = conf.getDouble("mixedWorkload.requestsPerSecond")
+  val duration = conf.getInt("mixedWorkload.durationSeconds")
+
+  setUp(mixedWorkloadScenario().inject(
+    rampUsersPerSec(1).to(requestsPerSecond).during(1.minute),
+    constantUsersPerSec(requestsPerSecond).during(duration.seconds)
+  )).protocols(httpProtocol)
+}
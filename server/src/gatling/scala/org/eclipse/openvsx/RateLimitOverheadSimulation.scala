@@ -0,0 +1,22 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx
+
+import io.gatling.core.Predef._
+
+import org.eclipse.openvsx.Scenarios._
+
+/**
+ * Run once with `ovsx.rate-limit.store=jcache` and once with `ovsx.rate-limit.store=postgresql`
+ * and compare the response times to get the per-request overhead of the shared bucket store.
+ */
+class RateLimitOverheadSimulation extends Simulation {
+	setUp(rateLimitedGetNamespaceScenario().inject(atOnceUsers(users))).protocols(httpProtocol)
+}
@@ -15,7 +15,11 @@ import io.gatling.core.session.Expression
 import io.gatling.core.structure.ScenarioBuilder
 import io.gatling.http.Predef._
 
+import java.io.ByteArrayOutputStream
+import java.nio.charset.StandardCharsets
 import java.nio.file.Files
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.zip.{ZipEntry, ZipOutputStream}
 import scala.collection.mutable.ListBuffer
 import scala.concurrent.duration.DurationInt
 import scala.reflect.io.File
@@ -217,6 +221,17 @@ object Scenarios {
       }
   }
 
+  def rateLimitedGetNamespaceScenario(): ScenarioBuilder = {
+    scenario("RegistryAPI: Get Namespace (rate limited)")
+      .repeat(1000) {
+        feed(csv("namespaces.csv").circular)
+          .exec(http("RegistryAPI.getNamespace")
+            .get("""/api/#{namespace}""")
+            .headers(headers())
+            .check(status.in(200, 429)))
+      }
+  }
+
   def getNamespaceDetailsScenario(): ScenarioBuilder = {
     scenario("RegistryAPI: Get Namespace Details")
       .repeat(1000) {
@@ -484,4 +499,114 @@ object Scenarios {
             .check(status.is(200)))
       }
   }
+
+  private def catalogueFeeder(fileName: String) = {
+    csv(conf.getString("catalogueDir") + "/" + fileName)
+  }
+
+  private def syntheticVsix(namespace: String, name: String, version: String): Array[Byte] = {
+    val packageJson =
+      s"""{"name":"$name","publisher":"$namespace","version":"$version","license":"EPL-2.0","engines":{"vscode":"^1.70.0"}}"""
+    val vsixManifest =
+      s"""<?xml version="1.0" encoding="utf-8"?>
+         |<PackageManifest Version="2.0.0" xmlns="http://schemas.microsoft.com/developer/vsx-schema/2011">
+         |  <Metadata>
+         |    <Identity Language="en-US" Id="$name" Version="$version" Publisher="$namespace"/>
+         |    <DisplayName>$name</DisplayName>
+         |    <Description xml:space="preserve">Published by the mixed workload simulation</Description>
+         |    <Categories>Other</Categories>
+         |    <Properties>
+         |      <Property Id="Microsoft.VisualStudio.Code.Engine" Value="^1.70.0" />
+         |    </Properties>
+         |  </Metadata>
+         |</PackageManifest>
+         |""".stripMargin
+
+    val bytes = new ByteArrayOutputStream()
+    val zip = new ZipOutputStream(bytes)
+    for((entry, content) <- Seq("extension.vsixmanifest" -> vsixManifest, "extension/package.json" -> packageJson)) {
+      zip.putNextEntry(new ZipEntry(entry))
+      zip.write(content.getBytes(StandardCharsets.UTF_8))
+      zip.closeEntry()
+    }
+    zip.close()
+    bytes.toByteArray
+  }
+
+  /**
+   * Replays a mix of update checks, asset fetches, searches and publishes against the catalogue
+   * written by `./gradlew generateCatalogue`. Each virtual user sends a single request.
+   */
+  def mixedWorkloadScenario(): ScenarioBuilder = {
+    val updateChecks = catalogueFeeder("update-checks.csv").random
+    val assets = catalogueFeeder("assets.csv").random
+    val searches = catalogueFeeder("searches.csv").random
+    val publishes = catalogueFeeder("publishes.csv").random
+    val accessTokens = catalogueFeeder("access-tokens.csv").circular
+
+    val updateCheckBody: Expression[String] = session => {
+      val extensionIds = session("extensions").as[String].split(';')
+      val criteria = extensionIds.map(id => s"""{"filterType":7,"value":"$id"}""").mkString(",")
+      s"""{"filters":[{"criteria":[{"filterType":8,"value":"Microsoft.VisualStudio.Code"},$criteria,{"filterType":12,"value":"4096"}],""" +
+        s""""pageNumber":1,"pageSize":${extensionIds.length},"sortBy":0,"sortOrder":0}],"assetTypes":[],"flags":950}"""
+    }
+
+    // versions published by this run, newer than the versions of the catalogue
+    val run = (System.currentTimeMillis() / 60000).toInt
+    val publishCount = new AtomicInteger()
+
+    scenario("Mixed Workload")
+      .randomSwitch(
+        60.0 -> feed(updateChecks)
+          .exec(http("Mixed.updateCheck")
+            .post("/vscode/gallery/extensionquery")
+            .headers(headers())
+            .body(StringBody(updateCheckBody)).asJson
+            .check(status.is(200))),
+        28.0 -> feed(assets)
+          .exec(http("Mixed.getFile")
+            .get("#{path}")
+            .headers(headers())
+            .check(status.is(200))),
+        11.5 -> feed(searches)
+          .exec(http("Mixed.search")
+            .get("/api/-/search?#{query}")
+            .headers(headers())
+            .check(status.is(200))),
+        0.5 -> feed(publishes)
+          .feed(accessTokens)
+          .exec(http("Mixed.publish")
+            .post("/api/-/publish")
+            .headers(headers())
+            .queryParam("token", "#{access_token}")
+            .body(ByteArrayBody(session => {
+              val version = s"2.$run.${publishCount.incrementAndGet()}"
+              syntheticVsix(session("namespace").as[String], session("name").as[String], version)
+            }))
+            .requestTimeout(3.minutes)
+            .check(status.is(201)))
+      )
+  }
+
+  def slowUpstreamScenario(): ScenarioBuilder = {
+    // unique names miss the upstream metadata cache, so that every request waits for the upstream server
+    val requestCount = new AtomicInteger()
+    scenario("Slow Upstream: Get Upstream Extension")
+      .exec(session => session.set("upstream_name", s"missing-${requestCount.incrementAndGet()}"))
+      .exec(http("SlowUpstream.getUpstreamExtension")
+        .get("/api/slow-upstream/#{upstream_name}")
+        .headers(headers())
+        .requestTimeout(1.minute)
+        .check(status.is(404)))
+  }
+
+  def localDuringSlowUpstreamScenario(): ScenarioBuilder = {
+    scenario("Slow Upstream: Get Local Extension")
+      .feed(csv("extensions.csv").circular)
+      .exec(http("SlowUpstream.getLocalExtension")
+        .get("/api/#{namespace}/#{name}")
+        .headers(headers())
+        .requestTimeout(1.minute)
+        .check(status.is(200)))
+  }
 }
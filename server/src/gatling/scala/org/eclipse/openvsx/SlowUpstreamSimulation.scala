@@ -0,0 +1,57 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx
+
+import com.sun.net.httpserver.HttpServer
+import io.gatling.core.Predef._
+
+import org.eclipse.openvsx.Scenarios._
+
+import java.net.InetSocketAddress
+import java.nio.charset.StandardCharsets
+import java.util.concurrent.Executors
+import scala.concurrent.duration.DurationInt
+
+/**
+ * Starts an upstream registry that answers every request with a 404 after `slowUpstream.delayMillis`,
+ * and sends requests that are forwarded to it together with requests that the server answers locally.
+ * Start the server with `ovsx.upstream.url` pointing to the stub, once with `spring.threads.virtual.enabled=false`
+ * and once with `spring.threads.virtual.enabled=true` on Java 21, and compare the response times of the local requests.
+ */
+class SlowUpstreamSimulation extends Simulation {
+  val delayMillis = conf.getLong("slowUpstream.delayMillis")
+  val upstreamRequestsPerSecond = conf.getDouble("slowUpstream.requestsPerSecond")
+  val localRequestsPerSecond = conf.getDouble("slowUpstream.localRequestsPerSecond")
+  val duration = conf.getInt("slowUpstream.durationSeconds")
+
+  val upstream = HttpServer.create(new InetSocketAddress(conf.getInt("slowUpstream.port")), 0)
+  upstream.setExecutor(Executors.newCachedThreadPool())
+  upstream.createContext("/", exchange => {
+    Thread.sleep(delayMillis)
+    val body = """{"error":"Extension not found"}""".getBytes(StandardCharsets.UTF_8)
+    exchange.getResponseHeaders.set("Content-Type", "application/json")
+    exchange.sendResponseHeaders(404, body.length)
+    exchange.getResponseBody.write(body)
+    exchange.close()
+  })
+
+  before {
+    upstream.start()
+  }
+
+  after {
+    upstream.stop(0)
+  }
+
+  setUp(
+    slowUpstreamScenario().inject(constantUsersPerSec(upstreamRequestsPerSecond).during(duration.seconds)),
+    localDuringSlowUpstreamScenario().inject(constantUsersPerSec(localRequestsPerSecond).during(duration.seconds))
+  ).protocols(httpProtocol)
+}
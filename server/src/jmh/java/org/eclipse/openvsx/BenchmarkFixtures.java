@@ -0,0 +1,189 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx;
+
+import org.eclipse.openvsx.entities.Extension;
+import org.eclipse.openvsx.entities.ExtensionVersion;
+import org.eclipse.openvsx.entities.Namespace;
+import org.eclipse.openvsx.util.TargetPlatform;
+import org.eclipse.openvsx.util.TempFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Synthetic data for the benchmarks. All fixtures are generated from a fixed seed,
+ * so that the results of different commits are comparable.
+ */
+public final class BenchmarkFixtures {
+
+    public static final long SEED = 20240101L;
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2020, 1, 1, 0, 0);
+    private static final String[] PRE_RELEASE_TAGS = { "alpha", "beta.1", "rc.2", "next.20240101" };
+    private static final String[] CATEGORIES = { "Programming Languages", "Linters", "Formatters", "Snippets", "Themes", "Debuggers" };
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Random semantic versions, about a quarter of them with a pre-release or build metadata suffix.
+     */
+    public static String[] versions(int count) {
+        var random = new Random(SEED);
+        var versions = new String[count];
+        for(var i = 0; i < count; i++) {
+            var version = random.nextInt(5) + "." + random.nextInt(40) + "." + random.nextInt(200);
+            var suffix = random.nextInt(8);
+            if(suffix == 0) {
+                version += "-" + PRE_RELEASE_TAGS[random.nextInt(PRE_RELEASE_TAGS.length)];
+            } else if(suffix == 1) {
+                version += "+build." + random.nextInt(10000);
+            }
+            versions[i] = version;
+        }
+
+        return versions;
+    }
+
+    public static Extension extension(String namespaceName, String extensionName) {
+        var namespace = new Namespace();
+        namespace.setName(namespaceName);
+        var extension = new Extension();
+        extension.setName(extensionName);
+        extension.setNamespace(namespace);
+        extension.setActive(true);
+        return extension;
+    }
+
+    /**
+     * Versions of a single extension, published for a random subset of target platforms.
+     */
+    public static List<ExtensionVersion> extensionVersions(Extension extension, int count) {
+        var random = new Random(SEED);
+        var platforms = TargetPlatform.TARGET_PLATFORM_NAMES;
+        var versions = versions(count);
+        var extVersions = new ArrayList<ExtensionVersion>(count);
+        for(var i = 0; i < count; i++) {
+            var extVersion = new ExtensionVersion();
+            extVersion.setId(i + 1);
+            extVersion.setExtension(extension);
+            extVersion.setVersion(versions[i]);
+            extVersion.setTargetPlatform(platforms.get(random.nextInt(platforms.size())));
+            extVersion.setPreRelease(extVersion.getSemanticVersion().isIsPreRelease());
+            extVersion.setTimestamp(EPOCH.plusMinutes(random.nextInt(2_000_000)));
+            extVersion.setActive(true);
+            extVersion.setDisplayName("Extension " + i);
+            extVersion.setDescription("Synthetic extension version " + versions[i]);
+            extVersion.setCategories(List.of(CATEGORIES[random.nextInt(CATEGORIES.length)]));
+            extVersion.setTags(List.of("tag" + random.nextInt(50), "tag" + random.nextInt(50)));
+            extVersions.add(extVersion);
+        }
+
+        return extVersions;
+    }
+
+    /**
+     * Write a VSIX package with a {@code package.json}, an {@code extension.vsixmanifest} and
+     * the given number of additional files of the given size.
+     */
+    public static TempFile vsix(String namespaceName, String extensionName, String version, int fileCount, int fileSize) throws IOException {
+        var random = new Random(SEED);
+        var file = new TempFile("benchmark", ".vsix");
+        try (var zip = new ZipOutputStream(Files.newOutputStream(file.getPath()))) {
+            putEntry(zip, "extension.vsixmanifest", vsixManifest(namespaceName, extensionName, version).getBytes(StandardCharsets.UTF_8));
+            putEntry(zip, "extension/package.json", packageJson(namespaceName, extensionName, version).getBytes(StandardCharsets.UTF_8));
+            putEntry(zip, "extension/README.md", ("# " + extensionName + "\n\nSynthetic extension.\n").getBytes(StandardCharsets.UTF_8));
+            for(var i = 0; i < fileCount; i++) {
+                var content = new byte[fileSize];
+                random.nextBytes(content);
+                putEntry(zip, "extension/out/file" + i + ".js", content);
+            }
+        }
+
+        return file;
+    }
+
+    private static void putEntry(ZipOutputStream zip, String name, byte[] content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content);
+        zip.closeEntry();
+    }
+
+    private static String packageJson(String namespaceName, String extensionName, String version) {
+        return """
+                {
+                  "name": "%2$s",
+                  "publisher": "%1$s",
+                  "displayName": "Synthetic %2$s",
+                  "description": "Synthetic extension for benchmarks",
+                  "version": "%3$s",
+                  "license": "EPL-2.0",
+                  "engines": { "vscode": "^1.70.0" },
+                  "categories": ["Programming Languages", "Linters"],
+                  "keywords": ["benchmark", "synthetic", "Benchmark"],
+                  "repository": { "type": "git", "url": "https://github.com/%1$s/%2$s" },
+                  "main": "./out/file0.js",
+                  "contributes": {
+                    "commands": [
+                      { "command": "%2$s.run", "title": "Run" },
+                      { "command": "%2$s.stop", "title": "Stop" }
+                    ]
+                  }
+                }
+                """.formatted(namespaceName, extensionName, version);
+    }
+
+    private static String vsixManifest(String namespaceName, String extensionName, String version) {
+        return """
+                <?xml version="1.0" encoding="utf-8"?>
+                <PackageManifest Version="2.0.0" xmlns="http://schemas.microsoft.com/developer/vsx-schema/2011" xmlns:d="http://schemas.microsoft.com/developer/vsx-schema-design/2011">
+                  <Metadata>
+                    <Identity Language="en-US" Id="%2$s" Version="%3$s" Publisher="%1$s" TargetPlatform="linux-x64"/>
+                    <DisplayName>Synthetic %2$s</DisplayName>
+                    <Description xml:space="preserve">Synthetic extension for benchmarks</Description>
+                    <Tags>benchmark,synthetic,Benchmark,__ext_js</Tags>
+                    <Categories>Programming Languages,Linters</Categories>
+                    <GalleryFlags>Public Preview</GalleryFlags>
+                    <Properties>
+                      <Property Id="Microsoft.VisualStudio.Code.Engine" Value="^1.70.0" />
+                      <Property Id="Microsoft.VisualStudio.Code.ExtensionDependencies" Value="%1$s.dependency" />
+                      <Property Id="Microsoft.VisualStudio.Code.ExtensionPack" Value="" />
+                      <Property Id="Microsoft.VisualStudio.Code.ExtensionKind" Value="workspace,web" />
+                      <Property Id="Microsoft.VisualStudio.Code.LocalizedLanguages" Value="" />
+                      <Property Id="Microsoft.VisualStudio.Code.PreRelease" Value="false" />
+                      <Property Id="Microsoft.VisualStudio.Services.Links.Source" Value="https://github.com/%1$s/%2$s.git" />
+                      <Property Id="Microsoft.VisualStudio.Services.Links.Support" Value="https://github.com/%1$s/%2$s/issues" />
+                      <Property Id="Microsoft.VisualStudio.Services.Links.Learn" Value="https://github.com/%1$s/%2$s#readme" />
+                      <Property Id="Microsoft.VisualStudio.Services.Branding.Color" Value="#1e1e1e" />
+                      <Property Id="Microsoft.VisualStudio.Services.Branding.Theme" Value="dark" />
+                      <Property Id="Microsoft.VisualStudio.Services.GitHubFlavoredMarkdown" Value="true" />
+                    </Properties>
+                    <License>extension/LICENSE.txt</License>
+                  </Metadata>
+                  <Installation>
+                    <InstallationTarget Id="Microsoft.VisualStudio.Code"/>
+                  </Installation>
+                  <Dependencies/>
+                  <Assets>
+                    <Asset Type="Microsoft.VisualStudio.Code.Manifest" Path="extension/package.json" Addressable="true" />
+                    <Asset Type="Microsoft.VisualStudio.Services.Content.Details" Path="extension/README.md" Addressable="true" />
+                  </Assets>
+                </PackageManifest>
+                """.formatted(namespaceName, extensionName, version);
+    }
+}
@@ -0,0 +1,65 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx;
+
+import org.eclipse.openvsx.entities.ExtensionVersion;
+import org.eclipse.openvsx.util.TempFile;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks reading the manifests of a synthetic VSIX package, as done when an extension is published.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExtensionProcessorBenchmark {
+
+    /** Number of files in the package besides the manifests */
+    @Param({ "10", "1000" })
+    public int fileCount;
+
+    private TempFile vsix;
+
+    @Setup
+    public void setup() throws IOException {
+        vsix = BenchmarkFixtures.vsix("benchmark", "extension", "1.2.3", fileCount, 1024);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        vsix.close();
+    }
+
+    @Benchmark
+    public ExtensionVersion getMetadata() {
+        try (var processor = new ExtensionProcessor(vsix)) {
+            return processor.getMetadata();
+        }
+    }
+
+    @Benchmark
+    public void readManifests(Blackhole blackhole) {
+        try (var processor = new ExtensionProcessor(vsix)) {
+            blackhole.consume(processor.getNamespace());
+            blackhole.consume(processor.getExtensionName());
+            blackhole.consume(processor.getExtensionDependencies());
+            blackhole.consume(processor.getBundledExtensions());
+            blackhole.consume(processor.getMetadata());
+            blackhole.consume(processor.isPotentiallyMalicious());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.entities;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListOfStringConverterBenchmark {
+
+    /** Number of tags or categories, extensions rarely have more than 20 */
+    @Param({ "0", "5", "20" })
+    public int size;
+
+    private ListOfStringConverter converter;
+    private List<String> list;
+    private String[] array;
+
+    @Setup
+    public void setup() {
+        converter = new ListOfStringConverter();
+        list = new ArrayList<>(size);
+        for(var i = 0; i < size; i++) {
+            list.add("tag-" + i);
+        }
+        array = list.toArray(String[]::new);
+    }
+
+    @Benchmark
+    public String[] convertToDatabaseColumn() {
+        return converter.convertToDatabaseColumn(list);
+    }
+
+    @Benchmark
+    public List<String> convertToEntityAttribute() {
+        return converter.convertToEntityAttribute(array);
+    }
+}
@@ -0,0 +1,53 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.entities;
+
+import org.eclipse.openvsx.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SemanticVersionBenchmark {
+
+    private static final int COUNT = 1024;
+
+    private String[] versions;
+    private SemanticVersion[] parsed;
+    private int index;
+
+    @Setup
+    public void setup() {
+        versions = BenchmarkFixtures.versions(COUNT);
+        parsed = new SemanticVersion[COUNT];
+        for(var i = 0; i < COUNT; i++) {
+            parsed[i] = SemanticVersion.parse(versions[i]);
+        }
+    }
+
+    @Benchmark
+    public SemanticVersion parse() {
+        index = (index + 1) % COUNT;
+        return SemanticVersion.parse(versions[index]);
+    }
+
+    @Benchmark
+    public void compareTo(Blackhole blackhole) {
+        for(var i = 1; i < COUNT; i++) {
+            blackhole.consume(parsed[i - 1].compareTo(parsed[i]));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.search;
+
+import org.eclipse.openvsx.BenchmarkFixtures;
+import org.eclipse.openvsx.entities.*;
+import org.eclipse.openvsx.repositories.RepositoryService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the relevance scoring of search entries. The repositories are replaced
+ * by in-memory lookups, so only the scoring and the conversion to search entries are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RelevanceServiceBenchmark {
+
+    private static final int COUNT = 1024;
+
+    private RelevanceService relevance;
+    private RelevanceService.SearchStats stats;
+    private Extension[] extensions;
+    private int index;
+
+    @Setup
+    public void setup() {
+        var random = new Random(BenchmarkFixtures.SEED);
+        var user = new UserData();
+        var token = new PersonalAccessToken();
+        token.setUser(user);
+
+        var repositories = new InMemoryRepositoryService();
+        extensions = new Extension[COUNT];
+        for(var i = 0; i < COUNT; i++) {
+            var extension = BenchmarkFixtures.extension("namespace" + (i % 100), "extension" + i);
+            extension.setId(i + 1);
+            extension.setDownloadCount(random.nextInt(1_000_000));
+            extension.setDeprecated(random.nextInt(20) == 0);
+            if(random.nextBoolean()) {
+                extension.setReviewCount((long) random.nextInt(500));
+                extension.setAverageRating(1.0 + random.nextDouble() * 4.0);
+            }
+
+            var latest = BenchmarkFixtures.extensionVersions(extension, 1).get(0);
+            if(random.nextBoolean()) {
+                latest.setPublishedWith(token);
+            }
+
+            repositories.latest.put(extension.getId(), latest);
+            extensions[i] = extension;
+        }
+
+        relevance = new RelevanceService(repositories);
+        relevance.ratingRelevance = 1.0;
+        relevance.downloadsRelevance = 1.0;
+        relevance.timestampRelevance = 1.0;
+        relevance.unverifiedRelevance = 0.5;
+        relevance.deprecatedRelevance = 0.5;
+        stats = new RelevanceService.SearchStats(repositories);
+    }
+
+    @Benchmark
+    public ExtensionSearch toSearchEntry() {
+        index = (index + 1) % COUNT;
+        return relevance.toSearchEntry(extensions[index], stats);
+    }
+
+    private static class InMemoryRepositoryService extends RepositoryService {
+
+        private static final List<String> TARGET_PLATFORMS = List.of("linux-x64", "win32-x64", "darwin-arm64");
+
+        private final Map<Long, ExtensionVersion> latest = new HashMap<>();
+
+        InMemoryRepositoryService() {
+            super(null, null, null, null, null, null, null, null, null, null, null, null,
+                    null, null, null, null, null, null, null, null, null, null, null, null);
+        }
+
+        @Override
+        public ExtensionVersion findLatestVersion(Extension extension, String targetPlatform, boolean onlyPreRelease, boolean onlyActive) {
+            return latest.get(extension.getId());
+        }
+
+        @Override
+        public List<String> findExtensionTargetPlatforms(Extension extension) {
+            return TARGET_PLATFORMS;
+        }
+
+        @Override
+        public boolean isVerified(Namespace namespace, UserData user) {
+            return namespace.getName().hashCode() % 2 == 0;
+        }
+
+        @Override
+        public int getMaxExtensionDownloadCount() {
+            return 1_000_000;
+        }
+
+        @Override
+        public LocalDateTime getOldestExtensionTimestamp() {
+            return LocalDateTime.of(2020, 1, 1, 0, 0);
+        }
+
+        @Override
+        public double getAverageReviewRating() {
+            return 3.5;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.util;
+
+import org.eclipse.openvsx.BenchmarkFixtures;
+import org.eclipse.openvsx.entities.ExtensionVersion;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UrlUtilBenchmark {
+
+    private static final String SERVER_URL = "https://open-vsx.org";
+
+    private ExtensionVersion extVersion;
+
+    @Setup
+    public void setup() {
+        var extension = BenchmarkFixtures.extension("benchmark", "extension");
+        extVersion = BenchmarkFixtures.extensionVersions(extension, 1).get(0);
+    }
+
+    @Benchmark
+    public String createApiFileUrl() {
+        return UrlUtil.createApiFileUrl(SERVER_URL, extVersion, "extension/images/icon with spaces.png");
+    }
+
+    @Benchmark
+    public String createApiVersionUrl() {
+        return UrlUtil.createApiVersionUrl(SERVER_URL, extVersion);
+    }
+
+    @Benchmark
+    public String addQuery() {
+        return UrlUtil.addQuery(UrlUtil.createApiUrl(SERVER_URL, "api", "-", "query"),
+                "extensionId", "benchmark.extension", "targetPlatform", extVersion.getTargetPlatform(), "size", null);
+    }
+}
@@ -0,0 +1,62 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.util;
+
+import org.eclipse.openvsx.BenchmarkFixtures;
+import org.eclipse.openvsx.entities.ExtensionVersion;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link ExtensionVersion#SORT_COMPARATOR} and {@link VersionService#getLatest}
+ * without the Spring cache, i.e. the cost of a cache miss.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VersionServiceBenchmark {
+
+    /** Number of versions of the extension */
+    @Param({ "10", "100", "1000" })
+    public int size;
+
+    private VersionService versions;
+    private List<ExtensionVersion> extVersions;
+
+    @Setup
+    public void setup() {
+        versions = new VersionService();
+        var extension = BenchmarkFixtures.extension("benchmark", "extension");
+        extVersions = BenchmarkFixtures.extensionVersions(extension, size);
+    }
+
+    @Benchmark
+    public List<ExtensionVersion> sort() {
+        var sorted = new ArrayList<>(extVersions);
+        sorted.sort(ExtensionVersion.SORT_COMPARATOR);
+        return sorted;
+    }
+
+    @Benchmark
+    public ExtensionVersion getLatest() {
+        return versions.getLatest(extVersions, false);
+    }
+
+    @Benchmark
+    public ExtensionVersion getLatestPreRelease() {
+        return versions.getLatest(extVersions, false, true);
+    }
+}
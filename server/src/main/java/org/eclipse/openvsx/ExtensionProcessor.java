@@ -327,6 +327,37 @@ public class ExtensionProcessor implements AutoCloseable {
                 });
     }
 
+    /**
+     * Like {@link #processEachResource(ExtensionVersion, Consumer)}, but without extracting the entries.
+     * The resources point to the location of their entry in the extension package instead.
+     */
+    public void processEachResourceEntry(ExtensionVersion extVersion, Consumer<FileResource> processor) throws IOException {
+        for (var entry : ZipCentralDirectory.read(extensionFile.getPath())) {
+            if (entry.isDirectory()) {
+                continue;
+            }
+            if (entry.encrypted() || (entry.method() != ZipEntry.STORED && entry.method() != ZipEntry.DEFLATED)) {
+                logger.warn("Unsupported entry {} in {}", entry.name(), NamingUtil.toLogFormat(extVersion));
+                continue;
+            }
+            if (entry.size() > ArchiveUtil.MAX_ENTRY_SIZE) {
+                logger.warn("The file {} exceeds the size limit of 32 MB.", entry.name());
+                continue;
+            }
+
+            var resource = new FileResource();
+            resource.setExtension(extVersion);
+            resource.setName(entry.name());
+            resource.setType(FileResource.RESOURCE);
+            resource.setStorageType(FileResource.STORAGE_VSIX);
+            resource.setEntryOffset(entry.offset());
+            resource.setEntryCompressedSize(entry.compressedSize());
+            resource.setEntrySize(entry.size());
+            resource.setEntryMethod(entry.method());
+            processor.accept(resource);
+        }
+    }
+
     public FileResource getBinary(ExtensionVersion extVersion, String binaryName) {
         var binary = new FileResource();
         binary.setExtension(extVersion);
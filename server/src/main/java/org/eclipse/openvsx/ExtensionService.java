@@ -12,9 +12,13 @@ package org.eclipse.openvsx;
 import jakarta.transaction.Transactional;
 import jakarta.transaction.Transactional.TxType;
 import org.apache.commons.lang3.StringUtils;
+import org.eclipse.openvsx.admin.AdminStatisticCounters;
 import org.eclipse.openvsx.cache.CacheService;
+import org.eclipse.openvsx.cache.ExtensionExistenceFilter;
 import org.eclipse.openvsx.entities.*;
 import org.eclipse.openvsx.publish.PublishExtensionVersionHandler;
+import org.eclipse.openvsx.publish.PublishQueue;
+import org.eclipse.openvsx.publish.PublishStatus;
 import org.eclipse.openvsx.repositories.RepositoryService;
 import org.eclipse.openvsx.search.SearchUtilService;
 import org.eclipse.openvsx.util.ErrorResultException;
@@ -40,6 +44,9 @@ public class ExtensionService {
     private final SearchUtilService search;
     private final CacheService cache;
     private final PublishExtensionVersionHandler publishHandler;
+    private final AdminStatisticCounters statisticCounters;
+    private final PublishQueue publishQueue;
+    private final ExtensionExistenceFilter existenceFilter;
 
     @Value("${ovsx.publishing.require-license:false}")
     boolean requireLicense;
@@ -48,12 +55,18 @@ public class ExtensionService {
             RepositoryService repositories,
             SearchUtilService search,
             CacheService cache,
-            PublishExtensionVersionHandler publishHandler
+            PublishExtensionVersionHandler publishHandler,
+            AdminStatisticCounters statisticCounters,
+            PublishQueue publishQueue,
+            ExtensionExistenceFilter existenceFilter
     ) {
         this.repositories = repositories;
         this.search = search;
         this.cache = cache;
         this.publishHandler = publishHandler;
+        this.statisticCounters = statisticCounters;
+        this.publishQueue = publishQueue;
+        this.existenceFilter = existenceFilter;
     }
 
     @Transactional
@@ -63,11 +76,30 @@ public class ExtensionService {
         return extensionFile.getResource().getExtension();
     }
 
+    /**
+     * Publish an extension version on behalf of the registry, e.g. when a migration job republishes it.
+     * The version bypasses the limits of the {@link PublishQueue}, which only apply to uploads.
+     */
     public ExtensionVersion publishVersion(InputStream content, PersonalAccessToken token) throws ErrorResultException {
-        var extensionFile = createExtensionFile(content);
-        doPublish(extensionFile, null, token, TimeUtil.getCurrentUTC(), true);
-        publishHandler.publishAsync(extensionFile, this);
+        return publishVersion(content, token, publishQueue.reserveInternal(token.getUser()));
+    }
+
+    /**
+     * Publish an extension version using a slot of the {@link PublishQueue} that was reserved by the caller.
+     */
+    public ExtensionVersion publishVersion(InputStream content, PersonalAccessToken token, PublishStatus status) throws ErrorResultException {
+        TempFile extensionFile;
+        try {
+            extensionFile = createExtensionFile(content);
+            doPublish(extensionFile, null, token, TimeUtil.getCurrentUTC(), true);
+        } catch (RuntimeException e) {
+            publishQueue.release(status, e.getMessage());
+            throw e;
+        }
+
         var download = extensionFile.getResource();
+        status.setExtensionVersion(download.getExtension());
+        publishQueue.submit(status, () -> publishHandler.publishAsync(extensionFile, this, status));
         publishHandler.schedulePublicIdJob(download);
         return download.getExtension();
     }
@@ -124,11 +156,14 @@ public class ExtensionService {
         cache.evictNamespaceDetails(extension);
         cache.evictLatestExtensionVersion(extension);
         cache.evictExtensionJsons(extension);
+        cache.evictFileResourceLocations(extension);
+        statisticCounters.extensionChanged(extension);
 
         if (extension.getVersions().stream().anyMatch(ExtensionVersion::isActive)) {
             // There is at least one active version => activate the extension
             extension.setActive(true);
             search.updateSearchEntry(extension);
+            existenceFilter.addExtension(extension.getNamespace().getName(), extension.getName());
         } else if (extension.isActive()) {
             // All versions are deactivated => deactivate the extensions
             extension.setActive(false);
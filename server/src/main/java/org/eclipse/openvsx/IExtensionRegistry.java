@@ -14,6 +14,8 @@ import org.eclipse.openvsx.search.ISearchService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.List;
+
 /**
  * Declaration of the registry API methods that can be accessed without authentication.
  */
@@ -25,6 +27,12 @@ public interface IExtensionRegistry {
 
     ExtensionJson getExtension(String namespace, String extensionName, String targetPlatform, String version);
 
+    /**
+     * Resolve multiple extensions at once. The returned list has the same size and order as the
+     * given extensions and contains {@code null} for each extension that could not be found.
+     */
+    List<ExtensionJson> getExtensions(List<BatchParamJson.ExtensionParamJson> extensions, String targetPlatform);
+
     VersionsJson getVersions(String namespace, String extension, String targetPlatform, int size, int offset);
 
     VersionReferencesJson getVersionReferences(String namespace, String extension, String targetPlatform, int size, int offset);
@@ -9,15 +9,22 @@
  ********************************************************************************/
 package org.eclipse.openvsx;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.google.common.collect.Maps;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.openvsx.cache.CacheService;
+import org.eclipse.openvsx.cache.ExtensionExistenceFilter;
+import org.eclipse.openvsx.cache.FileResourceLocationCache;
 import org.eclipse.openvsx.eclipse.EclipseService;
 import org.eclipse.openvsx.entities.*;
 import org.eclipse.openvsx.json.*;
 import org.eclipse.openvsx.publish.ExtensionVersionIntegrityService;
+import org.eclipse.openvsx.publish.PublishQueue;
 import org.eclipse.openvsx.repositories.RepositoryService;
 import org.eclipse.openvsx.search.ExtensionSearch;
 import org.eclipse.openvsx.search.ISearchService;
@@ -36,8 +43,12 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.BinaryOperator;
 import java.util.stream.Collectors;
 
 import static org.eclipse.openvsx.cache.CacheService.*;
@@ -50,6 +61,8 @@ public class LocalRegistryService implements IExtensionRegistry {
 
     protected final Logger logger = LoggerFactory.getLogger(LocalRegistryService.class);
 
+    private static final int EXPORT_CHUNK_SIZE = 500;
+
     private final EntityManager entityManager;
     private final RepositoryService repositories;
     private final ExtensionService extensions;
@@ -61,6 +74,10 @@ public class LocalRegistryService implements IExtensionRegistry {
     private final EclipseService eclipse;
     private final CacheService cache;
     private final ExtensionVersionIntegrityService integrityService;
+    private final FileResourceLocationCache fileLocations;
+    private final PublishQueue publishQueue;
+    private final ExtensionExistenceFilter existenceFilter;
+    private final ObjectWriter exportWriter;
 
     public LocalRegistryService(
             EntityManager entityManager,
@@ -73,7 +90,11 @@ public class LocalRegistryService implements IExtensionRegistry {
             StorageUtilService storageUtil,
             EclipseService eclipse,
             CacheService cache,
-            ExtensionVersionIntegrityService integrityService
+            ExtensionVersionIntegrityService integrityService,
+            FileResourceLocationCache fileLocations,
+            PublishQueue publishQueue,
+            ExtensionExistenceFilter existenceFilter,
+            ObjectMapper mapper
     ) {
         this.entityManager = entityManager;
         this.repositories = repositories;
@@ -86,6 +107,13 @@ public class LocalRegistryService implements IExtensionRegistry {
         this.eclipse = eclipse;
         this.cache = cache;
         this.integrityService = integrityService;
+        this.fileLocations = fileLocations;
+        this.publishQueue = publishQueue;
+        this.existenceFilter = existenceFilter;
+        // the export writes many values to the same stream and flushes once per chunk
+        this.exportWriter = mapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     @Value("${ovsx.webui.url:}")
@@ -96,6 +124,8 @@ public class LocalRegistryService implements IExtensionRegistry {
 
     @Override
     public NamespaceJson getNamespace(String namespaceName) {
+        if (!existenceFilter.mightContainNamespace(namespaceName))
+            throw new NotFoundException();
         var namespace = repositories.findNamespace(namespaceName);
         if (namespace == null)
             throw new NotFoundException();
@@ -114,20 +144,138 @@ public class LocalRegistryService implements IExtensionRegistry {
     }
 
     @Override
-    @Cacheable(value = CACHE_EXTENSION_JSON, keyGenerator = GENERATOR_EXTENSION_JSON)
+    @Cacheable(value = CACHE_EXTENSION_JSON, keyGenerator = GENERATOR_EXTENSION_JSON, sync = true)
     public ExtensionJson getExtension(String namespace, String extensionName, String targetPlatform) {
         return getExtension(namespace, extensionName, targetPlatform, VersionAlias.LATEST);
     }
 
     @Override
-    @Cacheable(value = CACHE_EXTENSION_JSON, keyGenerator = GENERATOR_EXTENSION_JSON)
+    @Cacheable(value = CACHE_EXTENSION_JSON, keyGenerator = GENERATOR_EXTENSION_JSON, sync = true)
     public ExtensionJson getExtension(String namespace, String extensionName, String targetPlatform, String version) {
-        var extVersion = findExtensionVersion(namespace, extensionName, targetPlatform, version);
-        var json = toExtensionVersionJson(extVersion, targetPlatform, true);
-        json.setDownloads(getDownloads(extVersion.getExtension(), targetPlatform, extVersion.getVersion()));
+        if (!existenceFilter.mightContainExtension(namespace, extensionName)) {
+            throw new NotFoundException();
+        }
+
+        var fileTypes = withFileTypes(DOWNLOAD, MANIFEST, ICON, README, LICENSE, CHANGELOG, VSIXMANIFEST);
+        var details = repositories.findExtensionVersionDetails(namespace, extensionName, targetPlatform, version, List.of(fileTypes));
+        if (details == null) {
+            throw new NotFoundException();
+        }
+
+        var extVersion = details.extVersion();
+        var serverUrl = UrlUtil.getBaseUrl();
+        var fileUrls = Maps.<String, String>newLinkedHashMapWithExpectedSize(details.files().size());
+        for (var resource : details.files()) {
+            fileUrls.put(resource.getType(), UrlUtil.createApiFileUrl(serverUrl, extVersion, resource.getName()));
+        }
+
+        var json = toExtensionVersionJson(
+                extVersion,
+                targetPlatform,
+                details.latest(),
+                details.latestPreRelease(),
+                details.replacement(),
+                details.verified(),
+                details.versions(),
+                fileUrls
+        );
+        json.setDownloads(getDownloads(details.downloads()));
         return json;
     }
 
+    @Override
+    public List<ExtensionJson> getExtensions(List<BatchParamJson.ExtensionParamJson> extensions, String targetPlatform) {
+        var extensionIds = extensions.stream()
+                .map(e -> e.getExtensionId() != null ? NamingUtil.fromExtensionId(e.getExtensionId()) : null)
+                .map(id -> id != null ? getBatchKey(id.namespace(), id.extension()) : null)
+                .toList();
+
+        var distinctIds = extensionIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        // only the fields needed to select the versions are loaded for all active versions
+        var activeVersions = distinctIds.isEmpty()
+                ? Collections.<ExtensionVersion>emptyList()
+                : repositories.findActiveVersionKeysByExtensionId(distinctIds, targetPlatform);
+
+        var versionsByExtensionId = activeVersions.stream()
+                .collect(Collectors.groupingBy(ev -> getBatchKey(ev.getExtension().getNamespace().getName(), ev.getExtension().getName())));
+
+        var selectedVersions = new ArrayList<ExtensionVersion>(extensions.size());
+        for (var i = 0; i < extensions.size(); i++) {
+            var extensionId = extensionIds.get(i);
+            var candidates = extensionId != null
+                    ? versionsByExtensionId.getOrDefault(extensionId, Collections.emptyList())
+                    : Collections.<ExtensionVersion>emptyList();
+
+            var version = Optional.ofNullable(extensions.get(i).getVersion()).orElse(VersionAlias.LATEST);
+            var stream = candidates.stream();
+            if (VersionAlias.PRE_RELEASE.equals(version)) {
+                stream = stream.filter(ExtensionVersion::isPreRelease);
+            } else if (!VersionAlias.LATEST.equals(version)) {
+                stream = stream.filter(ev -> ev.getVersion().equals(version));
+            }
+
+            selectedVersions.add(stream.min(ExtensionVersion.SORT_COMPARATOR).orElse(null));
+        }
+
+        var selectedIds = selectedVersions.stream()
+                .filter(Objects::nonNull)
+                .map(ExtensionVersion::getId)
+                .collect(Collectors.toSet());
+        var foundVersions = selectedIds.isEmpty()
+                ? Collections.<ExtensionVersion>emptyList()
+                : repositories.findActiveExtensionVersionsById(selectedIds);
+        var foundVersionsById = foundVersions.stream()
+                .collect(Collectors.toMap(ExtensionVersion::getId, ev -> ev));
+        var extensionIdsFound = foundVersions.stream()
+                .map(ev -> ev.getExtension().getId())
+                .collect(Collectors.toSet());
+
+        var reviewCounts = getReviewCounts(foundVersions);
+        var versionStrings = getVersionStrings(extensionIdsFound, targetPlatform);
+        var latestVersions = getLatestVersionKeys(activeVersions, false);
+        var latestPreReleases = getLatestVersionKeys(activeVersions, true);
+        var previewsByExtensionId = extensionIdsFound.isEmpty() ? Collections.<Long, Boolean>emptyMap() : getPreviews(extensionIdsFound);
+        var fileResourcesByExtensionVersionId = getFileResources(foundVersions);
+        var membershipsByNamespaceId = getMemberships(foundVersions);
+        var replacements = getReplacements(foundVersions, targetPlatform);
+
+        return selectedVersions.stream()
+                .map(selected -> {
+                    var ev = selected != null ? foundVersionsById.get(selected.getId()) : null;
+                    if (ev == null) {
+                        return null;
+                    }
+
+                    var latest = latestVersions.get(getLatestVersionKey(ev));
+                    var latestPreRelease = latestPreReleases.get(getLatestVersionKey(ev));
+                    var reviewCount = reviewCounts.getOrDefault(ev.getExtension().getId(), 0L);
+                    var preview = previewsByExtensionId.getOrDefault(ev.getExtension().getId(), false);
+                    var versions = versionStrings.get(ev.getExtension().getId());
+                    var fileResources = fileResourcesByExtensionVersionId.getOrDefault(ev.getId(), Collections.emptyList());
+                    return toExtensionVersionJson(ev, latest, latestPreRelease, reviewCount, preview, versions, targetPlatform, fileResources, membershipsByNamespaceId, replacements);
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Selects the latest version per extension and target platform from versions that only have their
+     * version keys loaded. {@link VersionService#getLatest} isn't used, because it caches its result
+     * by extension and target platform regardless of which fields of the versions were loaded.
+     */
+    private Map<String, ExtensionVersion> getLatestVersionKeys(List<ExtensionVersion> extensionVersions, boolean onlyPreRelease) {
+        return extensionVersions.stream()
+                .filter(ev -> !onlyPreRelease || ev.isPreRelease())
+                .collect(Collectors.toMap(this::getLatestVersionKey, ev -> ev, BinaryOperator.minBy(ExtensionVersion.SORT_COMPARATOR)));
+    }
+
+    private ExtensionId getBatchKey(String namespace, String extension) {
+        return new ExtensionId(namespace.toLowerCase(), extension.toLowerCase());
+    }
+
     @Override
     public VersionsJson getVersions(String namespace, String extension, String targetPlatform, int size, int offset) {
         var pageRequest = PageRequest.of((offset/size), size);
@@ -181,38 +329,30 @@ public class LocalRegistryService implements IExtensionRegistry {
         return json;
     }
 
-    private Map<String, String> getDownloads(Extension extension, String targetPlatform, String version) {
-        var extVersions = repositories.findVersionsForUrls(extension, targetPlatform, version);
-        var fileUrls = storageUtil.getFileUrls(extVersions, UrlUtil.getBaseUrl(), DOWNLOAD);
-        return extVersions.stream()
-                .map(ev -> {
-                    var files = fileUrls.get(ev.getId());
-                    var download = files != null ? files.get(DOWNLOAD) : null;
-                    if(download == null) {
+    private Map<String, String> getDownloads(List<FileResource> downloads) {
+        var serverUrl = UrlUtil.getBaseUrl();
+        return downloads.stream()
+                .map(download -> {
+                    var ev = download.getExtension();
+                    if(download.getName() == null) {
                         logger.warn("Could not find download for: {}", NamingUtil.toLogFormat(ev));
                         return null;
                     } else {
-                        return new AbstractMap.SimpleEntry<>(ev.getTargetPlatform(), download);
+                        return new AbstractMap.SimpleEntry<>(ev.getTargetPlatform(), UrlUtil.createApiFileUrl(serverUrl, ev, download.getName()));
                     }
                 })
                 .filter(Objects::nonNull)
                 .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
     }
 
-    private ExtensionVersion findExtensionVersion(String namespace, String extensionName, String targetPlatform, String version) {
-        var extVersion = repositories.findExtensionVersion(namespace, extensionName, targetPlatform, version);
-        if (extVersion == null) {
-            throw new NotFoundException();
-        }
-
-        return extVersion;
-    }
-
     @Override
     public ResponseEntity<StreamingResponseBody> getFile(String namespace, String extensionName, String targetPlatform, String version, String fileName) {
+        if (!existenceFilter.mightContainExtension(namespace, extensionName))
+            throw new NotFoundException();
+
         var resource = isType(fileName)
-                ? repositories.findFileByType(namespace, extensionName, targetPlatform, version, fileName.toLowerCase())
-                : repositories.findFileByName(namespace, extensionName, targetPlatform, version, fileName);
+                ? fileLocations.findByType(namespace, extensionName, targetPlatform, version, fileName.toLowerCase())
+                : fileLocations.findByName(namespace, extensionName, targetPlatform, version, fileName);
 
         if (resource == null)
             throw new NotFoundException();
@@ -233,6 +373,8 @@ public class LocalRegistryService implements IExtensionRegistry {
 
     @Override
     public ReviewListJson getReviews(String namespaceName, String extensionName) {
+        if (!existenceFilter.mightContainExtension(namespaceName, extensionName))
+            throw new NotFoundException();
         var extension = repositories.findExtension(extensionName, namespaceName);
         if (extension == null || !extension.isActive())
             throw new NotFoundException();
@@ -246,6 +388,31 @@ public class LocalRegistryService implements IExtensionRegistry {
         return list;
     }
 
+    /**
+     * Get the extensions that are installed together with the given extension, i.e. all extensions
+     * that its latest version depends on or bundles, directly or transitively.
+     */
+    public InstallSetJson getInstallSet(String namespaceName, String extensionName) {
+        if (!existenceFilter.mightContainExtension(namespaceName, extensionName))
+            throw new NotFoundException();
+        var extension = repositories.findExtension(extensionName, namespaceName);
+        if (extension == null || !extension.isActive())
+            throw new NotFoundException();
+
+        var serverUrl = UrlUtil.getBaseUrl();
+        var json = new InstallSetJson();
+        json.setExtensions(repositories.findInstallSet(extension).stream()
+                .map(extensionId -> {
+                    var ref = new ExtensionReferenceJson();
+                    ref.setNamespace(extensionId.namespace());
+                    ref.setExtension(extensionId.extension());
+                    ref.setUrl(createApiUrl(serverUrl, "api", extensionId.namespace(), extensionId.extension()));
+                    return ref;
+                })
+                .toList());
+        return json;
+    }
+
     @Override
     public SearchResultJson search(ISearchService.Options options) {
         var json = new SearchResultJson();
@@ -308,24 +475,51 @@ public class LocalRegistryService implements IExtensionRegistry {
         }
 
         var extensionVersionsPage = repositories.findActiveVersions(request);
-        var extensionVersions = extensionVersionsPage.getContent();
+        var result = new QueryResultJson();
+        result.setOffset((int) extensionVersionsPage.getPageable().getOffset());
+        result.setTotalSize((int) extensionVersionsPage.getTotalElements());
+        result.setExtensions(toExtensionVersionJsons(extensionVersionsPage.getContent(), request.targetPlatform()));
+        return result;
+    }
+
+    /**
+     * Write all active extension versions to the output stream as newline-delimited JSON, one
+     * {@link ExtensionJson} per line in the same format as the {@link #query(QueryRequest)} results.
+     * Versions are read in chunks with keyset pagination on their ID, so the export is a single linear
+     * scan and no database connection is held while the chunks are written to slow clients.
+     *
+     * @param since only export versions of extensions that have been updated at or after this time, or all if {@code null}
+     */
+    public void exportExtensions(LocalDateTime since, OutputStream output) throws IOException {
+        var afterId = 0L;
+        List<ExtensionVersion> extensionVersions;
+        do {
+            extensionVersions = repositories.findActiveVersionsAfter(afterId, since, EXPORT_CHUNK_SIZE);
+            for (var json : toExtensionVersionJsons(extensionVersions, null)) {
+                exportWriter.writeValue(output, json);
+                output.write('\n');
+            }
+            if (!extensionVersions.isEmpty()) {
+                afterId = extensionVersions.get(extensionVersions.size() - 1).getId();
+            }
+            output.flush();
+        } while (extensionVersions.size() == EXPORT_CHUNK_SIZE);
+    }
+
+    private List<ExtensionJson> toExtensionVersionJsons(List<ExtensionVersion> extensionVersions, String targetPlatform) {
         var extensionIds = extensionVersions.stream()
                 .map(ev -> ev.getExtension().getId())
                 .collect(Collectors.toSet());
 
         var reviewCounts = getReviewCounts(extensionVersions);
-        var versionStrings = getVersionStrings(extensionIds, request.targetPlatform());
+        var versionStrings = getVersionStrings(extensionIds, targetPlatform);
         var latestVersions = getLatestVersions(extensionVersions);
         var latestPreReleases = getLatestVersions(extensionVersions, true);
         var previewsByExtensionId = getPreviews(extensionIds);
         var fileResourcesByExtensionVersionId = getFileResources(extensionVersions);
         var membershipsByNamespaceId = getMemberships(extensionVersions);
-        var targetPlatform = request.targetPlatform();
-
-        var result = new QueryResultJson();
-        result.setOffset((int) extensionVersionsPage.getPageable().getOffset());
-        result.setTotalSize((int) extensionVersionsPage.getTotalElements());
-        result.setExtensions(extensionVersions.stream()
+        var replacements = getReplacements(extensionVersions, targetPlatform);
+        return extensionVersions.stream()
                 .map(ev -> {
                     var latest = latestVersions.get(getLatestVersionKey(ev));
                     var latestPreRelease = latestPreReleases.get(getLatestVersionKey(ev));
@@ -333,11 +527,9 @@ public class LocalRegistryService implements IExtensionRegistry {
                     var preview = previewsByExtensionId.get(ev.getExtension().getId());
                     var versions = versionStrings.get(ev.getExtension().getId());
                     var fileResources = fileResourcesByExtensionVersionId.getOrDefault(ev.getId(), Collections.emptyList());
-                    return toExtensionVersionJson(ev, latest, latestPreRelease, reviewCount, preview, versions, targetPlatform, fileResources, membershipsByNamespaceId);
+                    return toExtensionVersionJson(ev, latest, latestPreRelease, reviewCount, preview, versions, targetPlatform, fileResources, membershipsByNamespaceId, replacements);
                 })
-                .toList());
-
-        return result;
+                .toList();
     }
 
     @Override
@@ -426,6 +618,7 @@ public class LocalRegistryService implements IExtensionRegistry {
         var fileResourcesByExtensionVersionId = getFileResources(extensionVersions);
         var membershipsByNamespaceId = getMemberships(extensionVersions);
         var targetPlatform = request.targetPlatform();
+        var replacements = getReplacements(extensionVersions, targetPlatform);
 
         var result = new QueryResultJson();
         result.setOffset((int) extensionVersionsPage.getPageable().getOffset());
@@ -441,7 +634,7 @@ public class LocalRegistryService implements IExtensionRegistry {
                     var globalLatestPreRelease = addAllVersions ? latestGlobalPreReleases.get(ev.getExtension().getId()) : null;
                     var versions = addAllVersions ? versionStrings.get(ev.getExtension().getId()) : null;
 
-                    return toExtensionVersionJsonV2(ev, latest, latestPreRelease, globalLatest, globalLatestPreRelease, reviewCount, preview, versions, targetPlatform, fileResources, membershipsByNamespaceId);
+                    return toExtensionVersionJsonV2(ev, latest, latestPreRelease, globalLatest, globalLatestPreRelease, reviewCount, preview, versions, targetPlatform, fileResources, membershipsByNamespaceId, replacements);
                 })
                 .toList());
 
@@ -450,8 +643,12 @@ public class LocalRegistryService implements IExtensionRegistry {
 
     @Override
     @Transactional
-    @Cacheable(CACHE_NAMESPACE_DETAILS_JSON)
+    @Cacheable(value = CACHE_NAMESPACE_DETAILS_JSON, sync = true)
     public NamespaceDetailsJson getNamespaceDetails(String namespaceName) {
+        if (!existenceFilter.mightContainNamespace(namespaceName)) {
+            throw new NotFoundException();
+        }
+
         var namespace = repositories.findNamespace(namespaceName);
         if (namespace == null) {
             throw new NotFoundException();
@@ -502,6 +699,9 @@ public class LocalRegistryService implements IExtensionRegistry {
         if(fileName == null) {
             fileName = "";
         }
+        if(!existenceFilter.mightContainNamespace(namespaceName)) {
+            throw new NotFoundException();
+        }
 
         var namespace = repositories.findNamespace(namespaceName);
         if(namespace == null || !fileName.equals(namespace.getLogoName())) {
@@ -558,6 +758,18 @@ public class LocalRegistryService implements IExtensionRegistry {
                 .collect(Collectors.toMap(ev -> ev.getExtension().getId(), ev -> ev));
     }
 
+    private Map<Long, ExtensionVersion> getReplacements(List<ExtensionVersion> extensionVersions, String targetPlatform) {
+        var replacementIds = extensionVersions.stream()
+                .map(ev -> ev.getExtension().getReplacement())
+                .filter(Objects::nonNull)
+                .map(Extension::getId)
+                .collect(Collectors.toSet());
+
+        return replacementIds.isEmpty()
+                ? Collections.emptyMap()
+                : repositories.findLatestReplacements(replacementIds, targetPlatform);
+    }
+
     private String getLatestVersionKey(ExtensionVersion extVersion) {
         return extVersion.getExtension().getId() + "@" + extVersion.getTargetPlatform();
     }
@@ -629,6 +841,7 @@ public class LocalRegistryService implements IExtensionRegistry {
         membership.setUser(user);
         membership.setRole(NamespaceMembership.ROLE_CONTRIBUTOR);
         entityManager.persist(membership);
+        existenceFilter.addNamespace(namespace.getName());
 
         return ResultJson.success("Created namespace " + namespace.getName());
     }
@@ -668,9 +881,11 @@ public class LocalRegistryService implements IExtensionRegistry {
         // Check whether the user has a valid publisher agreement
         eclipse.checkPublisherAgreement(token.getUser());
 
-        var extVersion = extensions.publishVersion(content, token);
+        var status = publishQueue.reserve(token.getUser());
+        var extVersion = extensions.publishVersion(content, token, status);
         var json = toExtensionVersionJson(extVersion, null, true);
         json.setSuccess("It can take a couple minutes before the extension version is available");
+        json.setPublishStatusUrl(createApiUrl(UrlUtil.getBaseUrl(), "api", "-", "publish", "status", status.getId()));
 
         if(repositories.hasSameVersion(extVersion)) {
             var existingRelease = extVersion.isPreRelease() ? "stable release" : "pre-release";
@@ -686,6 +901,38 @@ public class LocalRegistryService implements IExtensionRegistry {
         return json;
     }
 
+    public PublishStatusJson getPublishStatus(String id) {
+        var status = publishQueue.getStatus(id);
+        if (status == null) {
+            throw new NotFoundException();
+        }
+
+        var json = new PublishStatusJson();
+        json.setId(status.getId());
+        json.setNamespace(status.getNamespace());
+        json.setName(status.getExtension());
+        json.setVersion(status.getVersion());
+        json.setTargetPlatform(status.getTargetPlatform());
+        json.setStage(status.getStage().name().toLowerCase());
+        json.setFilesProcessed(status.getFilesProcessed());
+        json.setCreated(TimeUtil.toUTCString(status.getCreated()));
+        if (status.getStarted() != null) {
+            json.setStarted(TimeUtil.toUTCString(status.getStarted()));
+        }
+        if (status.getFinished() != null) {
+            json.setFinished(TimeUtil.toUTCString(status.getFinished()));
+        }
+        if (status.getError() != null) {
+            json.setError(status.getError());
+        }
+
+        json.setQueueDepth(publishQueue.getQueueDepth());
+        json.setActiveWorkers(publishQueue.getActiveWorkers());
+        json.setWorkers(publishQueue.getWorkers());
+        json.setQueueCapacity(publishQueue.getCapacity());
+        return json;
+    }
+
     @Transactional(rollbackOn = ResponseStatusException.class)
     public ResultJson postReview(ReviewJson review, String namespace, String extensionName) {
         var user = users.findLoggedInUser();
@@ -842,21 +1089,36 @@ public class LocalRegistryService implements IExtensionRegistry {
         var extension = extVersion.getExtension();
         var latest = repositories.findLatestVersionForAllUrls(extension, targetPlatform, false, onlyActive);
         var latestPreRelease = repositories.findLatestVersionForAllUrls(extension, targetPlatform, true, onlyActive);
+        var replacement = extension.getReplacement() != null
+                ? repositories.findLatestReplacement(extension.getReplacement().getId(), targetPlatform, false, onlyActive)
+                : null;
+
+        var versions = repositories.findVersionStringsSorted(extension, targetPlatform, onlyActive);
+        var fileUrls = storageUtil.getFileUrls(List.of(extVersion), UrlUtil.getBaseUrl(), withFileTypes(DOWNLOAD, MANIFEST, ICON, README, LICENSE, CHANGELOG, VSIXMANIFEST));
+        return toExtensionVersionJson(extVersion, targetPlatform, latest, latestPreRelease, replacement, isVerified(extVersion), versions, fileUrls.get(extVersion.getId()));
+    }
 
+    private ExtensionJson toExtensionVersionJson(
+            ExtensionVersion extVersion,
+            String targetPlatform,
+            ExtensionVersion latest,
+            ExtensionVersion latestPreRelease,
+            ExtensionVersion replacement,
+            boolean verified,
+            List<String> versions,
+            Map<String, String> fileUrls
+    ) {
+        var extension = extVersion.getExtension();
         var json = extVersion.toExtensionJson();
-        if(extension.getReplacement() != null) {
-            var replacementId = extension.getReplacement().getId();
-            var replacement = repositories.findLatestReplacement(replacementId, targetPlatform, false, onlyActive);
-            if(replacement != null) {
-                var displayName = StringUtils.isNotEmpty(replacement.getDisplayName())
-                        ? replacement.getDisplayName()
-                        : replacement.getExtension().getName();
+        if(replacement != null) {
+            var displayName = StringUtils.isNotEmpty(replacement.getDisplayName())
+                    ? replacement.getDisplayName()
+                    : replacement.getExtension().getName();
 
-                var replacementJson = new ExtensionReplacementJson();
-                replacementJson.setUrl(UrlUtil.createApiUrl(webuiUrl, "extension", replacement.getExtension().getNamespace().getName(), replacement.getExtension().getName()));
-                replacementJson.setDisplayName(displayName);
-                json.setReplacement(replacementJson);
-            }
+            var replacementJson = new ExtensionReplacementJson();
+            replacementJson.setUrl(UrlUtil.createApiUrl(webuiUrl, "extension", replacement.getExtension().getNamespace().getName(), replacement.getExtension().getName()));
+            replacementJson.setDisplayName(displayName);
+            json.setReplacement(replacementJson);
         }
 
         json.setPreview(latest != null && latest.isPreview());
@@ -867,7 +1129,7 @@ public class LocalRegistryService implements IExtensionRegistry {
             versionAlias.add(VersionAlias.PRE_RELEASE);
 
         json.setVersionAlias(versionAlias);
-        json.setVerified(isVerified(extVersion));
+        json.setVerified(verified);
         json.setNamespaceAccess("restricted");
         json.setUnrelatedPublisher(!json.getVerified());
         json.setReviewCount(Optional.ofNullable(extension.getReviewCount()).orElse(0L));
@@ -882,7 +1144,7 @@ public class LocalRegistryService implements IExtensionRegistry {
             allVersions.add(VersionAlias.PRE_RELEASE);
 
         var versionBaseUrl = UrlUtil.createApiVersionBaseUrl(serverUrl, json.getNamespace(), json.getName(), targetPlatform);
-        allVersions.addAll(repositories.findVersionStringsSorted(extension, targetPlatform, onlyActive));
+        allVersions.addAll(versions);
         json.setAllVersionsUrl(UrlUtil.createAllVersionsUrl(json.getNamespace(), json.getName(), targetPlatform, "versions"));
         var allVersionsJson = Maps.<String, String>newLinkedHashMapWithExpectedSize(allVersions.size());
         for (var version : allVersions) {
@@ -890,8 +1152,7 @@ public class LocalRegistryService implements IExtensionRegistry {
         }
 
         json.setAllVersions(allVersionsJson);
-        var fileUrls = storageUtil.getFileUrls(List.of(extVersion), serverUrl, withFileTypes(DOWNLOAD, MANIFEST, ICON, README, LICENSE, CHANGELOG, VSIXMANIFEST));
-        json.setFiles(fileUrls.get(extVersion.getId()));
+        json.setFiles(fileUrls);
         if (json.getFiles().containsKey(DOWNLOAD_SIG)) {
             json.getFiles().put(PUBLIC_KEY, UrlUtil.getPublicKeyUrl(extVersion));
         }
@@ -917,7 +1178,8 @@ public class LocalRegistryService implements IExtensionRegistry {
             List<String> versions,
             String targetPlatformParam,
             List<FileResource> resources,
-            Map<Long, List<NamespaceMembership>> membershipsByNamespaceId
+            Map<Long, List<NamespaceMembership>> membershipsByNamespaceId,
+            Map<Long, ExtensionVersion> replacements
     ) {
         var json = extVersion.toExtensionJson();
         json.setPreview(preview);
@@ -931,8 +1193,7 @@ public class LocalRegistryService implements IExtensionRegistry {
 
         var extension = extVersion.getExtension();
         if(extension.getReplacement() != null) {
-            var replacementId = extension.getReplacement().getId();
-            var replacement = repositories.findLatestReplacement(replacementId, targetPlatformParam, false, true);
+            var replacement = replacements.get(extension.getReplacement().getId());
             if(replacement != null) {
                 var displayName = StringUtils.isNotEmpty(replacement.getDisplayName())
                         ? replacement.getDisplayName()
@@ -946,10 +1207,10 @@ public class LocalRegistryService implements IExtensionRegistry {
         }
 
         var versionAlias = new ArrayList<String>(2);
-        if (extVersion.equals(latest)) {
+        if (latest != null && extVersion.getId() == latest.getId()) {
             versionAlias.add(VersionAlias.LATEST);
         }
-        if (extVersion.equals(latestPreRelease)) {
+        if (latestPreRelease != null && extVersion.getId() == latestPreRelease.getId()) {
             versionAlias.add(VersionAlias.PRE_RELEASE);
         }
 
@@ -1008,7 +1269,8 @@ public class LocalRegistryService implements IExtensionRegistry {
             List<String> versions,
             String targetPlatformParam,
             List<FileResource> resources,
-            Map<Long, List<NamespaceMembership>> membershipsByNamespaceId
+            Map<Long, List<NamespaceMembership>> membershipsByNamespaceId,
+            Map<Long, ExtensionVersion> replacements
     ) {
         var json = extVersion.toExtensionJson();
         json.setPreview(preview);
@@ -1023,8 +1285,7 @@ public class LocalRegistryService implements IExtensionRegistry {
 
         var extension = extVersion.getExtension();
         if(extension.getReplacement() != null) {
-            var replacementId = extension.getReplacement().getId();
-            var replacement = repositories.findLatestReplacement(replacementId, targetPlatformParam, false, true);
+            var replacement = replacements.get(extension.getReplacement().getId());
             if(replacement != null) {
                 var displayName = StringUtils.isNotEmpty(replacement.getDisplayName())
                         ? replacement.getDisplayName()
@@ -1039,10 +1300,10 @@ public class LocalRegistryService implements IExtensionRegistry {
         }
 
         var versionAlias = new ArrayList<String>(2);
-        if (extVersion.equals(latest)) {
+        if (latest != null && extVersion.getId() == latest.getId()) {
             versionAlias.add(VersionAlias.LATEST);
         }
-        if (extVersion.equals(latestPreRelease)) {
+        if (latestPreRelease != null && extVersion.getId() == latestPreRelease.getId()) {
             versionAlias.add(VersionAlias.PRE_RELEASE);
         }
 
@@ -9,10 +9,12 @@
  ********************************************************************************/
 package org.eclipse.openvsx;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.Iterables;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.headers.Header;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -26,6 +28,7 @@ import org.eclipse.openvsx.util.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -35,9 +38,12 @@ import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBo
 
 import java.io.InputStream;
 import java.net.URI;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
 
 import static org.eclipse.openvsx.util.TargetPlatform.*;
 
@@ -45,6 +51,9 @@ import static org.eclipse.openvsx.util.TargetPlatform.*;
 public class RegistryAPI {
     private final static int REVIEW_TITLE_SIZE = 255;
     private final static int REVIEW_COMMENT_SIZE = 2048;
+    private final static int BATCH_SIZE = 100;
+    private final static int GZIP_BUFFER_SIZE = 64 * 1024;
+    private final static String NDJSON_VALUE = "application/x-ndjson";
     private final static String VERSION_PATH_PARAM_REGEX = "(?:" + SemanticVersion.VERSION_PATH_PARAM_REGEX + ")|latest|pre-release";
 
     protected final Logger logger = LoggerFactory.getLogger(RegistryAPI.class);
@@ -52,15 +61,18 @@ public class RegistryAPI {
     private final LocalRegistryService local;
     private final UpstreamRegistryService upstream;
     private final UserService users;
+    private final ObjectMapper mapper;
 
     public RegistryAPI(
             LocalRegistryService local,
             UpstreamRegistryService upstream,
-            UserService users
+            UserService users,
+            ObjectMapper mapper
     ) {
         this.local = local;
         this.upstream = upstream;
         this.users = users;
+        this.mapper = mapper;
     }
 
     protected Iterable<IExtensionRegistry> getRegistries() {
@@ -926,6 +938,55 @@ public class RegistryAPI {
         return new ResponseEntity<>(json, HttpStatus.NOT_FOUND);
     }
 
+    @GetMapping(
+        path = "/api/{namespace}/{extension}/install-set",
+        produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @CrossOrigin
+    @Operation(summary = "Provides all extensions that are installed together with an extension, e.g. the members of an extension pack")
+    @ApiResponse(
+        responseCode = "200",
+        description = "The dependencies and bundled extensions of the latest version, including transitive ones, "
+                + "are returned in JSON format"
+    )
+    @ApiResponse(
+        responseCode = "404",
+        description = "The specified extension could not be found",
+        content = @Content()
+    )
+    @ApiResponse(
+        responseCode = "429",
+        description = "A client has sent too many requests in a given amount of time",
+        content = @Content(),
+        headers = {
+            @Header(
+                name = "X-Rate-Limit-Retry-After-Seconds",
+                description = "Number of seconds to wait after receiving a 429 response",
+                schema = @Schema(type = "integer", format = "int32")
+            ),
+            @Header(
+                name = "X-Rate-Limit-Remaining",
+                description = "Remaining number of requests left",
+                schema = @Schema(type = "integer", format = "int32")
+            )
+        }
+    )
+    public ResponseEntity<InstallSetJson> getInstallSet(
+            @PathVariable @Parameter(description = "Extension namespace", example = "redhat")
+            String namespace,
+            @PathVariable @Parameter(description = "Extension name", example = "java")
+            String extension
+    ) {
+        try {
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.maxAge(10, TimeUnit.MINUTES).cachePublic())
+                    .body(local.getInstallSet(namespace, extension));
+        } catch (NotFoundException exc) {
+            var json = InstallSetJson.error("Extension not found: " + NamingUtil.toExtensionId(namespace, extension));
+            return new ResponseEntity<>(json, HttpStatus.NOT_FOUND);
+        }
+    }
+
     @GetMapping(
         path = "/api/-/search",
         produces = MediaType.APPLICATION_JSON_VALUE
@@ -1355,6 +1416,190 @@ public class RegistryAPI {
                 .build();
     }
 
+    @PostMapping(
+        path = "/api/-/batch",
+        consumes = MediaType.APPLICATION_JSON_VALUE,
+        produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @CrossOrigin
+    @Operation(summary = "Provides metadata of multiple extensions at once, e.g. to check installed extensions for updates")
+    @ApiResponse(
+        responseCode = "200",
+        description = "Returns the metadata of the extensions that were found, in the order of the request",
+        content = @Content(
+            mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = ExtensionJson.class))
+        )
+    )
+    @ApiResponse(
+        responseCode = "400",
+        description = "The request contains an invalid parameter value",
+        content = @Content(
+            mediaType = MediaType.APPLICATION_JSON_VALUE,
+            examples = @ExampleObject(value = "{\"error\":\"The 'extensionId' parameter must have the format 'namespace.extension'.\"}")
+        )
+    )
+    @ApiResponse(
+        responseCode = "429",
+        description = "A client has sent too many requests in a given amount of time",
+        content = @Content(),
+        headers = {
+            @Header(
+                name = "X-Rate-Limit-Retry-After-Seconds",
+                description = "Number of seconds to wait after receiving a 429 response",
+                schema = @Schema(type = "integer", format = "int32")
+            ),
+            @Header(
+                name = "X-Rate-Limit-Remaining",
+                description = "Remaining number of requests left",
+                schema = @Schema(type = "integer", format = "int32")
+            )
+        }
+    )
+    public ResponseEntity<StreamingResponseBody> getExtensions(
+            @RequestBody @Parameter(description = "Extensions to provide metadata for")
+            BatchParamJson param
+    ) {
+        var extensions = param.getExtensions() != null ? param.getExtensions() : List.<BatchParamJson.ExtensionParamJson>of();
+        if (extensions.size() > BATCH_SIZE) {
+            return streamingError("The parameter 'extensions' must not contain more than " + BATCH_SIZE + " entries.");
+        }
+        for (var extension : extensions) {
+            if (extension.getExtensionId() == null || NamingUtil.fromExtensionId(extension.getExtensionId()) == null) {
+                return streamingError("The 'extensionId' parameter must have the format 'namespace.extension'.");
+            }
+        }
+
+        var targetPlatform = TargetPlatform.isValid(param.getTargetPlatform()) ? param.getTargetPlatform() : null;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache().cachePublic())
+                .body(outputStream -> {
+                    try (var generator = mapper.createGenerator(outputStream)) {
+                        generator.writeStartArray();
+                        var results = new ArrayList<ExtensionJson>(extensions.size());
+                        extensions.forEach(extension -> results.add(null));
+                        var written = 0;
+                        for (var registry : getRegistries()) {
+                            var missing = new ArrayList<Integer>();
+                            for (var i = written; i < results.size(); i++) {
+                                if (results.get(i) == null) {
+                                    missing.add(i);
+                                }
+                            }
+                            if (missing.isEmpty()) {
+                                break;
+                            }
+
+                            var subResults = registry.getExtensions(missing.stream().map(extensions::get).toList(), targetPlatform);
+                            for (var i = 0; i < missing.size(); i++) {
+                                results.set(missing.get(i), subResults.get(i));
+                            }
+
+                            // write the entries up to the first one that the next registry has to resolve
+                            while (written < results.size() && results.get(written) != null) {
+                                generator.writeObject(results.get(written++));
+                            }
+                            generator.flush();
+                        }
+                        for (var i = written; i < results.size(); i++) {
+                            if (results.get(i) != null) {
+                                generator.writeObject(results.get(i));
+                            }
+                        }
+                        generator.writeEndArray();
+                    }
+                });
+    }
+
+    private ResponseEntity<StreamingResponseBody> streamingError(String message) {
+        return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(outputStream -> mapper.writeValue(outputStream, ResultJson.error(message)));
+    }
+
+    @GetMapping(
+        path = "/api/-/export",
+        produces = NDJSON_VALUE
+    )
+    @CrossOrigin
+    @Operation(summary = "Export the metadata of all active extension versions of this registry as newline-delimited JSON")
+    @ApiResponse(
+        responseCode = "200",
+        description = "Streams one extension version per line, in the same format as the query results. "
+                + "The response is compressed with gzip if the client accepts it.",
+        content = @Content(
+            mediaType = NDJSON_VALUE,
+            schema = @Schema(implementation = ExtensionJson.class)
+        )
+    )
+    @ApiResponse(
+        responseCode = "400",
+        description = "The 'since' parameter is not a valid timestamp",
+        content = @Content(
+            mediaType = MediaType.APPLICATION_JSON_VALUE,
+            examples = @ExampleObject(value = "{\"error\":\"The 'since' parameter must be an ISO-8601 UTC timestamp, e.g. 2024-01-01T00:00:00Z.\"}")
+        )
+    )
+    @ApiResponse(
+        responseCode = "429",
+        description = "A client has sent too many requests in a given amount of time",
+        content = @Content(),
+        headers = {
+            @Header(
+                name = "X-Rate-Limit-Retry-After-Seconds",
+                description = "Number of seconds to wait after receiving a 429 response",
+                schema = @Schema(type = "integer", format = "int32")
+            ),
+            @Header(
+                name = "X-Rate-Limit-Remaining",
+                description = "Remaining number of requests left",
+                schema = @Schema(type = "integer", format = "int32")
+            )
+        }
+    )
+    public ResponseEntity<StreamingResponseBody> getExport(
+            @RequestParam(required = false)
+            @Parameter(description = "Only export extensions that have been updated at or after this UTC timestamp", example = "2024-01-01T00:00:00Z")
+            String since,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+            @Parameter(hidden = true)
+            String acceptEncoding
+    ) {
+        LocalDateTime sinceDate = null;
+        if (since != null) {
+            var sinceError = "The 'since' parameter must be an ISO-8601 UTC timestamp, e.g. 2024-01-01T00:00:00Z.";
+            if (!since.endsWith("Z")) {
+                return streamingError(sinceError);
+            }
+            try {
+                sinceDate = TimeUtil.fromUTCString(since);
+            } catch (DateTimeParseException e) {
+                return streamingError(sinceError);
+            }
+        }
+
+        var gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        var response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_VALUE))
+                .cacheControl(CacheControl.noCache().cachePublic())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        var exportSince = sinceDate;
+        return response.body(outputStream -> {
+            if (gzip) {
+                try (var gzipStream = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE)) {
+                    local.exportExtensions(exportSince, gzipStream);
+                }
+            } else {
+                local.exportExtensions(exportSince, outputStream);
+            }
+        });
+    }
+
     @PostMapping(
         path = "/api/-/namespace/create",
         consumes = MediaType.APPLICATION_JSON_VALUE,
@@ -1638,6 +1883,37 @@ public class RegistryAPI {
         }
     }
 
+    @GetMapping(
+        path = "/api/-/publish/status/{id}",
+        produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @Operation(summary = "Get the progress of an extension version that is being published")
+    @ApiResponse(
+        responseCode = "200",
+        description = "The publishing progress is returned in JSON format"
+    )
+    @ApiResponse(
+        responseCode = "404",
+        description = "The publish operation could not be found",
+        content = @Content(
+            mediaType = MediaType.APPLICATION_JSON_VALUE,
+            examples = @ExampleObject(value = "{ \"error\": \"Publish status not found: 7b7e2a6c-1d52-4c83-9f1e-3e2d3c4b5a69\" }")
+        )
+    )
+    public ResponseEntity<PublishStatusJson> getPublishStatus(
+            @PathVariable @Parameter(description = "Identifier returned in the publishStatusUrl of the publish response")
+            String id
+    ) {
+        try {
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .body(local.getPublishStatus(id));
+        } catch (NotFoundException exc) {
+            var json = PublishStatusJson.error("Publish status not found: " + id);
+            return new ResponseEntity<>(json, HttpStatus.NOT_FOUND);
+        }
+    }
+
     @PostMapping(
         path = "/api/{namespace}/{extension}/review",
         consumes = MediaType.APPLICATION_JSON_VALUE,
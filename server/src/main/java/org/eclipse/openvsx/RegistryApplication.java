@@ -13,18 +13,23 @@ import io.micrometer.core.aop.TimedAspect;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.eclipse.openvsx.mirror.ReadOnlyRequestFilter;
 import org.eclipse.openvsx.web.ShallowEtagHeaderFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.thread.Threading;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
 import org.springframework.retry.annotation.EnableRetry;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.security.web.firewall.HttpStatusRequestRejectedHandler;
 import org.springframework.security.web.firewall.RequestRejectedHandler;
@@ -36,6 +41,8 @@ import org.springframework.security.web.firewall.RequestRejectedHandler;
 @EnableCaching(proxyTargetClass = true)
 public class RegistryApplication {
 
+    private static final Logger logger = LoggerFactory.getLogger(RegistryApplication.class);
+
     public static void main(String[] args) {
         SpringApplication.run(RegistryApplication.class, args);
     }
@@ -45,8 +52,22 @@ public class RegistryApplication {
         return new TimedAspect(registry);
     }
     
+    /**
+     * With {@code spring.threads.virtual.enabled}, Spring Boot runs the Jetty request handling on virtual threads.
+     * Scheduled and {@code @Async} tasks run on this scheduler, so it has to use virtual threads as well.
+     */
     @Bean
-    public TaskScheduler taskScheduler() {
+    public TaskScheduler taskScheduler(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            var scheduler = new SimpleAsyncTaskScheduler();
+            scheduler.setVirtualThreads(true);
+            scheduler.setThreadNamePrefix("scheduling-");
+            return scheduler;
+        }
+        if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            logger.warn("Virtual threads require Java 21 or later, using platform threads on Java {}", Runtime.version().feature());
+        }
+
         return new ThreadPoolTaskScheduler();
     }
 
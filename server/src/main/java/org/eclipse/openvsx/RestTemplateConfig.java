@@ -9,14 +9,18 @@
  * ****************************************************************************** */
 package org.eclipse.openvsx;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
 import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
 import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.thread.Threading;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.http.converter.StringHttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
@@ -31,21 +35,35 @@ public class RestTemplateConfig {
     /**
      * Use to serve requests to ensure that response is given within 30 seconds.
      * VS Code does not wait more than it and will timeout a request.
+     * <p>
+     * With virtual threads, the number of concurrent requests is no longer limited by Jetty's thread pool
+     * (200 threads by default), so requests that wait on slow upstream servers would queue for a connection
+     * of this pool instead. The {@code virtualThreads} pool sizes apply in that mode and default to Jetty's
+     * thread limit, so that as many upstream calls can run concurrently as with platform threads.
      */
     @Bean
     public HttpConnPoolConfig foregroundHttpConnPool(
             @Value("${ovsx.foregroundHttpConnPool.maxTotal:20}") int maxTotal,
             @Value("${ovsx.foregroundHttpConnPool.defaultMaxPerRoute:20}") int defaultMaxPerRoute,
+            @Value("${ovsx.foregroundHttpConnPool.virtualThreads.maxTotal:200}") int virtualThreadsMaxTotal,
+            @Value("${ovsx.foregroundHttpConnPool.virtualThreads.defaultMaxPerRoute:200}") int virtualThreadsDefaultMaxPerRoute,
             @Value("${ovsx.foregroundHttpConnPool.connectionRequestTimeout:10000}") int connectionRequestTimeout,
             @Value("${ovsx.foregroundHttpConnPool.connectTimeout:10000}") int connectTimeout,
-            @Value("${ovsx.foregroundHttpConnPool.socketTimeout:10000}") int socketTimeout
+            @Value("${ovsx.foregroundHttpConnPool.socketTimeout:10000}") int socketTimeout,
+            Environment environment,
+            MeterRegistry registry
     ) {
-        return createHttpConnPoolConfig(maxTotal, defaultMaxPerRoute, connectionRequestTimeout, connectTimeout, socketTimeout);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            maxTotal = virtualThreadsMaxTotal;
+            defaultMaxPerRoute = virtualThreadsDefaultMaxPerRoute;
+        }
+        return createHttpConnPoolConfig("foreground", maxTotal, defaultMaxPerRoute, connectionRequestTimeout, connectTimeout, socketTimeout, registry);
     }
 
     /**
      * Use to download files in background processing for requests not requiring redirects.
      * Never use to serve requests. Overall response time should be within 30secs.
+     * The background tasks are limited by their own workers, so this pool is not resized for virtual threads.
      */
     @Bean
     public HttpConnPoolConfig backgroundHttpConnPool(
@@ -53,15 +71,26 @@ public class RestTemplateConfig {
             @Value("${ovsx.backgroundHttpConnPool.defaultMaxPerRoute:20}") int defaultMaxPerRoute,
             @Value("${ovsx.backgroundHttpConnPool.connectionRequestTimeout:30000}") int connectionRequestTimeout,
             @Value("${ovsx.backgroundHttpConnPool.connectTimeout:30000}") int connectTimeout,
-            @Value("${ovsx.backgroundHttpConnPool.socketTimeout:60000}") int socketTimeout
+            @Value("${ovsx.backgroundHttpConnPool.socketTimeout:60000}") int socketTimeout,
+            MeterRegistry registry
     ) {
-        return createHttpConnPoolConfig(maxTotal, defaultMaxPerRoute, connectionRequestTimeout, connectTimeout, socketTimeout);
+        return createHttpConnPoolConfig("background", maxTotal, defaultMaxPerRoute, connectionRequestTimeout, connectTimeout, socketTimeout, registry);
     }
 
-    private HttpConnPoolConfig createHttpConnPoolConfig(int maxTotal, int defaultMaxPerRoute, int connectionRequestTimeout, int connectTimeout, int socketTimeout) {
+    private HttpConnPoolConfig createHttpConnPoolConfig(
+            String poolName,
+            int maxTotal,
+            int defaultMaxPerRoute,
+            int connectionRequestTimeout,
+            int connectTimeout,
+            int socketTimeout,
+            MeterRegistry registry
+    ) {
         PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
         connectionManager.setMaxTotal(maxTotal);
         connectionManager.setDefaultMaxPerRoute(defaultMaxPerRoute);
+        // leased and pending connections show whether the pool limits the requests to slow upstream servers
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, poolName).bindTo(registry);
         return new HttpConnPoolConfig(
                 connectionManager,
                 connectionRequestTimeout,
@@ -143,6 +172,7 @@ public class RestTemplateConfig {
         var requestConfig = RequestConfig.custom()
                 .setConnectionRequestTimeout(Timeout.of(httpConnPoolConfig.getConnectionRequestTimeout(), TimeUnit.MILLISECONDS))
                 .setConnectTimeout(Timeout.of(httpConnPoolConfig.getConnectTimeout(), TimeUnit.MILLISECONDS))
+                .setResponseTimeout(Timeout.of(httpConnPoolConfig.getSocketTimeout(), TimeUnit.MILLISECONDS))
                 .build();
         return HttpClientBuilder
                 .create()
@@ -9,13 +9,18 @@
  ********************************************************************************/
 package org.eclipse.openvsx;
 
+import jakarta.annotation.PreDestroy;
 import org.apache.commons.lang3.StringUtils;
+import org.eclipse.openvsx.cache.UpstreamMetadataCache;
 import org.eclipse.openvsx.json.*;
 import org.eclipse.openvsx.search.ISearchService;
+import org.eclipse.openvsx.storage.UpstreamFileCache;
+import org.eclipse.openvsx.util.NamingUtil;
 import org.eclipse.openvsx.util.NotFoundException;
 import org.eclipse.openvsx.util.TargetPlatform;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -30,9 +35,16 @@ import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBo
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 @Component
@@ -43,15 +55,36 @@ public class UpstreamRegistryService implements IExtensionRegistry {
     private final RestTemplate restTemplate;
     private UpstreamProxyService proxy;
     private final UrlConfigService urlConfigService;
+    private final UpstreamMetadataCache metadataCache;
+    private final UpstreamFileCache fileCache;
+    private final ExecutorService batchExecutor;
 
     public UpstreamRegistryService(
             RestTemplate restTemplate,
             Optional<UpstreamProxyService> upstreamProxyService,
-            UrlConfigService urlConfigService
+            UrlConfigService urlConfigService,
+            UpstreamMetadataCache metadataCache,
+            UpstreamFileCache fileCache,
+            @Value("${ovsx.upstream.batch.concurrency:8}") int batchConcurrency
     ) {
         this.restTemplate = restTemplate;
         upstreamProxyService.ifPresent(service -> this.proxy = service);
         this.urlConfigService = urlConfigService;
+        this.metadataCache = metadataCache;
+        this.fileCache = fileCache;
+
+        // shared by all batch requests, so that they can't exhaust the upstream connection pool
+        var threadCount = new AtomicInteger();
+        this.batchExecutor = Executors.newFixedThreadPool(batchConcurrency, runnable -> {
+            var thread = new Thread(runnable, "upstream-batch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchExecutor.shutdownNow();
     }
 
     public boolean isValid() {
@@ -63,7 +96,7 @@ public class UpstreamRegistryService implements IExtensionRegistry {
         var urlTemplate = urlConfigService.getUpstreamUrl() + "/api/{namespace}";
         var uriVariables = Map.of("namespace", namespace);
         try {
-            var json = restTemplate.getForObject(urlTemplate, NamespaceJson.class, uriVariables);
+            var json = metadataCache.getForObject(urlTemplate, NamespaceJson.class, uriVariables);
             return proxy != null ? proxy.rewriteUrls(json) : json;
         } catch (RestClientException exc) {
             if(!isNotFound(exc)) {
@@ -79,7 +112,7 @@ public class UpstreamRegistryService implements IExtensionRegistry {
         var urlTemplate = urlConfigService.getUpstreamUrl() + "/api/{namespace}/details";
         var uriVariables = Map.of("namespace", namespace);
         try {
-            return restTemplate.getForObject(urlTemplate, NamespaceDetailsJson.class, uriVariables);
+            return metadataCache.getForObject(urlTemplate, NamespaceDetailsJson.class, uriVariables);
         } catch (RestClientException exc) {
             handleError(exc);
             throw exc;
@@ -105,7 +138,7 @@ public class UpstreamRegistryService implements IExtensionRegistry {
         }
 
         try {
-            var json = restTemplate.getForObject(urlTemplate, ExtensionJson.class, uriVariables);
+            var json = metadataCache.getForObject(urlTemplate, ExtensionJson.class, uriVariables);
             makeDownloadsCompatible(json);
             return proxy != null ? proxy.rewriteUrls(json) : json;
         } catch (RestClientException exc) {
@@ -119,6 +152,16 @@ public class UpstreamRegistryService implements IExtensionRegistry {
 
     @Override
     public ExtensionJson getExtension(String namespace, String extension, String targetPlatform, String version) {
+        var json = fetchExtension(namespace, extension, targetPlatform, version);
+        makeDownloadsCompatible(json);
+        return proxy != null ? proxy.rewriteUrls(json) : json;
+    }
+
+    /**
+     * Get the raw extension metadata from the upstream registry. This doesn't depend on the
+     * current servlet request, so it can run on any thread.
+     */
+    private ExtensionJson fetchExtension(String namespace, String extension, String targetPlatform, String version) {
         var urlTemplate = urlConfigService.getUpstreamUrl() + "/api/{namespace}/{extension}";
         var uriVariables = new HashMap<String, String>();
         uriVariables.put("namespace", namespace);
@@ -133,9 +176,7 @@ public class UpstreamRegistryService implements IExtensionRegistry {
         }
 
         try {
-            var json = restTemplate.getForObject(urlTemplate, ExtensionJson.class, uriVariables);
-            makeDownloadsCompatible(json);
-            return proxy != null ? proxy.rewriteUrls(json) : json;
+            return metadataCache.getForObject(urlTemplate, ExtensionJson.class, uriVariables);
         } catch (RestClientException exc) {
             if(!isNotFound(exc)) {
                 var url = UriComponentsBuilder.fromUriString(urlTemplate).build(uriVariables);
@@ -145,6 +186,48 @@ public class UpstreamRegistryService implements IExtensionRegistry {
         }
     }
 
+    /**
+     * Look up the extensions concurrently on the shared batch executor. An entry that fails
+     * is left empty instead of failing the whole batch. The URLs are rewritten on the calling
+     * thread, because that needs the current servlet request.
+     */
+    @Override
+    public List<ExtensionJson> getExtensions(List<BatchParamJson.ExtensionParamJson> extensions, String targetPlatform) {
+        var futures = new ArrayList<CompletableFuture<ExtensionJson>>(extensions.size());
+        for (var extension : extensions) {
+            var extensionId = NamingUtil.fromExtensionId(extension.getExtensionId());
+            if (extensionId == null) {
+                futures.add(CompletableFuture.completedFuture(null));
+                continue;
+            }
+
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> fetchExtension(extensionId.namespace(), extensionId.extension(), targetPlatform, extension.getVersion()),
+                    batchExecutor
+            ));
+        }
+
+        var jsons = new ArrayList<ExtensionJson>(extensions.size());
+        for (var future : futures) {
+            ExtensionJson json = null;
+            try {
+                json = future.join();
+            } catch (CompletionException exc) {
+                if (!(exc.getCause() instanceof NotFoundException)) {
+                    logger.error("Failed to get extension from upstream registry", exc.getCause());
+                }
+            }
+            if (json != null) {
+                makeDownloadsCompatible(json);
+                json = proxy != null ? proxy.rewriteUrls(json) : json;
+            }
+
+            jsons.add(json);
+        }
+
+        return jsons;
+    }
+
     @Override
     public VersionsJson getVersions(String namespace, String extension, String targetPlatform, int size, int offset) {
         var urlTemplate = urlConfigService.getUpstreamUrl() + "/api/{namespace}/{extension}";
@@ -161,7 +244,7 @@ public class UpstreamRegistryService implements IExtensionRegistry {
         uriVariables.put("size", String.valueOf(size));
 
         try {
-            var json = restTemplate.getForObject(urlTemplate, VersionsJson.class, uriVariables);
+            var json = metadataCache.getForObject(urlTemplate, VersionsJson.class, uriVariables);
             return proxy != null ? proxy.rewriteUrls(json) : json;
         } catch (RestClientException exc) {
             if(!isNotFound(exc)) {
@@ -188,7 +271,7 @@ public class UpstreamRegistryService implements IExtensionRegistry {
         uriVariables.put("size", String.valueOf(size));
 
         try {
-            var json = restTemplate.getForObject(urlTemplate, VersionReferencesJson.class, uriVariables);
+            var json = metadataCache.getForObject(urlTemplate, VersionReferencesJson.class, uriVariables);
             return proxy != null ? proxy.rewriteUrls(json) : json;
         } catch (RestClientException exc) {
             if(!isNotFound(exc)) {
@@ -244,11 +327,15 @@ public class UpstreamRegistryService implements IExtensionRegistry {
         };
 
         try {
+            if(fileCache.isEnabled()) {
+                return fileCache.getFile(restTemplate.getUriTemplateHandler().expand(urlTemplate, uriVariables));
+            }
+
             return restTemplate.execute(urlTemplate, HttpMethod.HEAD, null, responseHandler, uriVariables);
         } catch(RestClientException exc) {
             if(!isNotFound(exc)) {
                 var url = UriComponentsBuilder.fromUriString(urlTemplate).build(uriVariables);
-                logger.error("HEAD " + url, exc);
+                logger.error((fileCache.isEnabled() ? "GET " : "HEAD ") + url, exc);
             }
 
             throw new NotFoundException();
@@ -263,7 +350,7 @@ public class UpstreamRegistryService implements IExtensionRegistry {
         uriVariables.put("extension", extension);
 
         try {
-            return restTemplate.getForObject(urlTemplate, ReviewListJson.class, uriVariables);
+            return metadataCache.getForObject(urlTemplate, ReviewListJson.class, uriVariables);
         } catch (RestClientException exc) {
             if(!isNotFound(exc)) {
                 var url = UriComponentsBuilder.fromUriString(urlTemplate).build(uriVariables);
@@ -297,7 +384,7 @@ public class UpstreamRegistryService implements IExtensionRegistry {
         }
 
         try {
-            var json = restTemplate.getForObject(urlTemplate, SearchResultJson.class, uriVariables);
+            var json = metadataCache.getForObject(urlTemplate, SearchResultJson.class, uriVariables);
             return proxy != null ? proxy.rewriteUrls(json) : json;
         } catch (RestClientException exc) {
             if(!isNotFound(exc)) {
@@ -333,7 +420,7 @@ public class UpstreamRegistryService implements IExtensionRegistry {
         }
 
         try {
-            var json = restTemplate.getForObject(urlTemplate, QueryResultJson.class, queryParams);
+            var json = metadataCache.getForObject(urlTemplate, QueryResultJson.class, queryParams);
             return proxy != null ? proxy.rewriteUrls(json) : json;
         } catch (RestClientException exc) {
             if(!isNotFound(exc)) {
@@ -369,7 +456,7 @@ public class UpstreamRegistryService implements IExtensionRegistry {
         }
 
         try {
-            return restTemplate.getForObject(urlTemplate, QueryResultJson.class, queryParams);
+            return metadataCache.getForObject(urlTemplate, QueryResultJson.class, queryParams);
         } catch (RestClientException exc) {
             if(!isNotFound(exc)) {
                 var url = UriComponentsBuilder.fromUriString(urlTemplate).build(queryParams);
@@ -18,6 +18,7 @@ import org.apache.tika.Tika;
 import org.apache.tika.mime.MediaType;
 import org.apache.tika.mime.MimeTypeException;
 import org.apache.tika.mime.MimeTypes;
+import org.eclipse.openvsx.admin.AdminStatisticCounters;
 import org.eclipse.openvsx.cache.CacheService;
 import org.eclipse.openvsx.entities.Namespace;
 import org.eclipse.openvsx.entities.NamespaceMembership;
@@ -27,6 +28,7 @@ import org.eclipse.openvsx.json.AccessTokenJson;
 import org.eclipse.openvsx.json.NamespaceDetailsJson;
 import org.eclipse.openvsx.json.ResultJson;
 import org.eclipse.openvsx.repositories.RepositoryService;
+import org.eclipse.openvsx.security.AccessTokenUsageWriter;
 import org.eclipse.openvsx.security.IdPrincipal;
 import org.eclipse.openvsx.storage.StorageUtilService;
 import org.eclipse.openvsx.util.*;
@@ -52,19 +54,25 @@ public class UserService {
     private final StorageUtilService storageUtil;
     private final CacheService cache;
     private final ExtensionValidator validator;
+    private final AccessTokenUsageWriter accessTokenUsage;
+    private final AdminStatisticCounters statisticCounters;
 
     public UserService(
             EntityManager entityManager,
             RepositoryService repositories,
             StorageUtilService storageUtil,
             CacheService cache,
-            ExtensionValidator validator
+            ExtensionValidator validator,
+            AccessTokenUsageWriter accessTokenUsage,
+            AdminStatisticCounters statisticCounters
     ) {
         this.entityManager = entityManager;
         this.repositories = repositories;
         this.storageUtil = storageUtil;
         this.cache = cache;
         this.validator = validator;
+        this.accessTokenUsage = accessTokenUsage;
+        this.statisticCounters = statisticCounters;
     }
 
     public UserData findLoggedInUser() {
@@ -128,13 +136,16 @@ public class UserService {
         return user;
     }
 
-    @Transactional
+    /**
+     * Find the active token with the given value and record its usage.
+     * The accessed timestamp is written asynchronously, see {@link AccessTokenUsageWriter}.
+     */
     public PersonalAccessToken useAccessToken(String tokenValue) {
         var token = repositories.findAccessToken(tokenValue);
         if (token == null || !token.isActive()) {
             return null;
         }
-        token.setAccessedTimestamp(TimeUtil.getCurrentUTC());
+        accessTokenUsage.recordAccess(token, TimeUtil.getCurrentUTC());
         return token;
     }
 
@@ -180,6 +191,7 @@ public class UserService {
             throw new ErrorResultException("User " + user.getLoginName() + " is not a member of " + namespace.getName() + ".");
         }
         entityManager.remove(membership);
+        statisticCounters.publisherChanged(user);
         return ResultJson.success("Removed " + user.getLoginName() + " from namespace " + namespace.getName() + ".");
     }
 
@@ -195,6 +207,7 @@ public class UserService {
                 throw new ErrorResultException("User " + user.getLoginName() + " already has the role " + role + ".");
             }
             membership.setRole(role);
+            statisticCounters.publisherChanged(user);
             return ResultJson.success("Changed role of " + user.getLoginName() + " in " + namespace.getName() + " to " + role + ".");
         }
         membership = new NamespaceMembership();
@@ -202,6 +215,7 @@ public class UserService {
         membership.setUser(user);
         membership.setRole(role);
         entityManager.persist(membership);
+        statisticCounters.publisherChanged(user);
         return ResultJson.success("Added " + user.getLoginName() + " as " + role + " of " + namespace.getName() + ".");
     }
 
@@ -14,6 +14,7 @@ import com.google.common.collect.Lists;
 import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.Tag;
 import org.apache.commons.lang3.StringUtils;
+import org.eclipse.openvsx.cache.FileResourceLocationCache;
 import org.eclipse.openvsx.entities.Extension;
 import org.eclipse.openvsx.entities.ExtensionVersion;
 import org.eclipse.openvsx.entities.FileResource;
@@ -53,6 +54,7 @@ public class LocalVSCodeService implements IVSCodeService {
     private final SearchUtilService search;
     private final StorageUtilService storageUtil;
     private final ExtensionVersionIntegrityService integrityService;
+    private final FileResourceLocationCache fileLocations;
 
     @Value("${ovsx.webui.url:}")
     String webuiUrl;
@@ -62,13 +64,15 @@ public class LocalVSCodeService implements IVSCodeService {
             VersionService versions,
             SearchUtilService search,
             StorageUtilService storageUtil,
-            ExtensionVersionIntegrityService integrityService
+            ExtensionVersionIntegrityService integrityService,
+            FileResourceLocationCache fileLocations
     ) {
         this.repositories = repositories;
         this.versions = versions;
         this.search = search;
         this.storageUtil = storageUtil;
         this.integrityService = integrityService;
+        this.fileLocations = fileLocations;
     }
 
     @Override
@@ -310,10 +314,10 @@ public class LocalVSCodeService implements IVSCodeService {
         FileResource resource = null;
         var type = assets.get(assetType);
         if(type != null) {
-            resource = repositories.findFileByType(namespace, extensionName, targetPlatform, version, type);
+            resource = fileLocations.findByType(namespace, extensionName, targetPlatform, version, type);
         } else if(asset.startsWith(FILE_WEB_RESOURCES + "extension/")) {
             var name = asset.substring((FILE_WEB_RESOURCES.length()));
-            resource = repositories.findFileByTypeAndName(namespace, extensionName, targetPlatform, version, FileResource.RESOURCE, name);
+            resource = fileLocations.findByTypeAndName(namespace, extensionName, targetPlatform, version, FileResource.RESOURCE, name);
         }
 
         if (resource == null) {
@@ -346,7 +350,7 @@ public class LocalVSCodeService implements IVSCodeService {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Built-in extension namespace '" + BuiltInExtensionUtil.getBuiltInNamespace() + "' not allowed");
         }
 
-        var resource = repositories.findFileByType(namespaceName, extensionName, targetPlatform, version, FileResource.DOWNLOAD);
+        var resource = fileLocations.findByType(namespaceName, extensionName, targetPlatform, version, FileResource.DOWNLOAD);
         if (resource == null) {
             throw new NotFoundException();
         }
@@ -16,6 +16,7 @@ import org.eclipse.openvsx.ExtensionService;
 import org.eclipse.openvsx.ExtensionValidator;
 import org.eclipse.openvsx.UserService;
 import org.eclipse.openvsx.cache.CacheService;
+import org.eclipse.openvsx.cache.ExtensionExistenceFilter;
 import org.eclipse.openvsx.eclipse.EclipseService;
 import org.eclipse.openvsx.entities.*;
 import org.eclipse.openvsx.json.*;
@@ -51,6 +52,8 @@ public class AdminService {
     private final StorageUtilService storageUtil;
     private final CacheService cache;
     private final JobRequestScheduler scheduler;
+    private final AdminStatisticCounters statisticCounters;
+    private final ExtensionExistenceFilter existenceFilter;
 
     public AdminService(
             RepositoryService repositories,
@@ -62,7 +65,9 @@ public class AdminService {
             EclipseService eclipse,
             StorageUtilService storageUtil,
             CacheService cache,
-            JobRequestScheduler scheduler
+            JobRequestScheduler scheduler,
+            AdminStatisticCounters statisticCounters,
+            ExtensionExistenceFilter existenceFilter
     ) {
         this.repositories = repositories;
         this.extensions = extensions;
@@ -74,6 +79,8 @@ public class AdminService {
         this.storageUtil = storageUtil;
         this.cache = cache;
         this.scheduler = scheduler;
+        this.statisticCounters = statisticCounters;
+        this.existenceFilter = existenceFilter;
     }
 
     @EventListener
@@ -124,6 +131,7 @@ public class AdminService {
         }
 
         cache.evictExtensionJsons(extension);
+        cache.evictFileResourceLocations(extension);
         for (var extVersion : repositories.findVersions(extension)) {
             removeExtensionVersion(extVersion);
         }
@@ -139,6 +147,7 @@ public class AdminService {
 
         entityManager.remove(extension);
         search.removeSearchEntry(extension);
+        statisticCounters.namespaceChanged(extension.getNamespace());
 
         var result = ResultJson.success("Deleted " + NamingUtil.toExtensionId(extension));
         logAdminAction(admin, result);
@@ -161,9 +170,16 @@ public class AdminService {
     }
 
     private void removeExtensionVersion(ExtensionVersion extVersion) {
-        repositories.findFiles(extVersion).map(RemoveFileJobRequest::new).forEach(scheduler::enqueue);
+        repositories.findFiles(extVersion)
+                .filter(resource -> !FileResource.STORAGE_VSIX.equals(resource.getStorageType()))
+                .map(RemoveFileJobRequest::new)
+                .forEach(scheduler::enqueue);
         repositories.deleteFiles(extVersion);
         entityManager.remove(extVersion);
+        if (extVersion.getPublishedWith() != null) {
+            // the version is gone by the next flush, so the publisher can't be looked up from the extension
+            statisticCounters.publisherChanged(extVersion.getPublishedWith().getUser());
+        }
     }
 
     @Transactional(rollbackOn = ErrorResultException.class)
@@ -201,6 +217,7 @@ public class AdminService {
         var namespace = new Namespace();
         namespace.setName(json.getName());
         entityManager.persist(namespace);
+        existenceFilter.addNamespace(namespace.getName());
         return ResultJson.success("Created namespace " + namespace.getName());
     }
 
@@ -0,0 +1,140 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.admin;
+
+import com.google.common.collect.Iterables;
+import jakarta.annotation.PreDestroy;
+import org.eclipse.openvsx.entities.Extension;
+import org.eclipse.openvsx.entities.Namespace;
+import org.eclipse.openvsx.entities.UserData;
+import org.eclipse.openvsx.repositories.RepositoryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the namespace and publisher counters read by {@link AdminStatisticsJobRequestHandler} up to date.
+ * Publishing, deleting and downloading extensions and changing namespace memberships mark the affected
+ * namespaces and publishers. A scheduled flush recounts only the marked ones, so the counters are
+ * corrected with the next change of a namespace or publisher, and the statistics job never has
+ * to aggregate the extension tables.
+ * <p>
+ * Marks are recorded after the surrounding transaction commits, so that the flush sees the changes.
+ */
+@Component
+public class AdminStatisticCounters {
+
+    protected final Logger logger = LoggerFactory.getLogger(AdminStatisticCounters.class);
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final RepositoryService repositories;
+    private final Set<Long> namespaceIds = ConcurrentHashMap.newKeySet();
+    private final Set<Long> extensionIds = ConcurrentHashMap.newKeySet();
+    private final Set<Long> publisherIds = ConcurrentHashMap.newKeySet();
+
+    public AdminStatisticCounters(RepositoryService repositories) {
+        this.repositories = repositories;
+    }
+
+    /**
+     * Versions of the extension have been published, activated or deactivated.
+     */
+    public void extensionChanged(Extension extension) {
+        mark(extensionIds, extension.getId());
+        namespaceChanged(extension.getNamespace());
+    }
+
+    /**
+     * The download count of the extension has changed.
+     */
+    public void downloadsChanged(Extension extension) {
+        namespaceChanged(extension.getNamespace());
+    }
+
+    public void namespaceChanged(Namespace namespace) {
+        if(namespace != null) {
+            mark(namespaceIds, namespace.getId());
+        }
+    }
+
+    /**
+     * The user published or removed extension versions or changed namespace membership.
+     */
+    public void publisherChanged(UserData user) {
+        if(user != null) {
+            mark(publisherIds, user.getId());
+        }
+    }
+
+    private void mark(Set<Long> ids, long id) {
+        if(TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ids.add(id);
+                }
+            });
+        } else {
+            ids.add(id);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ovsx.admin.statistics.counters.flush-interval-millis:60000}")
+    public synchronized void flush() {
+        var namespaces = drain(namespaceIds);
+        var extensions = drain(extensionIds);
+        var publishers = drain(publisherIds);
+        if(namespaces.isEmpty() && extensions.isEmpty() && publishers.isEmpty()) {
+            return;
+        }
+
+        try {
+            for(var batch : Iterables.partition(extensions, BATCH_SIZE)) {
+                publishers.addAll(repositories.findPublisherIds(batch));
+            }
+            for(var batch : Iterables.partition(namespaces, BATCH_SIZE)) {
+                repositories.refreshNamespaceStatistics(batch);
+            }
+            for(var batch : Iterables.partition(publishers, BATCH_SIZE)) {
+                repositories.refreshPublisherStatistics(batch);
+            }
+        } catch (RuntimeException e) {
+            // try again with the next flush
+            namespaceIds.addAll(namespaces);
+            extensionIds.addAll(extensions);
+            publisherIds.addAll(publishers);
+            logger.warn("Failed to refresh admin statistic counters", e);
+        }
+    }
+
+    private Set<Long> drain(Set<Long> ids) {
+        var drained = new HashSet<Long>();
+        for(var id : ids) {
+            if(ids.remove(id)) {
+                drained.add(id);
+            }
+        }
+
+        return drained;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
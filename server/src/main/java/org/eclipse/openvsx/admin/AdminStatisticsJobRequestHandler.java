@@ -26,10 +26,16 @@ public class AdminStatisticsJobRequestHandler implements JobRequestHandler<Admin
 
     private final RepositoryService repositories;
     private final AdminStatisticsService service;
+    private final AdminStatisticCounters counters;
 
-    public AdminStatisticsJobRequestHandler(RepositoryService repositories, AdminStatisticsService service) {
+    public AdminStatisticsJobRequestHandler(
+            RepositoryService repositories,
+            AdminStatisticsService service,
+            AdminStatisticCounters counters
+    ) {
         this.repositories = repositories;
         this.service = service;
+        this.counters = counters;
     }
 
     @Override
@@ -39,6 +45,11 @@ public class AdminStatisticsJobRequestHandler implements JobRequestHandler<Admin
 
         LOGGER.info(">> ADMIN REPORT STATS {} {}", year, month);
         var stopwatch = new StopWatch();
+        stopwatch.start("counters.flush");
+        counters.flush();
+        stopwatch.stop();
+        LOGGER.info("{} took {} ms", stopwatch.getLastTaskName(), stopwatch.getLastTaskTimeMillis());
+
         stopwatch.start("repositories.countActiveExtensions");
         var extensions = repositories.countActiveExtensions();
         stopwatch.stop();
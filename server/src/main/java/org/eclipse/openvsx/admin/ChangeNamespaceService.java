@@ -12,6 +12,7 @@ package org.eclipse.openvsx.admin;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import org.eclipse.openvsx.cache.CacheService;
+import org.eclipse.openvsx.cache.ExtensionExistenceFilter;
 import org.eclipse.openvsx.entities.Extension;
 import org.eclipse.openvsx.entities.FileResource;
 import org.eclipse.openvsx.entities.Namespace;
@@ -30,17 +31,23 @@ public class ChangeNamespaceService {
     private final EntityManager entityManager;
     private final CacheService cache;
     private final SearchUtilService search;
+    private final AdminStatisticCounters statisticCounters;
+    private final ExtensionExistenceFilter existenceFilter;
 
     public ChangeNamespaceService(
             RepositoryService repositories,
             EntityManager entityManager,
             CacheService cache,
-            SearchUtilService search
+            SearchUtilService search,
+            AdminStatisticCounters statisticCounters,
+            ExtensionExistenceFilter existenceFilter
     ) {
         this.repositories = repositories;
         this.entityManager = entityManager;
         this.cache = cache;
         this.search = search;
+        this.statisticCounters = statisticCounters;
+        this.existenceFilter = existenceFilter;
     }
 
     @Transactional
@@ -55,6 +62,7 @@ public class ChangeNamespaceService {
         for(var extension : extensions) {
             cache.evictExtensionJsons(extension);
             cache.evictLatestExtensionVersion(extension);
+            cache.evictFileResourceLocations(extension);
         }
 
         if(createNewNamespace) {
@@ -65,6 +73,10 @@ public class ChangeNamespaceService {
 
         changeExtensionNamespace(extensions, newNamespace);
         changeMembershipNamespace(oldNamespace, newNamespace, removeOldNamespace);
+        statisticCounters.namespaceChanged(newNamespace);
+        if(!removeOldNamespace) {
+            statisticCounters.namespaceChanged(oldNamespace);
+        }
         updatedResources.forEach(entityManager::merge);
 
         if(removeOldNamespace) {
@@ -76,9 +88,11 @@ public class ChangeNamespaceService {
     }
 
     private void changeExtensionNamespace(Streamable<Extension> extensions, Namespace newNamespace) {
+        existenceFilter.addNamespace(newNamespace.getName());
         for(var extension : extensions) {
             extension = entityManager.merge(extension);
             extension.setNamespace(newNamespace);
+            existenceFilter.addExtension(newNamespace.getName(), extension.getName());
         }
     }
 
@@ -87,8 +101,10 @@ public class ChangeNamespaceService {
                 .collect(Collectors.toMap(m -> m.getUser().getId(), m -> m));
         var newMemberships = repositories.findMemberships(newNamespace).stream()
                 .collect(Collectors.toMap(m -> m.getUser().getId(), m -> m));
+        newMemberships.values().forEach(m -> statisticCounters.publisherChanged(m.getUser()));
 
         for(var entry : oldMemberships.entrySet()) {
+            statisticCounters.publisherChanged(entry.getValue().getUser());
             if(!newMemberships.containsKey(entry.getKey())) {
                 entry.getValue().setNamespace(newNamespace);
             } else if (removeOldNamespace) {
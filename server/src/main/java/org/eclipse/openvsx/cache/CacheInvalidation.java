@@ -0,0 +1,81 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import org.eclipse.openvsx.util.NamingUtil;
+
+/**
+ * Cache eviction that is sent to the other server instances by the {@link CacheInvalidationBus}.
+ */
+public record CacheInvalidation(Type type, String cacheName, String key) {
+
+    private static final char SEPARATOR = '\t';
+
+    public enum Type {
+        /** clear all caches */
+        CLEAR_ALL,
+        /** clear the cache with the given name */
+        CLEAR,
+        /** evict the given key of the cache */
+        EVICT,
+        /** evict all entries of the extension with the given ID, i.e. {@code namespace.extension} */
+        EVICT_EXTENSION
+    }
+
+    public static CacheInvalidation clearAll() {
+        return new CacheInvalidation(Type.CLEAR_ALL, null, null);
+    }
+
+    public static CacheInvalidation clear(String cacheName) {
+        return new CacheInvalidation(Type.CLEAR, cacheName, null);
+    }
+
+    public static CacheInvalidation evict(String cacheName, String key) {
+        return new CacheInvalidation(Type.EVICT, cacheName, key);
+    }
+
+    public static CacheInvalidation evictExtension(String cacheName, String namespace, String extension) {
+        return new CacheInvalidation(Type.EVICT_EXTENSION, cacheName, NamingUtil.toExtensionId(namespace, extension));
+    }
+
+    public String encode() {
+        var builder = new StringBuilder(type.name());
+        if(cacheName != null) {
+            builder.append(SEPARATOR).append(cacheName);
+        }
+        if(key != null) {
+            builder.append(SEPARATOR).append(key);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * @return the decoded invalidation, or {@code null} if the text is not valid
+     */
+    public static CacheInvalidation decode(String text) {
+        var parts = text.split(String.valueOf(SEPARATOR), 3);
+        Type type;
+        try {
+            type = Type.valueOf(parts[0]);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+
+        var cacheName = parts.length > 1 ? parts[1] : null;
+        var key = parts.length > 2 ? parts[2] : null;
+        var valid = switch (type) {
+            case CLEAR_ALL -> true;
+            case CLEAR -> cacheName != null;
+            case EVICT -> cacheName != null && key != null;
+            case EVICT_EXTENSION -> cacheName != null && key != null && NamingUtil.fromExtensionId(key) != null;
+        };
+        return valid ? new CacheInvalidation(type, cacheName, key) : null;
+    }
+}
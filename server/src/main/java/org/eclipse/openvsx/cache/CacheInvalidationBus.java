@@ -0,0 +1,293 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.eclipse.openvsx.repositories.RepositoryService;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends the cache evictions of this server instance to all other instances with PostgreSQL {@code NOTIFY},
+ * and applies the evictions of the other instances that are received with {@code LISTEN}.
+ * <p>
+ * Evictions are collected until the transaction that caused them is committed, deduplicated and sent in
+ * batches at a fixed interval. When too many evictions are pending, a single {@link CacheInvalidation#clearAll()}
+ * is sent instead. Notifications are lost while the listening connection is down, so all local caches are
+ * cleared after it is reestablished.
+ */
+@Component
+public class CacheInvalidationBus {
+
+    static final String CHANNEL = "ovsx_cache_invalidation";
+    /** PostgreSQL limits the payload to 8000 bytes */
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+
+    protected final Logger logger = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private final RepositoryService repositories;
+    private final DataSource dataSource;
+    private final ApplicationEventPublisher events;
+    private final boolean enabled;
+    private final long flushIntervalMillis;
+    private final int maxPending;
+    private final long reconnectDelayMillis;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Counter sent;
+    private final Counter notifications;
+    private final Counter received;
+
+    private final Set<CacheInvalidation> pending = new LinkedHashSet<>();
+    private boolean overflow;
+    private volatile boolean running;
+    private ScheduledExecutorService flusher;
+    private Thread listener;
+
+    public CacheInvalidationBus(
+            RepositoryService repositories,
+            DataSource dataSource,
+            ApplicationEventPublisher events,
+            MeterRegistry registry,
+            @Value("${ovsx.cache.invalidation.enabled:false}") boolean enabled,
+            @Value("${ovsx.cache.invalidation.flush-interval-millis:100}") long flushIntervalMillis,
+            @Value("${ovsx.cache.invalidation.max-pending:1000}") int maxPending,
+            @Value("${ovsx.cache.invalidation.reconnect-delay-millis:5000}") long reconnectDelayMillis
+    ) {
+        this.repositories = repositories;
+        this.dataSource = dataSource;
+        this.events = events;
+        this.enabled = enabled;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.maxPending = maxPending;
+        this.reconnectDelayMillis = reconnectDelayMillis;
+        this.sent = Counter.builder("ovsx_cache_invalidations_sent")
+                .description("Cache evictions sent to the other server instances")
+                .register(registry);
+        this.notifications = Counter.builder("ovsx_cache_invalidation_notifications_sent")
+                .description("Notifications sent with batches of cache evictions")
+                .register(registry);
+        this.received = Counter.builder("ovsx_cache_invalidations_received")
+                .description("Cache evictions received from the other server instances")
+                .register(registry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventListener
+    public void start(ApplicationStartedEvent event) {
+        if(!enabled) {
+            return;
+        }
+
+        running = true;
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "cache-invalidation-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+
+        listener = new Thread(this::listen, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if(!running) {
+            return;
+        }
+
+        running = false;
+        flusher.shutdown();
+        flush();
+        listener.interrupt();
+    }
+
+    /**
+     * Send the eviction to the other server instances, after the current transaction is committed.
+     */
+    public void publish(CacheInvalidation invalidation) {
+        if(!running) {
+            return;
+        }
+
+        if(TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(invalidation);
+                }
+            });
+        } else {
+            enqueue(invalidation);
+        }
+    }
+
+    private synchronized void enqueue(CacheInvalidation invalidation) {
+        if(overflow) {
+            return;
+        }
+
+        pending.add(invalidation);
+        if(pending.size() > maxPending) {
+            pending.clear();
+            overflow = true;
+        }
+    }
+
+    void flush() {
+        List<CacheInvalidation> batch;
+        synchronized (this) {
+            batch = overflow ? List.of(CacheInvalidation.clearAll()) : new ArrayList<>(pending);
+            pending.clear();
+            overflow = false;
+        }
+        if(batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            for(var payload : toPayloads(batch)) {
+                repositories.sendNotification(CHANNEL, payload);
+                notifications.increment();
+            }
+            sent.increment(batch.size());
+        } catch (RuntimeException e) {
+            logger.error("Failed to send cache invalidations, all caches will be cleared with the next batch", e);
+            synchronized (this) {
+                pending.clear();
+                overflow = true;
+            }
+        }
+    }
+
+    List<String> toPayloads(List<CacheInvalidation> batch) {
+        var payloads = new ArrayList<String>();
+        var payload = new StringBuilder(instanceId);
+        var payloadBytes = instanceId.length();
+        for(var invalidation : batch) {
+            var line = invalidation.encode();
+            var lineBytes = line.getBytes(StandardCharsets.UTF_8).length + 1;
+            if(payloadBytes + lineBytes > MAX_PAYLOAD_BYTES) {
+                payloads.add(payload.toString());
+                payload = new StringBuilder(instanceId);
+                payloadBytes = instanceId.length();
+            }
+
+            payload.append('\n').append(line);
+            payloadBytes += lineBytes;
+        }
+
+        payloads.add(payload.toString());
+        return payloads;
+    }
+
+    private void listen() {
+        var missedNotifications = false;
+        while(running) {
+            try (var connection = dataSource.getConnection()) {
+                try (var statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                try {
+                    var pgConnection = connection.unwrap(PGConnection.class);
+                    if(missedNotifications) {
+                        logger.info("Listening for cache invalidations again, clearing all caches");
+                        events.publishEvent(new CacheInvalidationEvent(List.of(CacheInvalidation.clearAll())));
+                    }
+
+                    while(running) {
+                        var batch = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                        if(batch != null) {
+                            for(var notification : batch) {
+                                receive(notification.getParameter());
+                            }
+                        }
+                    }
+                } finally {
+                    // the connection goes back to the pool, where it must not keep receiving notifications
+                    unlisten(connection);
+                }
+            } catch (SQLException | RuntimeException e) {
+                if(!running) {
+                    return;
+                }
+
+                missedNotifications = true;
+                logger.warn("Listening for cache invalidations failed, reconnecting in {} ms", reconnectDelayMillis, e);
+                try {
+                    Thread.sleep(reconnectDelayMillis);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void unlisten(Connection connection) {
+        try (var statement = connection.createStatement()) {
+            statement.execute("UNLISTEN *");
+        } catch (SQLException e) {
+            logger.warn("Failed to stop listening for cache invalidations", e);
+        }
+    }
+
+    void receive(String payload) {
+        var lines = payload.split("\n");
+        if(lines[0].equals(instanceId)) {
+            return;
+        }
+
+        var invalidations = new ArrayList<CacheInvalidation>(lines.length - 1);
+        for(var i = 1; i < lines.length; i++) {
+            var invalidation = CacheInvalidation.decode(lines[i]);
+            if(invalidation != null) {
+                invalidations.add(invalidation);
+            } else {
+                logger.warn("Ignoring invalid cache invalidation: {}", lines[i]);
+            }
+        }
+
+        received.increment(invalidations.size());
+        try {
+            events.publishEvent(new CacheInvalidationEvent(invalidations));
+        } catch (RuntimeException e) {
+            logger.error("Failed to apply cache invalidations", e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import java.util.List;
+
+/**
+ * Cache evictions that were received from other server instances and must be applied to the local caches only.
+ */
+public record CacheInvalidationEvent(List<CacheInvalidation> invalidations) {
+}
@@ -13,11 +13,17 @@ import org.eclipse.openvsx.entities.Extension;
 import org.eclipse.openvsx.entities.ExtensionVersion;
 import org.eclipse.openvsx.entities.UserData;
 import org.eclipse.openvsx.repositories.RepositoryService;
+import org.eclipse.openvsx.util.NamingUtil;
 import org.eclipse.openvsx.util.TargetPlatform;
 import org.eclipse.openvsx.util.VersionAlias;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -31,6 +37,12 @@ public class CacheService {
     public static final String CACHE_AVERAGE_REVIEW_RATING = "average.review.rating";
     public static final String CACHE_SITEMAP = "sitemap";
     public static final String CACHE_MALICIOUS_EXTENSIONS = "malicious.extensions";
+    /** not managed by the cache manager, see {@link FileResourceLocationCache} */
+    public static final String CACHE_FILE_RESOURCE_LOCATION = "file.location";
+    /** not managed by the cache manager, evicting a key adds it to the {@link ExtensionExistenceFilter} */
+    public static final String CACHE_EXISTENCE_FILTER = "existence.filter";
+    /** not managed by the cache manager, see {@link UpstreamMetadataCache} */
+    public static final String CACHE_UPSTREAM_METADATA = "upstream.metadata";
 
     public static final String GENERATOR_EXTENSION_JSON = "extensionJsonCacheKeyGenerator";
     public static final String GENERATOR_LATEST_EXTENSION_VERSION = "latestExtensionVersionCacheKeyGenerator";
@@ -39,17 +51,32 @@ public class CacheService {
     private final RepositoryService repositories;
     private final ExtensionJsonCacheKeyGenerator extensionJsonCacheKey;
     private final LatestExtensionVersionCacheKeyGenerator latestExtensionVersionCacheKey;
+    private final FileResourceLocationCache fileResourceLocations;
+    private final ExtensionExistenceFilter existenceFilter;
+    private final UpstreamMetadataCache upstreamMetadata;
+    private final CacheInvalidationBus invalidationBus;
+    private final Duration keyIndexMinAge;
 
     public CacheService(
             CacheManager cacheManager,
             RepositoryService repositories,
             ExtensionJsonCacheKeyGenerator extensionJsonCacheKey,
-            LatestExtensionVersionCacheKeyGenerator latestExtensionVersionCacheKey
+            LatestExtensionVersionCacheKeyGenerator latestExtensionVersionCacheKey,
+            FileResourceLocationCache fileResourceLocations,
+            ExtensionExistenceFilter existenceFilter,
+            UpstreamMetadataCache upstreamMetadata,
+            CacheInvalidationBus invalidationBus,
+            @Value("${ovsx.cache.key-index.min-age-seconds:60}") long keyIndexMinAgeSeconds
     ) {
         this.cacheManager = cacheManager;
         this.repositories = repositories;
         this.extensionJsonCacheKey = extensionJsonCacheKey;
         this.latestExtensionVersionCacheKey = latestExtensionVersionCacheKey;
+        this.fileResourceLocations = fileResourceLocations;
+        this.existenceFilter = existenceFilter;
+        this.upstreamMetadata = upstreamMetadata;
+        this.invalidationBus = invalidationBus;
+        this.keyIndexMinAge = Duration.ofSeconds(keyIndexMinAgeSeconds);
     }
 
     public void evictNamespaceDetails() {
@@ -64,6 +91,7 @@ public class CacheService {
 
         var namespaceName = extension.getNamespace().getName();
         cache.evictIfPresent(namespaceName);
+        invalidationBus.publish(CacheInvalidation.evict(CACHE_NAMESPACE_DETAILS_JSON, namespaceName));
     }
 
     public void evictExtensionJsons() {
@@ -79,6 +107,13 @@ public class CacheService {
         if (cache == null) {
             return; // cache is not created
         }
+
+        var namespaceName = extension.getNamespace().getName();
+        var extensionName = extension.getName();
+        invalidationBus.publish(CacheInvalidation.evictExtension(CACHE_EXTENSION_JSON, namespaceName, extensionName));
+        if (evictIndexedKeys(cache, namespaceName, extensionName)) {
+            return;
+        }
         if (extension.getVersions() == null) {
             return;
         }
@@ -88,8 +123,6 @@ public class CacheService {
                 .map(ExtensionVersion::getVersion)
                 .forEach(versions::add);
 
-        var namespaceName = extension.getNamespace().getName();
-        var extensionName = extension.getName();
         var targetPlatforms = new ArrayList<>(TargetPlatform.TARGET_PLATFORM_NAMES);
         targetPlatforms.add("null");
         for (var version : versions) {
@@ -107,6 +140,7 @@ public class CacheService {
 
         var extension = extVersion.getExtension();
         var namespace = extension.getNamespace();
+        invalidationBus.publish(CacheInvalidation.evictExtension(CACHE_EXTENSION_JSON, namespace.getName(), extension.getName()));
         var versions = new ArrayList<>(List.of(VersionAlias.LATEST, extVersion.getVersion()));
         if (extVersion.isPreRelease()) {
             versions.add(VersionAlias.PRE_RELEASE);
@@ -129,6 +163,12 @@ public class CacheService {
             return;
         }
 
+        var namespaceName = extension.getNamespace().getName();
+        invalidationBus.publish(CacheInvalidation.evictExtension(CACHE_LATEST_EXTENSION_VERSION, namespaceName, extension.getName()));
+        if(evictIndexedKeys(cache, namespaceName, extension.getName())) {
+            return;
+        }
+
         var targetPlatforms = new ArrayList<>(TargetPlatform.TARGET_PLATFORM_NAMES);
         targetPlatforms.add(null);
         for (var targetPlatform : targetPlatforms) {
@@ -143,6 +183,137 @@ public class CacheService {
         }
     }
 
+    public void evictFileResourceLocations() {
+        fileResourceLocations.invalidate();
+        invalidationBus.publish(CacheInvalidation.clear(CACHE_FILE_RESOURCE_LOCATION));
+    }
+
+    public void evictFileResourceLocations(Extension extension) {
+        fileResourceLocations.evict(extension);
+        var namespaceName = extension.getNamespace().getName();
+        invalidationBus.publish(CacheInvalidation.evictExtension(CACHE_FILE_RESOURCE_LOCATION, namespaceName, extension.getName()));
+    }
+
+    public void evictUpstreamMetadata() {
+        upstreamMetadata.invalidate();
+        invalidationBus.publish(CacheInvalidation.clear(CACHE_UPSTREAM_METADATA));
+    }
+
+    /**
+     * Apply the evictions of another server instance to the local caches, without sending them again.
+     */
+    @EventListener
+    public void evictRemoteInvalidations(CacheInvalidationEvent event) {
+        for (var invalidation : event.invalidations()) {
+            switch (invalidation.type()) {
+                case CLEAR_ALL -> {
+                    cacheManager.getCacheNames().forEach(this::clearLocalCache);
+                    fileResourceLocations.invalidate();
+                    existenceFilter.invalidate();
+                    upstreamMetadata.invalidate();
+                }
+                case CLEAR -> clearLocalCache(invalidation.cacheName());
+                case EVICT -> evictLocal(invalidation.cacheName(), invalidation.key());
+                case EVICT_EXTENSION -> {
+                    var extensionId = NamingUtil.fromExtensionId(invalidation.key());
+                    evictLocalExtension(invalidation.cacheName(), extensionId.namespace(), extensionId.extension());
+                }
+            }
+        }
+    }
+
+    private void clearLocalCache(String cacheName) {
+        if (CACHE_FILE_RESOURCE_LOCATION.equals(cacheName)) {
+            fileResourceLocations.invalidate();
+            return;
+        }
+        if (CACHE_EXISTENCE_FILTER.equals(cacheName)) {
+            existenceFilter.invalidate();
+            return;
+        }
+        if (CACHE_UPSTREAM_METADATA.equals(cacheName)) {
+            upstreamMetadata.invalidate();
+            return;
+        }
+
+        var cache = getLocalCache(cacheName);
+        if (cache != null) {
+            cache.invalidate();
+        }
+    }
+
+    private void evictLocal(String cacheName, Object key) {
+        if (CACHE_EXISTENCE_FILTER.equals(cacheName)) {
+            existenceFilter.addLocal(key.toString());
+            return;
+        }
+
+        var cache = getLocalCache(cacheName);
+        if (cache != null) {
+            cache.evictIfPresent(key);
+        }
+    }
+
+    private void evictLocalExtension(String cacheName, String namespaceName, String extensionName) {
+        if (CACHE_FILE_RESOURCE_LOCATION.equals(cacheName)) {
+            fileResourceLocations.evict(namespaceName, extensionName);
+            return;
+        }
+
+        var cache = getLocalCache(cacheName);
+        if (cache != null && !evictIndexedKeys(cache, namespaceName, extensionName)) {
+            // the keys can only be enumerated with the versions of the extension, which this event doesn't have
+            cache.invalidate();
+        }
+    }
+
+    /**
+     * Get the cache without the decorator that sends cleared caches to the other server instances.
+     */
+    private Cache getLocalCache(String cacheName) {
+        var cache = cacheManager.getCache(cacheName);
+        return cache instanceof BroadcastingCache broadcasting ? broadcasting.getDelegate() : cache;
+    }
+
+    /**
+     * Evict only the entries that were stored for the extension, if the cache has a key index.
+     * The keys are evicted through the given cache, so that all of its decorators see the eviction.
+     * @return whether the cache has a key index
+     */
+    private boolean evictIndexedKeys(Cache cache, String namespaceName, String extensionName) {
+        var keyIndex = getKeyIndex(cache);
+        if (keyIndex == null) {
+            return false;
+        }
+
+        keyIndex.getKeys(namespaceName, extensionName).forEach(cache::evictIfPresent);
+        return true;
+    }
+
+    private ExtensionKeyIndexedCache getKeyIndex(Cache cache) {
+        if (cache instanceof BroadcastingCache broadcasting) {
+            cache = broadcasting.getDelegate();
+        }
+        if (cache instanceof SingleFlightCache singleFlight) {
+            cache = singleFlight.getDelegate();
+        }
+        return cache instanceof ExtensionKeyIndexedCache keyIndex ? keyIndex : null;
+    }
+
+    /**
+     * Remove the keys of evicted and expired entries from the key indexes, so that they don't grow without bounds.
+     */
+    @Scheduled(fixedDelayString = "${ovsx.cache.key-index.cleanup-interval-millis:600000}")
+    public void removeExpiredIndexedKeys() {
+        for (var cacheName : cacheManager.getCacheNames()) {
+            var cache = cacheManager.getCache(cacheName);
+            var keyIndex = cache != null ? getKeyIndex(cache) : null;
+            if (keyIndex != null) {
+                keyIndex.removeExpiredKeys(keyIndexMinAge);
+            }
+        }
+    }
+
     private void invalidateCache(String cacheName) {
         var cache = cacheManager.getCache(cacheName);
         if(cache == null) {
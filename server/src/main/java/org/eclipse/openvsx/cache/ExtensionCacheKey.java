@@ -0,0 +1,39 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import org.eclipse.openvsx.util.NamingUtil;
+
+import java.io.Serializable;
+import java.util.Locale;
+
+/**
+ * Cache key of an entry that belongs to an extension. The extension is part of the key,
+ * so that {@link ExtensionKeyIndexedCache} can find all entries of an extension.
+ */
+public record ExtensionCacheKey(String namespace, String extension, String qualifier) implements Serializable {
+
+    /**
+     * Namespace and extension names are matched case-insensitively by the repository,
+     * so entries of differently cased requests belong to the same extension.
+     */
+    public String extensionId() {
+        return toExtensionId(namespace, extension);
+    }
+
+    public static String toExtensionId(String namespace, String extension) {
+        return NamingUtil.toExtensionId(namespace, extension).toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public String toString() {
+        return qualifier;
+    }
+}
@@ -0,0 +1,253 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.eclipse.openvsx.repositories.RepositoryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * In-memory Bloom filter of the namespace and extension names in the database. When the filter does not
+ * contain a name, the name definitely does not exist locally, so the registry can skip the database and
+ * go straight to the upstream registry. False positives just fall through to the database as before.
+ * <p>
+ * Names are added when namespaces are created or renamed and when extensions are activated, and the added
+ * names are sent to the other server instances with the {@link CacheInvalidationBus}. Deleted names stay
+ * in the filter until it is rebuilt, which happens on startup and periodically. When the filter is invalidated,
+ * it is rebuilt in the background, so that the thread that applies the invalidations is not blocked.
+ */
+@Component
+public class ExtensionExistenceFilter {
+
+    protected final Logger logger = LoggerFactory.getLogger(ExtensionExistenceFilter.class);
+
+    private final RepositoryService repositories;
+    private final CacheInvalidationBus invalidationBus;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+    private final Counter skipped;
+    private final ExecutorService rebuilder;
+    private final Object lock = new Object();
+
+    /** {@code null} until the filter has been built for the first time */
+    private volatile BloomFilter<CharSequence> filter;
+    /**
+     * Names added since the last rebuild started and before that. Both are added to a rebuilt filter,
+     * because names that were added just before a rebuild may not have been committed yet when it queries the database.
+     */
+    private List<String> recentNames = new ArrayList<>();
+    private List<String> olderNames = new ArrayList<>();
+    private boolean rebuilding;
+    /** Incremented when the filter is invalidated, so that a rebuild that was already running is discarded */
+    private int generation;
+
+    public ExtensionExistenceFilter(
+            RepositoryService repositories,
+            CacheInvalidationBus invalidationBus,
+            MeterRegistry registry,
+            @Value("${ovsx.registry.existence-filter.enabled:false}") boolean enabled,
+            @Value("${ovsx.registry.existence-filter.expected-insertions:500000}") long expectedInsertions,
+            @Value("${ovsx.registry.existence-filter.false-positive-probability:0.01}") double falsePositiveProbability
+    ) {
+        this.repositories = repositories;
+        this.invalidationBus = invalidationBus;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.skipped = Counter.builder("ovsx_existence_filter_skipped")
+                .description("Local lookups skipped because the name is not in the existence filter")
+                .register(registry);
+        this.rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+            var thread = new Thread(runnable, "existence-filter-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener
+    public void initialize(ApplicationStartedEvent event) {
+        if(enabled) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${ovsx.registry.existence-filter.rebuild-interval-millis:300000}",
+            fixedDelayString = "${ovsx.registry.existence-filter.rebuild-interval-millis:300000}"
+    )
+    public void scheduledRebuild() {
+        if(enabled) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        synchronized (lock) {
+            if(rebuilding) {
+                return;
+            }
+            rebuilding = true;
+        }
+
+        try {
+            while(!tryRebuild()) {
+                // added names of other instances may have been missed while the filter was rebuilt
+                logger.info("Existence filter was invalidated while it was rebuilt, rebuilding it again");
+            }
+        } finally {
+            synchronized (lock) {
+                rebuilding = false;
+            }
+        }
+    }
+
+    /**
+     * @return {@code false} if the filter was invalidated while it was rebuilt, so the new filter was discarded
+     */
+    private boolean tryRebuild() {
+        int rebuildGeneration;
+        synchronized (lock) {
+            rebuildGeneration = generation;
+            olderNames = recentNames;
+            recentNames = new ArrayList<>();
+        }
+
+        try {
+            var namespaces = repositories.findAllNamespaceNames();
+            var extensions = repositories.findAllExtensionIds();
+            var insertions = Math.max(expectedInsertions, 2L * (namespaces.size() + extensions.size()));
+            var newFilter = BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), insertions, falsePositiveProbability);
+            namespaces.forEach(namespace -> newFilter.put(namespaceKey(namespace)));
+            extensions.forEach(id -> newFilter.put(extensionKey(id.namespace(), id.extension())));
+            synchronized (lock) {
+                if(generation != rebuildGeneration) {
+                    recentNames.addAll(olderNames);
+                    return false;
+                }
+                olderNames.forEach(newFilter::put);
+                recentNames.forEach(newFilter::put);
+                filter = newFilter;
+            }
+            logger.info("Rebuilt existence filter with {} namespaces and {} extensions", namespaces.size(), extensions.size());
+        } catch (RuntimeException e) {
+            logger.error("Failed to rebuild existence filter", e);
+            synchronized (lock) {
+                recentNames.addAll(olderNames);
+            }
+        }
+        return true;
+    }
+
+    public boolean mightContainNamespace(String namespace) {
+        return mightContain(namespaceKey(namespace));
+    }
+
+    public boolean mightContainExtension(String namespace, String extension) {
+        return mightContain(extensionKey(namespace, extension));
+    }
+
+    public void addNamespace(String namespace) {
+        add(namespaceKey(namespace));
+    }
+
+    public void addExtension(String namespace, String extension) {
+        add(extensionKey(namespace, extension));
+    }
+
+    /**
+     * Add a name that was added on another server instance, without sending it again.
+     */
+    public void addLocal(String key) {
+        if(!enabled) {
+            return;
+        }
+
+        synchronized (lock) {
+            if(filter != null) {
+                filter.put(key);
+            }
+            recentNames.add(key);
+        }
+    }
+
+    /**
+     * Stop skipping lookups until the filter has been rebuilt, e.g. because added names of other server
+     * instances may have been missed.
+     * @return completed when the filter has been rebuilt in the background
+     */
+    public CompletableFuture<Void> invalidate() {
+        if(!enabled) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        synchronized (lock) {
+            filter = null;
+            generation++;
+        }
+        try {
+            return CompletableFuture.runAsync(this::rebuild, rebuilder);
+        } catch (RejectedExecutionException e) {
+            // shutting down, the filter is not needed anymore
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    private boolean mightContain(String key) {
+        var current = filter;
+        if(current == null || current.mightContain(key)) {
+            return true;
+        }
+
+        skipped.increment();
+        return false;
+    }
+
+    private void add(String key) {
+        if(!enabled) {
+            return;
+        }
+
+        addLocal(key);
+        invalidationBus.publish(CacheInvalidation.evict(CacheService.CACHE_EXISTENCE_FILTER, key));
+    }
+
+    private String namespaceKey(String namespace) {
+        return namespace.toLowerCase(Locale.ROOT);
+    }
+
+    private String extensionKey(String namespace, String extension) {
+        return namespaceKey(namespace) + '/' + extension.toLowerCase(Locale.ROOT);
+    }
+}
@@ -25,7 +25,8 @@ public class ExtensionJsonCacheKeyGenerator implements KeyGenerator {
         return generate((String) params[0], (String) params[1], (String) params[2], version);
     }
 
-    public String generate(String namespaceName, String extensionName, String targetPlatform, String version) {
-        return NamingUtil.toFileFormat(namespaceName, extensionName, version, targetPlatform);
+    public ExtensionCacheKey generate(String namespaceName, String extensionName, String targetPlatform, String version) {
+        var qualifier = NamingUtil.toFileFormat(namespaceName, extensionName, version, targetPlatform);
+        return new ExtensionCacheKey(namespaceName, extensionName, qualifier);
     }
 }
@@ -0,0 +1,181 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.jcache.JCacheCache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decorates a cache with an index of the {@link ExtensionCacheKey keys} that were stored per extension,
+ * so that the entries of an extension can be evicted without probing all possible keys.
+ * <p>
+ * A key is recorded before its value is stored, so the index always contains the keys of all stored
+ * entries. Values are loaded through the delegate cache, which records the key when the value has been
+ * loaded. The delegate is never called while the index of an extension is locked, because the delegate
+ * may lock the entry while loading. Keys of entries that were evicted or expired stay in the index until
+ * {@link #removeExpiredKeys(Duration)} finds that they are no longer stored.
+ */
+public class ExtensionKeyIndexedCache implements Cache {
+
+    private final Cache delegate;
+    /** Extension id to the keys of the extension and the time they were last recorded */
+    private final Map<String, Map<ExtensionCacheKey, Long>> index = new ConcurrentHashMap<>();
+
+    public ExtensionKeyIndexedCache(Cache delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        Gauge.builder("ovsx_cache_key_index_extensions", index, Map::size)
+                .description("Extensions with entries in the cache key index")
+                .tag("cache", delegate.getName())
+                .register(registry);
+    }
+
+    /**
+     * Get the keys that were stored for the given extension and have not been removed from the index since.
+     */
+    public Set<ExtensionCacheKey> getKeys(String namespace, String extension) {
+        var keys = new HashSet<ExtensionCacheKey>();
+        index.computeIfPresent(ExtensionCacheKey.toExtensionId(namespace, extension), (id, extensionKeys) -> {
+            keys.addAll(extensionKeys.keySet());
+            return extensionKeys;
+        });
+        return keys;
+    }
+
+    /**
+     * Remove the keys that are no longer stored in the delegate cache, because they were evicted or expired.
+     * Keys that were recorded within the given age are kept, because their value may not be stored yet.
+     * @return the number of removed keys
+     */
+    public int removeExpiredKeys(Duration minAge) {
+        var recordedBefore = System.nanoTime() - minAge.toNanos();
+        var expired = new HashMap<ExtensionCacheKey, Long>();
+        for(var extensionId : index.keySet()) {
+            index.computeIfPresent(extensionId, (id, keys) -> {
+                keys.forEach((key, recorded) -> {
+                    if(recorded - recordedBefore <= 0) {
+                        expired.put(key, recorded);
+                    }
+                });
+                return keys;
+            });
+        }
+        expired.keySet().removeIf(this::isStored);
+
+        var removed = new int[1];
+        expired.forEach((key, recorded) -> index.computeIfPresent(key.extensionId(), (id, keys) -> {
+            // the key was not recorded again in the meantime
+            if(keys.remove(key, recorded)) {
+                removed[0]++;
+            }
+            return keys.isEmpty() ? null : keys;
+        }));
+        return removed[0];
+    }
+
+    private boolean isStored(ExtensionCacheKey key) {
+        // don't count the lookup as a cache hit or miss
+        return delegate instanceof JCacheCache jcache
+                ? jcache.getNativeCache().containsKey(key)
+                : delegate.get(key) != null;
+    }
+
+    private void record(ExtensionCacheKey key) {
+        index.compute(key.extensionId(), (id, keys) -> {
+            keys = keys != null ? keys : new HashMap<>();
+            keys.put(key, System.nanoTime());
+            return keys;
+        });
+    }
+
+    public Cache getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        if(!(key instanceof ExtensionCacheKey extensionKey)) {
+            return delegate.get(key, valueLoader);
+        }
+
+        return delegate.get(key, () -> {
+            var value = valueLoader.call();
+            record(extensionKey);
+            return value;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if(key instanceof ExtensionCacheKey extensionKey) {
+            record(extensionKey);
+        }
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        if(key instanceof ExtensionCacheKey extensionKey) {
+            record(extensionKey);
+        }
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        index.clear();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        index.clear();
+        return delegate.invalidate();
+    }
+}
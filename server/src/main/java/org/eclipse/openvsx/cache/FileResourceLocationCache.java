@@ -0,0 +1,262 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.eclipse.openvsx.entities.Extension;
+import org.eclipse.openvsx.entities.ExtensionVersion;
+import org.eclipse.openvsx.entities.FileResource;
+import org.eclipse.openvsx.entities.Namespace;
+import org.eclipse.openvsx.repositories.RepositoryService;
+import org.eclipse.openvsx.util.ExtensionId;
+import org.eclipse.openvsx.util.VersionAlias;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Caches the resolution of file requests, i.e. (namespace, extension, target platform, version, type or name),
+ * to the location of the file resource. Requests for the {@code latest} and {@code pre-release} aliases
+ * are cached separately with a shorter time to live, because they change whenever a version is published.
+ * All entries of an extension are evicted when it is published, deleted or moved to another namespace,
+ * the keys of each extension are indexed so that they can be evicted without scanning the whole cache.
+ */
+@Component
+public class FileResourceLocationCache {
+
+    private final RepositoryService repositories;
+    private final Cache<Key, Location> versions;
+    private final Cache<Key, Location> aliases;
+    private final Map<ExtensionId, Map<Key, Location>> keysByExtension = new ConcurrentHashMap<>();
+
+    public FileResourceLocationCache(
+            RepositoryService repositories,
+            MeterRegistry registry,
+            @Value("${ovsx.cache.file-location.max-size:10000}") long maxSize,
+            @Value("${ovsx.cache.file-location.ttl-seconds:3600}") long ttlSeconds,
+            @Value("${ovsx.cache.file-location.alias-ttl-seconds:300}") long aliasTtlSeconds
+    ) {
+        this.repositories = repositories;
+        this.versions = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .removalListener(this::unindex)
+                .build();
+        this.aliases = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(aliasTtlSeconds))
+                .recordStats()
+                .removalListener(this::unindex)
+                .build();
+
+        GuavaCacheMetrics.monitor(registry, versions, "file.location");
+        GuavaCacheMetrics.monitor(registry, aliases, "file.location.alias");
+    }
+
+    public FileResource findByType(String namespace, String extension, String targetPlatform, String version, String type) {
+        var key = new Key(namespace, extension, targetPlatform, version, type, null);
+        return find(key, () -> repositories.findFileByType(namespace, extension, targetPlatform, version, type));
+    }
+
+    public FileResource findByName(String namespace, String extension, String targetPlatform, String version, String name) {
+        var key = new Key(namespace, extension, targetPlatform, version, null, name);
+        return find(key, () -> repositories.findFileByName(namespace, extension, targetPlatform, version, name));
+    }
+
+    public FileResource findByTypeAndName(String namespace, String extension, String targetPlatform, String version, String type, String name) {
+        var key = new Key(namespace, extension, targetPlatform, version, type, name);
+        return find(key, () -> repositories.findFileByTypeAndName(namespace, extension, targetPlatform, version, type, name));
+    }
+
+    private FileResource find(Key key, Supplier<FileResource> loader) {
+        var cache = VersionAlias.ALIAS_NAMES.contains(key.version) ? aliases : versions;
+        var location = cache.getIfPresent(key);
+        if(location == null) {
+            var resource = loader.get();
+            if(resource == null) {
+                return null;
+            }
+
+            location = new Location(resource);
+            index(key, location);
+            cache.put(key, location);
+        }
+
+        return location.toFileResource();
+    }
+
+    public void evict(Extension extension) {
+        evict(extension.getNamespace().getName(), extension.getName());
+    }
+
+    public void evict(String namespaceName, String extensionName) {
+        var keys = keysByExtension.remove(new ExtensionId(normalize(namespaceName), normalize(extensionName)));
+        if(keys != null) {
+            versions.invalidateAll(keys.keySet());
+            aliases.invalidateAll(keys.keySet());
+        }
+    }
+
+    public void invalidate() {
+        keysByExtension.clear();
+        versions.invalidateAll();
+        aliases.invalidateAll();
+    }
+
+    int getIndexedKeyCount() {
+        return keysByExtension.values().stream().mapToInt(Map::size).sum();
+    }
+
+    private void index(Key key, Location location) {
+        keysByExtension.compute(key.extensionId(), (id, keys) -> {
+            keys = keys != null ? keys : new ConcurrentHashMap<>();
+            keys.put(key, location);
+            return keys;
+        });
+    }
+
+    /**
+     * Only removes the key if it is still indexed with the removed instance of the location,
+     * it may have been cached again with a new location in the meantime.
+     */
+    private void unindex(RemovalNotification<Key, Location> notification) {
+        var key = notification.getKey();
+        var location = notification.getValue();
+        if(key == null || location == null) {
+            return;
+        }
+
+        keysByExtension.computeIfPresent(key.extensionId(), (id, keys) -> {
+            if(keys.get(key) == location) {
+                keys.remove(key);
+            }
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private static String normalize(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : null;
+    }
+
+    /**
+     * Namespace, extension and file names are matched case-insensitively by the repository.
+     */
+    private record Key(String namespace, String extension, String targetPlatform, String version, String type, String name) {
+        Key {
+            namespace = normalize(namespace);
+            extension = normalize(extension);
+            name = normalize(name);
+        }
+
+        ExtensionId extensionId() {
+            return new ExtensionId(namespace, extension);
+        }
+    }
+
+    /**
+     * Compact copy of the fields that are needed to serve a file resource. For entries of the
+     * extension package, the package is kept as well, it belongs to the same extension version.
+     */
+    private record Location(
+            long namespaceId,
+            String namespaceName,
+            long extensionId,
+            String extensionName,
+            long extVersionId,
+            String version,
+            String targetPlatform,
+            long resourceId,
+            String name,
+            String type,
+            String storageType,
+            Long entryOffset,
+            Long entryCompressedSize,
+            Long entrySize,
+            Integer entryMethod,
+            Long packageId,
+            String packageName,
+            String packageStorageType
+    ) {
+        Location(FileResource resource) {
+            this(resource, resource.getEntryPackage());
+        }
+
+        Location(FileResource resource, FileResource entryPackage) {
+            this(
+                    resource.getExtension().getExtension().getNamespace().getId(),
+                    resource.getExtension().getExtension().getNamespace().getName(),
+                    resource.getExtension().getExtension().getId(),
+                    resource.getExtension().getExtension().getName(),
+                    resource.getExtension().getId(),
+                    resource.getExtension().getVersion(),
+                    resource.getExtension().getTargetPlatform(),
+                    resource.getId(),
+                    resource.getName(),
+                    resource.getType(),
+                    resource.getStorageType(),
+                    resource.getEntryOffset(),
+                    resource.getEntryCompressedSize(),
+                    resource.getEntrySize(),
+                    resource.getEntryMethod(),
+                    entryPackage != null ? entryPackage.getId() : null,
+                    entryPackage != null ? entryPackage.getName() : null,
+                    entryPackage != null ? entryPackage.getStorageType() : null
+            );
+        }
+
+        FileResource toFileResource() {
+            var namespace = new Namespace();
+            namespace.setId(namespaceId);
+            namespace.setName(namespaceName);
+
+            var extension = new Extension();
+            extension.setId(extensionId);
+            extension.setName(extensionName);
+            extension.setNamespace(namespace);
+
+            var extVersion = new ExtensionVersion();
+            extVersion.setId(extVersionId);
+            extVersion.setTargetPlatform(targetPlatform);
+            extVersion.setVersion(version);
+            extVersion.setExtension(extension);
+
+            var resource = new FileResource();
+            resource.setId(resourceId);
+            resource.setName(name);
+            resource.setType(type);
+            resource.setStorageType(storageType);
+            resource.setEntryOffset(entryOffset);
+            resource.setEntryCompressedSize(entryCompressedSize);
+            resource.setEntrySize(entrySize);
+            resource.setEntryMethod(entryMethod);
+            resource.setExtension(extVersion);
+            if(packageId != null) {
+                var entryPackage = new FileResource();
+                entryPackage.setId(packageId);
+                entryPackage.setName(packageName);
+                entryPackage.setType(FileResource.DOWNLOAD);
+                entryPackage.setStorageType(packageStorageType);
+                entryPackage.setExtension(extVersion);
+                resource.setEntryPackage(entryPackage);
+            }
+            return resource;
+        }
+    }
+}
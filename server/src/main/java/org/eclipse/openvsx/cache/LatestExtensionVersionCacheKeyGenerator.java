@@ -50,10 +50,11 @@ public class LatestExtensionVersionCacheKeyGenerator implements KeyGenerator {
         return generate(extension, targetPlatform, preRelease, onlyActive, type);
     }
 
-    public String generate(Extension extension, String targetPlatform, boolean preRelease, boolean onlyActive, ExtensionVersion.Type type) {
+    public ExtensionCacheKey generate(Extension extension, String targetPlatform, boolean preRelease, boolean onlyActive, ExtensionVersion.Type type) {
         var extensionName = extension.getName();
         var namespaceName = extension.getNamespace().getName();
-        return NamingUtil.toFileFormat(namespaceName, extensionName, targetPlatform, VersionAlias.LATEST) +
+        var qualifier = NamingUtil.toFileFormat(namespaceName, extensionName, targetPlatform, VersionAlias.LATEST) +
                 ",pre-release=" + preRelease + ",only-active=" + onlyActive + ",type=" + type;
+        return new ExtensionCacheKey(namespaceName, extensionName, qualifier);
     }
 }
@@ -0,0 +1,109 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.jcache.JCacheCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Decorates the registry caches: the cache keys of the extension caches are indexed per extension,
+ * concurrent misses are coalesced ({@code ovsx.cache.single-flight.enabled}) and cleared caches are sent to
+ * the other server instances ({@code ovsx.cache.invalidation.enabled}). The auto-configured
+ * cache manager is wrapped, so that evictions through {@link CacheService} are seen as well.
+ */
+@Configuration
+public class RegistryCacheConfiguration {
+
+    @Bean
+    public static BeanPostProcessor registryCacheManagerPostProcessor(
+            ObjectProvider<MeterRegistry> registry,
+            ObjectProvider<CacheInvalidationBus> invalidationBus,
+            @Value("${ovsx.cache.key-index.enabled:true}") boolean keyIndexEnabled,
+            @Value("${ovsx.cache.single-flight.enabled:true}") boolean singleFlightEnabled,
+            @Value("${ovsx.cache.single-flight.caches:" + CacheService.CACHE_EXTENSION_JSON + "," + CacheService.CACHE_NAMESPACE_DETAILS_JSON + "}") Set<String> singleFlightCacheNames,
+            @Value("${ovsx.cache.single-flight.serve-stale:false}") boolean serveStale,
+            @Value("${ovsx.cache.single-flight.stale-max-size:10000}") long maxStaleSize,
+            @Value("${ovsx.cache.single-flight.stale-ttl-seconds:60}") long staleTtlSeconds,
+            @Value("${ovsx.cache.invalidation.enabled:false}") boolean invalidationEnabled
+    ) {
+        var indexedCacheNames = keyIndexEnabled
+                ? Set.of(CacheService.CACHE_EXTENSION_JSON, CacheService.CACHE_LATEST_EXTENSION_VERSION)
+                : Set.<String>of();
+        // the bus is resolved when a cache is cleared for the first time, because it depends on the repositories
+        Consumer<CacheInvalidation> broadcaster = invalidationEnabled
+                ? invalidation -> invalidationBus.getObject().publish(invalidation)
+                : null;
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if(bean instanceof CacheManager cacheManager && !(bean instanceof RegistryCacheManager)) {
+                    return new RegistryCacheManager(
+                            cacheManager,
+                            registry.getObject(),
+                            indexedCacheNames,
+                            singleFlightEnabled ? singleFlightCacheNames : Set.of(),
+                            serveStale,
+                            maxStaleSize,
+                            Duration.ofSeconds(staleTtlSeconds),
+                            broadcaster
+                    );
+                }
+
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Keeps the metrics of the wrapped caches, which would otherwise not be recognized.
+     */
+    @Bean
+    public CacheMeterBinderProvider<SingleFlightCache> singleFlightCacheMeterBinderProvider() {
+        return (cache, tags) -> getMeterBinder(cache.getDelegate(), tags);
+    }
+
+    @Bean
+    public CacheMeterBinderProvider<ExtensionKeyIndexedCache> extensionKeyIndexedCacheMeterBinderProvider() {
+        return (cache, tags) -> getMeterBinder(cache.getDelegate(), tags);
+    }
+
+    @Bean
+    public CacheMeterBinderProvider<BroadcastingCache> broadcastingCacheMeterBinderProvider() {
+        return (cache, tags) -> getMeterBinder(cache.getDelegate(), tags);
+    }
+
+    private static MeterBinder getMeterBinder(Cache cache, Iterable<Tag> tags) {
+        if(cache instanceof SingleFlightCache singleFlight) {
+            cache = singleFlight.getDelegate();
+        }
+        if(cache instanceof ExtensionKeyIndexedCache indexed) {
+            cache = indexed.getDelegate();
+        }
+
+        return cache instanceof JCacheCache jcache
+                ? new JCacheMetrics<>(jcache.getNativeCache(), tags)
+                : null;
+    }
+}
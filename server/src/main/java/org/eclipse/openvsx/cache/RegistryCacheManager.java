@@ -0,0 +1,98 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Wraps the caches of another cache manager with {@link ExtensionKeyIndexedCache} and {@link SingleFlightCache}
+ * as configured. The key index is the inner decorator, so that it sees the values stored by single-flight loads.
+ * If a broadcaster is given, all caches are wrapped with {@link BroadcastingCache} as the outer decorator.
+ */
+public class RegistryCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final MeterRegistry registry;
+    private final Set<String> indexedCacheNames;
+    private final Set<String> singleFlightCacheNames;
+    private final boolean serveStale;
+    private final long maxStaleSize;
+    private final Duration staleTtl;
+    private final Consumer<CacheInvalidation> broadcaster;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public RegistryCacheManager(
+            CacheManager delegate,
+            MeterRegistry registry,
+            Set<String> indexedCacheNames,
+            Set<String> singleFlightCacheNames,
+            boolean serveStale,
+            long maxStaleSize,
+            Duration staleTtl,
+            Consumer<CacheInvalidation> broadcaster
+    ) {
+        this.delegate = delegate;
+        this.registry = registry;
+        this.indexedCacheNames = indexedCacheNames;
+        this.singleFlightCacheNames = singleFlightCacheNames;
+        this.serveStale = serveStale;
+        this.maxStaleSize = maxStaleSize;
+        this.staleTtl = staleTtl;
+        this.broadcaster = broadcaster;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        if(broadcaster == null && !indexedCacheNames.contains(name) && !singleFlightCacheNames.contains(name)) {
+            return delegate.getCache(name);
+        }
+
+        var cache = caches.get(name);
+        if(cache == null) {
+            var delegateCache = delegate.getCache(name);
+            if(delegateCache == null) {
+                return null;
+            }
+
+            cache = caches.computeIfAbsent(name, key -> decorate(delegateCache));
+        }
+
+        return cache;
+    }
+
+    private Cache decorate(Cache cache) {
+        var name = cache.getName();
+        if(indexedCacheNames.contains(name)) {
+            cache = new ExtensionKeyIndexedCache(cache, registry);
+        }
+        if(singleFlightCacheNames.contains(name)) {
+            cache = new SingleFlightCache(cache, registry, serveStale, maxStaleSize, staleTtl);
+        }
+        if(broadcaster != null) {
+            cache = new BroadcastingCache(cache, broadcaster);
+        }
+
+        return cache;
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+}
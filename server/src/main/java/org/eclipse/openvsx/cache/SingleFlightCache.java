@@ -0,0 +1,206 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decorates a cache so that concurrent misses for the same key are computed only once: the first caller
+ * computes the value while the others wait for its result. This applies to {@code @Cacheable(sync = true)}
+ * methods, which load values through {@link #get(Object, Callable)}.
+ * <p>
+ * When stale values are served, an evicted value is kept for a short time. Callers that miss while the value
+ * is being recomputed get the stale value right away instead of waiting. The stale value is dropped as soon as
+ * the new value is stored or the computation fails.
+ */
+public class SingleFlightCache implements Cache {
+
+    private final Cache delegate;
+    private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    /** {@code null} if stale values are not served */
+    private final com.google.common.cache.Cache<Object, Object> stale;
+    private final Counter loads;
+    private final Counter waits;
+    private final Counter staleHits;
+
+    public SingleFlightCache(Cache delegate, MeterRegistry registry, boolean serveStale, long maxStaleSize, Duration staleTtl) {
+        this.delegate = delegate;
+        this.stale = serveStale
+                ? CacheBuilder.newBuilder().maximumSize(maxStaleSize).expireAfterWrite(staleTtl).build()
+                : null;
+
+        var name = delegate.getName();
+        this.loads = Counter.builder("ovsx_cache_single_flight_loads")
+                .description("Cache misses that computed the value")
+                .tag("cache", name)
+                .register(registry);
+        this.waits = Counter.builder("ovsx_cache_single_flight_waits")
+                .description("Cache misses that waited for the value computed by a concurrent miss")
+                .tag("cache", name)
+                .register(registry);
+        this.staleHits = Counter.builder("ovsx_cache_single_flight_stale_hits")
+                .description("Cache misses that got the stale value while it was recomputed")
+                .tag("cache", name)
+                .register(registry);
+        Gauge.builder("ovsx_cache_single_flight_in_flight", inFlight, Map::size)
+                .description("Values that are currently computed")
+                .tag("cache", name)
+                .register(registry);
+    }
+
+    public Cache getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        var cached = delegate.get(key);
+        if(cached != null) {
+            return (T) cached.get();
+        }
+
+        var future = new CompletableFuture<Object>();
+        var existing = inFlight.putIfAbsent(key, future);
+        if(existing != null) {
+            var staleValue = stale != null ? stale.getIfPresent(key) : null;
+            if(staleValue != null) {
+                staleHits.increment();
+                return (T) staleValue;
+            }
+
+            waits.increment();
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                if(e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        // a concurrent computation may have stored the value right before this one started
+        cached = delegate.get(key);
+        if(cached != null) {
+            inFlight.remove(key, future);
+            future.complete(cached.get());
+            return (T) cached.get();
+        }
+
+        loads.increment();
+        try {
+            var value = valueLoader.call();
+            // the key is no longer in flight if it was evicted in the meantime, so the value may be outdated
+            if(inFlight.remove(key, future)) {
+                delegate.put(key, value);
+            }
+            if(stale != null) {
+                stale.invalidate(key);
+            }
+
+            future.complete(value);
+            return value;
+        } catch (Exception e) {
+            inFlight.remove(key, future);
+            if(stale != null) {
+                stale.invalidate(key);
+            }
+
+            var exception = new ValueRetrievalException(key, valueLoader, e);
+            future.completeExceptionally(exception);
+            throw exception;
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        keepStale(key);
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        keepStale(key);
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        forgetAll();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        forgetAll();
+        return delegate.invalidate();
+    }
+
+    private void keepStale(Object key) {
+        inFlight.remove(key);
+        if(stale == null) {
+            return;
+        }
+
+        var cached = delegate.get(key);
+        if(cached != null && cached.get() != null) {
+            stale.put(key, cached.get());
+        }
+    }
+
+    private void forgetAll() {
+        inFlight.clear();
+        if(stale != null) {
+            stale.invalidateAll();
+        }
+    }
+}
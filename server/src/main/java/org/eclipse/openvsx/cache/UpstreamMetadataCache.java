@@ -0,0 +1,300 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pull-through cache of the JSON responses of the upstream registry. Responses are kept for the
+ * {@code max-age} of their {@code Cache-Control} header (or a default time to live) and are revalidated
+ * with {@code If-None-Match} afterwards. Within the {@code stale-while-revalidate} window the stale response
+ * is returned right away while it is revalidated in the background. Concurrent misses for the same URL
+ * share a single upstream request. {@code 404 Not Found} responses are kept by {@link UpstreamNotFoundCache},
+ * which also applies when this cache is disabled.
+ * <p>
+ * The raw response body is cached, so that each caller gets its own copy of the JSON object to modify.
+ * <p>
+ * The cache is disabled by default, because responses without {@code Cache-Control} are then served for the
+ * default time to live instead of being fetched on every request. Enable it with
+ * {@code ovsx.upstream.cache.metadata.enabled}.
+ */
+@Component
+public class UpstreamMetadataCache {
+
+    protected final Logger logger = LoggerFactory.getLogger(UpstreamMetadataCache.class);
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper mapper;
+    private final Cache<URI, Response> responses;
+    private final Map<URI, CompletableFuture<Response>> inFlight = new ConcurrentHashMap<>();
+    private final Set<URI> revalidating = ConcurrentHashMap.newKeySet();
+    private final ExecutorService revalidator;
+    private final Counter revalidations;
+    private final Counter notModified;
+    private final Counter staleHits;
+    private final UpstreamNotFoundCache notFound;
+    private final boolean enabled;
+    private final Duration defaultTtl;
+    private final Duration defaultStale;
+
+    public UpstreamMetadataCache(
+            RestTemplate restTemplate,
+            ObjectMapper mapper,
+            MeterRegistry registry,
+            UpstreamNotFoundCache notFound,
+            @Value("${ovsx.upstream.cache.metadata.enabled:false}") boolean enabled,
+            @Value("${ovsx.upstream.cache.metadata.max-size:10000}") long maxSize,
+            @Value("${ovsx.upstream.cache.metadata.default-ttl-seconds:60}") long defaultTtlSeconds,
+            @Value("${ovsx.upstream.cache.metadata.stale-while-revalidate-seconds:300}") long staleSeconds,
+            @Value("${ovsx.upstream.cache.metadata.retention-seconds:86400}") long retentionSeconds,
+            @Value("${ovsx.upstream.cache.metadata.revalidation-threads:2}") int revalidationThreads
+    ) {
+        this.restTemplate = restTemplate;
+        this.mapper = mapper;
+        this.notFound = notFound;
+        this.enabled = enabled;
+        this.defaultTtl = Duration.ofSeconds(defaultTtlSeconds);
+        this.defaultStale = Duration.ofSeconds(staleSeconds);
+        // expired responses are kept for revalidation until they are evicted
+        this.responses = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(retentionSeconds))
+                .recordStats()
+                .build();
+
+        var threadCount = new AtomicInteger();
+        this.revalidator = Executors.newFixedThreadPool(revalidationThreads, runnable -> {
+            var thread = new Thread(runnable, "upstream-revalidator-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        GuavaCacheMetrics.monitor(registry, responses, "upstream.metadata");
+        this.revalidations = Counter.builder("ovsx_upstream_metadata_revalidations")
+                .description("Cached upstream responses that were revalidated")
+                .register(registry);
+        this.notModified = Counter.builder("ovsx_upstream_metadata_not_modified")
+                .description("Revalidations answered with 304 Not Modified")
+                .register(registry);
+        this.staleHits = Counter.builder("ovsx_upstream_metadata_stale_hits")
+                .description("Stale upstream responses served while revalidating")
+                .register(registry);
+    }
+
+    /**
+     * Get the JSON response of the given upstream URL.
+     * @throws RestClientException if the upstream registry could not be reached or responded with an error,
+     * {@link HttpClientErrorException.NotFound} if it responded with {@code 404 Not Found} (possibly cached)
+     */
+    public <T> T getForObject(String urlTemplate, Class<T> type, Map<String, ?> uriVariables) throws RestClientException {
+        var uri = restTemplate.getUriTemplateHandler().expand(urlTemplate, uriVariables);
+        if(notFound.isNotFound(uri)) {
+            throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, HttpStatus.NOT_FOUND.getReasonPhrase(), HttpHeaders.EMPTY, null, null);
+        }
+
+        try {
+            return enabled ? getCached(uri, type) : restTemplate.getForObject(uri, type);
+        } catch (HttpClientErrorException.NotFound e) {
+            notFound.put(uri);
+            throw e;
+        }
+    }
+
+    private <T> T getCached(URI uri, Class<T> type) {
+        var now = Instant.now();
+        var response = responses.getIfPresent(uri);
+        if(response == null || !response.isUsable(now)) {
+            response = load(uri, response);
+        } else if(!response.isFresh(now)) {
+            staleHits.increment();
+            revalidate(uri, response);
+        }
+
+        return read(response, type);
+    }
+
+    public void invalidate() {
+        responses.invalidateAll();
+        notFound.invalidate();
+    }
+
+    private void revalidate(URI uri, Response previous) {
+        if(!revalidating.add(uri)) {
+            return;
+        }
+
+        revalidator.execute(() -> {
+            try {
+                load(uri, previous);
+            } catch (RuntimeException e) {
+                // keep serving the stale response until it can be revalidated
+                logger.warn("Failed to revalidate GET {}: {}", uri, e.getMessage());
+            } finally {
+                revalidating.remove(uri);
+            }
+        });
+    }
+
+    private Response load(URI uri, Response previous) {
+        var future = new CompletableFuture<Response>();
+        var existing = inFlight.putIfAbsent(uri, future);
+        if(existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                if(e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        try {
+            var response = fetch(uri, previous);
+            future.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(uri, future);
+        }
+    }
+
+    private Response fetch(URI uri, Response previous) {
+        var headers = new HttpHeaders();
+        if(previous != null && previous.etag() != null) {
+            revalidations.increment();
+            headers.setIfNoneMatch(previous.etag());
+        }
+
+        ResponseEntity<String> entity;
+        try {
+            entity = restTemplate.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        } catch (HttpClientErrorException.NotFound e) {
+            responses.invalidate(uri);
+            throw e;
+        }
+
+        var now = Instant.now();
+        if(entity.getStatusCode() == HttpStatus.NOT_MODIFIED && previous != null) {
+            notModified.increment();
+            var etag = entity.getHeaders().getETag();
+            var response = toResponse(previous.body(), etag != null ? etag : previous.etag(), entity.getHeaders(), now);
+            responses.put(uri, response);
+            return response;
+        }
+
+        var response = toResponse(entity.getBody(), entity.getHeaders().getETag(), entity.getHeaders(), now);
+        if(response.storable()) {
+            responses.put(uri, response);
+        } else {
+            responses.invalidate(uri);
+        }
+
+        return response;
+    }
+
+    private Response toResponse(String body, String etag, HttpHeaders headers, Instant now) {
+        var ttl = defaultTtl;
+        var stale = defaultStale;
+        var storable = true;
+        var noCache = false;
+        var cacheControl = headers.getCacheControl();
+        if(cacheControl != null) {
+            for(var directive : cacheControl.split(",")) {
+                directive = directive.trim().toLowerCase(Locale.ROOT);
+                if(directive.equals("no-store") || directive.equals("private")) {
+                    storable = false;
+                } else if(directive.equals("no-cache")) {
+                    noCache = true;
+                } else if(directive.equals("must-revalidate")) {
+                    stale = Duration.ZERO;
+                } else if(directive.startsWith("max-age=")) {
+                    ttl = parseSeconds(directive, ttl);
+                } else if(directive.startsWith("stale-while-revalidate=")) {
+                    stale = parseSeconds(directive, stale);
+                }
+            }
+        }
+        if(noCache) {
+            ttl = Duration.ZERO;
+        }
+
+        var freshUntil = now.plus(ttl);
+        return new Response(body, etag, freshUntil, freshUntil.plus(stale), storable);
+    }
+
+    private Duration parseSeconds(String directive, Duration defaultValue) {
+        var value = directive.substring(directive.indexOf('=') + 1);
+        return StringUtils.isNumeric(value) ? Duration.ofSeconds(Long.parseLong(value)) : defaultValue;
+    }
+
+    private <T> T read(Response response, Class<T> type) {
+        if(response.body() == null) {
+            return null;
+        }
+
+        try {
+            return mapper.readValue(response.body(), type);
+        } catch (JsonProcessingException e) {
+            throw new RestClientException("Failed to read upstream response", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        revalidator.shutdownNow();
+    }
+
+    private record Response(String body, String etag, Instant freshUntil, Instant staleUntil, boolean storable) {
+
+        boolean isFresh(Instant now) {
+            return now.isBefore(freshUntil);
+        }
+
+        boolean isUsable(Instant now) {
+            return now.isBefore(staleUntil);
+        }
+    }
+}
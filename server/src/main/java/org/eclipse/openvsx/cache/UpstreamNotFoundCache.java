@@ -0,0 +1,75 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Remembers the upstream URLs that responded with {@code 404 Not Found} for a short time, so that lookups
+ * of names that the upstream registry doesn't know don't hit it on every request. A name that is published
+ * upstream in the meantime is found once its entry expires.
+ * <p>
+ * This is independent of {@link UpstreamMetadataCache}, which only caches successful responses when it
+ * is enabled. Disable it with {@code ovsx.upstream.cache.not-found.enabled}.
+ */
+@Component
+public class UpstreamNotFoundCache {
+
+    private final Cache<URI, Boolean> notFound;
+    private final Counter hits;
+    private final boolean enabled;
+
+    public UpstreamNotFoundCache(
+            MeterRegistry registry,
+            @Value("${ovsx.upstream.cache.not-found.enabled:true}") boolean enabled,
+            @Value("${ovsx.upstream.cache.not-found.max-size:10000}") long maxSize,
+            @Value("${ovsx.upstream.cache.not-found.ttl-seconds:60}") long ttlSeconds
+    ) {
+        this.enabled = enabled && ttlSeconds > 0;
+        this.notFound = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+
+        GuavaCacheMetrics.monitor(registry, notFound, "upstream.not.found");
+        this.hits = Counter.builder("ovsx_upstream_not_found_hits")
+                .description("Requests answered from cached upstream 404 responses")
+                .register(registry);
+    }
+
+    public boolean isNotFound(URI uri) {
+        if(!enabled || notFound.getIfPresent(uri) == null) {
+            return false;
+        }
+
+        hits.increment();
+        return true;
+    }
+
+    public void put(URI uri) {
+        if(enabled) {
+            notFound.put(uri, Boolean.TRUE);
+        }
+    }
+
+    public void invalidate() {
+        notFound.invalidateAll();
+    }
+}
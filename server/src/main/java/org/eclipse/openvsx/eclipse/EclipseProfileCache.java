@@ -0,0 +1,139 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.eclipse;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Caches the public Eclipse profiles of publishers, so that publishing many files in a row
+ * does not request the same profile from the Eclipse API for each file. Entries older than
+ * the refresh interval are served as they are while a fresh copy is loaded in the background.
+ * Users without an Eclipse profile are cached as well, but with a shorter time to live.
+ */
+@Component
+public class EclipseProfileCache {
+
+    protected final Logger logger = LoggerFactory.getLogger(EclipseProfileCache.class);
+
+    private final Cache<String, Entry> profiles;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor;
+    private final Timer remoteRequests;
+    private final long refreshNanos;
+    private final long negativeTtlNanos;
+
+    public EclipseProfileCache(
+            MeterRegistry registry,
+            @Value("${ovsx.eclipse.profile-cache.max-size:10000}") long maxSize,
+            @Value("${ovsx.eclipse.profile-cache.ttl-seconds:3600}") long ttlSeconds,
+            @Value("${ovsx.eclipse.profile-cache.refresh-seconds:300}") long refreshSeconds,
+            @Value("${ovsx.eclipse.profile-cache.negative-ttl-seconds:60}") long negativeTtlSeconds
+    ) {
+        this.profiles = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.refreshNanos = Duration.ofSeconds(refreshSeconds).toNanos();
+        this.negativeTtlNanos = Duration.ofSeconds(negativeTtlSeconds).toNanos();
+
+        var threadCount = new AtomicInteger();
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            var thread = new Thread(runnable, "eclipse-profile-refresh-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        GuavaCacheMetrics.monitor(registry, profiles, "eclipse.profile");
+        this.remoteRequests = Timer.builder("ovsx_eclipse_profile_requests")
+                .description("Requests for public profiles sent to the Eclipse API")
+                .register(registry);
+    }
+
+    /**
+     * Get the cached profile of the given person or load it with the given loader.
+     * The loader returns {@code null} if the Eclipse API has no profile for the person.
+     */
+    public EclipseProfile get(String personId, Function<String, EclipseProfile> loader) {
+        var entry = profiles.getIfPresent(personId);
+        var now = System.nanoTime();
+        if(entry == null || (entry.profile() == null && now - entry.loadedAt() > negativeTtlNanos)) {
+            entry = load(personId, loader);
+        } else if(now - entry.loadedAt() > refreshNanos) {
+            refresh(personId, entry, loader);
+        }
+
+        return entry.profile();
+    }
+
+    public void evict(String personId) {
+        if(personId != null) {
+            profiles.invalidate(personId);
+        }
+    }
+
+    private Entry load(String personId, Function<String, EclipseProfile> loader) {
+        var entry = fetch(personId, loader);
+        profiles.put(personId, entry);
+        return entry;
+    }
+
+    private Entry fetch(String personId, Function<String, EclipseProfile> loader) {
+        var profile = remoteRequests.record(() -> loader.apply(personId));
+        return new Entry(profile, System.nanoTime());
+    }
+
+    private void refresh(String personId, Entry current, Function<String, EclipseProfile> loader) {
+        if(!refreshing.add(personId)) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    // don't resurrect an entry that was evicted while it was being refreshed
+                    profiles.asMap().replace(personId, current, fetch(personId, loader));
+                } catch (RuntimeException e) {
+                    // keep serving the current entry until it expires
+                    logger.warn("Failed to refresh Eclipse profile of " + personId, e);
+                } finally {
+                    refreshing.remove(personId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(personId);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private record Entry(EclipseProfile profile, long loadedAt) {}
+}
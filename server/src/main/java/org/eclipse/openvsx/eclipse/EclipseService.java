@@ -66,6 +66,7 @@ public class EclipseService {
     private final EntityManager entityManager;
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final EclipseProfileCache profileCache;
 
     @Value("${ovsx.eclipse.base-url:}")
     String eclipseApiUrl;
@@ -77,12 +78,14 @@ public class EclipseService {
             TokenService tokens,
             ExtensionService extensions,
             EntityManager entityManager,
-            RestTemplate restTemplate
+            RestTemplate restTemplate,
+            EclipseProfileCache profileCache
     ) {
         this.tokens = tokens;
         this.extensions = extensions;
         this.entityManager = entityManager;
         this.restTemplate = restTemplate;
+        this.profileCache = profileCache;
         this.objectMapper = new ObjectMapper();
         this.objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
     }
@@ -92,7 +95,8 @@ public class EclipseService {
     }
 
     /**
-     * Check whether the given user has an active publisher agreement.
+     * Check whether the given user has an active publisher agreement. The public profile
+     * of the user is cached, see {@link EclipseProfileCache}.
      * @throws ErrorResultException if the user has no active agreement
      */
     public void checkPublisherAgreement(UserData user) {
@@ -108,7 +112,10 @@ public class EclipseService {
         if (personId == null) {
             throw new ErrorResultException("You must log in with an Eclipse Foundation account and sign a Publisher Agreement before publishing any extension.");
         }
-        var profile = getPublicProfile(personId);
+        var profile = profileCache.get(personId, this::fetchPublicProfile);
+        if (profile == null) {
+            throw new ErrorResultException("No Eclipse profile data available for user: " + personId);
+        }
         if (profile.getPublisherAgreements() == null || profile.getPublisherAgreements().getOpenVsx() == null
                 || profile.getPublisherAgreements().getOpenVsx().getVersion() == null) {
             throw new ErrorResultException("You must sign a Publisher Agreement with the Eclipse Foundation before publishing any extension.");
@@ -124,6 +131,17 @@ public class EclipseService {
      * Get the publicly available user profile.
      */
     public EclipseProfile getPublicProfile(String personId) {
+        var profile = fetchPublicProfile(personId);
+        if (profile == null) {
+            throw new ErrorResultException("No Eclipse profile data available for user: " + personId);
+        }
+        return profile;
+    }
+
+    /**
+     * Request the publicly available user profile, returns {@code null} if there is none.
+     */
+    private EclipseProfile fetchPublicProfile(String personId) {
         checkApiUrl();
         var urlTemplate = eclipseApiUrl + "account/profile/{personId}";
         var uriVariables = Map.of("personId", personId);
@@ -138,7 +156,7 @@ public class EclipseService {
             if (exc instanceof HttpStatusCodeException) {
                 var status = ((HttpStatusCodeException) exc).getStatusCode();
                 if (status == HttpStatus.NOT_FOUND)
-                    throw new ErrorResultException("No Eclipse profile data available for user: " + personId);
+                    return null;
             }
 
             var url = UriComponentsBuilder.fromUriString(urlTemplate).build(uriVariables);
@@ -332,6 +350,7 @@ public class EclipseService {
 
         try {
             var json = restTemplate.postForEntity(requestUrl, request, String.class);
+            profileCache.evict(user.getEclipsePersonId());
 
             // The request was successful: reactivate all previously published extensions
             extensions.reactivateExtensions(user);
@@ -430,6 +449,7 @@ public class EclipseService {
         try {
             var requestCallback = restTemplate.httpEntityCallback(request);
             restTemplate.execute(urlTemplate, HttpMethod.DELETE, requestCallback, null, uriVariables);
+            profileCache.evict(user.getEclipsePersonId());
         } catch (RestClientException exc) {
             var url = UriComponentsBuilder.fromUriString(urlTemplate).build(uriVariables);
             logger.error("Delete request failed with URL: " + url, exc);
@@ -0,0 +1,79 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.entities;
+
+import jakarta.persistence.*;
+
+/**
+ * Reference from an extension version to an extension it depends on or bundles,
+ * as declared in {@code extensionDependencies} and {@code extensionPack} of its manifest.
+ */
+@Entity
+public class ExtensionDependency {
+
+    // Dependency types
+    public static final String DEPENDENCY = "dependency";
+    public static final String BUNDLE = "bundle";
+
+    @Id
+    @GeneratedValue(generator = "extensionDependencySeq")
+    @SequenceGenerator(name = "extensionDependencySeq", sequenceName = "extension_dependency_seq")
+    long id;
+
+    @ManyToOne
+    ExtensionVersion extensionVersion;
+
+    @Column(length = 32)
+    String type;
+
+    String namespaceName;
+
+    String extensionName;
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public ExtensionVersion getExtensionVersion() {
+        return extensionVersion;
+    }
+
+    public void setExtensionVersion(ExtensionVersion extensionVersion) {
+        this.extensionVersion = extensionVersion;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getNamespaceName() {
+        return namespaceName;
+    }
+
+    public void setNamespaceName(String namespaceName) {
+        this.namespaceName = namespaceName;
+    }
+
+    public String getExtensionName() {
+        return extensionName;
+    }
+
+    public void setExtensionName(String extensionName) {
+        this.extensionName = extensionName;
+    }
+}
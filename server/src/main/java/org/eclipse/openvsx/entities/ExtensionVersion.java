@@ -80,19 +80,19 @@ public class ExtensionVersion implements Serializable {
     @Column(length = 2048)
     String description;
 
-    @Column(length = 2048)
+    @Column(columnDefinition = "text[]")
     @Convert(converter = ListOfStringConverter.class)
     List<String> engines;
 
-    @Column(length = 2048)
+    @Column(columnDefinition = "text[]")
     @Convert(converter = ListOfStringConverter.class)
     List<String> categories;
 
-    @Column(length = 16384)
+    @Column(columnDefinition = "text[]")
     @Convert(converter = ListOfStringConverter.class)
     List<String> tags;
 
-    @Column
+    @Column(columnDefinition = "text[]")
     @Convert(converter = ListOfStringConverter.class)
     List<String> extensionKind;
 
@@ -115,17 +115,17 @@ public class ExtensionVersion implements Serializable {
     @Column(length = 16)
     String galleryTheme;
 
-    @Column
+    @Column(columnDefinition = "text[]")
     @Convert(converter = ListOfStringConverter.class)
     List<String> localizedLanguages;
 
     String qna;
 
-    @Column(length = 2048)
+    @Column(columnDefinition = "text[]")
     @Convert(converter = ListOfStringConverter.class)
     List<String> dependencies;
 
-    @Column(length = 2048)
+    @Column(columnDefinition = "text[]")
     @Convert(converter = ListOfStringConverter.class)
     List<String> bundledExtensions;
 
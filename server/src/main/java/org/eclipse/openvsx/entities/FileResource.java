@@ -31,6 +31,8 @@ public class FileResource {
     public static final String STORAGE_LOCAL = "local";
     public static final String STORAGE_GOOGLE = "google-cloud";
     public static final String STORAGE_AZURE = "azure-blob";
+    /** The resource is an entry of the extension package, which is stored in the storage of the {@link #DOWNLOAD} */
+    public static final String STORAGE_VSIX = "vsix";
 
     @Id
     @GeneratedValue(generator = "fileResourceSeq")
@@ -51,6 +53,20 @@ public class FileResource {
     @Column(length = 32)
     String storageType;
 
+    /** Offset of the entry data in the extension package, if the storage type is {@link #STORAGE_VSIX} */
+    Long entryOffset;
+
+    Long entryCompressedSize;
+
+    Long entrySize;
+
+    /** Compression method of the entry, see {@link java.util.zip.ZipEntry#getMethod()} */
+    Integer entryMethod;
+
+    /** The {@link #DOWNLOAD} containing the entry, if it was loaded together with a {@link #STORAGE_VSIX} resource */
+    @Transient
+    FileResource entryPackage;
+
     public long getId() {
         return id;
     }
@@ -99,4 +115,44 @@ public class FileResource {
     public void setStorageType(String storageType) {
         this.storageType = storageType;
     }
+
+    public Long getEntryOffset() {
+        return entryOffset;
+    }
+
+    public void setEntryOffset(Long entryOffset) {
+        this.entryOffset = entryOffset;
+    }
+
+    public Long getEntryCompressedSize() {
+        return entryCompressedSize;
+    }
+
+    public void setEntryCompressedSize(Long entryCompressedSize) {
+        this.entryCompressedSize = entryCompressedSize;
+    }
+
+    public Long getEntrySize() {
+        return entrySize;
+    }
+
+    public void setEntrySize(Long entrySize) {
+        this.entrySize = entrySize;
+    }
+
+    public Integer getEntryMethod() {
+        return entryMethod;
+    }
+
+    public void setEntryMethod(Integer entryMethod) {
+        this.entryMethod = entryMethod;
+    }
+
+    public FileResource getEntryPackage() {
+        return entryPackage;
+    }
+
+    public void setEntryPackage(FileResource entryPackage) {
+        this.entryPackage = entryPackage;
+    }
 }
\ No newline at end of file
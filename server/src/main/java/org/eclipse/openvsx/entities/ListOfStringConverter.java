@@ -9,8 +9,6 @@
  ********************************************************************************/
 package org.eclipse.openvsx.entities;
 
-import com.google.common.base.Joiner;
-import com.google.common.base.Splitter;
 import com.google.common.collect.Lists;
 
 import jakarta.persistence.AttributeConverter;
@@ -18,16 +16,16 @@ import jakarta.persistence.Converter;
 import java.util.List;
 
 @Converter
-public class ListOfStringConverter implements AttributeConverter<List<String>, String> {
+public class ListOfStringConverter implements AttributeConverter<List<String>, String[]> {
 
     @Override
-    public String convertToDatabaseColumn(List<String> data) {
-        return (data == null || data.isEmpty()) ? null : Joiner.on(',').join(data);
+    public String[] convertToDatabaseColumn(List<String> data) {
+        return (data == null || data.isEmpty()) ? null : data.toArray(String[]::new);
     }
 
     @Override
-    public List<String> convertToEntityAttribute(String raw) {
-        return (raw == null) ? Lists.newArrayList() : Lists.newArrayList(Splitter.on(',').trimResults().omitEmptyStrings().split(raw));
+    public List<String> convertToEntityAttribute(String[] raw) {
+        return (raw == null) ? Lists.newArrayList() : Lists.newArrayList(raw);
     }
 
 }
@@ -0,0 +1,84 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.json;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+import static org.eclipse.openvsx.util.TargetPlatform.*;
+
+@Schema(
+    name = "BatchParam",
+    description = "Metadata batch parameter"
+)
+@JsonInclude(Include.NON_NULL)
+public class BatchParamJson {
+
+    @Schema(description = "Extensions to provide metadata for")
+    private List<ExtensionParamJson> extensions;
+
+    @Schema(description = "Name of the target platform", allowableValues = {
+        NAME_WIN32_X64, NAME_WIN32_IA32, NAME_WIN32_ARM64,
+        NAME_LINUX_X64, NAME_LINUX_ARM64, NAME_LINUX_ARMHF,
+        NAME_ALPINE_X64, NAME_ALPINE_ARM64,
+        NAME_DARWIN_X64, NAME_DARWIN_ARM64,
+        NAME_WEB, NAME_UNIVERSAL
+    })
+    private String targetPlatform;
+
+    public List<ExtensionParamJson> getExtensions() {
+        return extensions;
+    }
+
+    public void setExtensions(List<ExtensionParamJson> extensions) {
+        this.extensions = extensions;
+    }
+
+    public String getTargetPlatform() {
+        return targetPlatform;
+    }
+
+    public void setTargetPlatform(String targetPlatform) {
+        this.targetPlatform = targetPlatform;
+    }
+
+    @Schema(
+        name = "BatchExtensionParam",
+        description = "Extension of a metadata batch parameter"
+    )
+    @JsonInclude(Include.NON_NULL)
+    public static class ExtensionParamJson {
+
+        @Schema(description = "Identifier in the form {namespace}.{extension}")
+        private String extensionId;
+
+        @Schema(description = "Version of the extension, 'latest' or 'pre-release'. Defaults to 'latest'")
+        private String version;
+
+        public String getExtensionId() {
+            return extensionId;
+        }
+
+        public void setExtensionId(String extensionId) {
+            this.extensionId = extensionId;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        public void setVersion(String version) {
+            this.version = version;
+        }
+    }
+}
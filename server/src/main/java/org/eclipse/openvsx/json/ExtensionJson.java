@@ -192,6 +192,9 @@ public class ExtensionJson extends ResultJson implements Serializable {
     @Schema(description = "Whether to show downloads in user interfaces")
     private boolean downloadable;
 
+    @Schema(description = "URL to get the publishing progress of this version (only returned when publishing)")
+    private String publishStatusUrl;
+
     public String getNamespaceUrl() {
         return namespaceUrl;
     }
@@ -568,6 +571,14 @@ public class ExtensionJson extends ResultJson implements Serializable {
         this.downloadable = downloadable;
     }
 
+    public String getPublishStatusUrl() {
+        return publishStatusUrl;
+    }
+
+    public void setPublishStatusUrl(String publishStatusUrl) {
+        this.publishStatusUrl = publishStatusUrl;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,42 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.json;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+@Schema(
+    name = "InstallSet",
+    description = "Extensions that are installed together with an extension"
+)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class InstallSetJson extends ResultJson {
+
+    public static InstallSetJson error(String message) {
+        var result = new InstallSetJson();
+        result.setError(message);
+        return result;
+    }
+
+    @Schema(description = "Dependencies and bundled extensions of the extension, including transitive ones")
+    @NotNull
+    private List<ExtensionReferenceJson> extensions;
+
+    public List<ExtensionReferenceJson> getExtensions() {
+        return extensions;
+    }
+
+    public void setExtensions(List<ExtensionReferenceJson> extensions) {
+        this.extensions = extensions;
+    }
+}
@@ -0,0 +1,184 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.json;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(
+    name = "PublishStatus",
+    description = "Progress of an extension version that is being published"
+)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PublishStatusJson extends ResultJson {
+
+    public static PublishStatusJson error(String message) {
+        var result = new PublishStatusJson();
+        result.setError(message);
+        return result;
+    }
+
+    @Schema(description = "Identifier of the publish operation")
+    @NotNull
+    private String id;
+
+    @Schema(description = "Namespace of the extension")
+    private String namespace;
+
+    @Schema(description = "Name of the extension")
+    private String name;
+
+    @Schema(description = "Version of the extension")
+    private String version;
+
+    @Schema(description = "Target platform of the extension version")
+    private String targetPlatform;
+
+    @Schema(description = "Current stage of the publish operation", allowableValues = {"queued", "upload", "sign", "extract", "index", "completed", "failed"})
+    @NotNull
+    private String stage;
+
+    @Schema(description = "Number of files of the extension package that have been stored")
+    private int filesProcessed;
+
+    @Schema(description = "Date and time when the upload was accepted (ISO-8601)")
+    private String created;
+
+    @Schema(description = "Date and time when a worker started publishing (ISO-8601)")
+    private String started;
+
+    @Schema(description = "Date and time when publishing completed or failed (ISO-8601)")
+    private String finished;
+
+    @Schema(description = "Number of extension versions waiting for a publish worker")
+    private int queueDepth;
+
+    @Schema(description = "Maximum number of extension versions that can wait for a publish worker")
+    private int queueCapacity;
+
+    @Schema(description = "Number of publish workers that are currently busy")
+    private int activeWorkers;
+
+    @Schema(description = "Total number of publish workers")
+    private int workers;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getNamespace() {
+        return namespace;
+    }
+
+    public void setNamespace(String namespace) {
+        this.namespace = namespace;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    public String getTargetPlatform() {
+        return targetPlatform;
+    }
+
+    public void setTargetPlatform(String targetPlatform) {
+        this.targetPlatform = targetPlatform;
+    }
+
+    public String getStage() {
+        return stage;
+    }
+
+    public void setStage(String stage) {
+        this.stage = stage;
+    }
+
+    public int getFilesProcessed() {
+        return filesProcessed;
+    }
+
+    public void setFilesProcessed(int filesProcessed) {
+        this.filesProcessed = filesProcessed;
+    }
+
+    public String getCreated() {
+        return created;
+    }
+
+    public void setCreated(String created) {
+        this.created = created;
+    }
+
+    public String getStarted() {
+        return started;
+    }
+
+    public void setStarted(String started) {
+        this.started = started;
+    }
+
+    public String getFinished() {
+        return finished;
+    }
+
+    public void setFinished(String finished) {
+        this.finished = finished;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public void setQueueDepth(int queueDepth) {
+        this.queueDepth = queueDepth;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getActiveWorkers() {
+        return activeWorkers;
+    }
+
+    public void setActiveWorkers(int activeWorkers) {
+        this.activeWorkers = activeWorkers;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+}
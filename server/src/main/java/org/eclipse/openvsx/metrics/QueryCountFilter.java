@@ -0,0 +1,85 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Counts the database queries issued while handling a request. Queries of asynchronous
+ * request processing, e.g. a {@code StreamingResponseBody}, are counted on the async thread
+ * and the request is recorded when the async processing is completed.
+ */
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private final QueryMetrics metrics;
+
+    public QueryCountFilter(QueryMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        var queries = metrics.startRequest();
+        var asyncManager = WebAsyncUtils.getAsyncManager(request);
+        asyncManager.registerCallableInterceptor(QueryCountFilter.class.getName(), new AsyncQueryCountInterceptor(queries));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            metrics.unbindRequest();
+            if(!asyncManager.isConcurrentHandlingStarted()) {
+                endRequest(request, queries);
+            }
+        }
+    }
+
+    private void endRequest(HttpServletRequest request, Map<String, Integer> queries) {
+        var pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        metrics.endRequest(queries, request.getMethod(), pattern != null ? pattern.toString() : "UNKNOWN");
+    }
+
+    private class AsyncQueryCountInterceptor implements CallableProcessingInterceptor {
+
+        private final Map<String, Integer> queries;
+
+        AsyncQueryCountInterceptor(Map<String, Integer> queries) {
+            this.queries = queries;
+        }
+
+        @Override
+        public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+            metrics.bindRequest(queries);
+        }
+
+        @Override
+        public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+            metrics.unbindRequest();
+        }
+
+        @Override
+        public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+            var servletRequest = request.getNativeRequest(HttpServletRequest.class);
+            if(servletRequest != null) {
+                endRequest(servletRequest, queries);
+            }
+        }
+    }
+}
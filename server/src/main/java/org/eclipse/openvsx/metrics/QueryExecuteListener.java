@@ -0,0 +1,48 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.metrics;
+
+import io.micrometer.observation.Observation;
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+
+/**
+ * Times the queries executed by the jOOQ repositories.
+ */
+public class QueryExecuteListener implements ExecuteListener {
+
+    private static final String DATA_OBSERVATION = "ovsx.query.observation";
+    private static final String DATA_START = "ovsx.query.start";
+
+    private final QueryMetrics metrics;
+
+    public QueryExecuteListener(QueryMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void start(ExecuteContext ctx) {
+        ctx.data(DATA_START, System.nanoTime());
+        ctx.data(DATA_OBSERVATION, metrics.start(QueryMetrics.SOURCE_JOOQ));
+    }
+
+    @Override
+    public void end(ExecuteContext ctx) {
+        if(!(ctx.data(DATA_OBSERVATION) instanceof Observation observation)) {
+            return;
+        }
+        if(ctx.exception() != null) {
+            observation.error(ctx.exception());
+        }
+
+        var rows = ctx.result() != null ? ctx.result().size() : ctx.rows();
+        metrics.stop(observation, (long) ctx.data(DATA_START), ctx.sql(), rows);
+    }
+}
@@ -0,0 +1,202 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the database queries of the jOOQ and JPA repositories. Each query is attributed
+ * to the repository method that issued it, i.e. the innermost caller in the repositories package.
+ * Queries are also counted per HTTP request to detect N+1 query patterns. The counts of a request
+ * are bound to the thread that is currently handling it, see {@link QueryCountFilter}.
+ *
+ * @see QueryMetricsConfiguration
+ */
+public class QueryMetrics {
+
+    public static final String SOURCE_JOOQ = "jooq";
+    public static final String SOURCE_JPA = "jpa";
+
+    private static final String REPOSITORIES_PACKAGE = "org.eclipse.openvsx.repositories.";
+    private static final String REGISTRY_PACKAGE = "org.eclipse.openvsx.";
+    private static final String METRICS_PACKAGE = "org.eclipse.openvsx.metrics.";
+    private static final String JOOQ_PACKAGE = "org.eclipse.openvsx.jooq.";
+    private static final int MAX_LOGGED_SQL_LENGTH = 2000;
+
+    protected final Logger logger = LoggerFactory.getLogger(QueryMetrics.class);
+
+    private final MeterRegistry meters;
+    private final ObservationRegistry observations;
+    private final long slowQueryThresholdMillis;
+    private final int nPlusOneThreshold;
+    private final ThreadLocal<Map<String, Integer>> requestQueries = new ThreadLocal<>();
+
+    public QueryMetrics(
+            MeterRegistry meters,
+            ObservationRegistry observations,
+            long slowQueryThresholdMillis,
+            int nPlusOneThreshold
+    ) {
+        this.meters = meters;
+        this.observations = observations;
+        this.slowQueryThresholdMillis = slowQueryThresholdMillis;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    /**
+     * Start the observation of a query, which yields the {@code ovsx.query} timer and a trace span.
+     */
+    public Observation start(String source) {
+        var method = findRepositoryMethod();
+        count(method);
+        return Observation.createNotStarted("ovsx.query", observations)
+                .lowCardinalityKeyValue("source", source)
+                .lowCardinalityKeyValue("method", method)
+                .start();
+    }
+
+    /**
+     * Stop the observation of a query and record its row count.
+     * @param rows number of fetched or affected rows, negative if unknown
+     */
+    public void stop(Observation observation, long startNanos, String sql, int rows) {
+        observation.stop();
+        var context = observation.getContext();
+        var method = context.getLowCardinalityKeyValue("method").getValue();
+        if(rows >= 0) {
+            DistributionSummary.builder("ovsx_query_rows")
+                    .description("Rows fetched or affected by a query")
+                    .tag("source", context.getLowCardinalityKeyValue("source").getValue())
+                    .tag("method", method)
+                    .register(meters)
+                    .record(rows);
+        }
+
+        var millis = (System.nanoTime() - startNanos) / 1_000_000;
+        if(slowQueryThresholdMillis > 0 && millis >= slowQueryThresholdMillis) {
+            logger.warn("Slow query in {} took {} ms ({} rows): {}", method, millis, rows, StringUtils.abbreviate(sql, MAX_LOGGED_SQL_LENGTH));
+        }
+    }
+
+    /**
+     * Count a statement that is not timed, i.e. a statement prepared by Hibernate.
+     */
+    public void countStatement(String source) {
+        var method = findRepositoryMethod();
+        count(method);
+        Counter.builder("ovsx_query_statements")
+                .description("Statements prepared by the repositories")
+                .tag("source", source)
+                .tag("method", method)
+                .register(meters)
+                .increment();
+    }
+
+    /**
+     * Start counting the queries of a request on the current thread.
+     * @return the query counts of the request, to bind them to other threads that handle it
+     */
+    public Map<String, Integer> startRequest() {
+        var queries = new ConcurrentHashMap<String, Integer>();
+        bindRequest(queries);
+        return queries;
+    }
+
+    /**
+     * Count the queries of the current thread for the given request, e.g. while writing a streaming response body.
+     */
+    public void bindRequest(Map<String, Integer> queries) {
+        requestQueries.set(queries);
+    }
+
+    public void unbindRequest() {
+        requestQueries.remove();
+    }
+
+    /**
+     * Record the number of queries issued while handling the request and report
+     * repository methods that were called suspiciously often.
+     * @param uri the URI pattern of the request
+     */
+    public void endRequest(Map<String, Integer> queries, String method, String uri) {
+        var total = queries.values().stream().mapToInt(Integer::intValue).sum();
+        DistributionSummary.builder("ovsx_request_queries")
+                .description("Database queries per HTTP request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meters)
+                .record(total);
+
+        queries.forEach((repositoryMethod, count) -> {
+            if(nPlusOneThreshold > 0 && count >= nPlusOneThreshold) {
+                Counter.builder("ovsx_query_n_plus_one")
+                        .description("Requests that called a repository method repeatedly")
+                        .tag("uri", uri)
+                        .tag("method", repositoryMethod)
+                        .register(meters)
+                        .increment();
+                logger.warn("Possible N+1 queries: {} {} called {} {} times", method, uri, repositoryMethod, count);
+            }
+        });
+    }
+
+    private void count(String method) {
+        var queries = requestQueries.get();
+        if(queries != null) {
+            queries.merge(method, 1, Integer::sum);
+        }
+    }
+
+    private String findRepositoryMethod() {
+        return StackWalker.getInstance().walk(frames -> {
+            String caller = null;
+            for(var iterator = frames.iterator(); iterator.hasNext();) {
+                var frame = iterator.next();
+                var className = frame.getClassName();
+                if(className.startsWith(REPOSITORIES_PACKAGE)) {
+                    return toMethodName(frame);
+                }
+                if(caller == null && className.startsWith(REGISTRY_PACKAGE)
+                        && !className.startsWith(METRICS_PACKAGE) && !className.startsWith(JOOQ_PACKAGE)) {
+                    caller = toMethodName(frame);
+                }
+            }
+
+            return caller != null ? caller : "unknown";
+        });
+    }
+
+    private String toMethodName(StackWalker.StackFrame frame) {
+        var className = frame.getClassName();
+        var simpleName = className.substring(className.lastIndexOf('.') + 1);
+        var nestedClass = simpleName.indexOf('$');
+        if(nestedClass >= 0) {
+            simpleName = simpleName.substring(0, nestedClass);
+        }
+
+        // lambda$findAll$0 -> findAll
+        var methodName = frame.getMethodName();
+        if(methodName.startsWith("lambda$")) {
+            methodName = StringUtils.substringBetween(methodName, "lambda$", "$");
+        }
+
+        return simpleName + "." + methodName;
+    }
+}
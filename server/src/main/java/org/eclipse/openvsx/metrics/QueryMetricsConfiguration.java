@@ -0,0 +1,66 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.jooq.impl.DefaultExecuteListenerProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Query instrumentation of the jOOQ and JPA repositories, enabled with {@code ovsx.metrics.queries.enabled}.
+ */
+@Configuration
+@ConditionalOnProperty(value = "ovsx.metrics.queries.enabled", havingValue = "true")
+public class QueryMetricsConfiguration {
+
+    @Bean
+    public QueryMetrics queryMetrics(
+            MeterRegistry meters,
+            ObjectProvider<ObservationRegistry> observations,
+            @Value("${ovsx.metrics.queries.slow-query-threshold-millis:1000}") long slowQueryThresholdMillis,
+            @Value("${ovsx.metrics.queries.n-plus-one-threshold:20}") int nPlusOneThreshold
+    ) {
+        return new QueryMetrics(
+                meters,
+                observations.getIfAvailable(() -> ObservationRegistry.NOOP),
+                slowQueryThresholdMillis,
+                nPlusOneThreshold
+        );
+    }
+
+    @Bean
+    public DefaultExecuteListenerProvider queryExecuteListenerProvider(QueryMetrics metrics) {
+        return new DefaultExecuteListenerProvider(new QueryExecuteListener(metrics));
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryStatementInspector(QueryMetrics metrics) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryStatementInspector(metrics));
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(QueryMetrics metrics) {
+        var registrationBean = new FilterRegistrationBean<QueryCountFilter>();
+        registrationBean.setFilter(new QueryCountFilter(metrics));
+        registrationBean.addUrlPatterns("/*");
+        registrationBean.setOrder(Ordered.HIGHEST_PRECEDENCE);
+
+        return registrationBean;
+    }
+}
@@ -0,0 +1,31 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the statements prepared by Hibernate for the Spring Data repositories.
+ * The statement is passed on unchanged.
+ */
+public class QueryStatementInspector implements StatementInspector {
+
+    private final QueryMetrics metrics;
+
+    public QueryStatementInspector(QueryMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        metrics.countStatement(QueryMetrics.SOURCE_JPA);
+        return sql;
+    }
+}
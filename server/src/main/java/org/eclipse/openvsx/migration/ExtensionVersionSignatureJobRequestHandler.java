@@ -76,6 +76,7 @@ public class ExtensionVersionSignatureJobRequestHandler implements JobRequestHan
             cache.evictExtensionJsons(extVersion);
             cache.evictLatestExtensionVersion(extension);
             cache.evictNamespaceDetails(extension);
+            cache.evictFileResourceLocations(extension);
 
             var existingSignature = migrations.getFileResource(extVersion, FileResource.DOWNLOAD_SIG);
             if (existingSignature != null) {
@@ -10,12 +10,14 @@
 package org.eclipse.openvsx.migration;
 
 import org.eclipse.openvsx.ExtensionProcessor;
+import org.eclipse.openvsx.publish.FileResourceBatchWriter;
 import org.eclipse.openvsx.util.NamingUtil;
 import org.jobrunr.jobs.annotations.Job;
 import org.jobrunr.jobs.context.JobRunrDashboardLogger;
 import org.jobrunr.jobs.lambdas.JobRequestHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
@@ -29,10 +31,19 @@ public class ExtractResourcesJobRequestHandler implements JobRequestHandler<Migr
 
     private final ExtractResourcesJobService service;
     private final MigrationService migrations;
+    private final FileResourceBatchWriter resourceWriter;
 
-    public ExtractResourcesJobRequestHandler(ExtractResourcesJobService service, MigrationService migrations) {
+    @Value("${ovsx.storage.vsix-entries.enabled:false}")
+    boolean vsixEntries;
+
+    public ExtractResourcesJobRequestHandler(
+            ExtractResourcesJobService service,
+            MigrationService migrations,
+            FileResourceBatchWriter resourceWriter
+    ) {
         this.service = service;
         this.migrations = migrations;
+        this.resourceWriter = resourceWriter;
     }
 
     @Override
@@ -52,10 +63,16 @@ public class ExtractResourcesJobRequestHandler implements JobRequestHandler<Migr
                 return;
             }
             try (var extProcessor = new ExtensionProcessor(extensionFile)) {
-                extProcessor.processEachResource(download.getExtension(), (tempFile) -> {
-                    migrations.uploadFileResource(tempFile);
-                    migrations.persistFileResource(tempFile.getResource());
-                });
+                var resources = resourceWriter.newBatch();
+                if(vsixEntries) {
+                    extProcessor.processEachResourceEntry(download.getExtension(), resources::add);
+                } else {
+                    extProcessor.processEachResource(download.getExtension(), (tempFile) -> {
+                        migrations.uploadFileResource(tempFile);
+                        resources.add(tempFile.getResource());
+                    });
+                }
+                resources.flush();
             }
         }
 
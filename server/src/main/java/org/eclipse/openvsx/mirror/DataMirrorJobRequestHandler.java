@@ -34,6 +34,7 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.eclipse.openvsx.util.UrlUtil.createApiUrl;
 
@@ -43,6 +44,7 @@ public class DataMirrorJobRequestHandler implements JobRequestHandler<DataMirror
     protected final Logger logger = LoggerFactory.getLogger(DataMirrorJobRequestHandler.class);
 
     private DataMirrorService data;
+    private MirrorWorkerPool workers;
     private final RepositoryService repositories;
     private final RestTemplate backgroundRestTemplate;
     private final UrlConfigService urlConfigService;
@@ -55,6 +57,7 @@ public class DataMirrorJobRequestHandler implements JobRequestHandler<DataMirror
 
     public DataMirrorJobRequestHandler(
             Optional<DataMirrorService> dataMirrorService,
+            Optional<MirrorWorkerPool> mirrorWorkerPool,
             RepositoryService repositories,
             RestTemplate backgroundRestTemplate,
             UrlConfigService urlConfigService,
@@ -62,6 +65,7 @@ public class DataMirrorJobRequestHandler implements JobRequestHandler<DataMirror
             MirrorExtensionService mirrorExtensionService
     ) {
         dataMirrorService.ifPresent(service -> this.data = service);
+        mirrorWorkerPool.ifPresent(pool -> this.workers = pool);
         this.repositories = repositories;
         this.backgroundRestTemplate = backgroundRestTemplate;
         this.urlConfigService = urlConfigService;
@@ -82,12 +86,14 @@ public class DataMirrorJobRequestHandler implements JobRequestHandler<DataMirror
             var mirrorUser = data.createMirrorUser();
                 
             var extensionIds = new ArrayList<String>();
+            var tasks = new ArrayList<CompletableFuture<Void>>();
+            var jobContext = jobContext();
             try(var reader = new StringReader(getSitemap())) {
                 var factory = DocumentBuilderFactory.newInstance();
                 var builder = factory.newDocumentBuilder();
                 var sitemap = builder.parse(new InputSource(reader));
                 var urls = sitemap.getElementsByTagName("url");
-                var progress = jobContext().progressBar(urls.getLength());
+                var progress = jobContext.progressBar(urls.getLength());
                 for(var i = 0; i < urls.getLength(); i++) {
                     var url = (Element) urls.item(i);
                     var location = URI.create(url.getElementsByTagName("loc").item(0).getTextContent());
@@ -96,11 +102,11 @@ public class DataMirrorJobRequestHandler implements JobRequestHandler<DataMirror
                     var extension = pathParams[pathParams.length - 1];
                     var extensionId = NamingUtil.toExtensionId(namespace, extension);
                     if (!data.match(namespace, extension)) {
-                        jobContext().logger().info("excluded, skipping " + extensionId + " (" + (i+1) + "/" +  urls.getLength() + ")");
+                        jobContext.logger().info("excluded, skipping " + extensionId + " (" + (i+1) + "/" +  urls.getLength() + ")");
                         continue;
                     }
-                    jobContext().logger().info("mirroring " + extensionId + " (" + (i+1) + "/" +  urls.getLength() + ")");
-                    
+                    jobContext.logger().info("mirroring " + extensionId + " (" + (i+1) + "/" +  urls.getLength() + ")");
+
                     LocalDate lastModified = null;
                     try {
                         var lastModifiedString = url.getElementsByTagName("lastmod").item(0).getTextContent();
@@ -108,21 +114,30 @@ public class DataMirrorJobRequestHandler implements JobRequestHandler<DataMirror
                     } catch(Throwable t) {
                         logger.error("failed to resolve last modified date " + extensionId, t);
                     }
-                    try {
-                        mirrorExtensionService.mirrorExtension(namespace, extension, mirrorUser, lastModified, jobContext());
-                    } catch (Throwable t) {
-                        logger.error("failed to mirror " + extensionId, t);
-                    }
+
+                    var extensionLastModified = lastModified;
+                    tasks.add(workers.submit(() -> {
+                        try {
+                            mirrorExtensionService.mirrorExtension(namespace, extension, mirrorUser, extensionLastModified, jobContext);
+                        } catch (Throwable t) {
+                            logger.error("failed to mirror " + extensionId, t);
+                        }
+                        synchronized (progress) {
+                            progress.increaseByOne();
+                        }
+                    }));
                     extensionIds.add(extensionId);
-                    progress.increaseByOne();
                 }
             }
 
+            // wait for all extensions to be mirrored before deleting extensions that are no longer upstream
+            CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+
             var notMatchingExtensions = repositories.findAllNotMatchingByExtensionId(extensionIds);
             if (!notMatchingExtensions.isEmpty()) {
                 for(var extension : notMatchingExtensions) {
                     var extensionId = NamingUtil.toExtensionId(extension);
-                    jobContext().logger().info("deleting " + extensionId);
+                    jobContext.logger().info("deleting " + extensionId);
                     try {
                         var namespace = extension.getNamespace();
                         admin.deleteExtension(namespace.getName(), extension.getName(), mirrorUser);
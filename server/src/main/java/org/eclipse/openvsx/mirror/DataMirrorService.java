@@ -18,6 +18,7 @@ import org.eclipse.openvsx.LocalRegistryService;
 import org.eclipse.openvsx.UpstreamRegistryService;
 import org.eclipse.openvsx.UserService;
 import org.eclipse.openvsx.admin.AdminService;
+import org.eclipse.openvsx.admin.AdminStatisticCounters;
 import org.eclipse.openvsx.entities.*;
 import org.eclipse.openvsx.json.ExtensionJson;
 import org.eclipse.openvsx.json.NamespaceJson;
@@ -53,6 +54,7 @@ public class DataMirrorService {
     private final StorageUtilService storageUtil;
     private final RestTemplate backgroundRestTemplate;
     private final AdminService admin;
+    private final AdminStatisticCounters statisticCounters;
     private final Set<String> excludeExtensions;
     private final Set<String> includeExtensions;
     private final Counter mirroredVersions;
@@ -76,6 +78,7 @@ public class DataMirrorService {
             AdminService admin,
             Set<String> excludeExtensions,
             Set<String> includeExtensions,
+            AdminStatisticCounters statisticCounters,
             MeterRegistry registry
     ) {
         this.repositories = repositories;
@@ -89,6 +92,7 @@ public class DataMirrorService {
         this.admin = admin;
         this.excludeExtensions = excludeExtensions;
         this.includeExtensions = includeExtensions;
+        this.statisticCounters = statisticCounters;
         this.mirroredVersions = Counter.builder("ovsx_mirror_versions").tag("outcome", "success").register(registry);
         this.failedVersions = Counter.builder("ovsx_mirror_versions").tag("outcome", "failure").register(registry);
     }
@@ -196,6 +200,7 @@ public class DataMirrorService {
         extension.setDownloadCount(latest.getDownloadCount());
         extension.setAverageRating(latest.getAverageRating());
         extension.setReviewCount(latest.getReviewCount());
+        statisticCounters.downloadsChanged(extension);
 
         var remoteReviews = upstream.getReviews(namespaceName, extensionName);
         var localReviews = repositories.findAllReviews(extension)
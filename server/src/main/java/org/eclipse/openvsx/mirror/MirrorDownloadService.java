@@ -0,0 +1,213 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software Ltd and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.mirror;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.eclipse.openvsx.json.ExtensionJson;
+import org.eclipse.openvsx.repositories.RepositoryService;
+import org.eclipse.openvsx.storage.StorageUtilService;
+import org.eclipse.openvsx.util.TempFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+import static org.eclipse.openvsx.entities.FileResource.DOWNLOAD;
+import static org.eclipse.openvsx.entities.FileResource.DOWNLOAD_SHA256;
+
+/**
+ * Downloads files from the upstream registry for the mirror.
+ * Limits the number of concurrent downloads per host and doesn't transfer an extension package
+ * when the registry already has a package with the same upstream sha256 checksum.
+ */
+@Component
+public class MirrorDownloadService {
+
+    protected final Logger logger = LoggerFactory.getLogger(MirrorDownloadService.class);
+
+    private final RestTemplate backgroundRestTemplate;
+    private final RepositoryService repositories;
+    private final StorageUtilService storageUtil;
+    private final int maxDownloadsPerHost;
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+    private final Map<String, ChecksumLock> checksumLocks = new ConcurrentHashMap<>();
+    private final Counter transferred;
+    private final Counter deduplicated;
+
+    public MirrorDownloadService(
+            RestTemplate backgroundRestTemplate,
+            RepositoryService repositories,
+            StorageUtilService storageUtil,
+            @Value("${ovsx.data.mirror.max-downloads-per-host:4}") int maxDownloadsPerHost,
+            MeterRegistry registry
+    ) {
+        this.backgroundRestTemplate = backgroundRestTemplate;
+        this.repositories = repositories;
+        this.storageUtil = storageUtil;
+        this.maxDownloadsPerHost = maxDownloadsPerHost;
+        this.transferred = Counter.builder("ovsx_mirror_downloads").tag("outcome", "transferred").register(registry);
+        this.deduplicated = Counter.builder("ovsx_mirror_downloads").tag("outcome", "deduplicated").register(registry);
+    }
+
+    /**
+     * Downloads the file at the given url to a new temporary file.
+     */
+    public TempFile download(String url, String prefix, String suffix) throws IOException {
+        var permits = hostPermits.computeIfAbsent(getHost(url), key -> new Semaphore(maxDownloadsPerHost));
+        permits.acquireUninterruptibly();
+        try {
+            return backgroundRestTemplate.execute("{url}", HttpMethod.GET, null, response -> {
+                var file = new TempFile(prefix, suffix);
+                try (var out = Files.newOutputStream(file.getPath())) {
+                    response.getBody().transferTo(out);
+                }
+
+                return file;
+            }, Map.of("url", url));
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Downloads the extension package of the given upstream extension version and passes it to the consumer.
+     * The package isn't transferred when its upstream sha256 checksum matches the checksum the registry
+     * stored for the same extension version. Calls for the same checksum are serialized, so that a call
+     * waiting for a concurrent mirror of the same package finds it in the registry afterwards.
+     *
+     * @return {@code true} if the package was downloaded and consumed, {@code false} if it was skipped
+     */
+    public boolean downloadExtensionPackage(ExtensionJson json, ExtensionPackageConsumer consumer) throws IOException {
+        var url = json.getFiles().get(DOWNLOAD);
+        var checksum = getChecksum(json.getFiles().get(DOWNLOAD_SHA256));
+        if(checksum == null) {
+            transferExtensionPackage(url, null, consumer);
+            return true;
+        }
+
+        var lock = acquireLock(checksum);
+        try {
+            synchronized (lock) {
+                if(checksum.equals(getLocalChecksum(json))) {
+                    deduplicated.increment();
+                    return false;
+                }
+
+                transferExtensionPackage(url, checksum, consumer);
+                return true;
+            }
+        } finally {
+            releaseLock(checksum);
+        }
+    }
+
+    private void transferExtensionPackage(String url, String checksum, ExtensionPackageConsumer consumer) throws IOException {
+        transferred.increment();
+        try (var extensionFile = download(url, "extension_", ".vsix")) {
+            if(checksum != null) {
+                var actual = computeChecksum(extensionFile.getPath());
+                if (!checksum.equals(actual)) {
+                    throw new RuntimeException("sha256 checksum mismatch for " + url + ": expected " + checksum + ", got " + actual);
+                }
+            }
+
+            consumer.accept(extensionFile);
+        }
+    }
+
+    private ChecksumLock acquireLock(String checksum) {
+        return checksumLocks.compute(checksum, (key, lock) -> {
+            lock = lock != null ? lock : new ChecksumLock();
+            lock.references++;
+            return lock;
+        });
+    }
+
+    private void releaseLock(String checksum) {
+        checksumLocks.computeIfPresent(checksum, (key, lock) -> --lock.references > 0 ? lock : null);
+    }
+
+    private String getChecksum(String sha256Url) {
+        if(sha256Url == null) {
+            return null;
+        }
+
+        try {
+            var checksum = backgroundRestTemplate.getForObject("{url}", String.class, Map.of("url", sha256Url));
+            return normalizeChecksum(checksum);
+        } catch (RestClientException e) {
+            logger.warn("Failed to get sha256 checksum: {}", sha256Url);
+            return null;
+        }
+    }
+
+    private String getLocalChecksum(ExtensionJson json) {
+        var resource = repositories.findFileByType(json.getNamespace(), json.getName(), json.getTargetPlatform(), json.getVersion(), DOWNLOAD_SHA256);
+        if(resource == null) {
+            return null;
+        }
+
+        try (var checksumFile = storageUtil.downloadFile(resource)) {
+            return checksumFile != null ? normalizeChecksum(Files.readString(checksumFile.getPath())) : null;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to read local sha256 checksum: {}", resource.getName());
+            return null;
+        }
+    }
+
+    private String normalizeChecksum(String checksum) {
+        checksum = checksum != null ? checksum.trim().toLowerCase() : null;
+        return checksum != null && checksum.matches("[0-9a-f]{64}") ? checksum : null;
+    }
+
+    private String computeChecksum(Path path) throws IOException {
+        try (var input = Files.newInputStream(path)) {
+            return DigestUtils.sha256Hex(input);
+        }
+    }
+
+    private String getHost(String url) {
+        try {
+            var host = URI.create(url).getHost();
+            return host != null ? host : "";
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+    }
+
+    /**
+     * Receives a downloaded extension package while the lock of its checksum is held.
+     */
+    @FunctionalInterface
+    public interface ExtensionPackageConsumer {
+        void accept(TempFile extensionFile) throws IOException;
+    }
+
+    /**
+     * Counts the callers that use the lock of a checksum, it is only modified inside
+     * {@link ConcurrentHashMap#compute} so that the lock is removed when the last caller releases it.
+     */
+    private static class ChecksumLock {
+        int references;
+    }
+}
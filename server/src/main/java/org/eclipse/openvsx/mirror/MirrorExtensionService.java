@@ -21,7 +21,6 @@ import org.eclipse.openvsx.util.*;
 import org.jobrunr.jobs.context.JobContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
@@ -33,8 +32,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 import java.util.zip.ZipFile;
 
-import static org.eclipse.openvsx.entities.FileResource.DOWNLOAD_SIG;
-import static org.eclipse.openvsx.entities.FileResource.PUBLIC_KEY;
+import static org.eclipse.openvsx.entities.FileResource.*;
 
 @Component
 public class MirrorExtensionService {
@@ -44,18 +42,25 @@ public class MirrorExtensionService {
     private DataMirrorService data;
     private final RepositoryService repositories;
     private final UpstreamRegistryService upstream;
-    private final RestTemplate backgroundRestTemplate;
     private final RestTemplate backgroundNonRedirectingRestTemplate;
+    private final MirrorDownloadService downloads;
     private final UserService users;
     private final ExtensionService extensions;
     private final ExtensionVersionIntegrityService integrityService;
 
+    /**
+     * Extensions are mirrored in parallel by the {@link MirrorWorkerPool}.
+     * Namespaces, users, memberships and access tokens can be shared between extensions,
+     * so they are created while holding this lock.
+     */
+    private final Object metadataLock = new Object();
+
     public MirrorExtensionService(
             Optional<DataMirrorService> dataMirrorService,
             RepositoryService repositories,
             UpstreamRegistryService upstream,
-            RestTemplate backgroundRestTemplate,
             RestTemplate backgroundNonRedirectingRestTemplate,
+            MirrorDownloadService downloads,
             UserService users,
             ExtensionService extensions,
             ExtensionVersionIntegrityService integrityService
@@ -63,8 +68,8 @@ public class MirrorExtensionService {
         dataMirrorService.ifPresent(service -> this.data = service);
         this.repositories = repositories;
         this.upstream = upstream;
-        this.backgroundRestTemplate = backgroundRestTemplate;
         this.backgroundNonRedirectingRestTemplate = backgroundNonRedirectingRestTemplate;
+        this.downloads = downloads;
         this.users = users;
         this.extensions = extensions;
         this.integrityService = integrityService;
@@ -89,7 +94,9 @@ public class MirrorExtensionService {
         data.updateMetadata(namespaceName, extensionName, latest);
         
         logger.debug("updating namespace metadata: {}", namespaceName);
-        data.mirrorNamespaceMetadata(namespaceName);
+        synchronized (metadataLock) {
+            data.mirrorNamespaceMetadata(namespaceName);
+        }
     }
     
     private boolean shouldMirrorExtensionVersions(String namespaceName, String extensionName, LocalDate lastModified, ExtensionJson latest) {
@@ -107,7 +114,9 @@ public class MirrorExtensionService {
     }
 
     private void mirrorExtensionVersions(String namespaceName, String extensionName, UserData mirrorUser, JobContext jobContext) {
-        data.ensureNamespace(namespaceName);
+        synchronized (metadataLock) {
+            data.ensureNamespace(namespaceName);
+        }
 
         var toAdd = new ArrayList<ExtensionJson>();
         for(var targetPlatform : TargetPlatform.TARGET_PLATFORM_NAMES) {
@@ -150,6 +159,17 @@ public class MirrorExtensionService {
     }
 
     private void mirrorExtensionVersion(ExtensionJson json) throws RuntimeException {
+        try {
+            var mirrored = downloads.downloadExtensionPackage(json, extensionFile -> mirrorExtensionPackage(json, extensionFile));
+            if (!mirrored) {
+                logger.debug("extension package is already mirrored: {}", NamingUtil.toLogFormat(json));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void mirrorExtensionPackage(ExtensionJson json, TempFile extensionFile) throws IOException {
         var download = json.getFiles().get("download");
         var userJson = new UserJson();
         userJson.setProvider(json.getPublishedBy().getProvider());
@@ -172,47 +192,35 @@ public class MirrorExtensionService {
         }
 
         String signatureName = null;
-        try (var extensionFile = downloadToFile(download, "extension_", ".vsix")) {
-            if(json.getFiles().containsKey(DOWNLOAD_SIG)) {
-                try(
-                    var signatureZip = downloadToFile(json.getFiles().get(DOWNLOAD_SIG), "extension_", ".sigzip");
-                    var signatureFile = extractSignature(signatureZip);
-                    var publicKeyFile = downloadToFile(json.getFiles().get(PUBLIC_KEY), "public_", ".pem");
-                ) {
-                    var verified = integrityService.verifyExtensionVersion(extensionFile, signatureFile, publicKeyFile);
-                    if (!verified) {
-                        throw new RuntimeException("Unverified vsix package");
-                    }
+        if(json.getFiles().containsKey(DOWNLOAD_SIG)) {
+            try(
+                var signatureZip = downloads.download(json.getFiles().get(DOWNLOAD_SIG), "extension_", ".sigzip");
+                var signatureFile = extractSignature(signatureZip);
+                var publicKeyFile = downloads.download(json.getFiles().get(PUBLIC_KEY), "public_", ".pem");
+            ) {
+                var verified = integrityService.verifyExtensionVersion(extensionFile, signatureFile, publicKeyFile);
+                if (!verified) {
+                    throw new RuntimeException("Unverified vsix package");
                 }
-
-                var signaturePathParams = URI.create(json.getFiles().get("signature")).getPath().split("/");
-                signatureName = signaturePathParams[signaturePathParams.length - 1];
             }
 
+            var signaturePathParams = URI.create(json.getFiles().get("signature")).getPath().split("/");
+            signatureName = signaturePathParams[signaturePathParams.length - 1];
+        }
+
+        String accessTokenValue;
+        synchronized (metadataLock) {
             var user = data.getOrAddUser(userJson);
             var namespace = repositories.findNamespace(namespaceName);
             data.ensureNamespaceMembership(user, namespace);
 
             var description = "MirrorExtensionVersion";
-            var accessTokenValue = data.getOrAddAccessTokenValue(user, description);
-
-            var token = users.useAccessToken(accessTokenValue);
-            extensions.mirrorVersion(extensionFile, signatureName, token, filename, json.getTimestamp());
-            logger.debug("completed mirroring of extension version: {}", NamingUtil.toLogFormat(json));
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+            accessTokenValue = data.getOrAddAccessTokenValue(user, description);
         }
-    }
-
-    private TempFile downloadToFile(String url, String prefix, String suffix) throws IOException {
-        return backgroundRestTemplate.execute("{url}", HttpMethod.GET, null, response -> {
-            var file = new TempFile(prefix, suffix);
-            try(var out = Files.newOutputStream(file.getPath())) {
-                response.getBody().transferTo(out);
-            }
 
-            return file;
-        }, Map.of("url", url));
+        var token = users.useAccessToken(accessTokenValue);
+        extensions.mirrorVersion(extensionFile, signatureName, token, filename, json.getTimestamp());
+        logger.debug("completed mirroring of extension version: {}", NamingUtil.toLogFormat(json));
     }
 
     private TempFile extractSignature(TempFile signatureZip) throws RuntimeException, IOException {
@@ -0,0 +1,91 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software Ltd and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.mirror;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pool of workers that mirror extensions in parallel.
+ * Each submitted task mirrors a single extension, so the versions of one
+ * extension are still mirrored in order. When all workers are busy and the
+ * queue is full, {@link #submit(Runnable)} blocks until a slot frees up.
+ */
+@Component
+@ConditionalOnProperty(value = "ovsx.data.mirror.enabled", havingValue = "true")
+public class MirrorWorkerPool {
+
+    private final ThreadPoolExecutor executor;
+    private final Semaphore slots;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+
+    public MirrorWorkerPool(
+            @Value("${ovsx.data.mirror.workers:4}") int workers,
+            @Value("${ovsx.data.mirror.queue-capacity:100}") int queueCapacity,
+            MeterRegistry registry
+    ) {
+        var threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                workers,
+                workers,
+                60L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    var thread = new Thread(runnable, "mirror-worker-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+        this.executor.allowCoreThreadTimeOut(true);
+        this.slots = new Semaphore(workers + queueCapacity);
+
+        Gauge.builder("ovsx_mirror_queue_depth", queued, AtomicInteger::get)
+                .description("Extensions waiting for a mirror worker")
+                .register(registry);
+        Gauge.builder("ovsx_mirror_active_workers", active, AtomicInteger::get)
+                .description("Mirror workers currently mirroring an extension")
+                .register(registry);
+    }
+
+    public CompletableFuture<Void> submit(Runnable task) throws InterruptedException {
+        slots.acquire();
+        queued.incrementAndGet();
+        try {
+            return CompletableFuture.runAsync(() -> {
+                queued.decrementAndGet();
+                active.incrementAndGet();
+                try {
+                    task.run();
+                } finally {
+                    active.decrementAndGet();
+                    slots.release();
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            slots.release();
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
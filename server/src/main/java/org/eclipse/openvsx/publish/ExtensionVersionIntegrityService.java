@@ -72,6 +72,7 @@ public class ExtensionVersionIntegrityService {
         cache.evictLatestExtensionVersions();
         cache.evictExtensionJsons();
         cache.evictNamespaceDetails();
+        cache.evictFileResourceLocations();
     }
 
     public boolean isEnabled() {
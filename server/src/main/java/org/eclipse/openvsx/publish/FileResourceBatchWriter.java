@@ -0,0 +1,71 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.publish;
+
+import jakarta.persistence.EntityManager;
+import org.eclipse.openvsx.entities.FileResource;
+import org.eclipse.openvsx.repositories.RepositoryService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the {@link FileResource}s extracted from an extension package and inserts them in batches,
+ * instead of persisting each resource in its own transaction.
+ */
+@Component
+public class FileResourceBatchWriter {
+
+    private final RepositoryService repositories;
+    private final EntityManager entityManager;
+
+    @Value("${ovsx.publishing.file-resource-batch-size:500}")
+    int batchSize;
+
+    public FileResourceBatchWriter(RepositoryService repositories, EntityManager entityManager) {
+        this.repositories = repositories;
+        this.entityManager = entityManager;
+    }
+
+    public Batch newBatch() {
+        return new Batch();
+    }
+
+    public class Batch {
+
+        private final List<FileResource> resources = new ArrayList<>();
+
+        public void add(FileResource resource) {
+            resources.add(resource);
+            if(resources.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        /**
+         * Insert the collected resources. Must be called after the last resource has been added.
+         */
+        public void flush() {
+            if(resources.isEmpty()) {
+                return;
+            }
+            if(TransactionSynchronizationManager.isActualTransactionActive()) {
+                // the extension version of the resources may not have been written yet
+                entityManager.flush();
+            }
+
+            repositories.insertFileResources(resources);
+            resources.clear();
+        }
+    }
+}
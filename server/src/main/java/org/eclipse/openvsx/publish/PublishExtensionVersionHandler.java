@@ -10,6 +10,8 @@
 package org.eclipse.openvsx.publish;
 
 import com.google.common.base.Joiner;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import org.apache.commons.lang3.StringUtils;
@@ -28,13 +30,14 @@ import org.eclipse.openvsx.util.TempFile;
 import org.jobrunr.scheduling.JobRequestScheduler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.retry.annotation.Retryable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.function.Consumer;
 
 @Component
@@ -50,6 +53,12 @@ public class PublishExtensionVersionHandler {
     private final UserService users;
     private final ExtensionValidator validator;
     private final ExtensionControlService extensionControl;
+    private final FileResourceBatchWriter resourceWriter;
+    private final ObservationRegistry observations;
+
+    /** Serve resources from the extension package instead of storing each of them as a separate file */
+    @Value("${ovsx.storage.vsix-entries.enabled:false}")
+    boolean vsixEntries;
 
     public PublishExtensionVersionHandler(
             PublishExtensionVersionService service,
@@ -59,7 +68,9 @@ public class PublishExtensionVersionHandler {
             JobRequestScheduler scheduler,
             UserService users,
             ExtensionValidator validator,
-            ExtensionControlService extensionControl
+            ExtensionControlService extensionControl,
+            FileResourceBatchWriter resourceWriter,
+            ObservationRegistry observations
     ) {
         this.service = service;
         this.integrityService = integrityService;
@@ -69,6 +80,8 @@ public class PublishExtensionVersionHandler {
         this.users = users;
         this.validator = validator;
         this.extensionControl = extensionControl;
+        this.resourceWriter = resourceWriter;
+        this.observations = observations;
     }
 
     @Transactional(rollbackOn = ErrorResultException.class)
@@ -90,6 +103,8 @@ public class PublishExtensionVersionHandler {
 
         extVersion.setDependencies(dependencies);
         extVersion.setBundledExtensions(bundledExtensions);
+        persistDependencies(extVersion, dependencies, ExtensionDependency.DEPENDENCY);
+        persistDependencies(extVersion, bundledExtensions, ExtensionDependency.BUNDLE);
         if(integrityService.isEnabled()) {
             extVersion.setSignatureKeyPair(repositories.findActiveKeyPair());
         }
@@ -169,6 +184,21 @@ public class PublishExtensionVersionHandler {
         return extVersion;
     }
 
+    private void persistDependencies(ExtensionVersion extVersion, List<String> extensionIds, String type) {
+        extensionIds.stream()
+                .map(NamingUtil::fromExtensionId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(extensionId -> {
+                    var dependency = new ExtensionDependency();
+                    dependency.setExtensionVersion(extVersion);
+                    dependency.setType(type);
+                    dependency.setNamespaceName(extensionId.namespace());
+                    dependency.setExtensionName(extensionId.extension());
+                    entityManager.persist(dependency);
+                });
+    }
+
     private boolean isMalicious(String namespace, String extension) {
         try {
             var maliciousExtensionIds = extensionControl.getMaliciousExtensionIds();
@@ -195,9 +225,16 @@ public class PublishExtensionVersionHandler {
         return extensionId;
     }
 
-    @Async
+    /**
+     * Store the uploaded package and extract its resources. This is invoked by a worker of the {@link PublishQueue}.
+     */
     @Retryable
-    public void publishAsync(TempFile extensionFile, ExtensionService extensionService) {
+    public void publishAsync(TempFile extensionFile, ExtensionService extensionService, PublishStatus status) {
+        Observation.createNotStarted("PublishExtensionVersionHandler#publishAsync", observations)
+                .observe(() -> publish(extensionFile, extensionService, status));
+    }
+
+    private void publish(TempFile extensionFile, ExtensionService extensionService, PublishStatus status) {
         var download = extensionFile.getResource();
         var extVersion = download.getExtension();
 
@@ -205,6 +242,7 @@ public class PublishExtensionVersionHandler {
         service.deleteFileResources(extVersion);
         download.setId(0L);
 
+        status.setStage(PublishStatus.Stage.UPLOAD);
         service.storeResource(extensionFile);
         service.persistResource(download);
         try(var processor = new ExtensionProcessor(extensionFile)) {
@@ -214,12 +252,15 @@ public class PublishExtensionVersionHandler {
                 return;
             }
 
+            var resources = resourceWriter.newBatch();
             Consumer<TempFile> consumer = tempFile -> {
                 service.storeResource(tempFile);
-                service.persistResource(tempFile.getResource());
+                resources.add(tempFile.getResource());
+                status.fileProcessed();
             };
 
             if(integrityService.isEnabled()) {
+                status.setStage(PublishStatus.Stage.SIGN);
                 var keyPair = extVersion.getSignatureKeyPair();
                 if(keyPair != null) {
                     try(var signature = integrityService.generateSignature(extensionFile, keyPair)) {
@@ -233,11 +274,20 @@ public class PublishExtensionVersionHandler {
                 }
             }
 
-            processor.processEachResource(extVersion, consumer);
+            status.setStage(PublishStatus.Stage.EXTRACT);
+            if(vsixEntries) {
+                processor.processEachResourceEntry(extVersion, resource -> {
+                    resources.add(resource);
+                    status.fileProcessed();
+                });
+            } else {
+                processor.processEachResource(extVersion, consumer);
+            }
             processor.getFileResources(extVersion, consumer);
             try (var sha256File = processor.generateSha256Checksum(extVersion)) {
                 consumer.accept(sha256File);
             }
+            resources.flush();
         } catch (IOException e) {
             throw new RuntimeException(e);
         } finally {
@@ -249,6 +299,7 @@ public class PublishExtensionVersionHandler {
         }
 
         // Update whether extension is active, the search index and evict cache
+        status.setStage(PublishStatus.Stage.INDEX);
         service.activateExtension(extVersion, extensionService);
     }
 
@@ -261,12 +312,20 @@ public class PublishExtensionVersionHandler {
         }
         try(var processor = new ExtensionProcessor(extensionFile)) {
             // don't store file resources, they can be generated on the fly to avoid traversing entire zip file
-            processor.getFileResources(extVersion, service::mirrorResource);
+            var resources = resourceWriter.newBatch();
+            Consumer<TempFile> consumer = tempFile -> {
+                var resource = tempFile.getResource();
+                service.setActiveStorageType(resource);
+                resources.add(resource);
+            };
+
+            processor.getFileResources(extVersion, consumer);
             try (var sha256File = processor.generateSha256Checksum(extVersion)) {
-                service.mirrorResource(sha256File);
+                consumer.accept(sha256File);
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
+            resources.flush();
         }
     }
 
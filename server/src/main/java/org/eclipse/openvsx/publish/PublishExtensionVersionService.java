@@ -58,10 +58,14 @@ public class PublishExtensionVersionService {
 
     @Transactional
     public void mirrorResource(FileResource resource) {
-        resource.setStorageType(storageUtil.getActiveStorageType());
+        setActiveStorageType(resource);
         entityManager.persist(resource);
     }
 
+    public void setActiveStorageType(FileResource resource) {
+        resource.setStorageType(storageUtil.getActiveStorageType());
+    }
+
     @Transactional
     public void persistResource(FileResource resource) {
         entityManager.persist(resource);
@@ -0,0 +1,242 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.publish;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.eclipse.openvsx.entities.UserData;
+import org.eclipse.openvsx.util.ErrorResultException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded queue of extension versions waiting to be published, processed by a fixed number of workers.
+ * A slot is reserved before the uploaded package is processed, so that a saturated queue rejects
+ * the upload with {@code 429 Too Many Requests} instead of piling up temp files and threads.
+ * Publishers are served round-robin, so a publisher uploading many versions does not delay the others.
+ */
+@Component
+public class PublishQueue {
+
+    protected final Logger logger = LoggerFactory.getLogger(PublishQueue.class);
+
+    private final int workers;
+    private final int capacity;
+    private final int maxPendingPerPublisher;
+    private final ExecutorService executor;
+    private final Cache<String, PublishStatus> statuses;
+    private final Counter rejected;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    /** Submitted tasks per publisher, in the order in which the publishers are served */
+    private final Map<Long, Deque<Task>> queues = new LinkedHashMap<>();
+    /** Reserved slots per publisher, including the submitted tasks that have not been started yet */
+    private final Map<Long, Integer> pendingByPublisher = new HashMap<>();
+    private int pending;
+    private final AtomicInteger active = new AtomicInteger();
+
+    public PublishQueue(
+            @Value("${ovsx.publishing.queue.workers:4}") int workers,
+            @Value("${ovsx.publishing.queue.capacity:100}") int capacity,
+            @Value("${ovsx.publishing.queue.max-pending-per-publisher:10}") int maxPendingPerPublisher,
+            @Value("${ovsx.publishing.queue.status-ttl-seconds:3600}") long statusTtlSeconds,
+            MeterRegistry registry
+    ) {
+        this.workers = workers;
+        this.capacity = capacity;
+        this.maxPendingPerPublisher = maxPendingPerPublisher;
+        this.statuses = CacheBuilder.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(statusTtlSeconds))
+                .build();
+
+        var threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(workers, runnable -> {
+            var thread = new Thread(runnable, "publish-worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for(var i = 0; i < workers; i++) {
+            executor.execute(this::work);
+        }
+
+        Gauge.builder("ovsx_publish_queue_depth", this, PublishQueue::getQueueDepth)
+                .description("Extension versions waiting for a publish worker")
+                .register(registry);
+        Gauge.builder("ovsx_publish_active_workers", active, AtomicInteger::get)
+                .description("Publish workers currently publishing an extension version")
+                .register(registry);
+        this.rejected = Counter.builder("ovsx_publish_rejected")
+                .description("Uploads rejected because the publish queue was full")
+                .register(registry);
+    }
+
+    /**
+     * Reserve a slot for an extension version uploaded by the given publisher.
+     * The slot must either be passed to {@link #submit(PublishStatus, Runnable)} or
+     * given back with {@link #release(PublishStatus, String)}.
+     */
+    public PublishStatus reserve(UserData publisher) {
+        return reserve(publisher, true);
+    }
+
+    /**
+     * Like {@link #reserve(UserData)}, but for extension versions that are published by the registry itself,
+     * e.g. by a migration job. These are not limited by the capacity of the queue, because their caller cannot
+     * be told to try again later. They are still published by the workers, in turn with the uploads.
+     */
+    public PublishStatus reserveInternal(UserData publisher) {
+        return reserve(publisher, false);
+    }
+
+    private PublishStatus reserve(UserData publisher, boolean limited) {
+        lock.lock();
+        try {
+            var publisherPending = pendingByPublisher.getOrDefault(publisher.getId(), 0);
+            if(limited && (pending >= capacity || publisherPending >= maxPendingPerPublisher)) {
+                rejected.increment();
+                throw new ErrorResultException("Too many extensions are waiting to be published. Please try again later.", HttpStatus.TOO_MANY_REQUESTS);
+            }
+
+            pending++;
+            pendingByPublisher.put(publisher.getId(), publisherPending + 1);
+        } finally {
+            lock.unlock();
+        }
+
+        var status = new PublishStatus(publisher.getId());
+        statuses.put(status.getId(), status);
+        return status;
+    }
+
+    public void submit(PublishStatus status, Runnable task) {
+        lock.lock();
+        try {
+            queues.computeIfAbsent(status.getPublisherId(), key -> new ArrayDeque<>()).add(new Task(status, task));
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(PublishStatus status, String error) {
+        lock.lock();
+        try {
+            decrementPending(status.getPublisherId());
+        } finally {
+            lock.unlock();
+        }
+
+        status.failed(error);
+    }
+
+    public PublishStatus getStatus(String id) {
+        return statuses.getIfPresent(id);
+    }
+
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return pending;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getActiveWorkers() {
+        return active.get();
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private void work() {
+        while(!Thread.currentThread().isInterrupted()) {
+            Task task;
+            try {
+                task = take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            active.incrementAndGet();
+            try {
+                task.runnable().run();
+                task.status().completed();
+            } catch (RuntimeException e) {
+                logger.error("Failed to publish extension version", e);
+                task.status().failed(e.getMessage());
+            } finally {
+                active.decrementAndGet();
+            }
+        }
+    }
+
+    private Task take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while(queues.isEmpty()) {
+                notEmpty.await();
+            }
+
+            // take the next task of the first publisher and move the publisher to the end of the line
+            var iterator = queues.entrySet().iterator();
+            var entry = iterator.next();
+            iterator.remove();
+            var queue = entry.getValue();
+            var task = queue.poll();
+            if(!queue.isEmpty()) {
+                queues.put(entry.getKey(), queue);
+            }
+
+            decrementPending(entry.getKey());
+            return task;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void decrementPending(long publisherId) {
+        pending--;
+        pendingByPublisher.computeIfPresent(publisherId, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private record Task(PublishStatus status, Runnable runnable) {}
+}
@@ -0,0 +1,127 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.publish;
+
+import org.eclipse.openvsx.entities.ExtensionVersion;
+import org.eclipse.openvsx.util.TimeUtil;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Progress of an extension version that was accepted by the {@link PublishQueue}.
+ * The status is updated by the worker that publishes the extension version and read by the status endpoint.
+ */
+public class PublishStatus {
+
+    public enum Stage {
+        QUEUED, UPLOAD, SIGN, EXTRACT, INDEX, COMPLETED, FAILED;
+
+        public boolean isDone() {
+            return this == COMPLETED || this == FAILED;
+        }
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final long publisherId;
+    private final LocalDateTime created = TimeUtil.getCurrentUTC();
+    private final AtomicInteger filesProcessed = new AtomicInteger();
+    private volatile String namespace;
+    private volatile String extension;
+    private volatile String version;
+    private volatile String targetPlatform;
+    private volatile Stage stage = Stage.QUEUED;
+    private volatile LocalDateTime started;
+    private volatile LocalDateTime finished;
+    private volatile String error;
+
+    public PublishStatus(long publisherId) {
+        this.publisherId = publisherId;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public long getPublisherId() {
+        return publisherId;
+    }
+
+    public LocalDateTime getCreated() {
+        return created;
+    }
+
+    public String getNamespace() {
+        return namespace;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public String getTargetPlatform() {
+        return targetPlatform;
+    }
+
+    public void setExtensionVersion(ExtensionVersion extVersion) {
+        var extension = extVersion.getExtension();
+        this.namespace = extension.getNamespace().getName();
+        this.extension = extension.getName();
+        this.version = extVersion.getVersion();
+        this.targetPlatform = extVersion.getTargetPlatform();
+    }
+
+    public Stage getStage() {
+        return stage;
+    }
+
+    public void setStage(Stage stage) {
+        if(this.stage == Stage.QUEUED) {
+            started = TimeUtil.getCurrentUTC();
+        }
+        this.stage = stage;
+    }
+
+    public int getFilesProcessed() {
+        return filesProcessed.get();
+    }
+
+    public void fileProcessed() {
+        filesProcessed.incrementAndGet();
+    }
+
+    public LocalDateTime getStarted() {
+        return started;
+    }
+
+    public LocalDateTime getFinished() {
+        return finished;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    void completed() {
+        finished = TimeUtil.getCurrentUTC();
+        setStage(Stage.COMPLETED);
+    }
+
+    void failed(String error) {
+        this.error = error;
+        finished = TimeUtil.getCurrentUTC();
+        setStage(Stage.FAILED);
+    }
+}
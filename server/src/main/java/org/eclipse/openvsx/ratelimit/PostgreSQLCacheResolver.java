@@ -0,0 +1,76 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.ratelimit;
+
+import com.giffing.bucket4j.spring.boot.starter.config.cache.AbstractCacheResolverTemplate;
+import com.giffing.bucket4j.spring.boot.starter.config.cache.SyncCacheResolver;
+import io.github.bucket4j.distributed.proxy.AbstractProxyManager;
+import org.eclipse.openvsx.migration.HandlerJobRequest;
+import org.eclipse.openvsx.repositories.RepositoryService;
+import org.jobrunr.scheduling.JobRequestScheduler;
+import org.jobrunr.scheduling.cron.Cron;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Replaces the node-local JCache bucket store of the bucket4j filters with
+ * {@link PostgreSQLProxyManager}, so that rate limits hold across all server
+ * instances instead of being multiplied by the number of instances.
+ * Enabled with {@code ovsx.rate-limit.store=postgresql}.
+ */
+@Component
+@ConditionalOnProperty(value = "ovsx.rate-limit.store", havingValue = "postgresql")
+public class PostgreSQLCacheResolver extends AbstractCacheResolverTemplate<String> implements SyncCacheResolver {
+
+    private final RepositoryService repositories;
+    private final JobRequestScheduler scheduler;
+    private final PrefetchingBucketBuilder.Settings prefetch;
+    private final Map<String, PostgreSQLProxyManager> proxyManagers = new ConcurrentHashMap<>();
+
+    public PostgreSQLCacheResolver(
+            RepositoryService repositories,
+            JobRequestScheduler scheduler,
+            @Value("${ovsx.rate-limit.postgresql.max-unsynchronized-tokens:5}") long maxUnsynchronizedTokens,
+            @Value("${ovsx.rate-limit.postgresql.max-unsynchronized-millis:500}") long maxUnsynchronizedMillis,
+            @Value("${ovsx.rate-limit.postgresql.max-local-buckets:10000}") long maxLocalBuckets
+    ) {
+        this.repositories = repositories;
+        this.scheduler = scheduler;
+        this.prefetch = new PrefetchingBucketBuilder.Settings(maxUnsynchronizedTokens, Duration.ofMillis(maxUnsynchronizedMillis), maxLocalBuckets);
+    }
+
+    @EventListener
+    public void applicationStarted(ApplicationStartedEvent event) {
+        scheduler.scheduleRecurrently("RateLimitBucketCleanup", Cron.hourly(), ZoneId.of("UTC"), new HandlerJobRequest<>(RateLimitBucketCleanupJobRequestHandler.class));
+    }
+
+    @Override
+    public String castStringToCacheKey(String key) {
+        return key;
+    }
+
+    @Override
+    public boolean isAsync() {
+        return false;
+    }
+
+    @Override
+    public AbstractProxyManager<String> getProxyManager(String cacheName) {
+        return proxyManagers.computeIfAbsent(cacheName, key -> new PostgreSQLProxyManager(repositories, key, prefetch));
+    }
+}
@@ -0,0 +1,93 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.ratelimit;
+
+import io.github.bucket4j.distributed.proxy.ClientSideConfig;
+import io.github.bucket4j.distributed.proxy.RemoteBucketBuilder;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.AbstractCompareAndSwapBasedProxyManager;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.AsyncCompareAndSwapOperation;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.CompareAndSwapOperation;
+import io.github.bucket4j.distributed.remote.RemoteBucketState;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.eclipse.openvsx.repositories.RepositoryService;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Stores bucket4j bucket state in the {@code rate_limit_bucket} table, so that
+ * all server instances consume tokens from the same buckets. Updates use
+ * compare-and-swap on the serialized state instead of row locks.
+ * Bucket proxies are handed out by {@link PrefetchingBucketBuilder}, which
+ * lets each instance consume a few tokens locally between synchronizations.
+ */
+public class PostgreSQLProxyManager extends AbstractCompareAndSwapBasedProxyManager<String> {
+
+    private static final int MAX_ID_LENGTH = 255;
+
+    private final RepositoryService repositories;
+    private final String cacheName;
+    private final PrefetchingBucketBuilder.Settings prefetch;
+
+    public PostgreSQLProxyManager(RepositoryService repositories, String cacheName, PrefetchingBucketBuilder.Settings prefetch) {
+        super(ClientSideConfig.getDefault());
+        this.repositories = repositories;
+        this.cacheName = cacheName;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public RemoteBucketBuilder<String> builder() {
+        return new PrefetchingBucketBuilder(super.builder(), cacheName, prefetch);
+    }
+
+    @Override
+    protected CompareAndSwapOperation beginCompareAndSwapOperation(String key) {
+        var id = getId(key);
+        return new CompareAndSwapOperation() {
+            @Override
+            public Optional<byte[]> getStateData(Optional<Long> timeoutNanos) {
+                return Optional.ofNullable(repositories.findRateLimitBucketState(id));
+            }
+
+            @Override
+            public boolean compareAndSwap(byte[] originalData, byte[] newData, RemoteBucketState newState, Optional<Long> timeoutNanos) {
+                return originalData == null
+                        ? repositories.insertRateLimitBucketState(id, newData)
+                        : repositories.compareAndSetRateLimitBucketState(id, originalData, newData);
+            }
+        };
+    }
+
+    @Override
+    protected AsyncCompareAndSwapOperation beginAsyncCompareAndSwapOperation(String key) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void removeProxy(String key) {
+        repositories.deleteRateLimitBucket(getId(key));
+    }
+
+    @Override
+    protected CompletableFuture<Void> removeAsync(String key) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean isAsyncModeSupported() {
+        return false;
+    }
+
+    private String getId(String key) {
+        var id = cacheName + ":" + key;
+        return id.length() <= MAX_ID_LENGTH ? id : cacheName + ":" + DigestUtils.sha256Hex(key);
+    }
+}
@@ -0,0 +1,109 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.ratelimit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.TokensInheritanceStrategy;
+import io.github.bucket4j.distributed.BucketProxy;
+import io.github.bucket4j.distributed.proxy.RecoveryStrategy;
+import io.github.bucket4j.distributed.proxy.RemoteBucketBuilder;
+import io.github.bucket4j.distributed.proxy.optimization.DelayParameters;
+import io.github.bucket4j.distributed.proxy.optimization.Optimization;
+import io.github.bucket4j.distributed.proxy.optimization.Optimizations;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Hands out bucket proxies that consume up to {@link Settings#maxUnsynchronizedTokens()}
+ * tokens locally before synchronizing with the shared bucket state.
+ * The bucket4j filters build a new proxy for every request, which would discard
+ * the locally prefetched tokens, so the proxies are kept in a bounded local cache.
+ */
+class PrefetchingBucketBuilder implements RemoteBucketBuilder<String> {
+
+    private final RemoteBucketBuilder<String> delegate;
+    private final String cacheName;
+    private final Settings settings;
+    private long configurationVersion;
+
+    PrefetchingBucketBuilder(RemoteBucketBuilder<String> delegate, String cacheName, Settings settings) {
+        this.delegate = delegate;
+        this.cacheName = cacheName;
+        this.settings = settings;
+    }
+
+    @Override
+    public RemoteBucketBuilder<String> withRecoveryStrategy(RecoveryStrategy recoveryStrategy) {
+        delegate.withRecoveryStrategy(recoveryStrategy);
+        return this;
+    }
+
+    @Override
+    public RemoteBucketBuilder<String> withOptimization(Optimization optimization) {
+        delegate.withOptimization(optimization);
+        return this;
+    }
+
+    @Override
+    public RemoteBucketBuilder<String> withImplicitConfigurationReplacement(long desiredConfigurationVersion, TokensInheritanceStrategy tokensInheritanceStrategy) {
+        configurationVersion = desiredConfigurationVersion;
+        delegate.withImplicitConfigurationReplacement(desiredConfigurationVersion, tokensInheritanceStrategy);
+        return this;
+    }
+
+    @Override
+    public BucketProxy build(String key, Supplier<BucketConfiguration> configurationSupplier) {
+        if(!settings.isEnabled()) {
+            return delegate.build(key, configurationSupplier);
+        }
+
+        // the settings are shared by the proxy managers of all caches, and each proxy is bound to the cache that built it
+        var localKey = cacheName + ":" + key + "#" + configurationVersion;
+        return settings.buckets.asMap().computeIfAbsent(localKey, k -> {
+            return delegate.withOptimization(settings.optimization).build(key, configurationSupplier);
+        });
+    }
+
+    public BucketProxy build(String key, BucketConfiguration configuration) {
+        return build(key, () -> configuration);
+    }
+
+    /**
+     * Local prefetch settings, shared by the builders of all {@link PostgreSQLProxyManager}s.
+     */
+    static class Settings {
+
+        private final long maxUnsynchronizedTokens;
+        private final Optimization optimization;
+        private final Cache<String, BucketProxy> buckets;
+
+        Settings(long maxUnsynchronizedTokens, Duration maxUnsynchronizedTimeout, long maxLocalBuckets) {
+            this.maxUnsynchronizedTokens = maxUnsynchronizedTokens;
+            this.optimization = maxUnsynchronizedTokens > 0
+                    ? Optimizations.delaying(new DelayParameters(maxUnsynchronizedTokens, maxUnsynchronizedTimeout))
+                    : null;
+            this.buckets = CacheBuilder.newBuilder()
+                    .maximumSize(maxLocalBuckets)
+                    .expireAfterAccess(maxUnsynchronizedTimeout.multipliedBy(10))
+                    .build();
+        }
+
+        long maxUnsynchronizedTokens() {
+            return maxUnsynchronizedTokens;
+        }
+
+        boolean isEnabled() {
+            return optimization != null;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.ratelimit;
+
+import org.eclipse.openvsx.migration.HandlerJobRequest;
+import org.eclipse.openvsx.repositories.RepositoryService;
+import org.eclipse.openvsx.util.TimeUtil;
+import org.jobrunr.jobs.lambdas.JobRequestHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deletes shared rate limit buckets that haven't been used for a while.
+ * An idle bucket is refilled completely, so it is simply recreated on the next request.
+ */
+@Component
+public class RateLimitBucketCleanupJobRequestHandler implements JobRequestHandler<HandlerJobRequest<?>> {
+
+    protected final Logger logger = LoggerFactory.getLogger(RateLimitBucketCleanupJobRequestHandler.class);
+
+    private final RepositoryService repositories;
+
+    @Value("${ovsx.rate-limit.postgresql.retention-hours:24}")
+    long retentionHours;
+
+    public RateLimitBucketCleanupJobRequestHandler(RepositoryService repositories) {
+        this.repositories = repositories;
+    }
+
+    @Override
+    public void run(HandlerJobRequest<?> jobRequest) throws Exception {
+        var deleted = repositories.deleteRateLimitBucketsUpdatedBefore(TimeUtil.getCurrentUTC().minusHours(retentionHours));
+        logger.info("Deleted {} idle rate limit buckets", deleted);
+    }
+}
@@ -12,10 +12,13 @@ package org.eclipse.openvsx.repositories;
 import org.eclipse.openvsx.entities.NamespaceMembership;
 import org.jooq.DSLContext;
 import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
-import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -31,187 +34,237 @@ public class AdminStatisticCalculationsRepository {
     }
 
     public long downloadsTotal() {
-        var sum = DSL.coalesce(DSL.sum(EXTENSION.DOWNLOAD_COUNT),new BigDecimal(0));
+        var sum = DSL.coalesce(DSL.sum(NAMESPACE_STATISTICS.DOWNLOADS), BigDecimal.ZERO);
         return dsl.select(sum)
-                .from(EXTENSION)
-                .where(EXTENSION.ACTIVE.eq(true))
+                .from(NAMESPACE_STATISTICS)
                 .fetchOne(sum)
                 .longValue();
     }
 
     public int countActiveExtensions() {
-        var count = DSL.count(EXTENSION.ID);
-        return dsl.select(count)
-                .from(EXTENSION)
-                .where(EXTENSION.ACTIVE.eq(true))
-                .fetchOne(count);
+        var sum = DSL.coalesce(DSL.sum(NAMESPACE_STATISTICS.EXTENSIONS), BigDecimal.ZERO);
+        return dsl.select(sum)
+                .from(NAMESPACE_STATISTICS)
+                .fetchOne(sum)
+                .intValue();
     }
 
     public int countActiveExtensionPublishers() {
-        var publishers = DSL.countDistinct(PERSONAL_ACCESS_TOKEN.USER_DATA);
-        return dsl.select(publishers)
-                .from(EXTENSION)
-                .join(EXTENSION_VERSION).on(EXTENSION_VERSION.EXTENSION_ID.eq(EXTENSION.ID))
-                .join(PERSONAL_ACCESS_TOKEN).on(PERSONAL_ACCESS_TOKEN.ID.eq(EXTENSION_VERSION.PUBLISHED_WITH_ID))
-                .where(EXTENSION.ACTIVE.eq(true))
-                .and(EXTENSION_VERSION.ACTIVE.eq(true))
-                .fetchOne(publishers);
+        return dsl.fetchCount(PUBLISHER_STATISTICS, PUBLISHER_STATISTICS.EXTENSIONS.greaterThan(0));
     }
 
     public Map<Integer, Integer> countActiveExtensionPublishersGroupedByExtensionsPublished() {
-        var aliasPublisher = "publisher";
-        var aliasExtensionCount = "extension_count";
-        var extensionCountsByPublisher = dsl.select(
-                    PERSONAL_ACCESS_TOKEN.USER_DATA.as(aliasPublisher),
-                    DSL.countDistinct(EXTENSION.ID).as(aliasExtensionCount)
-                )
-                .from(EXTENSION)
-                .join(EXTENSION_VERSION).on(EXTENSION_VERSION.EXTENSION_ID.eq(EXTENSION.ID))
-                .join(PERSONAL_ACCESS_TOKEN).on(PERSONAL_ACCESS_TOKEN.ID.eq(EXTENSION_VERSION.PUBLISHED_WITH_ID))
-                .where(EXTENSION.ACTIVE.eq(true))
-                .and(EXTENSION_VERSION.ACTIVE.eq(true))
-                .groupBy(PERSONAL_ACCESS_TOKEN.USER_DATA)
-                .asTable("aep");
-
-        return dsl.select(
-                    extensionCountsByPublisher.field(aliasExtensionCount, Integer.class),
-                    DSL.count(extensionCountsByPublisher.field(aliasPublisher))
-                )
-                .from(extensionCountsByPublisher)
-                .groupBy(extensionCountsByPublisher.field(aliasExtensionCount, Integer.class))
+        var count = DSL.count();
+        return dsl.select(PUBLISHER_STATISTICS.EXTENSIONS, count)
+                .from(PUBLISHER_STATISTICS)
+                .where(PUBLISHER_STATISTICS.EXTENSIONS.greaterThan(0))
+                .groupBy(PUBLISHER_STATISTICS.EXTENSIONS)
                 .fetch()
                 .stream()
-                .map(l -> new AbstractMap.SimpleEntry<>(l.value1(), l.value2()))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+                .collect(Collectors.toMap(r -> r.get(PUBLISHER_STATISTICS.EXTENSIONS), r -> r.get(count)));
     }
 
     public Map<Integer,Integer> countActiveExtensionsGroupedByExtensionReviewRating() {
-        var aliasExtensionId = "extension_id";
-        var aliasAverageRating = "average_rating";
-
-        var averageRatingByExtension = dsl.select(
-                    EXTENSION.ID.as(aliasExtensionId),
-                    DSL.round(DSL.avg(EXTENSION_REVIEW.RATING)).as(aliasAverageRating)
-                )
+        // extension.average_rating and extension.review_count are updated whenever a review is added or removed
+        var rating = DSL.round(EXTENSION.AVERAGE_RATING.cast(SQLDataType.NUMERIC)).cast(SQLDataType.INTEGER).as("rating");
+        var count = DSL.count();
+        return dsl.select(rating, count)
                 .from(EXTENSION)
-                .join(EXTENSION_REVIEW).on(EXTENSION_REVIEW.EXTENSION_ID.eq(EXTENSION.ID))
                 .where(EXTENSION.ACTIVE.eq(true))
-                .and(EXTENSION_REVIEW.ACTIVE.eq(true))
-                .groupBy(EXTENSION.ID)
-                .asTable("aer");
-
-        return dsl.select(
-                    averageRatingByExtension.field(aliasAverageRating, Integer.class),
-                    DSL.count(averageRatingByExtension.field(aliasExtensionId))
-                )
-                .from(averageRatingByExtension)
-                .groupBy(averageRatingByExtension.field(aliasAverageRating, Integer.class))
+                .and(EXTENSION.REVIEW_COUNT.greaterThan(0L))
+                .groupBy(rating)
                 .fetch()
                 .stream()
-                .map(l -> new AbstractMap.SimpleEntry<>(l.value1(), l.value2()))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+                .collect(Collectors.toMap(r -> r.get(rating), r -> r.get(count)));
     }
 
     public double averageNumberOfActiveReviewsPerActiveExtension() {
         var averageReviewsPerExtension = DSL.case_()
-                .when(DSL.count(EXTENSION.ID).greaterThan(0), DSL.count(EXTENSION_REVIEW.ID).divide(DSL.countDistinct(EXTENSION.ID).times(1.0)))
-                .otherwise(0)
+                .when(DSL.count().greaterThan(0), DSL.sum(EXTENSION.REVIEW_COUNT).divide(DSL.count().times(1.0)))
+                .otherwise(BigDecimal.ZERO)
                 .coerce(double.class)
                 .as("avg_reviews_per_extension");
 
         return dsl.select(averageReviewsPerExtension)
                 .from(EXTENSION)
-                .join(EXTENSION_REVIEW).on(EXTENSION_REVIEW.EXTENSION_ID.eq(EXTENSION.ID))
                 .where(EXTENSION.ACTIVE.eq(true))
-                .and(EXTENSION_REVIEW.ACTIVE.eq(true))
+                .and(EXTENSION.REVIEW_COUNT.greaterThan(0L))
                 .fetchOne(averageReviewsPerExtension);
     }
 
     public int countPublishersThatClaimedNamespaceOwnership() {
-        var count = DSL.countDistinct(NAMESPACE_MEMBERSHIP.USER_DATA);
-        return dsl.select(count)
-                .from(EXTENSION)
-                .join(EXTENSION_VERSION).on(EXTENSION_VERSION.EXTENSION_ID.eq(EXTENSION.ID))
-                .join(PERSONAL_ACCESS_TOKEN).on(PERSONAL_ACCESS_TOKEN.ID.eq(EXTENSION_VERSION.PUBLISHED_WITH_ID))
-                .join(NAMESPACE_MEMBERSHIP).on(NAMESPACE_MEMBERSHIP.USER_DATA.eq(PERSONAL_ACCESS_TOKEN.USER_DATA).and(NAMESPACE_MEMBERSHIP.NAMESPACE.eq(EXTENSION.NAMESPACE_ID)))
-                .where(EXTENSION.ACTIVE.eq(true))
-                .and(EXTENSION_VERSION.ACTIVE.eq(true))
-                .and(NAMESPACE_MEMBERSHIP.ROLE.eq(NamespaceMembership.ROLE_OWNER))
-                .fetchOne(count);
+        return dsl.fetchCount(PUBLISHER_STATISTICS, PUBLISHER_STATISTICS.NAMESPACE_OWNER.eq(true));
     }
 
     public Map<String, Integer> topMostActivePublishingUsers(int limit) {
-        var count = DSL.count(EXTENSION_VERSION.ID).as("extension_version_count");
-        return dsl.select(USER_DATA.ID, USER_DATA.LOGIN_NAME, count)
-                .from(EXTENSION_VERSION)
-                .join(PERSONAL_ACCESS_TOKEN).on(PERSONAL_ACCESS_TOKEN.ID.eq(EXTENSION_VERSION.PUBLISHED_WITH_ID))
-                .join(USER_DATA).on(USER_DATA.ID.eq(PERSONAL_ACCESS_TOKEN.USER_DATA))
-                .where(EXTENSION_VERSION.ACTIVE.eq(true))
-                .groupBy(USER_DATA.ID)
+        var count = PUBLISHER_STATISTICS.EXTENSION_VERSIONS;
+        return dsl.select(USER_DATA.LOGIN_NAME, count)
+                .from(PUBLISHER_STATISTICS)
+                .join(USER_DATA).on(USER_DATA.ID.eq(PUBLISHER_STATISTICS.USER_DATA_ID))
+                .where(count.greaterThan(0))
                 .orderBy(count.desc())
                 .limit(limit)
                 .fetch()
                 .stream()
-                .map(r -> {
-                    var loginName = r.get(USER_DATA.LOGIN_NAME);
-                    var extensionVersionCount = r.get(count);
-                    return Map.entry(loginName, extensionVersionCount);
-                })
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+                .collect(Collectors.toMap(r -> r.get(USER_DATA.LOGIN_NAME), r -> r.get(count)));
     }
 
     public Map<String, Integer> topNamespaceExtensions(int limit) {
-        var count = DSL.count(EXTENSION.ID).as("extension_count");
-        return dsl.select(NAMESPACE.ID, NAMESPACE.NAME, count)
-                .from(NAMESPACE)
-                .join(EXTENSION).on(EXTENSION.NAMESPACE_ID.eq(NAMESPACE.ID))
-                .where(EXTENSION.ACTIVE.eq(true))
-                .groupBy(NAMESPACE.ID)
+        var count = NAMESPACE_STATISTICS.EXTENSIONS;
+        return dsl.select(NAMESPACE.NAME, count)
+                .from(NAMESPACE_STATISTICS)
+                .join(NAMESPACE).on(NAMESPACE.ID.eq(NAMESPACE_STATISTICS.NAMESPACE_ID))
+                .where(count.greaterThan(0))
                 .orderBy(count.desc())
                 .limit(limit)
                 .fetch()
                 .stream()
-                .map(r -> {
-                    var namespaceName = r.get(NAMESPACE.NAME);
-                    var extensionCount = r.get(count);
-                    return Map.entry(namespaceName, extensionCount);
-                })
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+                .collect(Collectors.toMap(r -> r.get(NAMESPACE.NAME), r -> r.get(count)));
     }
 
     public Map<String, Integer> topNamespaceExtensionVersions(int limit) {
-        var count = DSL.count(EXTENSION_VERSION.ID).as("extension_version_count");
-        return dsl.select(NAMESPACE.ID, NAMESPACE.NAME, count)
-                .from(NAMESPACE)
-                .join(EXTENSION).on(EXTENSION.NAMESPACE_ID.eq(NAMESPACE.ID))
-                .join(EXTENSION_VERSION).on(EXTENSION_VERSION.EXTENSION_ID.eq(EXTENSION.ID))
-                .where(EXTENSION.ACTIVE.eq(true))
-                .and(EXTENSION_VERSION.ACTIVE.eq(true))
-                .groupBy(NAMESPACE.ID)
+        var count = NAMESPACE_STATISTICS.EXTENSION_VERSIONS;
+        return dsl.select(NAMESPACE.NAME, count)
+                .from(NAMESPACE_STATISTICS)
+                .join(NAMESPACE).on(NAMESPACE.ID.eq(NAMESPACE_STATISTICS.NAMESPACE_ID))
+                .where(count.greaterThan(0))
                 .orderBy(count.desc())
                 .limit(limit)
                 .fetch()
                 .stream()
-                .map(r -> {
-                    var namespaceName = r.get(NAMESPACE.NAME);
-                    var extensionVersionCount = r.get(count);
-                    return Map.entry(namespaceName, extensionVersionCount);
-                })
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+                .collect(Collectors.toMap(r -> r.get(NAMESPACE.NAME), r -> r.get(count)));
     }
 
     public Map<String, Long> topMostDownloadedExtensions(int limit) {
+        if(limit <= 0) {
+            return Collections.emptyMap();
+        }
+
+        // The top extensions are in the namespaces with the most downloaded extensions, so only the
+        // extensions of those namespaces have to be sorted. All namespaces that tie with the last one
+        // are included, otherwise an arbitrary subset of the tied extensions would be returned.
+        var threshold = dsl.select(NAMESPACE_STATISTICS.MAX_EXTENSION_DOWNLOADS)
+                .from(NAMESPACE_STATISTICS)
+                .where(NAMESPACE_STATISTICS.EXTENSIONS.greaterThan(0))
+                .orderBy(NAMESPACE_STATISTICS.MAX_EXTENSION_DOWNLOADS.desc())
+                .offset(limit - 1)
+                .limit(1)
+                .fetchOne(NAMESPACE_STATISTICS.MAX_EXTENSION_DOWNLOADS);
+
+        var namespaces = dsl.select(NAMESPACE_STATISTICS.NAMESPACE_ID)
+                .from(NAMESPACE_STATISTICS)
+                .where(NAMESPACE_STATISTICS.EXTENSIONS.greaterThan(0))
+                .and(threshold != null ? NAMESPACE_STATISTICS.MAX_EXTENSION_DOWNLOADS.ge(threshold) : DSL.noCondition());
+
         var downloads = EXTENSION.DOWNLOAD_COUNT;
         var extensionId = DSL.concat(NAMESPACE.NAME, DSL.value("."), EXTENSION.NAME);
         return dsl.select(extensionId, downloads)
                 .from(NAMESPACE)
                 .join(EXTENSION).on(EXTENSION.NAMESPACE_ID.eq(NAMESPACE.ID))
                 .where(EXTENSION.ACTIVE.eq(true))
-                .orderBy(downloads.desc())
+                .and(EXTENSION.NAMESPACE_ID.in(namespaces))
+                .orderBy(downloads.desc(), NAMESPACE.NAME, EXTENSION.NAME)
                 .limit(limit)
                 .fetch()
                 .stream()
                 .map(r -> Map.entry(r.get(extensionId), r.get(downloads).longValue()))
                 .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
     }
+
+    /**
+     * Find the users that published a version of one of the given extensions.
+     */
+    public List<Long> findPublisherIds(Collection<Long> extensionIds) {
+        return dsl.selectDistinct(PERSONAL_ACCESS_TOKEN.USER_DATA)
+                .from(EXTENSION_VERSION)
+                .join(PERSONAL_ACCESS_TOKEN).on(PERSONAL_ACCESS_TOKEN.ID.eq(EXTENSION_VERSION.PUBLISHED_WITH_ID))
+                .where(EXTENSION_VERSION.EXTENSION_ID.in(extensionIds))
+                .fetch(PERSONAL_ACCESS_TOKEN.USER_DATA);
+    }
+
+    /**
+     * Recount the statistics of the given namespaces.
+     */
+    public void refreshNamespaceStatistics(Collection<Long> namespaceIds) {
+        var versionCount = DSL.count(EXTENSION_VERSION.ID).as("versions");
+        var versions = dsl.select(EXTENSION_VERSION.EXTENSION_ID, versionCount)
+                .from(EXTENSION_VERSION)
+                .join(EXTENSION).on(EXTENSION.ID.eq(EXTENSION_VERSION.EXTENSION_ID))
+                .where(EXTENSION.NAMESPACE_ID.in(namespaceIds))
+                .and(EXTENSION_VERSION.ACTIVE.eq(true))
+                .groupBy(EXTENSION_VERSION.EXTENSION_ID)
+                .asTable("v");
+
+        var versionsExtensionId = versions.field(EXTENSION_VERSION.EXTENSION_ID);
+        var versionsCount = versions.field(versionCount);
+        var statistics = dsl.select(
+                    NAMESPACE.ID,
+                    DSL.count(EXTENSION.ID),
+                    DSL.coalesce(DSL.sum(versionsCount), BigDecimal.ZERO).cast(Integer.class),
+                    DSL.coalesce(DSL.sum(EXTENSION.DOWNLOAD_COUNT), BigDecimal.ZERO).cast(Long.class),
+                    DSL.coalesce(DSL.max(EXTENSION.DOWNLOAD_COUNT), 0)
+                )
+                .from(NAMESPACE)
+                .leftJoin(EXTENSION).on(EXTENSION.NAMESPACE_ID.eq(NAMESPACE.ID).and(EXTENSION.ACTIVE.eq(true)))
+                .leftJoin(versions).on(versionsExtensionId.eq(EXTENSION.ID))
+                .where(NAMESPACE.ID.in(namespaceIds))
+                .groupBy(NAMESPACE.ID);
+
+        dsl.insertInto(
+                    NAMESPACE_STATISTICS,
+                    NAMESPACE_STATISTICS.NAMESPACE_ID,
+                    NAMESPACE_STATISTICS.EXTENSIONS,
+                    NAMESPACE_STATISTICS.EXTENSION_VERSIONS,
+                    NAMESPACE_STATISTICS.DOWNLOADS,
+                    NAMESPACE_STATISTICS.MAX_EXTENSION_DOWNLOADS
+                )
+                .select(statistics)
+                .onConflict(NAMESPACE_STATISTICS.NAMESPACE_ID)
+                .doUpdate()
+                .set(NAMESPACE_STATISTICS.EXTENSIONS, DSL.excluded(NAMESPACE_STATISTICS.EXTENSIONS))
+                .set(NAMESPACE_STATISTICS.EXTENSION_VERSIONS, DSL.excluded(NAMESPACE_STATISTICS.EXTENSION_VERSIONS))
+                .set(NAMESPACE_STATISTICS.DOWNLOADS, DSL.excluded(NAMESPACE_STATISTICS.DOWNLOADS))
+                .set(NAMESPACE_STATISTICS.MAX_EXTENSION_DOWNLOADS, DSL.excluded(NAMESPACE_STATISTICS.MAX_EXTENSION_DOWNLOADS))
+                .execute();
+    }
+
+    /**
+     * Recount the statistics of the given publishers.
+     */
+    public void refreshPublisherStatistics(Collection<Long> userIds) {
+        var ownsNamespace = DSL.exists(
+                dsl.selectOne()
+                        .from(NAMESPACE_MEMBERSHIP)
+                        .where(NAMESPACE_MEMBERSHIP.USER_DATA.eq(USER_DATA.ID))
+                        .and(NAMESPACE_MEMBERSHIP.NAMESPACE.eq(EXTENSION.NAMESPACE_ID))
+                        .and(NAMESPACE_MEMBERSHIP.ROLE.eq(NamespaceMembership.ROLE_OWNER))
+        );
+        var statistics = dsl.select(
+                    USER_DATA.ID,
+                    DSL.countDistinct(EXTENSION.ID).filterWhere(EXTENSION.ACTIVE.eq(true)),
+                    DSL.count(EXTENSION_VERSION.ID),
+                    DSL.coalesce(DSL.boolOr(EXTENSION.ACTIVE.eq(true).and(ownsNamespace)), false)
+                )
+                .from(USER_DATA)
+                .leftJoin(PERSONAL_ACCESS_TOKEN).on(PERSONAL_ACCESS_TOKEN.USER_DATA.eq(USER_DATA.ID))
+                .leftJoin(EXTENSION_VERSION).on(EXTENSION_VERSION.PUBLISHED_WITH_ID.eq(PERSONAL_ACCESS_TOKEN.ID).and(EXTENSION_VERSION.ACTIVE.eq(true)))
+                .leftJoin(EXTENSION).on(EXTENSION.ID.eq(EXTENSION_VERSION.EXTENSION_ID))
+                .where(USER_DATA.ID.in(userIds))
+                .groupBy(USER_DATA.ID);
+
+        dsl.insertInto(
+                    PUBLISHER_STATISTICS,
+                    PUBLISHER_STATISTICS.USER_DATA_ID,
+                    PUBLISHER_STATISTICS.EXTENSIONS,
+                    PUBLISHER_STATISTICS.EXTENSION_VERSIONS,
+                    PUBLISHER_STATISTICS.NAMESPACE_OWNER
+                )
+                .select(statistics)
+                .onConflict(PUBLISHER_STATISTICS.USER_DATA_ID)
+                .doUpdate()
+                .set(PUBLISHER_STATISTICS.EXTENSIONS, DSL.excluded(PUBLISHER_STATISTICS.EXTENSIONS))
+                .set(PUBLISHER_STATISTICS.EXTENSION_VERSIONS, DSL.excluded(PUBLISHER_STATISTICS.EXTENSION_VERSIONS))
+                .set(PUBLISHER_STATISTICS.NAMESPACE_OWNER, DSL.excluded(PUBLISHER_STATISTICS.NAMESPACE_OWNER))
+                .execute();
+    }
 }
@@ -0,0 +1,126 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.repositories;
+
+import org.eclipse.openvsx.entities.Extension;
+import org.eclipse.openvsx.entities.ExtensionVersion;
+import org.eclipse.openvsx.entities.Namespace;
+import org.eclipse.openvsx.util.ExtensionId;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static org.eclipse.openvsx.jooq.Tables.*;
+import static org.eclipse.openvsx.repositories.JooqUtil.equalIgnoreCase;
+
+@Component
+public class ExtensionDependencyJooqRepository {
+
+    private final DSLContext dsl;
+
+    public ExtensionDependencyJooqRepository(DSLContext dsl) {
+        this.dsl = dsl;
+    }
+
+    /**
+     * Find the extension versions that reference the given extension with the given dependency type.
+     */
+    public List<ExtensionVersion> findReferencingVersions(String namespaceName, String extensionName, String type) {
+        return dsl.select(
+                    NAMESPACE.ID,
+                    NAMESPACE.NAME,
+                    EXTENSION.ID,
+                    EXTENSION.NAME,
+                    EXTENSION_VERSION.ID,
+                    EXTENSION_VERSION.VERSION,
+                    EXTENSION_VERSION.TARGET_PLATFORM
+                )
+                .from(EXTENSION_DEPENDENCY)
+                .join(EXTENSION_VERSION).on(EXTENSION_VERSION.ID.eq(EXTENSION_DEPENDENCY.EXTENSION_VERSION_ID))
+                .join(EXTENSION).on(EXTENSION.ID.eq(EXTENSION_VERSION.EXTENSION_ID))
+                .join(NAMESPACE).on(NAMESPACE.ID.eq(EXTENSION.NAMESPACE_ID))
+                .where(equalIgnoreCase(EXTENSION_DEPENDENCY.NAMESPACE_NAME, namespaceName))
+                .and(equalIgnoreCase(EXTENSION_DEPENDENCY.EXTENSION_NAME, extensionName))
+                .and(EXTENSION_DEPENDENCY.TYPE.eq(type))
+                .fetch(row -> {
+                    var namespace = new Namespace();
+                    namespace.setId(row.get(NAMESPACE.ID));
+                    namespace.setName(row.get(NAMESPACE.NAME));
+
+                    var extension = new Extension();
+                    extension.setId(row.get(EXTENSION.ID));
+                    extension.setName(row.get(EXTENSION.NAME));
+                    extension.setNamespace(namespace);
+
+                    var extVersion = new ExtensionVersion();
+                    extVersion.setId(row.get(EXTENSION_VERSION.ID));
+                    extVersion.setVersion(row.get(EXTENSION_VERSION.VERSION));
+                    extVersion.setTargetPlatform(row.get(EXTENSION_VERSION.TARGET_PLATFORM));
+                    extVersion.setExtension(extension);
+                    return extVersion;
+                });
+    }
+
+    /**
+     * Find all extensions that are installed together with the given extension, i.e. the transitive
+     * closure over the dependencies and bundled extensions of the latest active version of each extension.
+     * Only active extensions are returned and the given extension itself is not part of the result.
+     */
+    public List<ExtensionId> findInstallSet(Extension extension) {
+        var installSet = DSL.name("install_set");
+        var namespaceName = DSL.field(installSet.append("namespace_name"), String.class);
+        var extensionName = DSL.field(installSet.append("extension_name"), String.class);
+
+        var latest = dsl.select(EXTENSION_VERSION.ID)
+                .from(EXTENSION_VERSION)
+                .where(EXTENSION_VERSION.EXTENSION_ID.eq(EXTENSION.ID))
+                .and(EXTENSION_VERSION.ACTIVE.eq(true))
+                .orderBy(
+                        EXTENSION_VERSION.SEMVER_MAJOR.desc(),
+                        EXTENSION_VERSION.SEMVER_MINOR.desc(),
+                        EXTENSION_VERSION.SEMVER_PATCH.desc(),
+                        EXTENSION_VERSION.SEMVER_IS_PRE_RELEASE.asc(),
+                        EXTENSION_VERSION.UNIVERSAL_TARGET_PLATFORM.desc(),
+                        EXTENSION_VERSION.TARGET_PLATFORM.asc(),
+                        EXTENSION_VERSION.TIMESTAMP.desc()
+                )
+                .limit(1)
+                .asTable("latest");
+
+        var cte = installSet.fields("namespace_name", "extension_name").as(
+                dsl.select(NAMESPACE.NAME, EXTENSION.NAME)
+                        .from(EXTENSION)
+                        .join(NAMESPACE).on(NAMESPACE.ID.eq(EXTENSION.NAMESPACE_ID))
+                        .where(EXTENSION.ID.eq(extension.getId()))
+                        .union(
+                                dsl.select(EXTENSION_DEPENDENCY.NAMESPACE_NAME, EXTENSION_DEPENDENCY.EXTENSION_NAME)
+                                        .from(DSL.table(installSet))
+                                        .join(NAMESPACE).on(DSL.upper(NAMESPACE.NAME).eq(DSL.upper(namespaceName)))
+                                        .join(EXTENSION).on(EXTENSION.NAMESPACE_ID.eq(NAMESPACE.ID))
+                                        .and(DSL.upper(EXTENSION.NAME).eq(DSL.upper(extensionName)))
+                                        .crossJoin(DSL.lateral(latest))
+                                        .join(EXTENSION_DEPENDENCY).on(EXTENSION_DEPENDENCY.EXTENSION_VERSION_ID.eq(latest.field(EXTENSION_VERSION.ID)))
+                        )
+        );
+
+        return dsl.withRecursive(cte)
+                .selectDistinct(NAMESPACE.NAME, EXTENSION.NAME)
+                .from(cte)
+                .join(NAMESPACE).on(DSL.upper(NAMESPACE.NAME).eq(DSL.upper(cte.field(namespaceName))))
+                .join(EXTENSION).on(EXTENSION.NAMESPACE_ID.eq(NAMESPACE.ID))
+                .and(DSL.upper(EXTENSION.NAME).eq(DSL.upper(cte.field(extensionName))))
+                .where(EXTENSION.ACTIVE.eq(true))
+                .and(EXTENSION.ID.ne(extension.getId()))
+                .orderBy(NAMESPACE.NAME, EXTENSION.NAME)
+                .fetch(row -> new ExtensionId(row.value1(), row.value2()));
+    }
+}
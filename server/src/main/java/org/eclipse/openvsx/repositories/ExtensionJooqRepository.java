@@ -26,6 +26,7 @@ import java.util.stream.Collectors;
 
 import static org.eclipse.openvsx.jooq.Tables.EXTENSION;
 import static org.eclipse.openvsx.jooq.Tables.NAMESPACE;
+import static org.eclipse.openvsx.repositories.JooqUtil.equalIgnoreCase;
 
 @Component
 public class ExtensionJooqRepository {
@@ -57,8 +58,8 @@ public class ExtensionJooqRepository {
     public Extension findActiveByNameIgnoreCaseAndNamespaceNameIgnoreCase(String name, String namespaceName) {
         var query = findAllActive();
         query.addConditions(
-                EXTENSION.NAME.equalIgnoreCase(name),
-                NAMESPACE.NAME.equalIgnoreCase(namespaceName)
+                equalIgnoreCase(EXTENSION.NAME, name),
+                equalIgnoreCase(NAMESPACE.NAME, namespaceName)
         );
 
         return query.fetchOne(this::toExtension);
@@ -71,8 +72,8 @@ public class ExtensionJooqRepository {
     public Extension findPublicId(String namespace, String extension) {
         var query = findPublicId();
         query.addConditions(
-                EXTENSION.NAME.equalIgnoreCase(extension),
-                NAMESPACE.NAME.equalIgnoreCase(namespace)
+                equalIgnoreCase(EXTENSION.NAME, extension),
+                equalIgnoreCase(NAMESPACE.NAME, namespace)
         );
 
         return query.fetchOne(this::toPublicId);
@@ -242,9 +243,10 @@ public class ExtensionJooqRepository {
         var unresolvedDependency = DSL.concat(namespace, DSL.value("."), extension).as("unresolved_dependency");
         return dsl.select(unresolvedDependency)
                 .from(ids)
-                .leftJoin(NAMESPACE).on(NAMESPACE.NAME.eq(namespace))
-                .leftJoin(EXTENSION).on(EXTENSION.NAME.eq(extension))
-                .where(NAMESPACE.NAME.isNull()).or(EXTENSION.NAME.isNull())
+                .leftJoin(NAMESPACE).on(DSL.upper(NAMESPACE.NAME).eq(DSL.upper(namespace)))
+                .leftJoin(EXTENSION).on(EXTENSION.NAMESPACE_ID.eq(NAMESPACE.ID))
+                .and(DSL.upper(EXTENSION.NAME).eq(DSL.upper(extension)))
+                .where(EXTENSION.ID.isNull())
                 .limit(1)
                 .fetchOne(unresolvedDependency);
     }
@@ -263,13 +265,20 @@ public class ExtensionJooqRepository {
                 });
     }
 
+    public List<ExtensionId> findAllExtensionIds() {
+        return dsl.select(NAMESPACE.NAME, EXTENSION.NAME)
+                .from(NAMESPACE)
+                .join(EXTENSION).on(EXTENSION.NAMESPACE_ID.eq(NAMESPACE.ID))
+                .fetch(row -> new ExtensionId(row.get(NAMESPACE.NAME), row.get(EXTENSION.NAME)));
+    }
+
     public boolean hasExtension(String namespace, String extension) {
         return dsl.fetchExists(
                 dsl.selectOne()
                         .from(NAMESPACE)
                         .join(EXTENSION).on(EXTENSION.NAMESPACE_ID.eq(NAMESPACE.ID))
-                        .where(NAMESPACE.NAME.equalIgnoreCase(namespace))
-                        .and(EXTENSION.NAME.equalIgnoreCase(extension))
+                        .where(equalIgnoreCase(NAMESPACE.NAME, namespace))
+                        .and(equalIgnoreCase(EXTENSION.NAME, extension))
         );
     }
 }
@@ -0,0 +1,38 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.repositories;
+
+import org.eclipse.openvsx.entities.ExtensionVersion;
+import org.eclipse.openvsx.entities.FileResource;
+
+import java.util.List;
+
+/**
+ * Everything needed to render the registry API extension detail of an extension version.
+ *
+ * @param extVersion the requested extension version
+ * @param latest the latest active version of the extension, may be {@code null}
+ * @param latestPreRelease the latest active pre-release version of the extension, may be {@code null}
+ * @param replacement the latest active version of the replacement extension, may be {@code null}
+ * @param verified whether the publisher of the extension version is a member of a namespace with an owner
+ * @param versions the sorted active version strings of the extension
+ * @param files the file resources of the requested extension version
+ * @param downloads the downloads of all target platforms of the requested version
+ */
+public record ExtensionVersionDetails(
+        ExtensionVersion extVersion,
+        ExtensionVersion latest,
+        ExtensionVersion latestPreRelease,
+        ExtensionVersion replacement,
+        boolean verified,
+        List<String> versions,
+        List<FileResource> files,
+        List<FileResource> downloads
+) {}
@@ -13,6 +13,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.eclipse.openvsx.entities.*;
 import org.eclipse.openvsx.json.QueryRequest;
 import org.eclipse.openvsx.json.VersionTargetPlatformsJson;
+import org.eclipse.openvsx.util.ExtensionId;
 import org.eclipse.openvsx.util.TargetPlatform;
 import org.eclipse.openvsx.util.VersionAlias;
 import org.jooq.Record;
@@ -24,10 +25,12 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
 import static org.eclipse.openvsx.jooq.Tables.*;
+import static org.eclipse.openvsx.repositories.JooqUtil.equalIgnoreCase;
 
 @Component
 public class ExtensionVersionJooqRepository {
@@ -87,8 +90,8 @@ public class ExtensionVersionJooqRepository {
                 .join(EXTENSION).on(EXTENSION.ID.eq(EXTENSION_VERSION.EXTENSION_ID))
                 .join(NAMESPACE).on(NAMESPACE.ID.eq(EXTENSION.NAMESPACE_ID))
                 .where(EXTENSION_VERSION.ACTIVE.eq(true))
-                .and(NAMESPACE.NAME.equalIgnoreCase(namespace))
-                .and(EXTENSION.NAME.equalIgnoreCase(extension));
+                .and(equalIgnoreCase(NAMESPACE.NAME, namespace))
+                .and(equalIgnoreCase(EXTENSION.NAME, extension));
 
         if(targetPlatform != null) {
             totalQuery = totalQuery.and(EXTENSION_VERSION.TARGET_PLATFORM.eq(targetPlatform));
@@ -96,8 +99,8 @@ public class ExtensionVersionJooqRepository {
 
         var conditions = new ArrayList<Condition>();
         conditions.add(EXTENSION_VERSION.ACTIVE.eq(true));
-        conditions.add(NAMESPACE.NAME.equalIgnoreCase(namespace));
-        conditions.add(EXTENSION.NAME.equalIgnoreCase(extension));
+        conditions.add(equalIgnoreCase(NAMESPACE.NAME, namespace));
+        conditions.add(equalIgnoreCase(EXTENSION.NAME, extension));
         if(targetPlatform != null) {
             conditions.add(EXTENSION_VERSION.TARGET_PLATFORM.eq(targetPlatform));
         }
@@ -279,13 +282,13 @@ public class ExtensionVersionJooqRepository {
             conditions.add(NAMESPACE.PUBLIC_ID.eq(request.namespaceUuid()));
         }
         if (!StringUtils.isEmpty(request.namespaceName())) {
-            conditions.add(NAMESPACE.NAME.equalIgnoreCase(request.namespaceName()));
+            conditions.add(equalIgnoreCase(NAMESPACE.NAME, request.namespaceName()));
         }
         if (!StringUtils.isEmpty(request.extensionUuid())) {
             conditions.add(EXTENSION.PUBLIC_ID.eq(request.extensionUuid()));
         }
         if (!StringUtils.isEmpty(request.extensionName())) {
-            conditions.add(EXTENSION.NAME.equalIgnoreCase(request.extensionName()));
+            conditions.add(equalIgnoreCase(EXTENSION.NAME, request.extensionName()));
         }
         if(request.targetPlatform() != null) {
             conditions.add(EXTENSION_VERSION.TARGET_PLATFORM.eq(request.targetPlatform()));
@@ -341,29 +344,48 @@ public class ExtensionVersionJooqRepository {
         query.addOffset(request.offset());
         query.addLimit(request.size());
 
-        var content = query.fetch().map(row -> {
-            var extVersion = toExtensionVersionFull(row);
-            extVersion.getExtension().setDeprecated(row.get(EXTENSION.DEPRECATED));
-            extVersion.getExtension().setDownloadable(row.get(EXTENSION.DOWNLOADABLE));
-
-            var replacementId = row.get(EXTENSION.REPLACEMENT_ID);
-            if(replacementId != null) {
-                var replacement = new Extension();
-                replacement.setId(replacementId);
-                extVersion.getExtension().setReplacement(replacement);
-            }
-            return extVersion;
-        });
+        var content = query.fetch().map(this::toExtensionVersionWithReplacement);
         var total = totalQuery.fetchOne(totalCol, Integer.class);
         return new PageImpl<>(content, PageRequest.of(request.offset() / request.size(), request.size()), total);
     }
 
+    /**
+     * Find the next chunk of active versions ordered by ID, starting after the given ID (keyset pagination).
+     * Unlike offset pagination, the cost of a chunk doesn't depend on how many versions have been read before.
+     */
+    public List<ExtensionVersion> findActiveVersionsAfter(long afterId, LocalDateTime since, int limit) {
+        var query = findAllActive();
+        query.addSelect(EXTENSION.DEPRECATED, EXTENSION.DOWNLOADABLE, EXTENSION.REPLACEMENT_ID);
+        query.addConditions(EXTENSION_VERSION.ID.gt(afterId));
+        if(since != null) {
+            query.addConditions(EXTENSION.LAST_UPDATED_DATE.ge(since));
+        }
+
+        query.addOrderBy(EXTENSION_VERSION.ID.asc());
+        query.addLimit(limit);
+        return query.fetch().map(this::toExtensionVersionWithReplacement);
+    }
+
+    private ExtensionVersion toExtensionVersionWithReplacement(Record row) {
+        var extVersion = toExtensionVersionFull(row);
+        extVersion.getExtension().setDeprecated(row.get(EXTENSION.DEPRECATED));
+        extVersion.getExtension().setDownloadable(row.get(EXTENSION.DOWNLOADABLE));
+
+        var replacementId = row.get(EXTENSION.REPLACEMENT_ID);
+        if(replacementId != null) {
+            var replacement = new Extension();
+            replacement.setId(replacementId);
+            extVersion.getExtension().setReplacement(replacement);
+        }
+        return extVersion;
+    }
+
     public ExtensionVersion findActiveByVersionAndExtensionNameAndNamespaceName(String version, String extensionName, String namespaceName) {
         var query = findAllActive();
         query.addConditions(
                 EXTENSION_VERSION.VERSION.eq(version),
-                EXTENSION.NAME.equalIgnoreCase(extensionName),
-                NAMESPACE.NAME.equalIgnoreCase(namespaceName)
+                equalIgnoreCase(EXTENSION.NAME, extensionName),
+                equalIgnoreCase(NAMESPACE.NAME, namespaceName)
         );
         query.addOrderBy(
                 EXTENSION_VERSION.UNIVERSAL_TARGET_PLATFORM.desc(),
@@ -376,7 +398,7 @@ public class ExtensionVersionJooqRepository {
 
     public List<ExtensionVersion> findAllActiveByExtensionName(String targetPlatform, String extensionName) {
         var query = findAllActive();
-        query.addConditions(EXTENSION.NAME.equalIgnoreCase(extensionName));
+        query.addConditions(equalIgnoreCase(EXTENSION.NAME, extensionName));
         if(targetPlatform != null) {
             query.addConditions(EXTENSION_VERSION.TARGET_PLATFORM.eq(targetPlatform));
         }
@@ -384,6 +406,78 @@ public class ExtensionVersionJooqRepository {
         return fetch(query);
     }
 
+    /**
+     * Find the active versions of the given extensions, matching namespace and extension names ignoring case.
+     * Only the fields that are needed to select a version are loaded: the version, target platform,
+     * pre-release flag and timestamp.
+     */
+    public List<ExtensionVersion> findAllActiveVersionKeysByExtensionIds(Collection<ExtensionId> extensionIds, String targetPlatform) {
+        var ids = DSL.values(extensionIds.stream().map(id -> DSL.row(id.namespace(), id.extension())).toArray(Row2[]::new)).as("ids", "namespace", "extension");
+        var namespace = ids.field("namespace", String.class);
+        var extension = ids.field("extension", String.class);
+
+        var query = dsl.selectQuery();
+        query.addSelect(
+                NAMESPACE.ID,
+                NAMESPACE.NAME,
+                EXTENSION.ID,
+                EXTENSION.NAME,
+                EXTENSION_VERSION.ID,
+                EXTENSION_VERSION.VERSION,
+                EXTENSION_VERSION.TARGET_PLATFORM,
+                EXTENSION_VERSION.PRE_RELEASE,
+                EXTENSION_VERSION.TIMESTAMP
+        );
+        query.addFrom(EXTENSION_VERSION);
+        query.addJoin(EXTENSION, EXTENSION.ID.eq(EXTENSION_VERSION.EXTENSION_ID));
+        query.addJoin(NAMESPACE, NAMESPACE.ID.eq(EXTENSION.NAMESPACE_ID));
+        query.addJoin(ids, DSL.upper(NAMESPACE.NAME).eq(DSL.upper(namespace)), DSL.upper(EXTENSION.NAME).eq(DSL.upper(extension)));
+        query.addConditions(EXTENSION_VERSION.ACTIVE.eq(true));
+        if(targetPlatform != null) {
+            query.addConditions(EXTENSION_VERSION.TARGET_PLATFORM.eq(targetPlatform));
+        }
+
+        return query.fetch(row -> {
+            var namespaceEntity = new Namespace();
+            namespaceEntity.setId(row.get(NAMESPACE.ID));
+            namespaceEntity.setName(row.get(NAMESPACE.NAME));
+
+            var extensionEntity = new Extension();
+            extensionEntity.setId(row.get(EXTENSION.ID));
+            extensionEntity.setName(row.get(EXTENSION.NAME));
+            extensionEntity.setNamespace(namespaceEntity);
+
+            var extVersion = new ExtensionVersion();
+            extVersion.setId(row.get(EXTENSION_VERSION.ID));
+            extVersion.setVersion(row.get(EXTENSION_VERSION.VERSION));
+            extVersion.setTargetPlatform(row.get(EXTENSION_VERSION.TARGET_PLATFORM));
+            extVersion.setPreRelease(row.get(EXTENSION_VERSION.PRE_RELEASE));
+            extVersion.setTimestamp(row.get(EXTENSION_VERSION.TIMESTAMP));
+            extVersion.setExtension(extensionEntity);
+            extVersion.setType(ExtensionVersion.Type.MINIMAL);
+            return extVersion;
+        });
+    }
+
+    /**
+     * Find the active extension versions with the given ids, including the replacement of their extension.
+     */
+    public List<ExtensionVersion> findAllActiveByIds(Collection<Long> ids) {
+        var query = findAllActive();
+        query.addSelect(EXTENSION.REPLACEMENT_ID);
+        query.addConditions(EXTENSION_VERSION.ID.in(ids));
+        return query.fetch(row -> {
+            var extVersion = toExtensionVersionFull(row);
+            var replacementId = row.get(EXTENSION.REPLACEMENT_ID);
+            if(replacementId != null) {
+                var replacement = new Extension();
+                replacement.setId(replacementId);
+                extVersion.getExtension().setReplacement(replacement);
+            }
+            return extVersion;
+        });
+    }
+
     private SelectQuery<Record> findAllActive() {
         var query = dsl.selectQuery();
         query.addSelect(
@@ -550,7 +644,7 @@ public class ExtensionVersionJooqRepository {
         return extVersion;
     }
 
-    private List<String> toList(String raw, ListOfStringConverter converter) {
+    private List<String> toList(String[] raw, ListOfStringConverter converter) {
         return converter.convertToEntityAttribute(raw);
     }
 
@@ -592,33 +686,6 @@ public class ExtensionVersionJooqRepository {
                 ));
     }
 
-    public List<ExtensionVersion> findVersionsForUrls(Extension extension, String targetPlatform, String version) {
-        var query = dsl.selectQuery();
-        query.addSelect(
-                EXTENSION_VERSION.ID,
-                EXTENSION_VERSION.VERSION,
-                EXTENSION_VERSION.TARGET_PLATFORM
-        );
-        query.addFrom(EXTENSION_VERSION);
-        query.addConditions(
-                EXTENSION_VERSION.EXTENSION_ID.eq(extension.getId()),
-                EXTENSION_VERSION.VERSION.eq(version)
-        );
-        if(targetPlatform != null) {
-            query.addConditions(EXTENSION_VERSION.TARGET_PLATFORM.eq(targetPlatform));
-        }
-
-        return query.fetch()
-                .map((row) -> {
-                   var extVersion = new ExtensionVersion();
-                   extVersion.setId(row.get(EXTENSION_VERSION.ID));
-                   extVersion.setVersion(row.get(EXTENSION_VERSION.VERSION));
-                   extVersion.setTargetPlatform(row.get(EXTENSION_VERSION.TARGET_PLATFORM));
-                   extVersion.setExtension(extension);
-                   return extVersion;
-                });
-    }
-
     public ExtensionVersion findLatestReplacement(
             long extensionId,
             String targetPlatform,
@@ -656,6 +723,50 @@ public class ExtensionVersionJooqRepository {
         });
     }
 
+    /**
+     * Find the latest active version of each of the given replacement extensions,
+     * in the same way as {@link #findLatestReplacement(long, String, boolean, boolean)}.
+     *
+     * @return the latest versions by the id of their extension
+     */
+    public Map<Long, ExtensionVersion> findLatestReplacements(Collection<Long> extensionIds, String targetPlatform) {
+        var latestQuery = findLatestQuery(targetPlatform, false, true);
+        latestQuery.addSelect(EXTENSION_VERSION.ID, EXTENSION_VERSION.DISPLAY_NAME);
+        latestQuery.addConditions(EXTENSION_VERSION.EXTENSION_ID.eq(EXTENSION.ID));
+        var latest = latestQuery.asTable("latest");
+
+        return dsl.select(
+                        NAMESPACE.ID,
+                        NAMESPACE.NAME,
+                        EXTENSION.ID,
+                        EXTENSION.NAME,
+                        EXTENSION.ACTIVE,
+                        latest.field(EXTENSION_VERSION.ID),
+                        latest.field(EXTENSION_VERSION.DISPLAY_NAME)
+                )
+                .from(EXTENSION)
+                .join(NAMESPACE).on(NAMESPACE.ID.eq(EXTENSION.NAMESPACE_ID))
+                .crossJoin(DSL.lateral(latest))
+                .where(EXTENSION.ID.in(extensionIds))
+                .fetchMap(EXTENSION.ID, row -> {
+                    var namespace = new Namespace();
+                    namespace.setId(row.get(NAMESPACE.ID));
+                    namespace.setName(row.get(NAMESPACE.NAME));
+
+                    var extension = new Extension();
+                    extension.setId(row.get(EXTENSION.ID));
+                    extension.setName(row.get(EXTENSION.NAME));
+                    extension.setActive(row.get(EXTENSION.ACTIVE));
+                    extension.setNamespace(namespace);
+
+                    var extVersion = new ExtensionVersion();
+                    extVersion.setId(row.get(latest.field(EXTENSION_VERSION.ID)));
+                    extVersion.setDisplayName(row.get(latest.field(EXTENSION_VERSION.DISPLAY_NAME)));
+                    extVersion.setExtension(extension);
+                    return extVersion;
+                });
+    }
+
     public ExtensionVersion findLatest(
             Extension extension,
             String targetPlatform,
@@ -768,8 +879,8 @@ public class ExtensionVersionJooqRepository {
         query.addJoin(EXTENSION, EXTENSION.ID.eq(EXTENSION_VERSION.EXTENSION_ID));
         query.addJoin(NAMESPACE, NAMESPACE.ID.eq(EXTENSION.NAMESPACE_ID));
         query.addConditions(
-                NAMESPACE.NAME.equalIgnoreCase(namespaceName),
-                EXTENSION.NAME.equalIgnoreCase(extensionName)
+                equalIgnoreCase(NAMESPACE.NAME, namespaceName),
+                equalIgnoreCase(EXTENSION.NAME, extensionName)
         );
         return query.fetchOne(row -> {
             var extVersion = toExtensionVersionFull(row);
@@ -804,7 +915,15 @@ public class ExtensionVersionJooqRepository {
     }
 
     public List<ExtensionVersion> findLatest(Collection<Long> extensionIds) {
-        var latestQuery = findLatestQuery(null, false, false);
+        return findLatest(extensionIds, false);
+    }
+
+    public List<ExtensionVersion> findLatestActive(Collection<Long> extensionIds) {
+        return findLatest(extensionIds, true);
+    }
+
+    private List<ExtensionVersion> findLatest(Collection<Long> extensionIds, boolean onlyActive) {
+        var latestQuery = findLatestQuery(null, false, onlyActive);
         latestQuery.addSelect(
                 EXTENSION_VERSION.ID,
                 EXTENSION_VERSION.VERSION,
@@ -1123,7 +1242,208 @@ public class ExtensionVersionJooqRepository {
         return query;
     }
 
-    public ExtensionVersion find(String namespaceName, String extensionName, String targetPlatform, String version) {
+    /**
+     * Find an extension version together with the data that is needed for its extension detail:
+     * the latest (pre-release) version, the replacement, whether the publisher is verified, the
+     * sorted version strings, its file resources and the downloads of all its target platforms.
+     * Everything is fetched with a single query using lateral joins and nested collections.
+     */
+    public ExtensionVersionDetails findDetails(
+            String namespaceName,
+            String extensionName,
+            String targetPlatform,
+            String version,
+            Collection<String> fileTypes,
+            int numberOfVersions
+    ) {
+        var query = findQuery(namespaceName, extensionName, targetPlatform, version);
+
+        var latest = findLatestForAllUrlsQuery(targetPlatform, false).asTable("latest");
+        var latestPreRelease = findLatestForAllUrlsQuery(targetPlatform, true).asTable("latest_pre_release");
+        var replacement = findLatestReplacementQuery(targetPlatform).asTable("replacement");
+        query.addSelect(latest.fields());
+        query.addSelect(latestPreRelease.fields());
+        query.addSelect(replacement.fields());
+        query.addJoin(DSL.lateral(latest), JoinType.LEFT_OUTER_JOIN, DSL.trueCondition());
+        query.addJoin(DSL.lateral(latestPreRelease), JoinType.LEFT_OUTER_JOIN, DSL.trueCondition());
+        query.addJoin(DSL.lateral(replacement), JoinType.LEFT_OUTER_JOIN, DSL.trueCondition());
+
+        var member = NAMESPACE_MEMBERSHIP.as("member");
+        var owner = NAMESPACE_MEMBERSHIP.as("owner");
+        var verified = DSL.field(DSL.exists(
+                DSL.selectOne()
+                        .from(member)
+                        .join(owner).on(owner.NAMESPACE.eq(member.NAMESPACE))
+                        .where(owner.NAMESPACE.eq(NAMESPACE.ID))
+                        .and(owner.ROLE.eq(NamespaceMembership.ROLE_OWNER))
+                        .and(member.USER_DATA.eq(USER_DATA.ID))
+        )).as("verified");
+        query.addSelect(verified);
+
+        var sortedVersions = EXTENSION_VERSION.as("sorted_versions");
+        var sortedVersionsQuery = DSL.selectDistinct(
+                        sortedVersions.VERSION,
+                        sortedVersions.SEMVER_MAJOR,
+                        sortedVersions.SEMVER_MINOR,
+                        sortedVersions.SEMVER_PATCH,
+                        sortedVersions.SEMVER_IS_PRE_RELEASE
+                )
+                .from(sortedVersions)
+                .where(sortedVersions.EXTENSION_ID.eq(EXTENSION.ID))
+                .and(sortedVersions.ACTIVE.eq(true))
+                .and(targetPlatform != null ? sortedVersions.TARGET_PLATFORM.eq(targetPlatform) : DSL.noCondition())
+                .orderBy(
+                        sortedVersions.SEMVER_MAJOR.desc(),
+                        sortedVersions.SEMVER_MINOR.desc(),
+                        sortedVersions.SEMVER_PATCH.desc(),
+                        sortedVersions.SEMVER_IS_PRE_RELEASE.asc(),
+                        sortedVersions.VERSION.asc()
+                )
+                .limit(numberOfVersions)
+                .asTable("v");
+        var versions = DSL.field(
+                DSL.select(
+                        DSL.arrayAgg(sortedVersionsQuery.field(sortedVersions.VERSION)).orderBy(
+                                sortedVersionsQuery.field(sortedVersions.SEMVER_MAJOR).desc(),
+                                sortedVersionsQuery.field(sortedVersions.SEMVER_MINOR).desc(),
+                                sortedVersionsQuery.field(sortedVersions.SEMVER_PATCH).desc(),
+                                sortedVersionsQuery.field(sortedVersions.SEMVER_IS_PRE_RELEASE).asc(),
+                                sortedVersionsQuery.field(sortedVersions.VERSION).asc()
+                        )
+                ).from(sortedVersionsQuery)
+        ).as("versions");
+        query.addSelect(versions);
+
+        var files = DSL.multiset(
+                DSL.select(FILE_RESOURCE.ID, FILE_RESOURCE.TYPE, FILE_RESOURCE.NAME)
+                        .from(FILE_RESOURCE)
+                        .where(FILE_RESOURCE.EXTENSION_ID.eq(EXTENSION_VERSION.ID))
+                        .and(FILE_RESOURCE.TYPE.in(fileTypes))
+        ).as("files");
+        query.addSelect(files);
+
+        var downloadVersion = EXTENSION_VERSION.as("download_version");
+        var download = FILE_RESOURCE.as("download");
+        var downloads = DSL.multiset(
+                DSL.select(downloadVersion.ID, downloadVersion.TARGET_PLATFORM, download.ID, download.NAME)
+                        .from(downloadVersion)
+                        .leftJoin(download).on(download.EXTENSION_ID.eq(downloadVersion.ID)).and(download.TYPE.eq(FileResource.DOWNLOAD))
+                        .where(downloadVersion.EXTENSION_ID.eq(EXTENSION.ID))
+                        .and(downloadVersion.VERSION.eq(EXTENSION_VERSION.VERSION))
+                        .and(targetPlatform != null ? downloadVersion.TARGET_PLATFORM.eq(targetPlatform) : DSL.noCondition())
+        ).as("downloads");
+        query.addSelect(downloads);
+
+        return query.fetchOne(row -> {
+            var extVersion = toFoundExtensionVersion(row);
+            var extension = extVersion.getExtension();
+
+            var user = extVersion.getPublishedWith().getUser();
+            var isVerified = UserData.ROLE_PRIVILEGED.equals(user.getRole()) || row.get(verified);
+
+            var fileResources = row.get(files).map(fileRow -> {
+                var resource = new FileResource();
+                resource.setId(fileRow.get(FILE_RESOURCE.ID));
+                resource.setType(fileRow.get(FILE_RESOURCE.TYPE));
+                resource.setName(fileRow.get(FILE_RESOURCE.NAME));
+                resource.setExtension(extVersion);
+                return resource;
+            });
+
+            var downloadResources = row.get(downloads).map(downloadRow -> {
+                var downloadExtVersion = new ExtensionVersion();
+                downloadExtVersion.setId(downloadRow.get(downloadVersion.ID));
+                downloadExtVersion.setVersion(extVersion.getVersion());
+                downloadExtVersion.setTargetPlatform(downloadRow.get(downloadVersion.TARGET_PLATFORM));
+                downloadExtVersion.setExtension(extension);
+
+                var resource = new FileResource();
+                resource.setId(Optional.ofNullable(downloadRow.get(download.ID)).orElse(0L));
+                resource.setType(FileResource.DOWNLOAD);
+                resource.setName(downloadRow.get(download.NAME));
+                resource.setExtension(downloadExtVersion);
+                return resource;
+            });
+
+            return new ExtensionVersionDetails(
+                    extVersion,
+                    toLatestForAllUrls(row, latest, extension),
+                    toLatestForAllUrls(row, latestPreRelease, extension),
+                    toLatestReplacement(row, replacement),
+                    isVerified,
+                    Optional.ofNullable(row.get(versions)).map(Arrays::asList).orElse(Collections.emptyList()),
+                    fileResources,
+                    downloadResources
+            );
+        });
+    }
+
+    private SelectQuery<Record> findLatestForAllUrlsQuery(String targetPlatform, boolean onlyPreRelease) {
+        var query = findLatestQuery(targetPlatform, onlyPreRelease, true);
+        query.addSelect(
+                EXTENSION_VERSION.ID,
+                EXTENSION_VERSION.VERSION,
+                EXTENSION_VERSION.PREVIEW
+        );
+        query.addConditions(EXTENSION_VERSION.EXTENSION_ID.eq(EXTENSION.ID));
+        return query;
+    }
+
+    private ExtensionVersion toLatestForAllUrls(Record row, Table<Record> latest, Extension extension) {
+        var id = row.get(latest.field(EXTENSION_VERSION.ID));
+        if(id == null) {
+            return null;
+        }
+
+        var extVersion = new ExtensionVersion();
+        extVersion.setId(id);
+        extVersion.setVersion(row.get(latest.field(EXTENSION_VERSION.VERSION)));
+        extVersion.setPreview(row.get(latest.field(EXTENSION_VERSION.PREVIEW)));
+        extVersion.setExtension(extension);
+        return extVersion;
+    }
+
+    private SelectQuery<Record> findLatestReplacementQuery(String targetPlatform) {
+        var replacementExtension = EXTENSION.as("replacement_extension");
+        var replacementNamespace = NAMESPACE.as("replacement_namespace");
+        var query = findLatestQuery(targetPlatform, false, true);
+        query.addSelect(
+                replacementNamespace.ID.as("namespace_id"),
+                replacementNamespace.NAME.as("namespace_name"),
+                replacementExtension.ID.as("extension_id"),
+                replacementExtension.NAME.as("extension_name"),
+                EXTENSION_VERSION.ID,
+                EXTENSION_VERSION.DISPLAY_NAME
+        );
+        query.addJoin(replacementExtension, replacementExtension.ID.eq(EXTENSION_VERSION.EXTENSION_ID));
+        query.addJoin(replacementNamespace, replacementNamespace.ID.eq(replacementExtension.NAMESPACE_ID));
+        query.addConditions(EXTENSION_VERSION.EXTENSION_ID.eq(EXTENSION.REPLACEMENT_ID));
+        return query;
+    }
+
+    private ExtensionVersion toLatestReplacement(Record row, Table<Record> replacement) {
+        var id = row.get(replacement.field(EXTENSION_VERSION.ID));
+        if(id == null) {
+            return null;
+        }
+
+        var namespace = new Namespace();
+        namespace.setId(row.get(replacement.field("namespace_id", Long.class)));
+        namespace.setName(row.get(replacement.field("namespace_name", String.class)));
+
+        var extension = new Extension();
+        extension.setId(row.get(replacement.field("extension_id", Long.class)));
+        extension.setName(row.get(replacement.field("extension_name", String.class)));
+        extension.setNamespace(namespace);
+
+        var extVersion = new ExtensionVersion();
+        extVersion.setId(id);
+        extVersion.setDisplayName(row.get(replacement.field(EXTENSION_VERSION.DISPLAY_NAME)));
+        extVersion.setExtension(extension);
+        return extVersion;
+    }
+
+    private SelectQuery<Record> findQuery(String namespaceName, String extensionName, String targetPlatform, String version) {
         var onlyPreRelease = VersionAlias.PRE_RELEASE.equals(version);
         var query = findLatestQuery(targetPlatform, onlyPreRelease, true);
         query.addSelect(
@@ -1182,27 +1502,29 @@ public class ExtensionVersionJooqRepository {
         query.addJoin(EXTENSION, EXTENSION.ID.eq(EXTENSION_VERSION.EXTENSION_ID));
         query.addJoin(NAMESPACE, NAMESPACE.ID.eq(EXTENSION.NAMESPACE_ID));
         query.addConditions(
-                EXTENSION.NAME.equalIgnoreCase(extensionName),
-                NAMESPACE.NAME.equalIgnoreCase(namespaceName)
+                equalIgnoreCase(EXTENSION.NAME, extensionName),
+                equalIgnoreCase(NAMESPACE.NAME, namespaceName)
         );
         if(!VersionAlias.LATEST.equals(version) && !VersionAlias.PRE_RELEASE.equals(version)) {
             query.addConditions(EXTENSION_VERSION.VERSION.eq(version));
         }
 
-        return query.fetchOne((row) -> {
-            var extVersion = toExtensionVersionFull(row);
-            extVersion.getExtension().setDeprecated(row.get(EXTENSION.DEPRECATED));
-            extVersion.getExtension().setDownloadable(row.get(EXTENSION.DOWNLOADABLE));
-            extVersion.getExtension().getNamespace().setDisplayName(row.get(NAMESPACE.DISPLAY_NAME));
+        return query;
+    }
 
-            var replacementId = row.get(EXTENSION.REPLACEMENT_ID);
-            if(replacementId != null) {
-                var replacement = new Extension();
-                replacement.setId(replacementId);
-                extVersion.getExtension().setReplacement(replacement);
-            }
-            return extVersion;
-        });
+    private ExtensionVersion toFoundExtensionVersion(Record row) {
+        var extVersion = toExtensionVersionFull(row);
+        extVersion.getExtension().setDeprecated(row.get(EXTENSION.DEPRECATED));
+        extVersion.getExtension().setDownloadable(row.get(EXTENSION.DOWNLOADABLE));
+        extVersion.getExtension().getNamespace().setDisplayName(row.get(NAMESPACE.DISPLAY_NAME));
+
+        var replacementId = row.get(EXTENSION.REPLACEMENT_ID);
+        if(replacementId != null) {
+            var replacement = new Extension();
+            replacement.setId(replacementId);
+            extVersion.getExtension().setReplacement(replacement);
+        }
+        return extVersion;
     }
 
     public List<String> findDistinctTargetPlatforms(Extension extension) {
@@ -1213,6 +1535,14 @@ public class ExtensionVersionJooqRepository {
                 .fetch(EXTENSION_VERSION.TARGET_PLATFORM);
     }
 
+    public Map<Long, List<String>> findDistinctTargetPlatforms(Collection<Long> extensionIds) {
+        return dsl.selectDistinct(EXTENSION_VERSION.EXTENSION_ID, EXTENSION_VERSION.TARGET_PLATFORM)
+                .from(EXTENSION_VERSION)
+                .where(EXTENSION_VERSION.EXTENSION_ID.in(extensionIds))
+                .and(EXTENSION_VERSION.ACTIVE.eq(true))
+                .fetchGroups(EXTENSION_VERSION.EXTENSION_ID, EXTENSION_VERSION.TARGET_PLATFORM);
+    }
+
     public boolean hasSameVersion(ExtensionVersion extVersion) {
         return dsl.fetchExists(
                 dsl.selectOne()
@@ -1223,6 +1553,40 @@ public class ExtensionVersionJooqRepository {
         );
     }
 
+    /**
+     * Find the active extensions whose latest active version has the given category, ignoring case.
+     * The latest version is determined in the same way as {@link #findLatest(Extension, String, boolean, boolean)}.
+     */
+    public Set<Long> findActiveExtensionIdsByLatestCategory(String category) {
+        var latest = dsl.select(EXTENSION_VERSION.CATEGORIES)
+                .from(EXTENSION_VERSION)
+                .where(EXTENSION_VERSION.EXTENSION_ID.eq(EXTENSION.ID))
+                .and(EXTENSION_VERSION.ACTIVE.eq(true))
+                .orderBy(
+                        EXTENSION_VERSION.SEMVER_MAJOR.desc(),
+                        EXTENSION_VERSION.SEMVER_MINOR.desc(),
+                        EXTENSION_VERSION.SEMVER_PATCH.desc(),
+                        EXTENSION_VERSION.SEMVER_IS_PRE_RELEASE.asc(),
+                        EXTENSION_VERSION.UNIVERSAL_TARGET_PLATFORM.desc(),
+                        EXTENSION_VERSION.TARGET_PLATFORM.asc(),
+                        EXTENSION_VERSION.TIMESTAMP.desc()
+                )
+                .limit(1)
+                .asTable("latest");
+
+        var categories = DSL.unnest(latest.field(EXTENSION_VERSION.CATEGORIES)).as("categories", "category");
+        var categoryField = categories.field("category", String.class);
+        return dsl.select(EXTENSION.ID)
+                .from(EXTENSION, DSL.lateral(latest))
+                .where(EXTENSION.ACTIVE.eq(true))
+                .andExists(
+                        dsl.selectOne()
+                                .from(categories)
+                                .where(equalIgnoreCase(categoryField, category))
+                )
+                .fetchSet(EXTENSION.ID);
+    }
+
     private interface FieldMapper {
         <T> Field<T> map(Field<T> field);
     }
@@ -15,9 +15,12 @@ import org.eclipse.openvsx.entities.FileResource;
 import org.eclipse.openvsx.entities.Namespace;
 import org.eclipse.openvsx.util.TargetPlatform;
 import org.eclipse.openvsx.util.VersionAlias;
+import org.jooq.Condition;
 import org.jooq.DSLContext;
+import org.jooq.JoinType;
 import org.jooq.Record;
 import org.jooq.SelectQuery;
+import org.jooq.impl.DSL;
 import org.springframework.stereotype.Component;
 
 import java.util.Collection;
@@ -25,12 +28,21 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
+import static org.eclipse.openvsx.jooq.Sequences.FILE_RESOURCE_SEQ;
 import static org.eclipse.openvsx.jooq.Tables.*;
+import static org.eclipse.openvsx.repositories.JooqUtil.equalIgnoreCase;
 
 @Component
 public class FileResourceJooqRepository {
 
+    /** Increment of file_resource_seq, equal to the allocation size of the FileResource entity */
+    private static final int SEQUENCE_ALLOCATION_SIZE = 50;
+
+    /** The package of an extension version, joined to the resources that are entries of it */
+    private static final org.eclipse.openvsx.jooq.tables.FileResource ENTRY_PACKAGE = FILE_RESOURCE.as("entry_package");
+
     private final DSLContext dsl;
 
     public FileResourceJooqRepository(DSLContext dsl) {
@@ -58,15 +70,70 @@ public class FileResourceJooqRepository {
                 .map(this::toFileResource);
     }
 
+    /**
+     * Insert the given resources with a single statement. Each value of file_resource_seq reserves
+     * a block of ids, in the same way as Hibernate's pooled optimizer does for persisted entities.
+     */
+    public void insertAll(List<FileResource> resources) {
+        if(resources.isEmpty()) {
+            return;
+        }
+
+        var blocks = (resources.size() + SEQUENCE_ALLOCATION_SIZE - 1) / SEQUENCE_ALLOCATION_SIZE;
+        var ids = dsl.select(FILE_RESOURCE_SEQ.nextval())
+                .from(DSL.generateSeries(1, blocks))
+                .fetch(0, Long.class)
+                .stream()
+                .flatMapToLong(hi -> LongStream.rangeClosed(hi - SEQUENCE_ALLOCATION_SIZE + 1, hi))
+                .iterator();
+
+        var insert = dsl.insertInto(
+                FILE_RESOURCE,
+                FILE_RESOURCE.ID,
+                FILE_RESOURCE.EXTENSION_ID,
+                FILE_RESOURCE.NAME,
+                FILE_RESOURCE.TYPE,
+                FILE_RESOURCE.STORAGE_TYPE,
+                FILE_RESOURCE.ENTRY_OFFSET,
+                FILE_RESOURCE.ENTRY_COMPRESSED_SIZE,
+                FILE_RESOURCE.ENTRY_SIZE,
+                FILE_RESOURCE.ENTRY_METHOD
+        );
+        for(var resource : resources) {
+            resource.setId(ids.nextLong());
+            insert = insert.values(
+                    resource.getId(),
+                    resource.getExtension().getId(),
+                    resource.getName(),
+                    resource.getType(),
+                    resource.getStorageType(),
+                    resource.getEntryOffset(),
+                    resource.getEntryCompressedSize(),
+                    resource.getEntrySize(),
+                    resource.getEntryMethod()
+            );
+        }
+
+        insert.execute();
+    }
+
     public List<FileResource> findAllResources(ExtensionVersion extVersion, String prefix) {
         return dsl.select(
                     FILE_RESOURCE.ID,
                     FILE_RESOURCE.EXTENSION_ID,
                     FILE_RESOURCE.NAME,
                     FILE_RESOURCE.TYPE,
-                    FILE_RESOURCE.STORAGE_TYPE
+                    FILE_RESOURCE.STORAGE_TYPE,
+                    FILE_RESOURCE.ENTRY_OFFSET,
+                    FILE_RESOURCE.ENTRY_COMPRESSED_SIZE,
+                    FILE_RESOURCE.ENTRY_SIZE,
+                    FILE_RESOURCE.ENTRY_METHOD,
+                    ENTRY_PACKAGE.ID,
+                    ENTRY_PACKAGE.NAME,
+                    ENTRY_PACKAGE.STORAGE_TYPE
                 )
                 .from(FILE_RESOURCE)
+                .leftJoin(ENTRY_PACKAGE).on(entryPackageCondition())
                 .where(FILE_RESOURCE.TYPE.eq(FileResource.RESOURCE))
                 .and(FILE_RESOURCE.EXTENSION_ID.eq(extVersion.getId()))
                 .and(FILE_RESOURCE.NAME.startsWith(prefix))
@@ -74,7 +141,9 @@ public class FileResourceJooqRepository {
                 .map(row -> {
                     var fileResource = toFileResource(row);
                     fileResource.setStorageType(row.get(FILE_RESOURCE.STORAGE_TYPE));
+                    setEntry(fileResource, row);
                     fileResource.setExtension(extVersion);
+                    setEntryPackage(fileResource, row);
                     return fileResource;
                 });
     }
@@ -104,7 +173,7 @@ public class FileResourceJooqRepository {
     public FileResource findByName(String namespace, String extension, String targetPlatform, String version, String name) {
         var onlyPreRelease = VersionAlias.PRE_RELEASE.equals(version);
         var query = findByQuery(namespace, extension, version, targetPlatform, onlyPreRelease);
-        query.addConditions(FILE_RESOURCE.NAME.equalIgnoreCase(name));
+        query.addConditions(equalIgnoreCase(FILE_RESOURCE.NAME, name));
         query.addOrderBy(FILE_RESOURCE.TYPE);
 
         return query.fetchOne(this::mapFindByQueryResult);
@@ -122,7 +191,7 @@ public class FileResourceJooqRepository {
         var query = findByQuery(namespace, extension, version, targetPlatform, onlyPreRelease);
         query.addConditions(
                 FILE_RESOURCE.TYPE.eq(type),
-                FILE_RESOURCE.NAME.equalIgnoreCase(name)
+                equalIgnoreCase(FILE_RESOURCE.NAME, name)
         );
         return query.fetchOne(this::mapFindByQueryResult);
     }
@@ -146,15 +215,23 @@ public class FileResourceJooqRepository {
                 FILE_RESOURCE.ID,
                 FILE_RESOURCE.NAME,
                 FILE_RESOURCE.TYPE,
-                FILE_RESOURCE.STORAGE_TYPE
+                FILE_RESOURCE.STORAGE_TYPE,
+                FILE_RESOURCE.ENTRY_OFFSET,
+                FILE_RESOURCE.ENTRY_COMPRESSED_SIZE,
+                FILE_RESOURCE.ENTRY_SIZE,
+                FILE_RESOURCE.ENTRY_METHOD,
+                ENTRY_PACKAGE.ID,
+                ENTRY_PACKAGE.NAME,
+                ENTRY_PACKAGE.STORAGE_TYPE
         );
         query.addFrom(FILE_RESOURCE);
         query.addJoin(EXTENSION_VERSION, EXTENSION_VERSION.ID.eq(FILE_RESOURCE.EXTENSION_ID));
+        query.addJoin(ENTRY_PACKAGE, JoinType.LEFT_OUTER_JOIN, entryPackageCondition());
         query.addJoin(EXTENSION, EXTENSION.ID.eq(EXTENSION_VERSION.EXTENSION_ID));
         query.addJoin(NAMESPACE, NAMESPACE.ID.eq(EXTENSION.NAMESPACE_ID));
         query.addConditions(
-                NAMESPACE.NAME.equalIgnoreCase(namespace),
-                EXTENSION.NAME.equalIgnoreCase(extension),
+                equalIgnoreCase(NAMESPACE.NAME, namespace),
+                equalIgnoreCase(EXTENSION.NAME, extension),
                 EXTENSION.ACTIVE.eq(true),
                 EXTENSION_VERSION.ACTIVE.eq(true)
         );
@@ -202,7 +279,41 @@ public class FileResourceJooqRepository {
         resource.setName(row.get(FILE_RESOURCE.NAME));
         resource.setType(row.get(FILE_RESOURCE.TYPE));
         resource.setStorageType(row.get(FILE_RESOURCE.STORAGE_TYPE));
+        setEntry(resource, row);
         resource.setExtension(extVersion);
+        setEntryPackage(resource, row);
         return resource;
     }
+
+    private void setEntry(FileResource resource, Record row) {
+        resource.setEntryOffset(row.get(FILE_RESOURCE.ENTRY_OFFSET));
+        resource.setEntryCompressedSize(row.get(FILE_RESOURCE.ENTRY_COMPRESSED_SIZE));
+        resource.setEntrySize(row.get(FILE_RESOURCE.ENTRY_SIZE));
+        resource.setEntryMethod(row.get(FILE_RESOURCE.ENTRY_METHOD));
+    }
+
+    /**
+     * Join the package to entries that are read from it, so that serving an entry
+     * doesn't have to look up the package. Each extension version has one package.
+     */
+    private Condition entryPackageCondition() {
+        return ENTRY_PACKAGE.EXTENSION_ID.eq(FILE_RESOURCE.EXTENSION_ID)
+                .and(ENTRY_PACKAGE.TYPE.eq(FileResource.DOWNLOAD))
+                .and(FILE_RESOURCE.STORAGE_TYPE.eq(FileResource.STORAGE_VSIX));
+    }
+
+    private void setEntryPackage(FileResource resource, Record row) {
+        var packageId = row.get(ENTRY_PACKAGE.ID);
+        if(packageId == null) {
+            return;
+        }
+
+        var entryPackage = new FileResource();
+        entryPackage.setId(packageId);
+        entryPackage.setName(row.get(ENTRY_PACKAGE.NAME));
+        entryPackage.setType(FileResource.DOWNLOAD);
+        entryPackage.setStorageType(row.get(ENTRY_PACKAGE.STORAGE_TYPE));
+        entryPackage.setExtension(resource.getExtension());
+        resource.setEntryPackage(entryPackage);
+    }
 }
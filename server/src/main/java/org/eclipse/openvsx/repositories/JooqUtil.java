@@ -0,0 +1,28 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.repositories;
+
+import org.jooq.Condition;
+import org.jooq.Field;
+import org.jooq.impl.DSL;
+
+final class JooqUtil {
+
+    private JooqUtil(){}
+
+    /**
+     * Case-insensitive comparison that can use the {@code UPPER(name)} indexes.
+     * jOOQ's {@link Field#equalIgnoreCase(String)} renders {@code lower(field) = lower(value)},
+     * which none of the indexes cover.
+     */
+    static Condition equalIgnoreCase(Field<String> field, String value) {
+        return DSL.upper(field).eq(DSL.upper(DSL.val(value, field)));
+    }
+}
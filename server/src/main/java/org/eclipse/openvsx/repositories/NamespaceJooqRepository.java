@@ -14,10 +14,12 @@ import org.jooq.Row2;
 import org.jooq.impl.DSL;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 import static org.eclipse.openvsx.jooq.Tables.NAMESPACE;
+import static org.eclipse.openvsx.repositories.JooqUtil.equalIgnoreCase;
 
 @Component
 public class NamespaceJooqRepository {
@@ -57,11 +59,15 @@ public class NamespaceJooqRepository {
     public String findNameByNameIgnoreCase(String name) {
         return dsl.select(NAMESPACE.NAME)
                 .from(NAMESPACE)
-                .where(NAMESPACE.NAME.equalIgnoreCase(name))
+                .where(equalIgnoreCase(NAMESPACE.NAME, name))
                 .fetchOne(NAMESPACE.NAME);
     }
 
+    public List<String> findAllNames() {
+        return dsl.select(NAMESPACE.NAME).from(NAMESPACE).fetch(NAMESPACE.NAME);
+    }
+
     public boolean exists(String name) {
-        return dsl.fetchExists(dsl.selectOne().from(NAMESPACE).where(NAMESPACE.NAME.equalIgnoreCase(name)));
+        return dsl.fetchExists(dsl.selectOne().from(NAMESPACE).where(equalIgnoreCase(NAMESPACE.NAME, name)));
     }
 }
@@ -21,6 +21,7 @@ import java.util.Collection;
 import java.util.List;
 
 import static org.eclipse.openvsx.jooq.Tables.*;
+import static org.eclipse.openvsx.repositories.JooqUtil.equalIgnoreCase;
 
 @Component
 public class NamespaceMembershipJooqRepository {
@@ -89,7 +90,7 @@ public class NamespaceMembershipJooqRepository {
 
     public List<NamespaceMembership> findByNamespaceName(String namespaceName) {
         var query = findMemberships();
-        query.addConditions(NAMESPACE.NAME.equalIgnoreCase(namespaceName));
+        query.addConditions(equalIgnoreCase(NAMESPACE.NAME, namespaceName));
         return query.fetch(this::toNamespaceMembership);
     }
 
@@ -97,7 +98,7 @@ public class NamespaceMembershipJooqRepository {
         var namespaceOwnerQuery = dsl.select(NAMESPACE.ID)
                 .from(NAMESPACE)
                 .join(NAMESPACE_MEMBERSHIP).on(NAMESPACE_MEMBERSHIP.NAMESPACE.eq(NAMESPACE.ID))
-                .where(NAMESPACE.NAME.equalIgnoreCase(namespaceName))
+                .where(equalIgnoreCase(NAMESPACE.NAME, namespaceName))
                 .and(NAMESPACE_MEMBERSHIP.USER_DATA.eq(owner.getId()))
                 .and(NAMESPACE_MEMBERSHIP.ROLE.eq(NamespaceMembership.ROLE_OWNER));
 
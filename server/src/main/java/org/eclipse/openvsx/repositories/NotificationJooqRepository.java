@@ -0,0 +1,32 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.repositories;
+
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.springframework.stereotype.Component;
+
+@Component
+public class NotificationJooqRepository {
+    private final DSLContext dsl;
+
+    public NotificationJooqRepository(DSLContext dsl) {
+        this.dsl = dsl;
+    }
+
+    /**
+     * Send a PostgreSQL notification to all sessions that listen on the channel.
+     */
+    public void send(String channel, String payload) {
+        dsl.select(DSL.function("pg_notify", SQLDataType.VARCHAR, DSL.val(channel), DSL.val(payload)))
+                .execute();
+    }
+}
@@ -11,8 +11,13 @@ package org.eclipse.openvsx.repositories;
 
 import org.eclipse.openvsx.entities.UserData;
 import org.jooq.DSLContext;
+import org.jooq.Row2;
+import org.jooq.impl.DSL;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.util.Map;
+
 import static org.eclipse.openvsx.jooq.Tables.PERSONAL_ACCESS_TOKEN;
 import static org.eclipse.openvsx.jooq.Tables.USER_DATA;
 
@@ -42,4 +47,31 @@ public class PersonalAccessTokenJooqRepository {
                         .and(USER_DATA.ROLE.eq(UserData.ROLE_ADMIN))
         );
     }
+
+    /**
+     * Update the accessed timestamps of the given tokens with a single statement.
+     * Timestamps that are older than the stored ones are ignored.
+     */
+    public int updateAccessedTimestamps(Map<Long, LocalDateTime> timestamps) {
+        if(timestamps.isEmpty()) {
+            return 0;
+        }
+
+        var rows = timestamps.entrySet().stream()
+                .map(e -> DSL.row(
+                        DSL.cast(e.getKey(), PERSONAL_ACCESS_TOKEN.ID.getDataType()),
+                        DSL.cast(e.getValue(), PERSONAL_ACCESS_TOKEN.ACCESSED_TIMESTAMP.getDataType())
+                ))
+                .toArray(Row2[]::new);
+
+        var accessed = DSL.values(rows).as("accessed", "id", "accessed_timestamp");
+        var id = accessed.field("id", Long.class);
+        var accessedTimestamp = accessed.field("accessed_timestamp", LocalDateTime.class);
+        return dsl.update(PERSONAL_ACCESS_TOKEN)
+                .set(PERSONAL_ACCESS_TOKEN.ACCESSED_TIMESTAMP, accessedTimestamp)
+                .from(accessed)
+                .where(PERSONAL_ACCESS_TOKEN.ID.eq(id))
+                .and(PERSONAL_ACCESS_TOKEN.ACCESSED_TIMESTAMP.isNull().or(PERSONAL_ACCESS_TOKEN.ACCESSED_TIMESTAMP.lt(accessedTimestamp)))
+                .execute();
+    }
 }
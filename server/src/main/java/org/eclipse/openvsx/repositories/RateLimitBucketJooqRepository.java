@@ -0,0 +1,64 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.repositories;
+
+import org.eclipse.openvsx.util.TimeUtil;
+import org.jooq.DSLContext;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+import static org.eclipse.openvsx.jooq.Tables.RATE_LIMIT_BUCKET;
+
+@Component
+public class RateLimitBucketJooqRepository {
+    private final DSLContext dsl;
+
+    public RateLimitBucketJooqRepository(DSLContext dsl) {
+        this.dsl = dsl;
+    }
+
+    public byte[] findState(String id) {
+        return dsl.select(RATE_LIMIT_BUCKET.STATE)
+                .from(RATE_LIMIT_BUCKET)
+                .where(RATE_LIMIT_BUCKET.ID.eq(id))
+                .fetchOne(RATE_LIMIT_BUCKET.STATE);
+    }
+
+    public boolean insertState(String id, byte[] state) {
+        return dsl.insertInto(RATE_LIMIT_BUCKET)
+                .set(RATE_LIMIT_BUCKET.ID, id)
+                .set(RATE_LIMIT_BUCKET.STATE, state)
+                .set(RATE_LIMIT_BUCKET.UPDATED_TIME, TimeUtil.getCurrentUTC())
+                .onConflictDoNothing()
+                .execute() == 1;
+    }
+
+    public boolean compareAndSetState(String id, byte[] expectedState, byte[] state) {
+        return dsl.update(RATE_LIMIT_BUCKET)
+                .set(RATE_LIMIT_BUCKET.STATE, state)
+                .set(RATE_LIMIT_BUCKET.UPDATED_TIME, TimeUtil.getCurrentUTC())
+                .where(RATE_LIMIT_BUCKET.ID.eq(id))
+                .and(RATE_LIMIT_BUCKET.STATE.eq(expectedState))
+                .execute() == 1;
+    }
+
+    public void deleteState(String id) {
+        dsl.deleteFrom(RATE_LIMIT_BUCKET)
+                .where(RATE_LIMIT_BUCKET.ID.eq(id))
+                .execute();
+    }
+
+    public int deleteUpdatedBefore(LocalDateTime time) {
+        return dsl.deleteFrom(RATE_LIMIT_BUCKET)
+                .where(RATE_LIMIT_BUCKET.UPDATED_TIME.lessThan(time))
+                .execute();
+    }
+}
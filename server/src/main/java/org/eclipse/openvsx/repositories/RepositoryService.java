@@ -13,7 +13,6 @@ import org.eclipse.openvsx.entities.*;
 import org.eclipse.openvsx.json.QueryRequest;
 import org.eclipse.openvsx.json.VersionTargetPlatformsJson;
 import org.eclipse.openvsx.util.ExtensionId;
-import org.eclipse.openvsx.util.NamingUtil;
 import org.eclipse.openvsx.web.SitemapRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -26,6 +25,7 @@ import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.eclipse.openvsx.entities.FileResource.*;
 
@@ -61,6 +61,9 @@ public class RepositoryService {
     private final MigrationItemRepository migrationItemRepo;
     private final SignatureKeyPairRepository signatureKeyPairRepo;
     private final SignatureKeyPairJooqRepository signatureKeyPairJooqRepo;
+    private final RateLimitBucketJooqRepository rateLimitBucketJooqRepo;
+    private final ExtensionDependencyJooqRepository extensionDependencyJooqRepo;
+    private final NotificationJooqRepository notificationJooqRepo;
 
     public RepositoryService(
             NamespaceRepository namespaceRepo,
@@ -84,7 +87,10 @@ public class RepositoryService {
             AdminStatisticCalculationsRepository adminStatisticCalculationsRepo,
             MigrationItemRepository migrationItemRepo,
             SignatureKeyPairRepository signatureKeyPairRepo,
-            SignatureKeyPairJooqRepository signatureKeyPairJooqRepo
+            SignatureKeyPairJooqRepository signatureKeyPairJooqRepo,
+            RateLimitBucketJooqRepository rateLimitBucketJooqRepo,
+            ExtensionDependencyJooqRepository extensionDependencyJooqRepo,
+            NotificationJooqRepository notificationJooqRepo
     ) {
         this.namespaceRepo = namespaceRepo;
         this.namespaceJooqRepo = namespaceJooqRepo;
@@ -108,6 +114,9 @@ public class RepositoryService {
         this.migrationItemRepo = migrationItemRepo;
         this.signatureKeyPairRepo = signatureKeyPairRepo;
         this.signatureKeyPairJooqRepo = signatureKeyPairJooqRepo;
+        this.rateLimitBucketJooqRepo = rateLimitBucketJooqRepo;
+        this.extensionDependencyJooqRepo = extensionDependencyJooqRepo;
+        this.notificationJooqRepo = notificationJooqRepo;
     }
 
     public Namespace findNamespace(String name) {
@@ -118,6 +127,10 @@ public class RepositoryService {
         return namespaceJooqRepo.findNameByNameIgnoreCase(name);
     }
 
+    public List<String> findAllNamespaceNames() {
+        return namespaceJooqRepo.findAllNames();
+    }
+
     public Streamable<Namespace> findOrphanNamespaces() {
         return namespaceRepo.findOrphans();
     }
@@ -158,6 +171,10 @@ public class RepositoryService {
         return extensionRepo.findByActiveTrue();
     }
 
+    public Set<Long> findActiveExtensionIdsByLatestCategory(String category) {
+        return extensionVersionJooqRepo.findActiveExtensionIdsByLatestCategory(category);
+    }
+
     public Streamable<Extension> findAllNotMatchingByExtensionId(List<String> extensionIds) {
         return extensionRepo.findAllNotMatchingByExtensionId(extensionIds);
     }
@@ -214,12 +231,16 @@ public class RepositoryService {
         return extensionVersionJooqRepo.findActiveVersionReferencesSorted(extensionIds, MAX_VERSIONS);
     }
 
-    public Streamable<ExtensionVersion> findBundledExtensionsReference(Extension extension) {
-        return extensionVersionRepo.findByBundledExtensions(NamingUtil.toExtensionId(extension));
+    public List<ExtensionVersion> findBundledExtensionsReference(Extension extension) {
+        return extensionDependencyJooqRepo.findReferencingVersions(extension.getNamespace().getName(), extension.getName(), ExtensionDependency.BUNDLE);
+    }
+
+    public List<ExtensionVersion> findDependenciesReference(Extension extension) {
+        return extensionDependencyJooqRepo.findReferencingVersions(extension.getNamespace().getName(), extension.getName(), ExtensionDependency.DEPENDENCY);
     }
 
-    public Streamable<ExtensionVersion> findDependenciesReference(Extension extension) {
-        return extensionVersionRepo.findByDependencies(NamingUtil.toExtensionId(extension));
+    public List<ExtensionId> findInstallSet(Extension extension) {
+        return extensionDependencyJooqRepo.findInstallSet(extension);
     }
 
     public Streamable<Extension> findExtensions(UserData user) {
@@ -370,6 +391,10 @@ public class RepositoryService {
         return tokenJooqRepo.isAdminToken(value);
     }
 
+    public int updateAccessTokenTimestamps(Map<Long, LocalDateTime> timestamps) {
+        return tokenJooqRepo.updateAccessedTimestamps(timestamps);
+    }
+
     public PersonalAccessToken findAccessToken(long id) {
         return tokenRepo.findById(id);
     }
@@ -402,10 +427,22 @@ public class RepositoryService {
         return extensionVersionJooqRepo.findActiveVersions(request);
     }
 
+    public List<ExtensionVersion> findActiveVersionsAfter(long afterId, LocalDateTime since, int limit) {
+        return extensionVersionJooqRepo.findActiveVersionsAfter(afterId, since, limit);
+    }
+
     public List<ExtensionVersion> findActiveExtensionVersions(Collection<Long> extensionIds, String targetPlatform) {
         return extensionVersionJooqRepo.findAllActiveByExtensionIdAndTargetPlatform(extensionIds, targetPlatform);
     }
 
+    public List<ExtensionVersion> findActiveVersionKeysByExtensionId(Collection<ExtensionId> extensionIds, String targetPlatform) {
+        return extensionVersionJooqRepo.findAllActiveVersionKeysByExtensionIds(extensionIds, targetPlatform);
+    }
+
+    public List<ExtensionVersion> findActiveExtensionVersionsById(Collection<Long> ids) {
+        return extensionVersionJooqRepo.findAllActiveByIds(ids);
+    }
+
     public ExtensionVersion findActiveExtensionVersion(String version, String extensionName, String namespaceName) {
         return extensionVersionJooqRepo.findActiveByVersionAndExtensionNameAndNamespaceName(version, extensionName, namespaceName);
     }
@@ -418,6 +455,10 @@ public class RepositoryService {
         return fileResourceJooqRepo.findAllResources(extVersion, prefix);
     }
 
+    public void insertFileResources(List<FileResource> resources) {
+        fileResourceJooqRepo.insertAll(resources);
+    }
+
     public List<NamespaceMembership> findNamespaceMemberships(Collection<Long> namespaceIds) {
         return membershipJooqRepo.findAllByNamespaceId(namespaceIds);
     }
@@ -470,6 +511,18 @@ public class RepositoryService {
         return adminStatisticCalculationsRepo.topMostDownloadedExtensions(limit);
     }
 
+    public List<Long> findPublisherIds(Collection<Long> extensionIds) {
+        return adminStatisticCalculationsRepo.findPublisherIds(extensionIds);
+    }
+
+    public void refreshNamespaceStatistics(Collection<Long> namespaceIds) {
+        adminStatisticCalculationsRepo.refreshNamespaceStatistics(namespaceIds);
+    }
+
+    public void refreshPublisherStatistics(Collection<Long> userIds) {
+        adminStatisticCalculationsRepo.refreshPublisherStatistics(userIds);
+    }
+
     public Streamable<ExtensionVersion> findTargetPlatformVersions(String version, String extensionName, String namespaceName) {
         return extensionVersionRepo.findByVersionAndExtensionNameIgnoreCaseAndExtensionNamespaceNameIgnoreCase(version, extensionName, namespaceName);
     }
@@ -599,16 +652,12 @@ public class RepositoryService {
         return extensionVersionJooqRepo.findTargetPlatformsGroupedByVersion(extension);
     }
 
-    public List<ExtensionVersion> findVersionsForUrls(Extension extension, String targetPlatform, String version) {
-        return extensionVersionJooqRepo.findVersionsForUrls(extension, targetPlatform, version);
-    }
-
     public List<Extension> findActiveExtensionsForUrls(Namespace namespace) {
         return extensionJooqRepo.findActiveExtensionsForUrls(namespace);
     }
 
-    public ExtensionVersion findExtensionVersion(String namespace, String extension, String targetPlatform, String version) {
-        return extensionVersionJooqRepo.find(namespace, extension, targetPlatform, version);
+    public ExtensionVersionDetails findExtensionVersionDetails(String namespace, String extension, String targetPlatform, String version, Collection<String> fileTypes) {
+        return extensionVersionJooqRepo.findDetails(namespace, extension, targetPlatform, version, fileTypes, MAX_VERSIONS);
     }
 
     public ExtensionVersion findLatestVersionForAllUrls(Extension extension, String targetPlatform, boolean onlyPreRelease, boolean onlyActive) {
@@ -631,6 +680,10 @@ public class RepositoryService {
         return extensionVersionJooqRepo.findLatest(extensionIds);
     }
 
+    public List<ExtensionVersion> findLatestActiveVersions(Collection<Long> extensionIds) {
+        return extensionVersionJooqRepo.findLatestActive(extensionIds);
+    }
+
     public Map<Long, Boolean> findLatestVersionsIsPreview(Collection<Long> extensionIds) {
         return extensionVersionJooqRepo.findLatestIsPreview(extensionIds);
     }
@@ -643,6 +696,10 @@ public class RepositoryService {
         return extensionVersionJooqRepo.findDistinctTargetPlatforms(extension);
     }
 
+    public Map<Long, List<String>> findExtensionTargetPlatforms(Collection<Long> extensionIds) {
+        return extensionVersionJooqRepo.findDistinctTargetPlatforms(extensionIds);
+    }
+
     public void deactivateKeyPairs() {
         signatureKeyPairRepo.updateActiveSetFalse();
     }
@@ -699,11 +756,43 @@ public class RepositoryService {
         return extensionVersionJooqRepo.findLatestReplacement(extensionId, targetPlatform, onlyPreRelease, onlyActive);
     }
 
+    public Map<Long, ExtensionVersion> findLatestReplacements(Collection<Long> extensionIds, String targetPlatform) {
+        return extensionVersionJooqRepo.findLatestReplacements(extensionIds, targetPlatform);
+    }
+
     public boolean hasExtension(String namespace, String extension) {
         return extensionJooqRepo.hasExtension(namespace, extension);
     }
 
+    public List<ExtensionId> findAllExtensionIds() {
+        return extensionJooqRepo.findAllExtensionIds();
+    }
+
     public Streamable<Extension> findDeprecatedExtensions(Extension replacement) {
         return extensionRepo.findByReplacement(replacement);
     }
-}
\ No newline at end of file
+
+    public byte[] findRateLimitBucketState(String id) {
+        return rateLimitBucketJooqRepo.findState(id);
+    }
+
+    public boolean insertRateLimitBucketState(String id, byte[] state) {
+        return rateLimitBucketJooqRepo.insertState(id, state);
+    }
+
+    public boolean compareAndSetRateLimitBucketState(String id, byte[] expectedState, byte[] state) {
+        return rateLimitBucketJooqRepo.compareAndSetState(id, expectedState, state);
+    }
+
+    public void deleteRateLimitBucket(String id) {
+        rateLimitBucketJooqRepo.deleteState(id);
+    }
+
+    public int deleteRateLimitBucketsUpdatedBefore(LocalDateTime time) {
+        return rateLimitBucketJooqRepo.deleteUpdatedBefore(time);
+    }
+
+    public void sendNotification(String channel, String payload) {
+        notificationJooqRepo.send(channel, payload);
+    }
+}
@@ -16,6 +16,7 @@ import org.springframework.stereotype.Component;
 
 import static org.eclipse.openvsx.jooq.Tables.*;
 import static org.eclipse.openvsx.jooq.Tables.EXTENSION;
+import static org.eclipse.openvsx.repositories.JooqUtil.equalIgnoreCase;
 
 @Component
 public class SignatureKeyPairJooqRepository {
@@ -33,8 +34,8 @@ public class SignatureKeyPairJooqRepository {
         query.addJoin(EXTENSION, EXTENSION.ID.eq(EXTENSION_VERSION.EXTENSION_ID));
         query.addJoin(NAMESPACE, NAMESPACE.ID.eq(EXTENSION.NAMESPACE_ID));
         query.addConditions(
-                NAMESPACE.NAME.equalIgnoreCase(namespace),
-                EXTENSION.NAME.equalIgnoreCase(extension),
+                equalIgnoreCase(NAMESPACE.NAME, namespace),
+                equalIgnoreCase(EXTENSION.NAME, extension),
                 EXTENSION_VERSION.ACTIVE.eq(true)
         );
         var onlyPreRelease = VersionAlias.PRE_RELEASE.equals(version);
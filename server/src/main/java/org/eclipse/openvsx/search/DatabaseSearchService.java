@@ -12,6 +12,7 @@ package org.eclipse.openvsx.search;
 
 import jakarta.transaction.Transactional;
 import org.eclipse.openvsx.entities.Extension;
+import org.eclipse.openvsx.entities.ExtensionVersion;
 import org.eclipse.openvsx.repositories.RepositoryService;
 import org.eclipse.openvsx.search.RelevanceService.SearchStats;
 import org.eclipse.openvsx.util.TargetPlatform;
@@ -79,21 +80,24 @@ public class DatabaseSearchService implements ISearchService {
 
         // filter category
         if (options.category() != null) {
-            matchingExtensions = matchingExtensions.filter(extension -> {
-                var latest = repositories.findLatestVersion(extension, null, false, true);
-                return latest.getCategories().stream().anyMatch(category -> category.equalsIgnoreCase(options.category()));
-            });
+            var categoryExtensionIds = repositories.findActiveExtensionIdsByLatestCategory(options.category());
+            matchingExtensions = matchingExtensions.filter(extension -> categoryExtensionIds.contains(extension.getId()));
         }
 
+        // load the latest versions and target platforms of all matching extensions at once
+        var extensionIds = matchingExtensions.stream().map(Extension::getId).collect(Collectors.toSet());
+        var latestVersions = getLatestVersions(extensionIds);
+        var targetPlatforms = getTargetPlatforms(extensionIds);
+
         // filter text
         if (options.queryString() != null) {
             matchingExtensions = matchingExtensions.filter(extension -> {
-                var latest = repositories.findLatestVersion(extension, null, false, true);
+                var latest = latestVersions.get(extension.getId());
                 return extension.getName().toLowerCase().contains(options.queryString().toLowerCase())
                     || extension.getNamespace().getName().contains(options.queryString().toLowerCase())
-                    || (latest.getDescription() != null && latest.getDescription()
+                    || (latest != null && latest.getDescription() != null && latest.getDescription()
                         .toLowerCase().contains(options.queryString().toLowerCase()))
-                    || (latest.getDisplayName() != null && latest.getDisplayName()
+                    || (latest != null && latest.getDisplayName() != null && latest.getDisplayName()
                         .toLowerCase().contains(options.queryString().toLowerCase()));
             });
         }
@@ -104,12 +108,16 @@ public class DatabaseSearchService implements ISearchService {
         Stream<ExtensionSearch> searchEntries;
         if("relevance".equals(options.sortBy()) || "rating".equals(options.sortBy())) {
             var searchStats = new SearchStats(repositories);
-            searchEntries = matchingExtensions.stream().map(extension -> relevanceService.toSearchEntry(extension, searchStats));
+            searchEntries = matchingExtensions.stream().map(extension -> {
+                var latest = latestVersions.get(extension.getId());
+                var extensionTargetPlatforms = targetPlatforms.getOrDefault(extension.getId(), Collections.emptyList());
+                return relevanceService.toSearchEntry(extension, latest, extensionTargetPlatforms, searchStats);
+            });
         } else {
             searchEntries = matchingExtensions.stream().map(extension -> {
-                var latest = repositories.findLatestVersion(extension, null, false, true);
-                var targetPlatforms = repositories.findExtensionTargetPlatforms(extension);
-                return extension.toSearch(latest, targetPlatforms);
+                var latest = latestVersions.get(extension.getId());
+                var extensionTargetPlatforms = targetPlatforms.getOrDefault(extension.getId(), Collections.emptyList());
+                return extension.toSearch(latest, extensionTargetPlatforms);
             });
         }
 
@@ -151,6 +159,23 @@ public class DatabaseSearchService implements ISearchService {
         return new SearchHitsImpl<>(totalHits, TotalHitsRelation.OFF, 0f, null, null, searchHits, null, null);
     }
 
+    private Map<Long, ExtensionVersion> getLatestVersions(Set<Long> extensionIds) {
+        if(extensionIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        return repositories.findLatestActiveVersions(extensionIds).stream()
+                .collect(Collectors.toMap(ev -> ev.getExtension().getId(), ev -> ev));
+    }
+
+    private Map<Long, List<String>> getTargetPlatforms(Set<Long> extensionIds) {
+        if(extensionIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        return repositories.findExtensionTargetPlatforms(extensionIds);
+    }
+
     /**
      * Clear the cache when asked to update the search index. It could be done also
      * through a cron job as well
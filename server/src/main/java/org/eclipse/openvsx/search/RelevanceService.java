@@ -24,6 +24,7 @@ import org.springframework.stereotype.Component;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -54,6 +55,13 @@ public class RelevanceService {
     public ExtensionSearch toSearchEntry(Extension extension, SearchStats stats) {
         var latest = repositories.findLatestVersion(extension,  null, false, true);
         var targetPlatforms = repositories.findExtensionTargetPlatforms(extension);
+        return toSearchEntry(extension, latest, targetPlatforms, stats);
+    }
+
+    /**
+     * Create the search entry from a latest version and target platforms that were loaded in bulk.
+     */
+    public ExtensionSearch toSearchEntry(Extension extension, ExtensionVersion latest, List<String> targetPlatforms, SearchStats stats) {
         var entry = extension.toSearch(latest, targetPlatforms);
         entry.setRating(calculateRating(extension, stats));
         entry.setRelevance(calculateRelevance(extension, latest, stats, entry));
@@ -0,0 +1,74 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.security;
+
+import jakarta.annotation.PreDestroy;
+import org.eclipse.openvsx.entities.PersonalAccessToken;
+import org.eclipse.openvsx.repositories.RepositoryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the accessed timestamps of personal access tokens in memory and writes them to the database
+ * periodically with a single update, instead of updating the token row on every request.
+ */
+@Component
+public class AccessTokenUsageWriter {
+
+    protected final Logger logger = LoggerFactory.getLogger(AccessTokenUsageWriter.class);
+
+    private final RepositoryService repositories;
+    private final Map<Long, LocalDateTime> accessedTimestamps = new ConcurrentHashMap<>();
+
+    public AccessTokenUsageWriter(RepositoryService repositories) {
+        this.repositories = repositories;
+    }
+
+    /**
+     * Record that the given token has been used. The timestamp is written by the next {@link #flush()}.
+     */
+    public void recordAccess(PersonalAccessToken token, LocalDateTime timestamp) {
+        accessedTimestamps.merge(token.getId(), timestamp, (t1, t2) -> t1.isAfter(t2) ? t1 : t2);
+    }
+
+    @Scheduled(fixedDelayString = "${ovsx.access-token.flush-interval-millis:10000}")
+    public void flush() {
+        var timestamps = new HashMap<Long, LocalDateTime>();
+        for(var id : accessedTimestamps.keySet()) {
+            var timestamp = accessedTimestamps.remove(id);
+            if(timestamp != null) {
+                timestamps.put(id, timestamp);
+            }
+        }
+        if(timestamps.isEmpty()) {
+            return;
+        }
+
+        try {
+            repositories.updateAccessTokenTimestamps(timestamps);
+        } catch (RuntimeException e) {
+            // try again with the next flush
+            timestamps.forEach((id, timestamp) -> accessedTimestamps.merge(id, timestamp, (t1, t2) -> t1.isAfter(t2) ? t1 : t2));
+            logger.warn("Failed to update accessed timestamps of access tokens", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
@@ -50,7 +50,7 @@ public class SecurityConfig {
                 )
                 .cors(configurer -> configurer.configure(http))
                 .csrf(configurer -> {
-                    configurer.ignoringRequestMatchers(antMatchers("/api/-/publish", "/api/-/namespace/create", "/api/-/query", "/vscode/**"));
+                    configurer.ignoringRequestMatchers(antMatchers("/api/-/publish", "/api/-/namespace/create", "/api/-/query", "/api/-/batch", "/vscode/**"));
                 })
                 .exceptionHandling(configurer -> configurer.authenticationEntryPoint(new Http403ForbiddenEntryPoint()))
                 .oauth2Login(configurer -> {
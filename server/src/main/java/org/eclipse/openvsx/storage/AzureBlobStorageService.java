@@ -14,6 +14,7 @@ import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobContainerClientBuilder;
 import com.azure.storage.blob.models.BlobCopyInfo;
 import com.azure.storage.blob.models.BlobHttpHeaders;
+import com.azure.storage.blob.models.BlobRange;
 import com.azure.storage.blob.models.BlobStorageException;
 import com.azure.storage.blob.models.CopyStatusType;
 import org.apache.commons.lang3.ArrayUtils;
@@ -28,6 +29,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
@@ -179,6 +181,19 @@ public class AzureBlobStorageService implements IStorageService {
         return tempFile;
     }
 
+    /**
+     * Read {@code length} bytes of the file, starting at {@code offset}.
+     */
+    public InputStream readRange(FileResource resource, long offset, long length) {
+        var blobName = getBlobName(resource);
+        if (StringUtils.isEmpty(serviceEndpoint)) {
+            throw new IllegalStateException("Cannot determine location of file "
+                    + blobName + ": missing Azure blob service endpoint");
+        }
+
+        return getContainerClient().getBlobClient(blobName).openInputStream(new BlobRange(offset, length), null);
+    }
+
     protected String getBlobName(Namespace namespace) {
         return UrlUtil.createApiUrl("", namespace.getName(), "logo", namespace.getLogoName()).substring(1); // remove first '/'
     }
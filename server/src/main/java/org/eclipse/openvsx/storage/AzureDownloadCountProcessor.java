@@ -14,6 +14,7 @@ import io.micrometer.observation.Observation;
 import io.micrometer.observation.ObservationRegistry;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
+import org.eclipse.openvsx.admin.AdminStatisticCounters;
 import org.eclipse.openvsx.cache.CacheService;
 import org.eclipse.openvsx.entities.AzureDownloadCountProcessedItem;
 import org.eclipse.openvsx.entities.Extension;
@@ -41,19 +42,22 @@ public class AzureDownloadCountProcessor {
     private final CacheService cache;
     private final SearchUtilService search;
     private final ObservationRegistry observations;
+    private final AdminStatisticCounters statisticCounters;
 
     public AzureDownloadCountProcessor(
             EntityManager entityManager,
             RepositoryService repositories,
             CacheService cache,
             SearchUtilService search,
-            ObservationRegistry observations
+            ObservationRegistry observations,
+            AdminStatisticCounters statisticCounters
     ) {
         this.entityManager = entityManager;
         this.repositories = repositories;
         this.cache = cache;
         this.search = search;
         this.observations = observations;
+        this.statisticCounters = statisticCounters;
     }
 
     @Transactional
@@ -86,6 +90,7 @@ public class AzureDownloadCountProcessor {
             extensions.forEach(extension -> {
                 var downloads = extensionDownloads.get(extension.getId());
                 extension.setDownloadCount(extension.getDownloadCount() + downloads);
+                statisticCounters.downloadsChanged(extension);
             });
 
             return extensions;
@@ -24,8 +24,10 @@ import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
 import java.nio.file.Files;
 import java.util.List;
 
@@ -175,6 +177,20 @@ public class GoogleCloudStorageService implements IStorageService {
         return tempFile;
     }
 
+    /**
+     * Read {@code length} bytes of the file, starting at {@code offset}.
+     */
+    public InputStream readRange(FileResource resource, long offset, long length) throws IOException {
+        if (StringUtils.isEmpty(bucketId)) {
+            throw new IllegalStateException("Cannot determine location of file "
+                    + resource.getName() + ": missing Google bucket id");
+        }
+
+        var reader = getStorage().reader(BlobId.of(bucketId, getObjectId(resource)));
+        reader.seek(offset);
+        return Channels.newInputStream(reader.limit(offset + length));
+    }
+
     protected String getObjectId(Namespace namespace) {
         return UrlUtil.createApiUrl("", namespace.getName(), "logo", namespace.getLogoName()).substring(1); // remove first '/'
     }
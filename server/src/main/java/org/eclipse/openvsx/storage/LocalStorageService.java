@@ -9,6 +9,7 @@
  * ****************************************************************************** */
 package org.eclipse.openvsx.storage;
 
+import com.google.common.io.ByteStreams;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.openvsx.entities.FileResource;
 import org.eclipse.openvsx.entities.Namespace;
@@ -22,7 +23,10 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
@@ -134,6 +138,14 @@ public class LocalStorageService implements IStorageService {
         return file;
     }
 
+    /**
+     * Read {@code length} bytes of the file, starting at {@code offset}.
+     */
+    public InputStream readRange(FileResource resource, long offset, long length) throws IOException {
+        var channel = FileChannel.open(getPath(resource)).position(offset);
+        return ByteStreams.limit(Channels.newInputStream(channel), length);
+    }
+
     @Override
     public void copyFiles(List<Pair<FileResource, FileResource>> pairs) {
         try {
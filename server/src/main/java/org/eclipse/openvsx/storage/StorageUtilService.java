@@ -13,6 +13,7 @@ import com.google.common.collect.Maps;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import org.apache.commons.lang3.StringUtils;
+import org.eclipse.openvsx.admin.AdminStatisticCounters;
 import org.eclipse.openvsx.cache.CacheService;
 import org.eclipse.openvsx.entities.ExtensionVersion;
 import org.eclipse.openvsx.entities.FileResource;
@@ -48,10 +49,12 @@ public class StorageUtilService implements IStorageService {
     private final GoogleCloudStorageService googleStorage;
     private final AzureBlobStorageService azureStorage;
     private final LocalStorageService localStorage;
+    private final VsixEntryService vsixEntries;
     private final AzureDownloadCountService azureDownloadCountService;
     private final SearchUtilService search;
     private final CacheService cache;
     private final EntityManager entityManager;
+    private final AdminStatisticCounters statisticCounters;
 
     /** Determines which external storage service to use in case multiple services are configured. */
     @Value("${ovsx.storage.primary-service:}")
@@ -66,19 +69,23 @@ public class StorageUtilService implements IStorageService {
             GoogleCloudStorageService googleStorage,
             AzureBlobStorageService azureStorage,
             LocalStorageService localStorage,
+            VsixEntryService vsixEntries,
             AzureDownloadCountService azureDownloadCountService,
             SearchUtilService search,
             CacheService cache,
-            EntityManager entityManager
+            EntityManager entityManager,
+            AdminStatisticCounters statisticCounters
     ) {
         this.repositories = repositories;
         this.googleStorage = googleStorage;
         this.azureStorage = azureStorage;
         this.localStorage = localStorage;
+        this.vsixEntries = vsixEntries;
         this.azureDownloadCountService = azureDownloadCountService;
         this.search = search;
         this.cache = cache;
         this.entityManager = entityManager;
+        this.statisticCounters = statisticCounters;
     }
 
     public boolean shouldStoreExternally(FileResource resource) {
@@ -250,6 +257,7 @@ public class StorageUtilService implements IStorageService {
         var managedResource = entityManager.find(FileResource.class, resource.getId());
         var extension = managedResource.getExtension().getExtension();
         extension.setDownloadCount(extension.getDownloadCount() + 1);
+        statisticCounters.downloadsChanged(extension);
 
         cache.evictNamespaceDetails(extension);
         cache.evictExtensionJsons(extension);
@@ -261,6 +269,8 @@ public class StorageUtilService implements IStorageService {
     public ResponseEntity<StreamingResponseBody> getFileResponse(FileResource resource) {
         if (resource.getStorageType().equals(STORAGE_LOCAL)) {
             return localStorage.getFile(resource);
+        } else if (resource.getStorageType().equals(STORAGE_VSIX)) {
+            return vsixEntries.getFile(resource);
         } else {
             return ResponseEntity.status(HttpStatus.FOUND)
                     .location(getLocation(resource))
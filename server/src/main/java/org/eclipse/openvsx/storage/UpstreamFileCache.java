@@ -0,0 +1,272 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.storage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pull-through cache of files of the upstream registry (packages, icons, etc.) on the local disk.
+ * A file is downloaded once and then served from disk; the least recently used files are deleted
+ * when the cache exceeds its size limit. Concurrent misses for the same file share a single download.
+ * <p>
+ * The index is rebuilt from the cache directory on startup, ordered by the last modification of the files.
+ */
+@Component
+public class UpstreamFileCache {
+
+    private static final String PART_SUFFIX = ".part";
+
+    protected final Logger logger = LoggerFactory.getLogger(UpstreamFileCache.class);
+
+    private final RestTemplate restTemplate;
+    private final boolean enabled;
+    private final long maxSizeBytes;
+    private final Path directory;
+    /** Sizes of the cached files in access order */
+    private final LinkedHashMap<String, Long> files = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, CompletableFuture<Void>> downloads = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private long totalSize;
+
+    public UpstreamFileCache(
+            RestTemplate restTemplate,
+            MeterRegistry registry,
+            @Value("${ovsx.upstream.cache.files.enabled:false}") boolean enabled,
+            @Value("${ovsx.upstream.cache.files.directory:}") String directory,
+            @Value("${ovsx.upstream.cache.files.max-size-bytes:10737418240}") long maxSizeBytes
+    ) throws IOException {
+        this.restTemplate = restTemplate;
+        this.enabled = enabled;
+        this.maxSizeBytes = maxSizeBytes;
+        if(enabled) {
+            this.directory = StringUtils.isEmpty(directory)
+                    ? Files.createTempDirectory("upstream-files")
+                    : Files.createDirectories(Path.of(directory));
+            loadIndex();
+        } else {
+            this.directory = null;
+        }
+
+        Gauge.builder("ovsx_upstream_file_cache_size_bytes", this, UpstreamFileCache::getTotalSize)
+                .description("Size of the upstream files cached on disk")
+                .register(registry);
+        this.hits = Counter.builder("ovsx_upstream_file_cache_hits")
+                .description("Upstream files served from the disk cache")
+                .register(registry);
+        this.misses = Counter.builder("ovsx_upstream_file_cache_misses")
+                .description("Upstream files downloaded into the disk cache")
+                .register(registry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Serve the file at the given upstream URI from the disk cache, downloading it first if needed.
+     * @throws RestClientException if the file could not be downloaded from the upstream registry
+     */
+    public ResponseEntity<StreamingResponseBody> getFile(URI uri) throws RestClientException {
+        var key = DigestUtils.sha256Hex(uri.toString());
+        var size = lookup(key);
+        if(size != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            do {
+                download(uri, key);
+                size = lookup(key);
+                // the file can be evicted again before it is looked up when the cache is very busy
+            } while(size == null);
+        }
+
+        var path = uri.getPath();
+        var fileName = UriUtils.decode(path.substring(path.lastIndexOf('/') + 1), StandardCharsets.UTF_8);
+        var headers = new HttpHeaders();
+        headers.setContentType(StorageUtil.getFileType(fileName));
+        headers.setCacheControl(StorageUtil.getCacheControl(fileName));
+        headers.setContentLength(size);
+
+        // the file is only opened when the response is written, so that no stream is left open
+        // if the response is never written
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(outputStream -> {
+                    try (var in = open(uri, key)) {
+                        in.transferTo(outputStream);
+                    }
+                });
+    }
+
+    private InputStream open(URI uri, String key) {
+        var in = open(key);
+        while(in == null) {
+            // evicted since it was looked up, the download yields the same file
+            download(uri, key);
+            in = open(key);
+        }
+
+        return in;
+    }
+
+    private void download(URI uri, String key) {
+        var future = new CompletableFuture<Void>();
+        var existing = downloads.putIfAbsent(key, future);
+        if(existing != null) {
+            try {
+                existing.join();
+                return;
+            } catch (CompletionException e) {
+                if(e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        try {
+            var size = restTemplate.execute(uri, HttpMethod.GET, null, response -> {
+                var part = Files.createTempFile(directory, key, PART_SUFFIX);
+                try {
+                    try (var body = response.getBody()) {
+                        Files.copy(body, part, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                    Files.move(part, directory.resolve(key), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } finally {
+                    Files.deleteIfExists(part);
+                }
+                return Files.size(directory.resolve(key));
+            });
+
+            add(key, size);
+            future.complete(null);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            downloads.remove(key, future);
+        }
+    }
+
+    private synchronized Long lookup(String key) {
+        return files.get(key);
+    }
+
+    private synchronized InputStream open(String key) {
+        var size = files.get(key);
+        if(size == null) {
+            return null;
+        }
+
+        try {
+            // files are only deleted while holding the lock, and an open stream survives the deletion
+            return Files.newInputStream(directory.resolve(key));
+        } catch (NoSuchFileException e) {
+            files.remove(key);
+            totalSize -= size;
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private synchronized void add(String key, long size) {
+        var previous = files.put(key, size);
+        totalSize += size - (previous != null ? previous : 0L);
+
+        // never evict the file that was just added, so that it can be served
+        var iterator = files.entrySet().iterator();
+        while(totalSize > maxSizeBytes && iterator.hasNext()) {
+            var eldest = iterator.next();
+            if(eldest.getKey().equals(key)) {
+                continue;
+            }
+
+            try {
+                Files.deleteIfExists(directory.resolve(eldest.getKey()));
+            } catch (IOException e) {
+                logger.warn("Failed to delete cached upstream file {}", eldest.getKey(), e);
+                continue;
+            }
+
+            totalSize -= eldest.getValue();
+            iterator.remove();
+        }
+    }
+
+    private synchronized long getTotalSize() {
+        return totalSize;
+    }
+
+    private synchronized void loadIndex() throws IOException {
+        try (var paths = Files.list(directory)) {
+            var entries = paths.filter(Files::isRegularFile).toList();
+            for(var path : entries) {
+                if(path.getFileName().toString().endsWith(PART_SUFFIX)) {
+                    // incomplete download of a previous run
+                    Files.deleteIfExists(path);
+                }
+            }
+
+            entries.stream()
+                    .filter(path -> !path.getFileName().toString().endsWith(PART_SUFFIX))
+                    .sorted(Comparator.comparing(this::getLastModified))
+                    .forEach(path -> add(path.getFileName().toString(), getSize(path)));
+        }
+    }
+
+    private long getLastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long getSize(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
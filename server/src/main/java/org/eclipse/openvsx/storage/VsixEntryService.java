@@ -0,0 +1,133 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.storage;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.eclipse.openvsx.entities.FileResource;
+import org.eclipse.openvsx.repositories.RepositoryService;
+import org.eclipse.openvsx.util.NotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+
+import static org.eclipse.openvsx.entities.FileResource.*;
+
+/**
+ * Serves resources with storage type {@link FileResource#STORAGE_VSIX}, i.e. entries of the extension package
+ * that were not extracted on publish. The entry is read with a ranged read of the package in the storage of
+ * its {@link FileResource#DOWNLOAD}, which the repository lookups load together with the entry.
+ * Small entries are kept decompressed in an LRU cache.
+ */
+@Component
+public class VsixEntryService {
+
+    private final RepositoryService repositories;
+    private final GoogleCloudStorageService googleStorage;
+    private final AzureBlobStorageService azureStorage;
+    private final LocalStorageService localStorage;
+    private final Cache<Long, byte[]> entries;
+    private final long maxCachedEntrySize;
+
+    public VsixEntryService(
+            RepositoryService repositories,
+            GoogleCloudStorageService googleStorage,
+            AzureBlobStorageService azureStorage,
+            LocalStorageService localStorage,
+            MeterRegistry registry,
+            @Value("${ovsx.storage.vsix-entries.cache.max-size-bytes:67108864}") long maxSizeBytes,
+            @Value("${ovsx.storage.vsix-entries.cache.max-entry-size-bytes:1048576}") long maxCachedEntrySize
+    ) {
+        this.repositories = repositories;
+        this.googleStorage = googleStorage;
+        this.azureStorage = azureStorage;
+        this.localStorage = localStorage;
+        this.maxCachedEntrySize = maxCachedEntrySize;
+        this.entries = CacheBuilder.newBuilder()
+                .maximumWeight(maxSizeBytes)
+                .weigher((Long id, byte[] content) -> content.length)
+                .recordStats()
+                .build();
+
+        GuavaCacheMetrics.monitor(registry, entries, "vsix.entry");
+    }
+
+    public ResponseEntity<StreamingResponseBody> getFile(FileResource resource) {
+        var headers = new HttpHeaders();
+        headers.setContentType(StorageUtil.getFileType(resource.getName()));
+        headers.setCacheControl(StorageUtil.getCacheControl(resource.getName()));
+        headers.setContentLength(resource.getEntrySize());
+
+        var cached = entries.getIfPresent(resource.getId());
+        if (cached != null) {
+            return ResponseEntity.ok().headers(headers).body(outputStream -> outputStream.write(cached));
+        }
+
+        var download = resource.getEntryPackage();
+        if (download == null) {
+            // the resource was not loaded by one of the repository lookups that join the package
+            download = repositories.findFileByType(resource.getExtension(), DOWNLOAD);
+        }
+        if (download == null) {
+            throw new NotFoundException();
+        }
+
+        var entryPackage = download;
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(outputStream -> {
+                    try (var in = readEntry(entryPackage, resource)) {
+                        if (resource.getEntrySize() <= maxCachedEntrySize) {
+                            var content = in.readAllBytes();
+                            entries.put(resource.getId(), content);
+                            outputStream.write(content);
+                        } else {
+                            in.transferTo(outputStream);
+                        }
+                    }
+                });
+    }
+
+    private InputStream readEntry(FileResource download, FileResource resource) throws IOException {
+        var offset = resource.getEntryOffset();
+        var length = resource.getEntryCompressedSize();
+        var in = switch (download.getStorageType()) {
+            case STORAGE_GOOGLE -> googleStorage.readRange(download, offset, length);
+            case STORAGE_AZURE -> azureStorage.readRange(download, offset, length);
+            case STORAGE_LOCAL -> localStorage.readRange(download, offset, length);
+            default -> throw new IllegalStateException("Storage '" + download.getStorageType() + "' is not available.");
+        };
+        if (resource.getEntryMethod() != ZipEntry.DEFLATED) {
+            return in;
+        }
+
+        var inflater = new Inflater(true);
+        return new InflaterInputStream(in, inflater) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    inflater.end();
+                }
+            }
+        };
+    }
+}
@@ -18,7 +18,7 @@ import java.util.zip.ZipFile;
 public final class ArchiveUtil {
 
     // Limit the size of fetched zip entries to 32 MB
-    private static final long MAX_ENTRY_SIZE = 33_554_432;
+    public static final long MAX_ENTRY_SIZE = 33_554_432;
 
     private ArchiveUtil() {}
 
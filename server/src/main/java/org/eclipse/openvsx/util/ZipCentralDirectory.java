@@ -0,0 +1,165 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipException;
+
+/**
+ * Reads the central directory of a zip file, including the offset of each entry's data,
+ * so that single entries can later be read with a ranged read of the archive.
+ */
+public final class ZipCentralDirectory {
+
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final int END_SIZE = 22;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+    private static final int ZIP64_END_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int ZIP64_END_LOCATOR_SIZE = 20;
+    private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_END_SIZE = 56;
+    private static final int ZIP64_EXTRA_ID = 0x0001;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int CENTRAL_HEADER_SIZE = 46;
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int LOCAL_HEADER_SIZE = 30;
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+    private static final int ENCRYPTED_FLAG = 1;
+
+    public record Entry(String name, long offset, long compressedSize, long size, int method, boolean encrypted) {
+        public boolean isDirectory() {
+            return name.endsWith("/");
+        }
+    }
+
+    private ZipCentralDirectory() {}
+
+    public static List<Entry> read(Path path) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var endOffset = findEnd(channel);
+            var end = read(channel, endOffset, END_SIZE);
+            long count = Short.toUnsignedLong(end.getShort(10));
+            long directorySize = Integer.toUnsignedLong(end.getInt(12));
+            long directoryOffset = Integer.toUnsignedLong(end.getInt(16));
+            if (endOffset >= ZIP64_END_LOCATOR_SIZE) {
+                var locator = read(channel, endOffset - ZIP64_END_LOCATOR_SIZE, ZIP64_END_LOCATOR_SIZE);
+                if (locator.getInt(0) == ZIP64_END_LOCATOR_SIGNATURE) {
+                    var zip64End = read(channel, locator.getLong(8), ZIP64_END_SIZE);
+                    if (zip64End.getInt(0) != ZIP64_END_SIGNATURE) {
+                        throw new ZipException("Invalid zip64 end of central directory");
+                    }
+                    count = zip64End.getLong(32);
+                    directorySize = zip64End.getLong(40);
+                    directoryOffset = zip64End.getLong(48);
+                }
+            }
+            if (directorySize > Integer.MAX_VALUE) {
+                throw new ZipException("Central directory is too large: " + directorySize);
+            }
+
+            var directory = read(channel, directoryOffset, (int) directorySize);
+            var entries = new ArrayList<Entry>();
+            for (var i = 0L; i < count; i++) {
+                entries.add(readEntry(channel, directory));
+            }
+            return entries;
+        }
+    }
+
+    private static long findEnd(FileChannel channel) throws IOException {
+        var size = channel.size();
+        var length = (int) Math.min(size, END_SIZE + MAX_COMMENT_SIZE);
+        var tail = read(channel, size - length, length);
+        for (var i = length - END_SIZE; i >= 0; i--) {
+            if (tail.getInt(i) == END_SIGNATURE) {
+                return size - length + i;
+            }
+        }
+
+        throw new ZipException("End of central directory not found");
+    }
+
+    private static Entry readEntry(FileChannel channel, ByteBuffer directory) throws IOException {
+        var start = directory.position();
+        if (directory.getInt(start) != CENTRAL_HEADER_SIGNATURE) {
+            throw new ZipException("Invalid central directory header");
+        }
+
+        var flags = Short.toUnsignedInt(directory.getShort(start + 8));
+        var method = Short.toUnsignedInt(directory.getShort(start + 10));
+        long compressedSize = Integer.toUnsignedLong(directory.getInt(start + 20));
+        long size = Integer.toUnsignedLong(directory.getInt(start + 24));
+        var nameLength = Short.toUnsignedInt(directory.getShort(start + 28));
+        var extraLength = Short.toUnsignedInt(directory.getShort(start + 30));
+        var commentLength = Short.toUnsignedInt(directory.getShort(start + 32));
+        long localHeaderOffset = Integer.toUnsignedLong(directory.getInt(start + 42));
+
+        var nameBytes = new byte[nameLength];
+        directory.get(start + CENTRAL_HEADER_SIZE, nameBytes);
+        var name = new String(nameBytes, StandardCharsets.UTF_8);
+
+        // the zip64 extra field only contains the values that don't fit into the header
+        var extra = start + CENTRAL_HEADER_SIZE + nameLength;
+        var extraEnd = extra + extraLength;
+        while (extra + 4 <= extraEnd) {
+            var id = Short.toUnsignedInt(directory.getShort(extra));
+            var length = Short.toUnsignedInt(directory.getShort(extra + 2));
+            if (id == ZIP64_EXTRA_ID) {
+                var field = extra + 4;
+                if (size == ZIP64_MAGIC) {
+                    size = directory.getLong(field);
+                    field += 8;
+                }
+                if (compressedSize == ZIP64_MAGIC) {
+                    compressedSize = directory.getLong(field);
+                    field += 8;
+                }
+                if (localHeaderOffset == ZIP64_MAGIC) {
+                    localHeaderOffset = directory.getLong(field);
+                }
+            }
+            extra += 4 + length;
+        }
+
+        directory.position(extraEnd + commentLength);
+
+        // the name and extra field of the local header can differ from the central directory
+        var localHeader = read(channel, localHeaderOffset, LOCAL_HEADER_SIZE);
+        if (localHeader.getInt(0) != LOCAL_HEADER_SIGNATURE) {
+            throw new ZipException("Invalid local header of entry: " + name);
+        }
+
+        var offset = localHeaderOffset + LOCAL_HEADER_SIZE
+                + Short.toUnsignedInt(localHeader.getShort(26))
+                + Short.toUnsignedInt(localHeader.getShort(28));
+
+        var encrypted = (flags & ENCRYPTED_FLAG) != 0;
+        return new Entry(name, offset, compressedSize, size, method, encrypted);
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        var buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new ZipException("Unexpected end of zip file");
+            }
+        }
+
+        return buffer.clear();
+    }
+}
@@ -6,6 +6,7 @@ package org.eclipse.openvsx.jooq;
 
 import org.eclipse.openvsx.jooq.tables.AdminStatistics;
 import org.eclipse.openvsx.jooq.tables.Extension;
+import org.eclipse.openvsx.jooq.tables.ExtensionDependency;
 import org.eclipse.openvsx.jooq.tables.ExtensionReview;
 import org.eclipse.openvsx.jooq.tables.ExtensionVersion;
 import org.eclipse.openvsx.jooq.tables.FileResource;
@@ -14,7 +15,11 @@ import org.eclipse.openvsx.jooq.tables.JobrunrBackgroundjobservers;
 import org.eclipse.openvsx.jooq.tables.JobrunrJobs;
 import org.eclipse.openvsx.jooq.tables.JobrunrRecurringJobs;
 import org.eclipse.openvsx.jooq.tables.NamespaceMembership;
+import org.eclipse.openvsx.jooq.tables.NamespaceStatistics;
 import org.eclipse.openvsx.jooq.tables.PersistedLog;
+import org.eclipse.openvsx.jooq.tables.PersonalAccessToken;
+import org.eclipse.openvsx.jooq.tables.PublisherStatistics;
+import org.eclipse.openvsx.jooq.tables.RateLimitBucket;
 import org.eclipse.openvsx.jooq.tables.SpringSession;
 import org.jooq.Index;
 import org.jooq.OrderField;
@@ -33,6 +38,8 @@ public class Indexes {
     // -------------------------------------------------------------------------
 
     public static final Index EXTENSION__NAMESPACE_ID__IDX = Internal.createIndex(DSL.name("extension__namespace_id__idx"), Extension.EXTENSION, new OrderField[] { Extension.EXTENSION.NAMESPACE_ID }, false);
+    public static final Index EXTENSION_RATING_IDX = Internal.createIndex(DSL.name("extension_rating_idx"), Extension.EXTENSION, new OrderField[] { Extension.EXTENSION.AVERAGE_RATING, Extension.EXTENSION.REVIEW_COUNT }, false);
+    public static final Index EXTENSION_DEPENDENCY_EXTENSION_VERSION_ID_IDX = Internal.createIndex(DSL.name("extension_dependency_extension_version_id_idx"), ExtensionDependency.EXTENSION_DEPENDENCY, new OrderField[] { ExtensionDependency.EXTENSION_DEPENDENCY.EXTENSION_VERSION_ID }, false);
     public static final Index EXTENSION_REVIEW__EXTENSION_ID__IDX = Internal.createIndex(DSL.name("extension_review__extension_id__idx"), ExtensionReview.EXTENSION_REVIEW, new OrderField[] { ExtensionReview.EXTENSION_REVIEW.EXTENSION_ID }, false);
     public static final Index EXTENSION_REVIEW__USER_ID__IDX = Internal.createIndex(DSL.name("extension_review__user_id__idx"), ExtensionReview.EXTENSION_REVIEW, new OrderField[] { ExtensionReview.EXTENSION_REVIEW.USER_ID }, false);
     public static final Index EXTENSION_VERSION__EXTENSION_ID__IDX = Internal.createIndex(DSL.name("extension_version__extension_id__idx"), ExtensionVersion.EXTENSION_VERSION, new OrderField[] { ExtensionVersion.EXTENSION_VERSION.EXTENSION_ID }, false);
@@ -56,7 +63,13 @@ public class Indexes {
     public static final Index JOBRUNR_STATE_IDX = Internal.createIndex(DSL.name("jobrunr_state_idx"), JobrunrJobs.JOBRUNR_JOBS, new OrderField[] { JobrunrJobs.JOBRUNR_JOBS.STATE }, false);
     public static final Index NAMESPACE_MEMBERSHIP__NAMESPACE__IDX = Internal.createIndex(DSL.name("namespace_membership__namespace__idx"), NamespaceMembership.NAMESPACE_MEMBERSHIP, new OrderField[] { NamespaceMembership.NAMESPACE_MEMBERSHIP.NAMESPACE }, false);
     public static final Index NAMESPACE_MEMBERSHIP__USER_DATA__IDX = Internal.createIndex(DSL.name("namespace_membership__user_data__idx"), NamespaceMembership.NAMESPACE_MEMBERSHIP, new OrderField[] { NamespaceMembership.NAMESPACE_MEMBERSHIP.USER_DATA }, false);
+    public static final Index NAMESPACE_STATISTICS_EXTENSION_VERSIONS_IDX = Internal.createIndex(DSL.name("namespace_statistics_extension_versions_idx"), NamespaceStatistics.NAMESPACE_STATISTICS, new OrderField[] { NamespaceStatistics.NAMESPACE_STATISTICS.EXTENSION_VERSIONS }, false);
+    public static final Index NAMESPACE_STATISTICS_EXTENSIONS_IDX = Internal.createIndex(DSL.name("namespace_statistics_extensions_idx"), NamespaceStatistics.NAMESPACE_STATISTICS, new OrderField[] { NamespaceStatistics.NAMESPACE_STATISTICS.EXTENSIONS }, false);
+    public static final Index NAMESPACE_STATISTICS_MAX_EXTENSION_DOWNLOADS_IDX = Internal.createIndex(DSL.name("namespace_statistics_max_extension_downloads_idx"), NamespaceStatistics.NAMESPACE_STATISTICS, new OrderField[] { NamespaceStatistics.NAMESPACE_STATISTICS.MAX_EXTENSION_DOWNLOADS }, false);
     public static final Index PERSISTED_LOG__USER_DATA__IDX = Internal.createIndex(DSL.name("persisted_log__user_data__idx"), PersistedLog.PERSISTED_LOG, new OrderField[] { PersistedLog.PERSISTED_LOG.USER_DATA }, false);
+    public static final Index PERSONAL_ACCESS_TOKEN__USER_DATA__IDX = Internal.createIndex(DSL.name("personal_access_token__user_data__idx"), PersonalAccessToken.PERSONAL_ACCESS_TOKEN, new OrderField[] { PersonalAccessToken.PERSONAL_ACCESS_TOKEN.USER_DATA }, false);
+    public static final Index PUBLISHER_STATISTICS_EXTENSION_VERSIONS_IDX = Internal.createIndex(DSL.name("publisher_statistics_extension_versions_idx"), PublisherStatistics.PUBLISHER_STATISTICS, new OrderField[] { PublisherStatistics.PUBLISHER_STATISTICS.EXTENSION_VERSIONS }, false);
+    public static final Index RATE_LIMIT_BUCKET_UPDATED_TIME_IDX = Internal.createIndex(DSL.name("rate_limit_bucket_updated_time_idx"), RateLimitBucket.RATE_LIMIT_BUCKET, new OrderField[] { RateLimitBucket.RATE_LIMIT_BUCKET.UPDATED_TIME }, false);
     public static final Index SPRING_SESSION_IX1 = Internal.createIndex(DSL.name("spring_session_ix1"), SpringSession.SPRING_SESSION, new OrderField[] { SpringSession.SPRING_SESSION.SESSION_ID }, true);
     public static final Index SPRING_SESSION_IX2 = Internal.createIndex(DSL.name("spring_session_ix2"), SpringSession.SPRING_SESSION, new OrderField[] { SpringSession.SPRING_SESSION.EXPIRY_TIME }, false);
     public static final Index SPRING_SESSION_IX3 = Internal.createIndex(DSL.name("spring_session_ix3"), SpringSession.SPRING_SESSION, new OrderField[] { SpringSession.SPRING_SESSION.PRINCIPAL_NAME }, false);
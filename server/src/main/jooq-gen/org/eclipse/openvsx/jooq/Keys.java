@@ -13,6 +13,7 @@ import org.eclipse.openvsx.jooq.tables.AdminStatisticsTopNamespaceExtensionVersi
 import org.eclipse.openvsx.jooq.tables.AdminStatisticsTopNamespaceExtensions;
 import org.eclipse.openvsx.jooq.tables.AzureDownloadCountProcessedItem;
 import org.eclipse.openvsx.jooq.tables.Extension;
+import org.eclipse.openvsx.jooq.tables.ExtensionDependency;
 import org.eclipse.openvsx.jooq.tables.ExtensionReview;
 import org.eclipse.openvsx.jooq.tables.ExtensionVersion;
 import org.eclipse.openvsx.jooq.tables.FileResource;
@@ -26,8 +27,11 @@ import org.eclipse.openvsx.jooq.tables.MigrationItem;
 import org.eclipse.openvsx.jooq.tables.Namespace;
 import org.eclipse.openvsx.jooq.tables.NamespaceMembership;
 import org.eclipse.openvsx.jooq.tables.NamespaceSocialLinks;
+import org.eclipse.openvsx.jooq.tables.NamespaceStatistics;
 import org.eclipse.openvsx.jooq.tables.PersistedLog;
 import org.eclipse.openvsx.jooq.tables.PersonalAccessToken;
+import org.eclipse.openvsx.jooq.tables.PublisherStatistics;
+import org.eclipse.openvsx.jooq.tables.RateLimitBucket;
 import org.eclipse.openvsx.jooq.tables.Shedlock;
 import org.eclipse.openvsx.jooq.tables.SignatureKeyPair;
 import org.eclipse.openvsx.jooq.tables.SpringSession;
@@ -41,6 +45,7 @@ import org.eclipse.openvsx.jooq.tables.records.AdminStatisticsTopMostDownloadedE
 import org.eclipse.openvsx.jooq.tables.records.AdminStatisticsTopNamespaceExtensionVersionsRecord;
 import org.eclipse.openvsx.jooq.tables.records.AdminStatisticsTopNamespaceExtensionsRecord;
 import org.eclipse.openvsx.jooq.tables.records.AzureDownloadCountProcessedItemRecord;
+import org.eclipse.openvsx.jooq.tables.records.ExtensionDependencyRecord;
 import org.eclipse.openvsx.jooq.tables.records.ExtensionRecord;
 import org.eclipse.openvsx.jooq.tables.records.ExtensionReviewRecord;
 import org.eclipse.openvsx.jooq.tables.records.ExtensionVersionRecord;
@@ -55,8 +60,11 @@ import org.eclipse.openvsx.jooq.tables.records.MigrationItemRecord;
 import org.eclipse.openvsx.jooq.tables.records.NamespaceMembershipRecord;
 import org.eclipse.openvsx.jooq.tables.records.NamespaceRecord;
 import org.eclipse.openvsx.jooq.tables.records.NamespaceSocialLinksRecord;
+import org.eclipse.openvsx.jooq.tables.records.NamespaceStatisticsRecord;
 import org.eclipse.openvsx.jooq.tables.records.PersistedLogRecord;
 import org.eclipse.openvsx.jooq.tables.records.PersonalAccessTokenRecord;
+import org.eclipse.openvsx.jooq.tables.records.PublisherStatisticsRecord;
+import org.eclipse.openvsx.jooq.tables.records.RateLimitBucketRecord;
 import org.eclipse.openvsx.jooq.tables.records.ShedlockRecord;
 import org.eclipse.openvsx.jooq.tables.records.SignatureKeyPairRecord;
 import org.eclipse.openvsx.jooq.tables.records.SpringSessionAttributesRecord;
@@ -84,6 +92,7 @@ public class Keys {
     public static final UniqueKey<AzureDownloadCountProcessedItemRecord> AZURE_DOWNLOAD_COUNT_PROCESSED_ITEM_PKEY = Internal.createUniqueKey(AzureDownloadCountProcessedItem.AZURE_DOWNLOAD_COUNT_PROCESSED_ITEM, DSL.name("azure_download_count_processed_item_pkey"), new TableField[] { AzureDownloadCountProcessedItem.AZURE_DOWNLOAD_COUNT_PROCESSED_ITEM.ID }, true);
     public static final UniqueKey<ExtensionRecord> EXTENSION_PKEY = Internal.createUniqueKey(Extension.EXTENSION, DSL.name("extension_pkey"), new TableField[] { Extension.EXTENSION.ID }, true);
     public static final UniqueKey<ExtensionRecord> UNIQUE_EXTENSION_PUBLIC_ID = Internal.createUniqueKey(Extension.EXTENSION, DSL.name("unique_extension_public_id"), new TableField[] { Extension.EXTENSION.PUBLIC_ID }, true);
+    public static final UniqueKey<ExtensionDependencyRecord> EXTENSION_DEPENDENCY_PKEY = Internal.createUniqueKey(ExtensionDependency.EXTENSION_DEPENDENCY, DSL.name("extension_dependency_pkey"), new TableField[] { ExtensionDependency.EXTENSION_DEPENDENCY.ID }, true);
     public static final UniqueKey<ExtensionReviewRecord> EXTENSION_REVIEW_PKEY = Internal.createUniqueKey(ExtensionReview.EXTENSION_REVIEW, DSL.name("extension_review_pkey"), new TableField[] { ExtensionReview.EXTENSION_REVIEW.ID }, true);
     public static final UniqueKey<ExtensionVersionRecord> EXTENSION_VERSION_PKEY = Internal.createUniqueKey(ExtensionVersion.EXTENSION_VERSION, DSL.name("extension_version_pkey"), new TableField[] { ExtensionVersion.EXTENSION_VERSION.ID }, true);
     public static final UniqueKey<ExtensionVersionRecord> UNIQUE_EXTENSION_VERSION = Internal.createUniqueKey(ExtensionVersion.EXTENSION_VERSION, DSL.name("unique_extension_version"), new TableField[] { ExtensionVersion.EXTENSION_VERSION.EXTENSION_ID, ExtensionVersion.EXTENSION_VERSION.TARGET_PLATFORM, ExtensionVersion.EXTENSION_VERSION.VERSION }, true);
@@ -99,9 +108,12 @@ public class Keys {
     public static final UniqueKey<NamespaceRecord> UNIQUE_NAMESPACE_PUBLIC_ID = Internal.createUniqueKey(Namespace.NAMESPACE, DSL.name("unique_namespace_public_id"), new TableField[] { Namespace.NAMESPACE.PUBLIC_ID }, true);
     public static final UniqueKey<NamespaceMembershipRecord> NAMESPACE_MEMBERSHIP_PKEY = Internal.createUniqueKey(NamespaceMembership.NAMESPACE_MEMBERSHIP, DSL.name("namespace_membership_pkey"), new TableField[] { NamespaceMembership.NAMESPACE_MEMBERSHIP.ID }, true);
     public static final UniqueKey<NamespaceMembershipRecord> UNIQUE_NAMESPACE_MEMBERSHIP = Internal.createUniqueKey(NamespaceMembership.NAMESPACE_MEMBERSHIP, DSL.name("unique_namespace_membership"), new TableField[] { NamespaceMembership.NAMESPACE_MEMBERSHIP.USER_DATA, NamespaceMembership.NAMESPACE_MEMBERSHIP.NAMESPACE }, true);
+    public static final UniqueKey<NamespaceStatisticsRecord> NAMESPACE_STATISTICS_PKEY = Internal.createUniqueKey(NamespaceStatistics.NAMESPACE_STATISTICS, DSL.name("namespace_statistics_pkey"), new TableField[] { NamespaceStatistics.NAMESPACE_STATISTICS.NAMESPACE_ID }, true);
     public static final UniqueKey<PersistedLogRecord> PERSISTED_LOG_PKEY = Internal.createUniqueKey(PersistedLog.PERSISTED_LOG, DSL.name("persisted_log_pkey"), new TableField[] { PersistedLog.PERSISTED_LOG.ID }, true);
     public static final UniqueKey<PersonalAccessTokenRecord> PERSONAL_ACCESS_TOKEN_PKEY = Internal.createUniqueKey(PersonalAccessToken.PERSONAL_ACCESS_TOKEN, DSL.name("personal_access_token_pkey"), new TableField[] { PersonalAccessToken.PERSONAL_ACCESS_TOKEN.ID }, true);
     public static final UniqueKey<PersonalAccessTokenRecord> UKJEUD5MSSQBQKID58RD2K1INOF = Internal.createUniqueKey(PersonalAccessToken.PERSONAL_ACCESS_TOKEN, DSL.name("ukjeud5mssqbqkid58rd2k1inof"), new TableField[] { PersonalAccessToken.PERSONAL_ACCESS_TOKEN.VALUE }, true);
+    public static final UniqueKey<PublisherStatisticsRecord> PUBLISHER_STATISTICS_PKEY = Internal.createUniqueKey(PublisherStatistics.PUBLISHER_STATISTICS, DSL.name("publisher_statistics_pkey"), new TableField[] { PublisherStatistics.PUBLISHER_STATISTICS.USER_DATA_ID }, true);
+    public static final UniqueKey<RateLimitBucketRecord> RATE_LIMIT_BUCKET_PKEY = Internal.createUniqueKey(RateLimitBucket.RATE_LIMIT_BUCKET, DSL.name("rate_limit_bucket_pkey"), new TableField[] { RateLimitBucket.RATE_LIMIT_BUCKET.ID }, true);
     public static final UniqueKey<ShedlockRecord> SHEDLOCK_PKEY = Internal.createUniqueKey(Shedlock.SHEDLOCK, DSL.name("shedlock_pkey"), new TableField[] { Shedlock.SHEDLOCK.NAME }, true);
     public static final UniqueKey<SignatureKeyPairRecord> SIGNATURE_KEY_PAIR_PKEY = Internal.createUniqueKey(SignatureKeyPair.SIGNATURE_KEY_PAIR, DSL.name("signature_key_pair_pkey"), new TableField[] { SignatureKeyPair.SIGNATURE_KEY_PAIR.ID }, true);
     public static final UniqueKey<SignatureKeyPairRecord> SIGNATURE_KEY_PAIR_UNIQUE_PUBLIC_ID = Internal.createUniqueKey(SignatureKeyPair.SIGNATURE_KEY_PAIR, DSL.name("signature_key_pair_unique_public_id"), new TableField[] { SignatureKeyPair.SIGNATURE_KEY_PAIR.PUBLIC_ID }, true);
@@ -122,6 +134,7 @@ public class Keys {
     public static final ForeignKey<AdminStatisticsTopNamespaceExtensionsRecord, AdminStatisticsRecord> ADMIN_STATISTICS_TOP_NAMESPACE_EXTENSIONS__ADMIN_STATISTICS_TOP_NAMESPACE_EXTENSIONS_FKEY = Internal.createForeignKey(AdminStatisticsTopNamespaceExtensions.ADMIN_STATISTICS_TOP_NAMESPACE_EXTENSIONS, DSL.name("admin_statistics_top_namespace_extensions_fkey"), new TableField[] { AdminStatisticsTopNamespaceExtensions.ADMIN_STATISTICS_TOP_NAMESPACE_EXTENSIONS.ADMIN_STATISTICS_ID }, Keys.ADMIN_STATISTICS_PKEY, new TableField[] { AdminStatistics.ADMIN_STATISTICS.ID }, true);
     public static final ForeignKey<ExtensionRecord, ExtensionRecord> EXTENSION__EXTENSION_REPLACEMENT_ID_FKEY = Internal.createForeignKey(Extension.EXTENSION, DSL.name("extension_replacement_id_fkey"), new TableField[] { Extension.EXTENSION.REPLACEMENT_ID }, Keys.EXTENSION_PKEY, new TableField[] { Extension.EXTENSION.ID }, true);
     public static final ForeignKey<ExtensionRecord, NamespaceRecord> EXTENSION__FK64IMD3NRJ67D50TPKJS94NGMN = Internal.createForeignKey(Extension.EXTENSION, DSL.name("fk64imd3nrj67d50tpkjs94ngmn"), new TableField[] { Extension.EXTENSION.NAMESPACE_ID }, Keys.NAMESPACE_PKEY, new TableField[] { Namespace.NAMESPACE.ID }, true);
+    public static final ForeignKey<ExtensionDependencyRecord, ExtensionVersionRecord> EXTENSION_DEPENDENCY__EXTENSION_DEPENDENCY_EXTENSION_VERSION_FKEY = Internal.createForeignKey(ExtensionDependency.EXTENSION_DEPENDENCY, DSL.name("extension_dependency_extension_version_fkey"), new TableField[] { ExtensionDependency.EXTENSION_DEPENDENCY.EXTENSION_VERSION_ID }, Keys.EXTENSION_VERSION_PKEY, new TableField[] { ExtensionVersion.EXTENSION_VERSION.ID }, true);
     public static final ForeignKey<ExtensionReviewRecord, ExtensionRecord> EXTENSION_REVIEW__FKGD2DQDC23OGBNOBX8AFJFPNKP = Internal.createForeignKey(ExtensionReview.EXTENSION_REVIEW, DSL.name("fkgd2dqdc23ogbnobx8afjfpnkp"), new TableField[] { ExtensionReview.EXTENSION_REVIEW.EXTENSION_ID }, Keys.EXTENSION_PKEY, new TableField[] { Extension.EXTENSION.ID }, true);
     public static final ForeignKey<ExtensionReviewRecord, UserDataRecord> EXTENSION_REVIEW__FKINJBN9GRK135Y6IK0UT4UJP0W = Internal.createForeignKey(ExtensionReview.EXTENSION_REVIEW, DSL.name("fkinjbn9grk135y6ik0ut4ujp0w"), new TableField[] { ExtensionReview.EXTENSION_REVIEW.USER_ID }, Keys.USER_DATA_PKEY, new TableField[] { UserData.USER_DATA.ID }, true);
     public static final ForeignKey<ExtensionVersionRecord, SignatureKeyPairRecord> EXTENSION_VERSION__EXTENSION_VERSION_SIGNATURE_KEY_PAIR_FKEY = Internal.createForeignKey(ExtensionVersion.EXTENSION_VERSION, DSL.name("extension_version_signature_key_pair_fkey"), new TableField[] { ExtensionVersion.EXTENSION_VERSION.SIGNATURE_KEY_PAIR_ID }, Keys.SIGNATURE_KEY_PAIR_PKEY, new TableField[] { SignatureKeyPair.SIGNATURE_KEY_PAIR.ID }, true);
@@ -131,7 +144,9 @@ public class Keys {
     public static final ForeignKey<NamespaceMembershipRecord, NamespaceRecord> NAMESPACE_MEMBERSHIP__FKGFHWHKNULA6DO2N6WYVQETM3N = Internal.createForeignKey(NamespaceMembership.NAMESPACE_MEMBERSHIP, DSL.name("fkgfhwhknula6do2n6wyvqetm3n"), new TableField[] { NamespaceMembership.NAMESPACE_MEMBERSHIP.NAMESPACE }, Keys.NAMESPACE_PKEY, new TableField[] { Namespace.NAMESPACE.ID }, true);
     public static final ForeignKey<NamespaceMembershipRecord, UserDataRecord> NAMESPACE_MEMBERSHIP__FKNSAMEKUTXYWVSB3S1MJDCJKYP = Internal.createForeignKey(NamespaceMembership.NAMESPACE_MEMBERSHIP, DSL.name("fknsamekutxywvsb3s1mjdcjkyp"), new TableField[] { NamespaceMembership.NAMESPACE_MEMBERSHIP.USER_DATA }, Keys.USER_DATA_PKEY, new TableField[] { UserData.USER_DATA.ID }, true);
     public static final ForeignKey<NamespaceSocialLinksRecord, NamespaceRecord> NAMESPACE_SOCIAL_LINKS__NAMESPACE_SOCIAL_LINKS_FKEY = Internal.createForeignKey(NamespaceSocialLinks.NAMESPACE_SOCIAL_LINKS, DSL.name("namespace_social_links_fkey"), new TableField[] { NamespaceSocialLinks.NAMESPACE_SOCIAL_LINKS.NAMESPACE_ID }, Keys.NAMESPACE_PKEY, new TableField[] { Namespace.NAMESPACE.ID }, true);
+    public static final ForeignKey<NamespaceStatisticsRecord, NamespaceRecord> NAMESPACE_STATISTICS__NAMESPACE_STATISTICS_NAMESPACE_FKEY = Internal.createForeignKey(NamespaceStatistics.NAMESPACE_STATISTICS, DSL.name("namespace_statistics_namespace_fkey"), new TableField[] { NamespaceStatistics.NAMESPACE_STATISTICS.NAMESPACE_ID }, Keys.NAMESPACE_PKEY, new TableField[] { Namespace.NAMESPACE.ID }, true);
     public static final ForeignKey<PersistedLogRecord, UserDataRecord> PERSISTED_LOG__PERSISTED_LOG_USER_DATA_FKEY = Internal.createForeignKey(PersistedLog.PERSISTED_LOG, DSL.name("persisted_log_user_data_fkey"), new TableField[] { PersistedLog.PERSISTED_LOG.USER_DATA }, Keys.USER_DATA_PKEY, new TableField[] { UserData.USER_DATA.ID }, true);
     public static final ForeignKey<PersonalAccessTokenRecord, UserDataRecord> PERSONAL_ACCESS_TOKEN__FKTQJVMHOIG3WTTJ6DL1IBCAJ3L = Internal.createForeignKey(PersonalAccessToken.PERSONAL_ACCESS_TOKEN, DSL.name("fktqjvmhoig3wttj6dl1ibcaj3l"), new TableField[] { PersonalAccessToken.PERSONAL_ACCESS_TOKEN.USER_DATA }, Keys.USER_DATA_PKEY, new TableField[] { UserData.USER_DATA.ID }, true);
+    public static final ForeignKey<PublisherStatisticsRecord, UserDataRecord> PUBLISHER_STATISTICS__PUBLISHER_STATISTICS_USER_DATA_FKEY = Internal.createForeignKey(PublisherStatistics.PUBLISHER_STATISTICS, DSL.name("publisher_statistics_user_data_fkey"), new TableField[] { PublisherStatistics.PUBLISHER_STATISTICS.USER_DATA_ID }, Keys.USER_DATA_PKEY, new TableField[] { UserData.USER_DATA.ID }, true);
     public static final ForeignKey<SpringSessionAttributesRecord, SpringSessionRecord> SPRING_SESSION_ATTRIBUTES__SPRING_SESSION_ATTRIBUTES_FK = Internal.createForeignKey(SpringSessionAttributes.SPRING_SESSION_ATTRIBUTES, DSL.name("spring_session_attributes_fk"), new TableField[] { SpringSessionAttributes.SPRING_SESSION_ATTRIBUTES.SESSION_PRIMARY_ID }, Keys.SPRING_SESSION_PK, new TableField[] { SpringSession.SPRING_SESSION.PRIMARY_ID }, true);
 }
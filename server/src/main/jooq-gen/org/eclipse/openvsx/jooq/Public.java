@@ -16,6 +16,7 @@ import org.eclipse.openvsx.jooq.tables.AdminStatisticsTopNamespaceExtensionVersi
 import org.eclipse.openvsx.jooq.tables.AdminStatisticsTopNamespaceExtensions;
 import org.eclipse.openvsx.jooq.tables.AzureDownloadCountProcessedItem;
 import org.eclipse.openvsx.jooq.tables.Extension;
+import org.eclipse.openvsx.jooq.tables.ExtensionDependency;
 import org.eclipse.openvsx.jooq.tables.ExtensionReview;
 import org.eclipse.openvsx.jooq.tables.ExtensionVersion;
 import org.eclipse.openvsx.jooq.tables.FileResource;
@@ -30,8 +31,11 @@ import org.eclipse.openvsx.jooq.tables.MigrationItem;
 import org.eclipse.openvsx.jooq.tables.Namespace;
 import org.eclipse.openvsx.jooq.tables.NamespaceMembership;
 import org.eclipse.openvsx.jooq.tables.NamespaceSocialLinks;
+import org.eclipse.openvsx.jooq.tables.NamespaceStatistics;
 import org.eclipse.openvsx.jooq.tables.PersistedLog;
 import org.eclipse.openvsx.jooq.tables.PersonalAccessToken;
+import org.eclipse.openvsx.jooq.tables.PublisherStatistics;
+import org.eclipse.openvsx.jooq.tables.RateLimitBucket;
 import org.eclipse.openvsx.jooq.tables.Shedlock;
 import org.eclipse.openvsx.jooq.tables.SignatureKeyPair;
 import org.eclipse.openvsx.jooq.tables.SpringSession;
@@ -105,6 +109,11 @@ public class Public extends SchemaImpl {
      */
     public final Extension EXTENSION = Extension.EXTENSION;
 
+    /**
+     * The table <code>public.extension_dependency</code>.
+     */
+    public final ExtensionDependency EXTENSION_DEPENDENCY = ExtensionDependency.EXTENSION_DEPENDENCY;
+
     /**
      * The table <code>public.extension_review</code>.
      */
@@ -175,6 +184,11 @@ public class Public extends SchemaImpl {
      */
     public final NamespaceSocialLinks NAMESPACE_SOCIAL_LINKS = NamespaceSocialLinks.NAMESPACE_SOCIAL_LINKS;
 
+    /**
+     * The table <code>public.namespace_statistics</code>.
+     */
+    public final NamespaceStatistics NAMESPACE_STATISTICS = NamespaceStatistics.NAMESPACE_STATISTICS;
+
     /**
      * The table <code>public.persisted_log</code>.
      */
@@ -185,6 +199,16 @@ public class Public extends SchemaImpl {
      */
     public final PersonalAccessToken PERSONAL_ACCESS_TOKEN = PersonalAccessToken.PERSONAL_ACCESS_TOKEN;
 
+    /**
+     * The table <code>public.publisher_statistics</code>.
+     */
+    public final PublisherStatistics PUBLISHER_STATISTICS = PublisherStatistics.PUBLISHER_STATISTICS;
+
+    /**
+     * The table <code>public.rate_limit_bucket</code>.
+     */
+    public final RateLimitBucket RATE_LIMIT_BUCKET = RateLimitBucket.RATE_LIMIT_BUCKET;
+
     /**
      * The table <code>public.shedlock</code>.
      */
@@ -228,6 +252,7 @@ public class Public extends SchemaImpl {
         return Arrays.asList(
             Sequences.ADMIN_STATISTICS_SEQ,
             Sequences.AZURE_DOWNLOAD_COUNT_PROCESSED_ITEM_SEQ,
+            Sequences.EXTENSION_DEPENDENCY_SEQ,
             Sequences.EXTENSION_REVIEW_SEQ,
             Sequences.EXTENSION_SEQ,
             Sequences.EXTENSION_VERSION_SEQ,
@@ -255,6 +280,7 @@ public class Public extends SchemaImpl {
             AdminStatisticsTopNamespaceExtensions.ADMIN_STATISTICS_TOP_NAMESPACE_EXTENSIONS,
             AzureDownloadCountProcessedItem.AZURE_DOWNLOAD_COUNT_PROCESSED_ITEM,
             Extension.EXTENSION,
+            ExtensionDependency.EXTENSION_DEPENDENCY,
             ExtensionReview.EXTENSION_REVIEW,
             ExtensionVersion.EXTENSION_VERSION,
             FileResource.FILE_RESOURCE,
@@ -269,8 +295,11 @@ public class Public extends SchemaImpl {
             Namespace.NAMESPACE,
             NamespaceMembership.NAMESPACE_MEMBERSHIP,
             NamespaceSocialLinks.NAMESPACE_SOCIAL_LINKS,
+            NamespaceStatistics.NAMESPACE_STATISTICS,
             PersistedLog.PERSISTED_LOG,
             PersonalAccessToken.PERSONAL_ACCESS_TOKEN,
+            PublisherStatistics.PUBLISHER_STATISTICS,
+            RateLimitBucket.RATE_LIMIT_BUCKET,
             Shedlock.SHEDLOCK,
             SignatureKeyPair.SIGNATURE_KEY_PAIR,
             SpringSession.SPRING_SESSION,
@@ -25,6 +25,11 @@ public class Sequences {
      */
     public static final Sequence<Long> AZURE_DOWNLOAD_COUNT_PROCESSED_ITEM_SEQ = Internal.createSequence("azure_download_count_processed_item_seq", Public.PUBLIC, SQLDataType.BIGINT.nullable(false), null, 50, null, null, false, null);
 
+    /**
+     * The sequence <code>public.extension_dependency_seq</code>
+     */
+    public static final Sequence<Long> EXTENSION_DEPENDENCY_SEQ = Internal.createSequence("extension_dependency_seq", Public.PUBLIC, SQLDataType.BIGINT.nullable(false), null, 50, null, null, false, null);
+
     /**
      * The sequence <code>public.extension_review_seq</code>
      */
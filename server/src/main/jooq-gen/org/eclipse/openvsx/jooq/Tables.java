@@ -13,6 +13,7 @@ import org.eclipse.openvsx.jooq.tables.AdminStatisticsTopNamespaceExtensionVersi
 import org.eclipse.openvsx.jooq.tables.AdminStatisticsTopNamespaceExtensions;
 import org.eclipse.openvsx.jooq.tables.AzureDownloadCountProcessedItem;
 import org.eclipse.openvsx.jooq.tables.Extension;
+import org.eclipse.openvsx.jooq.tables.ExtensionDependency;
 import org.eclipse.openvsx.jooq.tables.ExtensionReview;
 import org.eclipse.openvsx.jooq.tables.ExtensionVersion;
 import org.eclipse.openvsx.jooq.tables.FileResource;
@@ -27,8 +28,11 @@ import org.eclipse.openvsx.jooq.tables.MigrationItem;
 import org.eclipse.openvsx.jooq.tables.Namespace;
 import org.eclipse.openvsx.jooq.tables.NamespaceMembership;
 import org.eclipse.openvsx.jooq.tables.NamespaceSocialLinks;
+import org.eclipse.openvsx.jooq.tables.NamespaceStatistics;
 import org.eclipse.openvsx.jooq.tables.PersistedLog;
 import org.eclipse.openvsx.jooq.tables.PersonalAccessToken;
+import org.eclipse.openvsx.jooq.tables.PublisherStatistics;
+import org.eclipse.openvsx.jooq.tables.RateLimitBucket;
 import org.eclipse.openvsx.jooq.tables.Shedlock;
 import org.eclipse.openvsx.jooq.tables.SignatureKeyPair;
 import org.eclipse.openvsx.jooq.tables.SpringSession;
@@ -91,6 +95,11 @@ public class Tables {
      */
     public static final Extension EXTENSION = Extension.EXTENSION;
 
+    /**
+     * The table <code>public.extension_dependency</code>.
+     */
+    public static final ExtensionDependency EXTENSION_DEPENDENCY = ExtensionDependency.EXTENSION_DEPENDENCY;
+
     /**
      * The table <code>public.extension_review</code>.
      */
@@ -161,6 +170,11 @@ public class Tables {
      */
     public static final NamespaceSocialLinks NAMESPACE_SOCIAL_LINKS = NamespaceSocialLinks.NAMESPACE_SOCIAL_LINKS;
 
+    /**
+     * The table <code>public.namespace_statistics</code>.
+     */
+    public static final NamespaceStatistics NAMESPACE_STATISTICS = NamespaceStatistics.NAMESPACE_STATISTICS;
+
     /**
      * The table <code>public.persisted_log</code>.
      */
@@ -171,6 +185,16 @@ public class Tables {
      */
     public static final PersonalAccessToken PERSONAL_ACCESS_TOKEN = PersonalAccessToken.PERSONAL_ACCESS_TOKEN;
 
+    /**
+     * The table <code>public.publisher_statistics</code>.
+     */
+    public static final PublisherStatistics PUBLISHER_STATISTICS = PublisherStatistics.PUBLISHER_STATISTICS;
+
+    /**
+     * The table <code>public.rate_limit_bucket</code>.
+     */
+    public static final RateLimitBucket RATE_LIMIT_BUCKET = RateLimitBucket.RATE_LIMIT_BUCKET;
+
     /**
      * The table <code>public.shedlock</code>.
      */
@@ -158,7 +158,7 @@ public class Extension extends TableImpl<ExtensionRecord> {
 
     @Override
     public List<Index> getIndexes() {
-        return Arrays.asList(Indexes.EXTENSION__NAMESPACE_ID__IDX);
+        return Arrays.asList(Indexes.EXTENSION__NAMESPACE_ID__IDX, Indexes.EXTENSION_RATING_IDX);
     }
 
     @Override
@@ -136,32 +136,32 @@ public class ExtensionVersion extends TableImpl<ExtensionVersionRecord> {
     /**
      * The column <code>public.extension_version.dependencies</code>.
      */
-    public final TableField<ExtensionVersionRecord, String> DEPENDENCIES = createField(DSL.name("dependencies"), SQLDataType.VARCHAR(2048), this, "");
+    public final TableField<ExtensionVersionRecord, String[]> DEPENDENCIES = createField(DSL.name("dependencies"), SQLDataType.CLOB.array(), this, "");
 
     /**
      * The column <code>public.extension_version.bundled_extensions</code>.
      */
-    public final TableField<ExtensionVersionRecord, String> BUNDLED_EXTENSIONS = createField(DSL.name("bundled_extensions"), SQLDataType.VARCHAR(2048), this, "");
+    public final TableField<ExtensionVersionRecord, String[]> BUNDLED_EXTENSIONS = createField(DSL.name("bundled_extensions"), SQLDataType.CLOB.array(), this, "");
 
     /**
      * The column <code>public.extension_version.engines</code>.
      */
-    public final TableField<ExtensionVersionRecord, String> ENGINES = createField(DSL.name("engines"), SQLDataType.VARCHAR(2048), this, "");
+    public final TableField<ExtensionVersionRecord, String[]> ENGINES = createField(DSL.name("engines"), SQLDataType.CLOB.array(), this, "");
 
     /**
      * The column <code>public.extension_version.categories</code>.
      */
-    public final TableField<ExtensionVersionRecord, String> CATEGORIES = createField(DSL.name("categories"), SQLDataType.VARCHAR(2048), this, "");
+    public final TableField<ExtensionVersionRecord, String[]> CATEGORIES = createField(DSL.name("categories"), SQLDataType.CLOB.array(), this, "");
 
     /**
      * The column <code>public.extension_version.tags</code>.
      */
-    public final TableField<ExtensionVersionRecord, String> TAGS = createField(DSL.name("tags"), SQLDataType.VARCHAR(16384), this, "");
+    public final TableField<ExtensionVersionRecord, String[]> TAGS = createField(DSL.name("tags"), SQLDataType.CLOB.array(), this, "");
 
     /**
      * The column <code>public.extension_version.extension_kind</code>.
      */
-    public final TableField<ExtensionVersionRecord, String> EXTENSION_KIND = createField(DSL.name("extension_kind"), SQLDataType.VARCHAR(255), this, "");
+    public final TableField<ExtensionVersionRecord, String[]> EXTENSION_KIND = createField(DSL.name("extension_kind"), SQLDataType.CLOB.array(), this, "");
 
     /**
      * The column <code>public.extension_version.pre_release</code>.
@@ -176,7 +176,7 @@ public class ExtensionVersion extends TableImpl<ExtensionVersionRecord> {
     /**
      * The column <code>public.extension_version.localized_languages</code>.
      */
-    public final TableField<ExtensionVersionRecord, String> LOCALIZED_LANGUAGES = createField(DSL.name("localized_languages"), SQLDataType.VARCHAR(255), this, "");
+    public final TableField<ExtensionVersionRecord, String[]> LOCALIZED_LANGUAGES = createField(DSL.name("localized_languages"), SQLDataType.CLOB.array(), this, "");
 
     /**
      * The column <code>public.extension_version.sponsor_link</code>.
@@ -14,12 +14,12 @@ import org.eclipse.openvsx.jooq.Public;
 import org.eclipse.openvsx.jooq.tables.records.FileResourceRecord;
 import org.jooq.Field;
 import org.jooq.ForeignKey;
-import org.jooq.Function6;
+import org.jooq.Function10;
 import org.jooq.Index;
 import org.jooq.Name;
 import org.jooq.Record;
 import org.jooq.Records;
-import org.jooq.Row6;
+import org.jooq.Row10;
 import org.jooq.Schema;
 import org.jooq.SelectField;
 import org.jooq.Table;
@@ -82,6 +82,26 @@ public class FileResource extends TableImpl<FileResourceRecord> {
      */
     public final TableField<FileResourceRecord, String> STORAGE_TYPE = createField(DSL.name("storage_type"), SQLDataType.VARCHAR(32), this, "");
 
+    /**
+     * The column <code>public.file_resource.entry_offset</code>.
+     */
+    public final TableField<FileResourceRecord, Long> ENTRY_OFFSET = createField(DSL.name("entry_offset"), SQLDataType.BIGINT, this, "");
+
+    /**
+     * The column <code>public.file_resource.entry_compressed_size</code>.
+     */
+    public final TableField<FileResourceRecord, Long> ENTRY_COMPRESSED_SIZE = createField(DSL.name("entry_compressed_size"), SQLDataType.BIGINT, this, "");
+
+    /**
+     * The column <code>public.file_resource.entry_size</code>.
+     */
+    public final TableField<FileResourceRecord, Long> ENTRY_SIZE = createField(DSL.name("entry_size"), SQLDataType.BIGINT, this, "");
+
+    /**
+     * The column <code>public.file_resource.entry_method</code>.
+     */
+    public final TableField<FileResourceRecord, Integer> ENTRY_METHOD = createField(DSL.name("entry_method"), SQLDataType.INTEGER, this, "");
+
     private FileResource(Name alias, Table<FileResourceRecord> aliased) {
         this(alias, aliased, null);
     }
@@ -188,18 +208,18 @@ public class FileResource extends TableImpl<FileResourceRecord> {
     }
 
     // -------------------------------------------------------------------------
-    // Row6 type methods
+    // Row10 type methods
     // -------------------------------------------------------------------------
 
     @Override
-    public Row6<Long, String, byte[], Long, String, String> fieldsRow() {
-        return (Row6) super.fieldsRow();
+    public Row10<Long, String, byte[], Long, String, String, Long, Long, Long, Integer> fieldsRow() {
+        return (Row10) super.fieldsRow();
     }
 
     /**
      * Convenience mapping calling {@link SelectField#convertFrom(Function)}.
      */
-    public <U> SelectField<U> mapping(Function6<? super Long, ? super String, ? super byte[], ? super Long, ? super String, ? super String, ? extends U> from) {
+    public <U> SelectField<U> mapping(Function10<? super Long, ? super String, ? super byte[], ? super Long, ? super String, ? super String, ? super Long, ? super Long, ? super Long, ? super Integer, ? extends U> from) {
         return convertFrom(Records.mapping(from));
     }
 
@@ -207,7 +227,7 @@ public class FileResource extends TableImpl<FileResourceRecord> {
      * Convenience mapping calling {@link SelectField#convertFrom(Class,
      * Function)}.
      */
-    public <U> SelectField<U> mapping(Class<U> toType, Function6<? super Long, ? super String, ? super byte[], ? super Long, ? super String, ? super String, ? extends U> from) {
+    public <U> SelectField<U> mapping(Class<U> toType, Function10<? super Long, ? super String, ? super byte[], ? super Long, ? super String, ? super String, ? super Long, ? super Long, ? super Long, ? super Integer, ? extends U> from) {
         return convertFrom(toType, Records.mapping(from));
     }
 }
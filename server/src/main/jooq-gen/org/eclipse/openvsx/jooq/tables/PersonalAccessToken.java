@@ -9,12 +9,14 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.function.Function;
 
+import org.eclipse.openvsx.jooq.Indexes;
 import org.eclipse.openvsx.jooq.Keys;
 import org.eclipse.openvsx.jooq.Public;
 import org.eclipse.openvsx.jooq.tables.records.PersonalAccessTokenRecord;
 import org.jooq.Field;
 import org.jooq.ForeignKey;
 import org.jooq.Function7;
+import org.jooq.Index;
 import org.jooq.Name;
 import org.jooq.Record;
 import org.jooq.Records;
@@ -126,6 +128,11 @@ public class PersonalAccessToken extends TableImpl<PersonalAccessTokenRecord> {
         return aliased() ? null : Public.PUBLIC;
     }
 
+    @Override
+    public List<Index> getIndexes() {
+        return Arrays.asList(Indexes.PERSONAL_ACCESS_TOKEN__USER_DATA__IDX);
+    }
+
     @Override
     public UniqueKey<PersonalAccessTokenRecord> getPrimaryKey() {
         return Keys.PERSONAL_ACCESS_TOKEN_PKEY;
@@ -260,85 +260,85 @@ public class ExtensionVersionRecord extends UpdatableRecordImpl<ExtensionVersion
     /**
      * Setter for <code>public.extension_version.dependencies</code>.
      */
-    public void setDependencies(String value) {
+    public void setDependencies(String[] value) {
         set(17, value);
     }
 
     /**
      * Getter for <code>public.extension_version.dependencies</code>.
      */
-    public String getDependencies() {
-        return (String) get(17);
+    public String[] getDependencies() {
+        return (String[]) get(17);
     }
 
     /**
      * Setter for <code>public.extension_version.bundled_extensions</code>.
      */
-    public void setBundledExtensions(String value) {
+    public void setBundledExtensions(String[] value) {
         set(18, value);
     }
 
     /**
      * Getter for <code>public.extension_version.bundled_extensions</code>.
      */
-    public String getBundledExtensions() {
-        return (String) get(18);
+    public String[] getBundledExtensions() {
+        return (String[]) get(18);
     }
 
     /**
      * Setter for <code>public.extension_version.engines</code>.
      */
-    public void setEngines(String value) {
+    public void setEngines(String[] value) {
         set(19, value);
     }
 
     /**
      * Getter for <code>public.extension_version.engines</code>.
      */
-    public String getEngines() {
-        return (String) get(19);
+    public String[] getEngines() {
+        return (String[]) get(19);
     }
 
     /**
      * Setter for <code>public.extension_version.categories</code>.
      */
-    public void setCategories(String value) {
+    public void setCategories(String[] value) {
         set(20, value);
     }
 
     /**
      * Getter for <code>public.extension_version.categories</code>.
      */
-    public String getCategories() {
-        return (String) get(20);
+    public String[] getCategories() {
+        return (String[]) get(20);
     }
 
     /**
      * Setter for <code>public.extension_version.tags</code>.
      */
-    public void setTags(String value) {
+    public void setTags(String[] value) {
         set(21, value);
     }
 
     /**
      * Getter for <code>public.extension_version.tags</code>.
      */
-    public String getTags() {
-        return (String) get(21);
+    public String[] getTags() {
+        return (String[]) get(21);
     }
 
     /**
      * Setter for <code>public.extension_version.extension_kind</code>.
      */
-    public void setExtensionKind(String value) {
+    public void setExtensionKind(String[] value) {
         set(22, value);
     }
 
     /**
      * Getter for <code>public.extension_version.extension_kind</code>.
      */
-    public String getExtensionKind() {
-        return (String) get(22);
+    public String[] getExtensionKind() {
+        return (String[]) get(22);
     }
 
     /**
@@ -372,15 +372,15 @@ public class ExtensionVersionRecord extends UpdatableRecordImpl<ExtensionVersion
     /**
      * Setter for <code>public.extension_version.localized_languages</code>.
      */
-    public void setLocalizedLanguages(String value) {
+    public void setLocalizedLanguages(String[] value) {
         set(25, value);
     }
 
     /**
      * Getter for <code>public.extension_version.localized_languages</code>.
      */
-    public String getLocalizedLanguages() {
-        return (String) get(25);
+    public String[] getLocalizedLanguages() {
+        return (String[]) get(25);
     }
 
     /**
@@ -550,7 +550,7 @@ public class ExtensionVersionRecord extends UpdatableRecordImpl<ExtensionVersion
     /**
      * Create a detached, initialised ExtensionVersionRecord
      */
-    public ExtensionVersionRecord(Long id, String bugs, String description, String displayName, String galleryColor, String galleryTheme, String homepage, String license, String markdown, Boolean preview, String qna, String repository, LocalDateTime timestamp, String version, Long extensionId, Long publishedWithId, Boolean active, String dependencies, String bundledExtensions, String engines, String categories, String tags, String extensionKind, Boolean preRelease, String targetPlatform, String localizedLanguages, String sponsorLink, Long signatureKeyPairId, Integer semverMajor, Integer semverMinor, Integer semverPatch, String semverPreRelease, Boolean semverIsPreRelease, String semverBuildMetadata, Boolean universalTargetPlatform, Boolean potentiallyMalicious) {
+    public ExtensionVersionRecord(Long id, String bugs, String description, String displayName, String galleryColor, String galleryTheme, String homepage, String license, String markdown, Boolean preview, String qna, String repository, LocalDateTime timestamp, String version, Long extensionId, Long publishedWithId, Boolean active, String[] dependencies, String[] bundledExtensions, String[] engines, String[] categories, String[] tags, String[] extensionKind, Boolean preRelease, String targetPlatform, String[] localizedLanguages, String sponsorLink, Long signatureKeyPairId, Integer semverMajor, Integer semverMinor, Integer semverPatch, String semverPreRelease, Boolean semverIsPreRelease, String semverBuildMetadata, Boolean universalTargetPlatform, Boolean potentiallyMalicious) {
         super(ExtensionVersion.EXTENSION_VERSION);
 
         setId(id);
@@ -7,8 +7,8 @@ package org.eclipse.openvsx.jooq.tables.records;
 import org.eclipse.openvsx.jooq.tables.FileResource;
 import org.jooq.Field;
 import org.jooq.Record1;
-import org.jooq.Record6;
-import org.jooq.Row6;
+import org.jooq.Record10;
+import org.jooq.Row10;
 import org.jooq.impl.UpdatableRecordImpl;
 
 
@@ -16,7 +16,7 @@ import org.jooq.impl.UpdatableRecordImpl;
  * This class is generated by jOOQ.
  */
 @SuppressWarnings({ "all", "unchecked", "rawtypes" })
-public class FileResourceRecord extends UpdatableRecordImpl<FileResourceRecord> implements Record6<Long, String, byte[], Long, String, String> {
+public class FileResourceRecord extends UpdatableRecordImpl<FileResourceRecord> implements Record10<Long, String, byte[], Long, String, String, Long, Long, Long, Integer> {
 
     private static final long serialVersionUID = 1L;
 
@@ -104,6 +104,62 @@ public class FileResourceRecord extends UpdatableRecordImpl<FileResourceRecord>
         return (String) get(5);
     }
 
+    /**
+     * Setter for <code>public.file_resource.entry_offset</code>.
+     */
+    public void setEntryOffset(Long value) {
+        set(6, value);
+    }
+
+    /**
+     * Getter for <code>public.file_resource.entry_offset</code>.
+     */
+    public Long getEntryOffset() {
+        return (Long) get(6);
+    }
+
+    /**
+     * Setter for <code>public.file_resource.entry_compressed_size</code>.
+     */
+    public void setEntryCompressedSize(Long value) {
+        set(7, value);
+    }
+
+    /**
+     * Getter for <code>public.file_resource.entry_compressed_size</code>.
+     */
+    public Long getEntryCompressedSize() {
+        return (Long) get(7);
+    }
+
+    /**
+     * Setter for <code>public.file_resource.entry_size</code>.
+     */
+    public void setEntrySize(Long value) {
+        set(8, value);
+    }
+
+    /**
+     * Getter for <code>public.file_resource.entry_size</code>.
+     */
+    public Long getEntrySize() {
+        return (Long) get(8);
+    }
+
+    /**
+     * Setter for <code>public.file_resource.entry_method</code>.
+     */
+    public void setEntryMethod(Integer value) {
+        set(9, value);
+    }
+
+    /**
+     * Getter for <code>public.file_resource.entry_method</code>.
+     */
+    public Integer getEntryMethod() {
+        return (Integer) get(9);
+    }
+
     // -------------------------------------------------------------------------
     // Primary key information
     // -------------------------------------------------------------------------
@@ -114,17 +170,17 @@ public class FileResourceRecord extends UpdatableRecordImpl<FileResourceRecord>
     }
 
     // -------------------------------------------------------------------------
-    // Record6 type implementation
+    // Record10 type implementation
     // -------------------------------------------------------------------------
 
     @Override
-    public Row6<Long, String, byte[], Long, String, String> fieldsRow() {
-        return (Row6) super.fieldsRow();
+    public Row10<Long, String, byte[], Long, String, String, Long, Long, Long, Integer> fieldsRow() {
+        return (Row10) super.fieldsRow();
     }
 
     @Override
-    public Row6<Long, String, byte[], Long, String, String> valuesRow() {
-        return (Row6) super.valuesRow();
+    public Row10<Long, String, byte[], Long, String, String, Long, Long, Long, Integer> valuesRow() {
+        return (Row10) super.valuesRow();
     }
 
     @Override
@@ -157,6 +213,26 @@ public class FileResourceRecord extends UpdatableRecordImpl<FileResourceRecord>
         return FileResource.FILE_RESOURCE.STORAGE_TYPE;
     }
 
+    @Override
+    public Field<Long> field7() {
+        return FileResource.FILE_RESOURCE.ENTRY_OFFSET;
+    }
+
+    @Override
+    public Field<Long> field8() {
+        return FileResource.FILE_RESOURCE.ENTRY_COMPRESSED_SIZE;
+    }
+
+    @Override
+    public Field<Long> field9() {
+        return FileResource.FILE_RESOURCE.ENTRY_SIZE;
+    }
+
+    @Override
+    public Field<Integer> field10() {
+        return FileResource.FILE_RESOURCE.ENTRY_METHOD;
+    }
+
     @Override
     public Long component1() {
         return getId();
@@ -187,6 +263,26 @@ public class FileResourceRecord extends UpdatableRecordImpl<FileResourceRecord>
         return getStorageType();
     }
 
+    @Override
+    public Long component7() {
+        return getEntryOffset();
+    }
+
+    @Override
+    public Long component8() {
+        return getEntryCompressedSize();
+    }
+
+    @Override
+    public Long component9() {
+        return getEntrySize();
+    }
+
+    @Override
+    public Integer component10() {
+        return getEntryMethod();
+    }
+
     @Override
     public Long value1() {
         return getId();
@@ -217,6 +313,26 @@ public class FileResourceRecord extends UpdatableRecordImpl<FileResourceRecord>
         return getStorageType();
     }
 
+    @Override
+    public Long value7() {
+        return getEntryOffset();
+    }
+
+    @Override
+    public Long value8() {
+        return getEntryCompressedSize();
+    }
+
+    @Override
+    public Long value9() {
+        return getEntrySize();
+    }
+
+    @Override
+    public Integer value10() {
+        return getEntryMethod();
+    }
+
     @Override
     public FileResourceRecord value1(Long value) {
         setId(value);
@@ -254,13 +370,41 @@ public class FileResourceRecord extends UpdatableRecordImpl<FileResourceRecord>
     }
 
     @Override
-    public FileResourceRecord values(Long value1, String value2, byte[] value3, Long value4, String value5, String value6) {
+    public FileResourceRecord value7(Long value) {
+        setEntryOffset(value);
+        return this;
+    }
+
+    @Override
+    public FileResourceRecord value8(Long value) {
+        setEntryCompressedSize(value);
+        return this;
+    }
+
+    @Override
+    public FileResourceRecord value9(Long value) {
+        setEntrySize(value);
+        return this;
+    }
+
+    @Override
+    public FileResourceRecord value10(Integer value) {
+        setEntryMethod(value);
+        return this;
+    }
+
+    @Override
+    public FileResourceRecord values(Long value1, String value2, byte[] value3, Long value4, String value5, String value6, Long value7, Long value8, Long value9, Integer value10) {
         value1(value1);
         value2(value2);
         value3(value3);
         value4(value4);
         value5(value5);
         value6(value6);
+        value7(value7);
+        value8(value8);
+        value9(value9);
+        value10(value10);
         return this;
     }
 
@@ -278,7 +422,7 @@ public class FileResourceRecord extends UpdatableRecordImpl<FileResourceRecord>
     /**
      * Create a detached, initialised FileResourceRecord
      */
-    public FileResourceRecord(Long id, String type, byte[] content, Long extensionId, String name, String storageType) {
+    public FileResourceRecord(Long id, String type, byte[] content, Long extensionId, String name, String storageType, Long entryOffset, Long entryCompressedSize, Long entrySize, Integer entryMethod) {
         super(FileResource.FILE_RESOURCE);
 
         setId(id);
@@ -287,6 +431,10 @@ public class FileResourceRecord extends UpdatableRecordImpl<FileResourceRecord>
         setExtensionId(extensionId);
         setName(name);
         setStorageType(storageType);
+        setEntryOffset(entryOffset);
+        setEntryCompressedSize(entryCompressedSize);
+        setEntrySize(entrySize);
+        setEntryMethod(entryMethod);
         resetChangedOnNotNull();
     }
 }
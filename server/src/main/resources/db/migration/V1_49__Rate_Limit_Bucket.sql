@@ -0,0 +1,9 @@
+-- shared bucket4j state, used when rate limits are enforced across a cluster
+CREATE TABLE rate_limit_bucket (
+    id CHARACTER VARYING(255) NOT NULL,
+    state BYTEA NOT NULL,
+    updated_time TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT rate_limit_bucket_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX rate_limit_bucket_updated_time_idx ON rate_limit_bucket(updated_time);
@@ -0,0 +1,5 @@
+-- jOOQ lookups compare UPPER(name), like the Spring Data IgnoreCase queries,
+-- so namespace and extension lookups use the existing UPPER(name) indexes.
+-- File resources are looked up by name or type within an extension version.
+-- Lookups by type use the leading columns of unique_file_resource(extension_id, type, UPPER(name)).
+CREATE INDEX file_resource_extension_id_upper_name_idx ON file_resource(extension_id, UPPER(name));
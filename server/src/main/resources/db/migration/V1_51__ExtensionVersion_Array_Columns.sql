@@ -0,0 +1,10 @@
+-- Store the list columns of extension_version as text arrays instead of comma-joined strings.
+-- Elements are trimmed and empty elements are dropped, like ListOfStringConverter did on read.
+ALTER TABLE extension_version
+    ALTER COLUMN engines TYPE TEXT[] USING ARRAY_REMOVE(REGEXP_SPLIT_TO_ARRAY(TRIM(engines), '\s*,\s*'), ''),
+    ALTER COLUMN categories TYPE TEXT[] USING ARRAY_REMOVE(REGEXP_SPLIT_TO_ARRAY(TRIM(categories), '\s*,\s*'), ''),
+    ALTER COLUMN tags TYPE TEXT[] USING ARRAY_REMOVE(REGEXP_SPLIT_TO_ARRAY(TRIM(tags), '\s*,\s*'), ''),
+    ALTER COLUMN extension_kind TYPE TEXT[] USING ARRAY_REMOVE(REGEXP_SPLIT_TO_ARRAY(TRIM(extension_kind), '\s*,\s*'), ''),
+    ALTER COLUMN localized_languages TYPE TEXT[] USING ARRAY_REMOVE(REGEXP_SPLIT_TO_ARRAY(TRIM(localized_languages), '\s*,\s*'), ''),
+    ALTER COLUMN dependencies TYPE TEXT[] USING ARRAY_REMOVE(REGEXP_SPLIT_TO_ARRAY(TRIM(dependencies), '\s*,\s*'), ''),
+    ALTER COLUMN bundled_extensions TYPE TEXT[] USING ARRAY_REMOVE(REGEXP_SPLIT_TO_ARRAY(TRIM(bundled_extensions), '\s*,\s*'), '');
@@ -0,0 +1,31 @@
+CREATE TABLE extension_dependency (
+    id BIGINT NOT NULL,
+    extension_version_id BIGINT NOT NULL,
+    type CHARACTER VARYING(32) NOT NULL,
+    namespace_name CHARACTER VARYING(255) NOT NULL,
+    extension_name CHARACTER VARYING(255) NOT NULL,
+    CONSTRAINT extension_dependency_pkey PRIMARY KEY (id),
+    CONSTRAINT extension_dependency_extension_version_fkey FOREIGN KEY (extension_version_id) REFERENCES extension_version(id) ON DELETE CASCADE
+);
+
+CREATE SEQUENCE extension_dependency_seq INCREMENT 50 OWNED BY public.extension_dependency.id;
+
+-- forward lookups: dependencies of an extension version
+CREATE INDEX extension_dependency_extension_version_id_idx ON extension_dependency(extension_version_id);
+-- reverse lookups: extension versions that depend on or bundle an extension
+CREATE INDEX extension_dependency_upper_name_idx ON extension_dependency(UPPER(namespace_name), UPPER(extension_name), type);
+
+-- backfill from the extension_version array columns, skipping malformed extension ids
+INSERT INTO extension_dependency(id, extension_version_id, type, namespace_name, extension_name)
+SELECT ROW_NUMBER() OVER (ORDER BY d.extension_version_id), d.extension_version_id, d.type, d.namespace_name, d.extension_name
+FROM (
+    SELECT ev.id extension_version_id, 'dependency' type, SPLIT_PART(ref, '.', 1) namespace_name, SPLIT_PART(ref, '.', 2) extension_name
+    FROM extension_version ev, UNNEST(ev.dependencies) ref
+    WHERE ref ~ '^[^.]+\.[^.]+$'
+    UNION
+    SELECT ev.id extension_version_id, 'bundle' type, SPLIT_PART(ref, '.', 1) namespace_name, SPLIT_PART(ref, '.', 2) extension_name
+    FROM extension_version ev, UNNEST(ev.bundled_extensions) ref
+    WHERE ref ~ '^[^.]+\.[^.]+$'
+) d;
+
+SELECT SETVAL('extension_dependency_seq', (SELECT COALESCE(MAX(id), 1) FROM extension_dependency)::BIGINT);
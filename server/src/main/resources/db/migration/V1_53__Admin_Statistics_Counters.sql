@@ -0,0 +1,57 @@
+-- counters for the admin statistics, refreshed per namespace and publisher when they change
+CREATE TABLE namespace_statistics (
+    namespace_id BIGINT NOT NULL,
+    extensions INTEGER NOT NULL,
+    extension_versions INTEGER NOT NULL,
+    downloads BIGINT NOT NULL,
+    max_extension_downloads INTEGER NOT NULL,
+    CONSTRAINT namespace_statistics_pkey PRIMARY KEY (namespace_id),
+    CONSTRAINT namespace_statistics_namespace_fkey FOREIGN KEY (namespace_id) REFERENCES namespace(id) ON DELETE CASCADE
+);
+
+CREATE TABLE publisher_statistics (
+    user_data_id BIGINT NOT NULL,
+    extensions INTEGER NOT NULL,
+    extension_versions INTEGER NOT NULL,
+    namespace_owner BOOLEAN NOT NULL,
+    CONSTRAINT publisher_statistics_pkey PRIMARY KEY (user_data_id),
+    CONSTRAINT publisher_statistics_user_data_fkey FOREIGN KEY (user_data_id) REFERENCES user_data(id) ON DELETE CASCADE
+);
+
+-- top-k lookups
+CREATE INDEX namespace_statistics_extensions_idx ON namespace_statistics(extensions);
+CREATE INDEX namespace_statistics_extension_versions_idx ON namespace_statistics(extension_versions);
+CREATE INDEX namespace_statistics_max_extension_downloads_idx ON namespace_statistics(max_extension_downloads);
+CREATE INDEX publisher_statistics_extension_versions_idx ON publisher_statistics(extension_versions);
+
+-- rating statistics only read reviewed extensions; download_count is not indexed, so download updates stay HOT updates
+CREATE INDEX extension_rating_idx ON extension(average_rating, review_count) WHERE active = TRUE AND review_count > 0;
+
+-- refreshing publisher statistics looks up the tokens of a user
+CREATE INDEX personal_access_token__user_data__idx ON personal_access_token(user_data);
+
+INSERT INTO namespace_statistics(namespace_id, extensions, extension_versions, downloads, max_extension_downloads)
+SELECT n.id, COUNT(e.id), COALESCE(SUM(v.versions), 0), COALESCE(SUM(e.download_count), 0), COALESCE(MAX(e.download_count), 0)
+FROM namespace n
+LEFT JOIN extension e ON e.namespace_id = n.id AND e.active = TRUE
+LEFT JOIN (
+    SELECT extension_id, COUNT(id) versions
+    FROM extension_version
+    WHERE active = TRUE
+    GROUP BY extension_id
+) v ON v.extension_id = e.id
+GROUP BY n.id;
+
+INSERT INTO publisher_statistics(user_data_id, extensions, extension_versions, namespace_owner)
+SELECT t.user_data,
+    COUNT(DISTINCT e.id) FILTER (WHERE e.active = TRUE),
+    COUNT(v.id),
+    COALESCE(BOOL_OR(e.active = TRUE AND EXISTS(
+        SELECT 1
+        FROM namespace_membership m
+        WHERE m.user_data = t.user_data AND m.namespace = e.namespace_id AND m.role = 'owner'
+    )), FALSE)
+FROM personal_access_token t
+JOIN extension_version v ON v.published_with_id = t.id AND v.active = TRUE
+JOIN extension e ON e.id = v.extension_id
+GROUP BY t.user_data;
@@ -0,0 +1,5 @@
+-- location of resources that are read from the extension package instead of being stored as separate files
+ALTER TABLE file_resource ADD COLUMN entry_offset BIGINT;
+ALTER TABLE file_resource ADD COLUMN entry_compressed_size BIGINT;
+ALTER TABLE file_resource ADD COLUMN entry_size BIGINT;
+ALTER TABLE file_resource ADD COLUMN entry_method INTEGER;
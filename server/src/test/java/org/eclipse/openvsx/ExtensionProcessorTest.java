@@ -15,6 +15,7 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Arrays;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -46,6 +47,26 @@ class ExtensionProcessorTest {
         }
     }
 
+    @Test
+    void testResourceEntries() throws Exception {
+        try (
+                var file = writeToTempFile("util/todo-tree.zip");
+                var processor = new ExtensionProcessor(file)
+        ) {
+            var extracted = new ArrayList<String>();
+            processor.processEachResource(null, tempFile -> extracted.add(tempFile.getResource().getName()));
+            var entries = new ArrayList<FileResource>();
+            processor.processEachResourceEntry(null, entries::add);
+
+            assertThat(entries).extracting(FileResource::getName).containsExactlyInAnyOrderElementsOf(extracted);
+            assertThat(entries).allSatisfy(resource -> {
+                assertThat(resource.getType()).isEqualTo(FileResource.RESOURCE);
+                assertThat(resource.getStorageType()).isEqualTo(FileResource.STORAGE_VSIX);
+                assertThat(resource.getEntryOffset()).isPositive();
+            });
+        }
+    }
+
     @Test
     void testChangelog() throws Exception {
         try (
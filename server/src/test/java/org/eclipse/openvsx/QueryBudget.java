@@ -0,0 +1,143 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx;
+
+import org.eclipse.openvsx.metrics.QueryMetrics;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Counts the calls to a mocked {@code RepositoryService} while handling a request or a service call.
+ * Each method of {@code RepositoryService} issues (at least) one query, so the calls are a lower bound
+ * of the queries that the code under test issues against a database. Tests that run against a database
+ * count the actual statements per repository method with {@link QueryMetrics} instead.
+ * <p>
+ * Test classes that register this extension contribute to a report of the most query-heavy requests,
+ * which is written to {@code build/reports/query-budget.txt} after all tests have run.
+ */
+public class QueryBudget implements BeforeAllCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(QueryBudget.class);
+    private static final Path REPORT = Path.of("build", "reports", "query-budget.txt");
+    private static final Map<String, Queries> RECORDED = new ConcurrentHashMap<>();
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    /**
+     * Run the given action and count the calls to the given repository mock.
+     * @param label name of the request or service call, used in the report
+     */
+    public static Queries measure(String label, Object repositories, Action action) throws Exception {
+        var before = Mockito.mockingDetails(repositories).getInvocations().size();
+        action.run();
+
+        var invocations = new ArrayList<>(Mockito.mockingDetails(repositories).getInvocations());
+        var calls = invocations.subList(before, invocations.size()).stream()
+                .collect(Collectors.groupingBy(i -> i.getMethod().getName(), TreeMap::new, Collectors.counting()));
+
+        return record(new Queries(label, calls));
+    }
+
+    /**
+     * Run the given action and count the statements that the repositories send to the database.
+     * Requires {@code ovsx.metrics.queries.enabled}, the statements are counted per repository method.
+     * @param label name of the request or service call, used in the report
+     */
+    public static Queries measureStatements(String label, QueryMetrics metrics, Action action) throws Exception {
+        var statements = metrics.startRequest();
+        try {
+            action.run();
+        } finally {
+            metrics.unbindRequest();
+        }
+
+        var calls = statements.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().longValue(), Long::sum, TreeMap::new));
+        return record(new Queries(label, calls));
+    }
+
+    private static Queries record(Queries queries) {
+        RECORDED.merge(queries.label(), queries, (q1, q2) -> q1.total() >= q2.total() ? q1 : q2);
+        return queries;
+    }
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(Report.class);
+    }
+
+    public record Queries(String label, Map<String, Long> calls) {
+
+        public long total() {
+            return calls.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        public long count(String method) {
+            return calls.getOrDefault(method, 0L);
+        }
+
+        public Queries assertAtMost(long budget) {
+            if(total() > budget) {
+                throw new AssertionError(label + " exceeded its query budget of " + budget + ": " + this);
+            }
+            return this;
+        }
+
+        /**
+         * Assert that no repository method is called more than once, i.e. there are no queries in loops.
+         */
+        public Queries assertNoRepeatedCalls() {
+            var repeated = calls.entrySet().stream()
+                    .filter(e -> e.getValue() > 1)
+                    .map(Map.Entry::getKey)
+                    .toList();
+            if(!repeated.isEmpty()) {
+                throw new AssertionError(label + " called " + String.join(", ", repeated) + " repeatedly: " + this);
+            }
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return total() + " queries " + calls;
+        }
+    }
+
+    static class Report implements ExtensionContext.Store.CloseableResource {
+        @Override
+        public void close() {
+            var lines = RECORDED.values().stream()
+                    .sorted(Comparator.comparingLong(Queries::total).reversed().thenComparing(Queries::label))
+                    .map(q -> String.format("%5d  %s  %s", q.total(), q.label(), q.calls()))
+                    .toList();
+            try {
+                Files.createDirectories(REPORT.getParent());
+                Files.write(REPORT, lines);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.eclipse.openvsx.entities.*;
+import org.eclipse.openvsx.json.BatchParamJson;
+import org.eclipse.openvsx.json.ExtensionJson;
+import org.eclipse.openvsx.metrics.QueryMetrics;
+import org.eclipse.openvsx.search.DatabaseSearchService;
+import org.eclipse.openvsx.search.ISearchService;
+import org.eclipse.openvsx.util.TimeUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the statements that are sent to the database, to check that the number of queries
+ * doesn't grow with the number of extensions in a response.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "ovsx.metrics.queries.enabled=true")
+@ActiveProfiles("test")
+@ExtendWith(QueryBudget.class)
+class QueryBudgetDatabaseTest {
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    QueryMetrics metrics;
+
+    @Autowired
+    LocalRegistryService local;
+
+    @Autowired
+    DatabaseSearchService search;
+
+    @Test
+    @Transactional
+    void testBatchQueryBudgetIsConstant() throws Exception {
+        new Fixture("batch", "Query Budget Batch", 3);
+
+        // entities that are loaded for the first time may add statements, so the single extension is measured first
+        var single = measureBatch("POST /api/-/batch (1 extension)", List.of("batch.ext0"), 1);
+        var many = measureBatch("POST /api/-/batch (3 extensions)", List.of("batch.ext0", "batch.ext1", "BATCH.EXT2"), 3);
+
+        many.assertNoRepeatedCalls();
+        assertThat(many.total()).isLessThanOrEqualTo(single.total());
+        assertThat(many.count("ExtensionVersionJooqRepository.findLatestReplacements")).isEqualTo(1);
+    }
+
+    @Test
+    @Transactional
+    void testCategorySearchQueryBudgetIsConstant() throws Exception {
+        new Fixture("single", "Query Budget Single", 1);
+        new Fixture("many", "Query Budget Many", 3);
+
+        var single = measureCategorySearch("DatabaseSearchService.search (1 hit)", "Query Budget Single", 1);
+        var many = measureCategorySearch("DatabaseSearchService.search (3 hits)", "Query Budget Many", 3);
+
+        many.assertNoRepeatedCalls();
+        assertThat(many.total()).isLessThanOrEqualTo(single.total());
+    }
+
+    private QueryBudget.Queries measureBatch(String label, List<String> extensionIds, int expected) throws Exception {
+        var params = extensionIds.stream().map(id -> {
+            var param = new BatchParamJson.ExtensionParamJson();
+            param.setExtensionId(id);
+            return param;
+        }).toList();
+
+        var result = new AtomicReference<List<ExtensionJson>>();
+        var queries = QueryBudget.measureStatements(label, metrics, () -> result.set(local.getExtensions(params, null)));
+        assertThat(result.get()).hasSize(expected).doesNotContainNull();
+        assertThat(result.get()).allSatisfy(json -> assertThat(json.getVersion()).isEqualTo("2.0.0"));
+        return queries;
+    }
+
+    private QueryBudget.Queries measureCategorySearch(String label, String category, int expected) throws Exception {
+        var options = new ISearchService.Options(null, category, null, 50, 0, null, null, false, null);
+        var totalHits = new AtomicLong();
+        var queries = QueryBudget.measureStatements(label, metrics, () -> totalHits.set(search.search(options).getTotalHits()));
+        assertThat(totalHits.get()).isEqualTo(expected);
+        return queries;
+    }
+
+    /**
+     * Extensions with two versions each, the last extension replaces the other ones.
+     */
+    private class Fixture {
+        final List<Extension> extensions = new ArrayList<>();
+
+        Fixture(String namespaceName, String category, int count) {
+            var namespace = namespace(namespaceName);
+            var token = token(user("query-budget-" + namespaceName));
+
+            for (var i = 0; i < count; i++) {
+                var extension = extension(namespace, "ext" + i);
+                version(extension, "1.0.0", category, token);
+                version(extension, "2.0.0", category, token);
+                extensions.add(extension);
+            }
+
+            var replacement = extensions.get(extensions.size() - 1);
+            for (var extension : extensions) {
+                if (extension != replacement) {
+                    extension.setReplacement(replacement);
+                }
+            }
+            entityManager.flush();
+        }
+    }
+
+    private UserData user(String loginName) {
+        var user = new UserData();
+        user.setLoginName(loginName);
+        user.setProvider("github");
+        entityManager.persist(user);
+        return user;
+    }
+
+    private PersonalAccessToken token(UserData user) {
+        var token = new PersonalAccessToken();
+        token.setUser(user);
+        token.setValue(user.getLoginName());
+        token.setActive(true);
+        token.setCreatedTimestamp(TimeUtil.getCurrentUTC());
+        token.setDescription("query budget");
+        entityManager.persist(token);
+        return token;
+    }
+
+    private Namespace namespace(String name) {
+        var namespace = new Namespace();
+        namespace.setName(name);
+        namespace.setPublicId("query-budget-" + name);
+        entityManager.persist(namespace);
+        return namespace;
+    }
+
+    private Extension extension(Namespace namespace, String name) {
+        var extension = new Extension();
+        extension.setNamespace(namespace);
+        extension.setName(name);
+        extension.setPublicId("query-budget-" + namespace.getName() + "-" + name);
+        extension.setActive(true);
+        extension.setDownloadCount(0);
+        entityManager.persist(extension);
+        return extension;
+    }
+
+    private void version(Extension extension, String version, String category, PersonalAccessToken token) {
+        var extVersion = new ExtensionVersion();
+        extVersion.setExtension(extension);
+        extVersion.setVersion(version);
+        extVersion.setTargetPlatform("universal");
+        extVersion.setPreview(false);
+        extVersion.setActive(true);
+        extVersion.setTimestamp(TimeUtil.getCurrentUTC());
+        extVersion.setCategories(List.of(category));
+        extVersion.setTags(Collections.emptyList());
+        extVersion.setPublishedWith(token);
+        entityManager.persist(extVersion);
+
+        var resource = new FileResource();
+        resource.setExtension(extVersion);
+        resource.setType(FileResource.DOWNLOAD);
+        resource.setName(extension.getNamespace().getName() + "." + extension.getName() + "-" + version + ".vsix");
+        resource.setStorageType(FileResource.STORAGE_LOCAL);
+        entityManager.persist(resource);
+    }
+}
@@ -12,10 +12,15 @@ package org.eclipse.openvsx;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.persistence.EntityManager;
 import org.apache.commons.lang3.ArrayUtils;
 import org.eclipse.openvsx.adapter.VSCodeIdService;
+import org.eclipse.openvsx.admin.AdminStatisticCounters;
+import org.eclipse.openvsx.cache.CacheInvalidationBus;
 import org.eclipse.openvsx.cache.CacheService;
+import org.eclipse.openvsx.cache.ExtensionExistenceFilter;
+import org.eclipse.openvsx.cache.FileResourceLocationCache;
 import org.eclipse.openvsx.cache.ExtensionJsonCacheKeyGenerator;
 import org.eclipse.openvsx.cache.LatestExtensionVersionCacheKeyGenerator;
 import org.eclipse.openvsx.eclipse.EclipseService;
@@ -23,21 +28,29 @@ import org.eclipse.openvsx.entities.*;
 import org.eclipse.openvsx.extension_control.ExtensionControlService;
 import org.eclipse.openvsx.json.*;
 import org.eclipse.openvsx.publish.ExtensionVersionIntegrityService;
+import org.eclipse.openvsx.publish.FileResourceBatchWriter;
 import org.eclipse.openvsx.publish.PublishExtensionVersionHandler;
 import org.eclipse.openvsx.publish.PublishExtensionVersionService;
+import org.eclipse.openvsx.publish.PublishQueue;
+import org.eclipse.openvsx.publish.PublishStatus;
+import org.eclipse.openvsx.repositories.ExtensionVersionDetails;
 import org.eclipse.openvsx.repositories.RepositoryService;
 import org.eclipse.openvsx.search.ExtensionSearch;
 import org.eclipse.openvsx.search.ISearchService;
 import org.eclipse.openvsx.search.SearchUtilService;
+import org.eclipse.openvsx.security.AccessTokenUsageWriter;
 import org.eclipse.openvsx.security.OAuth2UserServices;
 import org.eclipse.openvsx.security.SecurityConfig;
 import org.eclipse.openvsx.security.TokenService;
 import org.eclipse.openvsx.storage.*;
+import org.eclipse.openvsx.util.ErrorResultException;
+import org.eclipse.openvsx.util.ExtensionId;
 import org.eclipse.openvsx.util.TargetPlatform;
 import org.eclipse.openvsx.util.VersionAlias;
 import org.eclipse.openvsx.util.VersionService;
 import org.jobrunr.scheduling.JobRequestScheduler;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mockito;
@@ -57,14 +70,18 @@ import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHitsImpl;
 import org.springframework.data.elasticsearch.core.TotalHitsRelation;
 import org.springframework.data.util.Streamable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
@@ -72,9 +89,12 @@ import java.util.*;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.eclipse.openvsx.entities.FileResource.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -85,11 +105,12 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @WebMvcTest(RegistryAPI.class)
 @AutoConfigureWebClient
+@ExtendWith(QueryBudget.class)
 @MockBean({
     ClientRegistrationRepository.class, UpstreamRegistryService.class, GoogleCloudStorageService.class,
     AzureBlobStorageService.class, VSCodeIdService.class, AzureDownloadCountService.class, CacheService.class,
     EclipseService.class, PublishExtensionVersionService.class, SimpleMeterRegistry.class, JobRequestScheduler.class,
-    ExtensionControlService.class
+    ExtensionControlService.class, AdminStatisticCounters.class, VsixEntryService.class, PublishQueue.class
 })
 class RegistryAPITest {
 
@@ -114,6 +135,11 @@ class RegistryAPITest {
     @Autowired
     ExtensionService extensions;
 
+    @Autowired
+    PublishQueue publishQueue;
+
+    private final List<FileResource> extensionFiles = new ArrayList<>();
+
     @Test
     void testPublicNamespace() throws Exception {
         var namespace = mockNamespace();
@@ -155,7 +181,7 @@ class RegistryAPITest {
     @Test
     void testExtension() throws Exception {
         var extVersion = mockExtension();
-        Mockito.when(repositories.findExtensionVersion("foo", "bar", null, VersionAlias.LATEST)).thenReturn(extVersion);
+        mockExtensionVersionDetails(extVersion, null, VersionAlias.LATEST, null, null);
 
         mockMvc.perform(get("/api/{namespace}/{extension}", "foo", "bar"))
                 .andExpect(status().isOk())
@@ -169,11 +195,22 @@ class RegistryAPITest {
                 })));
     }
 
+    @Test
+    void testExtensionQueryBudget() throws Exception {
+        var extVersion = mockExtension();
+        mockExtensionVersionDetails(extVersion, null, VersionAlias.LATEST, null, null);
+
+        QueryBudget.measure("GET /api/{namespace}/{extension}", repositories, () ->
+                mockMvc.perform(get("/api/{namespace}/{extension}", "foo", "bar"))
+                        .andExpect(status().isOk())
+        ).assertAtMost(1);
+    }
+
     @Test
     void testExtensionWithPublicKey() throws Exception {
         Mockito.when(integrityService.isEnabled()).thenReturn(true);
         var extVersion = mockExtensionWithSignature();
-        Mockito.when(repositories.findExtensionVersion("foo", "bar", null, VersionAlias.LATEST)).thenReturn(extVersion);
+        mockExtensionVersionDetails(extVersion, null, VersionAlias.LATEST, null, null);
 
         var keyPair = new SignatureKeyPair();
         keyPair.setPublicId("123-456-7890");
@@ -192,7 +229,7 @@ class RegistryAPITest {
     void testExtensionNonDefaultTarget() throws Exception {
         var extVersion = mockExtension("alpine-x64");
         extVersion.setDisplayName("Foo Bar (alpine x64)");
-        Mockito.when(repositories.findExtensionVersion("foo", "bar", null, VersionAlias.LATEST)).thenReturn(extVersion);
+        mockExtensionVersionDetails(extVersion, null, VersionAlias.LATEST, null, null);
 
         mockMvc.perform(get("/api/{namespace}/{extension}", "foo", "bar"))
                 .andExpect(status().isOk())
@@ -211,7 +248,7 @@ class RegistryAPITest {
     void testExtensionLinuxTarget() throws Exception {
         var extVersion = mockExtension("linux-x64");
         extVersion.setDisplayName("Foo Bar (linux x64)");
-        Mockito.when(repositories.findExtensionVersion("foo", "bar", "linux-x64", VersionAlias.LATEST)).thenReturn(extVersion);
+        mockExtensionVersionDetails(extVersion, "linux-x64", VersionAlias.LATEST, null, null);
 
         mockMvc.perform(get("/api/{namespace}/{extension}/{target}", "foo", "bar", "linux-x64"))
                 .andExpect(status().isOk())
@@ -256,7 +293,7 @@ class RegistryAPITest {
     @Test
     void testExtensionVersion() throws Exception {
         var extVersion = mockExtension();
-        Mockito.when(repositories.findExtensionVersion("foo", "bar", null, "1.0.0")).thenReturn(extVersion);
+        mockExtensionVersionDetails(extVersion, null, "1.0.0", null, null);
 
         mockMvc.perform(get("/api/{namespace}/{extension}/{version}", "foo", "bar", "1.0.0"))
                 .andExpect(status().isOk())
@@ -274,7 +311,7 @@ class RegistryAPITest {
     void testExtensionVersionNonDefaultTarget() throws Exception {
         var extVersion = mockExtension("darwin-arm64");
         extVersion.setDisplayName("Foo Bar (darwin arm64)");
-        Mockito.when(repositories.findExtensionVersion("foo", "bar", null, "1.0.0")).thenReturn(extVersion);
+        mockExtensionVersionDetails(extVersion, null, "1.0.0", null, null);
 
         mockMvc.perform(get("/api/{namespace}/{extension}/{version}", "foo", "bar", "1.0.0"))
                 .andExpect(status().isOk())
@@ -293,7 +330,7 @@ class RegistryAPITest {
     void testExtensionVersionMacOSXTarget() throws Exception {
         var extVersion = mockExtension("darwin-arm64");
         extVersion.setDisplayName("Foo Bar (darwin arm64)");
-        Mockito.when(repositories.findExtensionVersion("foo", "bar", "darwin-arm64", "1.0.0")).thenReturn(extVersion);
+        mockExtensionVersionDetails(extVersion, "darwin-arm64", "1.0.0", null, null);
 
         mockMvc.perform(get("/api/{namespace}/{extension}/{target}/{version}", "foo", "bar", "darwin-arm64", "1.0.0"))
                 .andExpect(status().isOk())
@@ -311,8 +348,7 @@ class RegistryAPITest {
     @Test
     void testLatestExtensionVersion() throws Exception {
         var extVersion = mockExtension();
-        Mockito.when(repositories.findExtensionVersion("foo", "bar", null, VersionAlias.LATEST)).thenReturn(extVersion);
-        Mockito.when(repositories.findLatestVersionForAllUrls(extVersion.getExtension(), null, false, true)).thenReturn(extVersion);
+        mockExtensionVersionDetails(extVersion, null, VersionAlias.LATEST, extVersion, null);
 
         mockMvc.perform(get("/api/{namespace}/{extension}/{version}", "foo", "bar", "latest"))
                 .andExpect(status().isOk())
@@ -331,8 +367,7 @@ class RegistryAPITest {
     void testLatestExtensionVersionNonDefaultTarget() throws Exception {
         var extVersion = mockExtension("alpine-arm64");
         extVersion.setDisplayName("Foo Bar (alpine arm64)");
-        Mockito.when(repositories.findExtensionVersion("foo", "bar", null, VersionAlias.LATEST)).thenReturn(extVersion);
-        Mockito.when(repositories.findLatestVersionForAllUrls(extVersion.getExtension(), null, false, true)).thenReturn(extVersion);
+        mockExtensionVersionDetails(extVersion, null, VersionAlias.LATEST, extVersion, null);
 
         mockMvc.perform(get("/api/{namespace}/{extension}/{version}", "foo", "bar", "latest"))
                 .andExpect(status().isOk())
@@ -352,8 +387,7 @@ class RegistryAPITest {
     void testLatestExtensionVersionAlpineLinuxTarget() throws Exception {
         var extVersion = mockExtension("alpine-arm64");
         extVersion.setDisplayName("Foo Bar (alpine arm64)");
-        Mockito.when(repositories.findExtensionVersion("foo", "bar", "alpine-arm64", VersionAlias.LATEST)).thenReturn(extVersion);
-        Mockito.when(repositories.findLatestVersionForAllUrls(extVersion.getExtension(), "alpine-arm64", false, true)).thenReturn(extVersion);
+        mockExtensionVersionDetails(extVersion, "alpine-arm64", VersionAlias.LATEST, extVersion, null);
 
         mockMvc.perform(get("/api/{namespace}/{extension}/{target}/{version}", "foo", "bar", "alpine-arm64", "latest"))
                 .andExpect(status().isOk())
@@ -373,9 +407,7 @@ class RegistryAPITest {
     void testPreReleaseExtensionVersion() throws Exception {
         var extVersion = mockExtension();
         extVersion.setPreRelease(true);
-        Mockito.when(repositories.findExtensionVersion("foo", "bar", null, VersionAlias.PRE_RELEASE)).thenReturn(extVersion);
-        Mockito.when(repositories.findLatestVersionForAllUrls(extVersion.getExtension(), null, false, true)).thenReturn(extVersion);
-        Mockito.when(repositories.findLatestVersionForAllUrls(extVersion.getExtension(), null, true, true)).thenReturn(extVersion);
+        mockExtensionVersionDetails(extVersion, null, VersionAlias.PRE_RELEASE, extVersion, extVersion);
         mockMvc.perform(get("/api/{namespace}/{extension}/{version}", "foo", "bar", "pre-release"))
                 .andExpect(status().isOk())
                 .andExpect(content().json(extensionJson(e -> {
@@ -395,9 +427,7 @@ class RegistryAPITest {
         var extVersion = mockExtension("web");
         extVersion.setPreRelease(true);
         extVersion.setDisplayName("Foo Bar (web)");
-        Mockito.when(repositories.findExtensionVersion("foo", "bar", null, VersionAlias.PRE_RELEASE)).thenReturn(extVersion);
-        Mockito.when(repositories.findLatestVersionForAllUrls(extVersion.getExtension(), null, false, true)).thenReturn(extVersion);
-        Mockito.when(repositories.findLatestVersionForAllUrls(extVersion.getExtension(), null, true, true)).thenReturn(extVersion);
+        mockExtensionVersionDetails(extVersion, null, VersionAlias.PRE_RELEASE, extVersion, extVersion);
         mockMvc.perform(get("/api/{namespace}/{extension}/{version}", "foo", "bar", "pre-release"))
                 .andExpect(status().isOk())
                 .andExpect(content().json(extensionJson(e -> {
@@ -418,9 +448,7 @@ class RegistryAPITest {
         var extVersion = mockExtension("web");
         extVersion.setPreRelease(true);
         extVersion.setDisplayName("Foo Bar (web)");
-        Mockito.when(repositories.findExtensionVersion("foo", "bar", "web", VersionAlias.PRE_RELEASE)).thenReturn(extVersion);
-        Mockito.when(repositories.findLatestVersionForAllUrls(extVersion.getExtension(), "web", false, true)).thenReturn(extVersion);
-        Mockito.when(repositories.findLatestVersionForAllUrls(extVersion.getExtension(), "web", true, true)).thenReturn(extVersion);
+        mockExtensionVersionDetails(extVersion, "web", VersionAlias.PRE_RELEASE, extVersion, extVersion);
         mockMvc.perform(get("/api/{namespace}/{extension}/{target}/{version}", "foo", "bar", "web", "pre-release"))
                 .andExpect(status().isOk())
                 .andExpect(content().json(extensionJson(e -> {
@@ -566,6 +594,35 @@ class RegistryAPITest {
                 })));
     }
 
+    @Test
+    void testInstallSet() throws Exception {
+        var extension = mockExtension().getExtension();
+        Mockito.when(repositories.findInstallSet(extension))
+                .thenReturn(List.of(new ExtensionId("foo", "baz"), new ExtensionId("redhat", "java")));
+
+        mockMvc.perform(get("/api/{namespace}/{extension}/install-set", "foo", "bar"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(installSetJson(is -> {
+                    var r1 = new ExtensionReferenceJson();
+                    r1.setUrl("http://localhost/api/foo/baz");
+                    r1.setNamespace("foo");
+                    r1.setExtension("baz");
+                    var r2 = new ExtensionReferenceJson();
+                    r2.setUrl("http://localhost/api/redhat/java");
+                    r2.setNamespace("redhat");
+                    r2.setExtension("java");
+                    is.setExtensions(List.of(r1, r2));
+                })));
+    }
+
+    @Test
+    void testInstallSetUnknownExtension() throws Exception {
+        mockExtension();
+        mockMvc.perform(get("/api/{namespace}/{extension}/install-set", "foo", "baz"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().json(errorJson("Extension not found: foo.baz")));
+    }
+
     @Test
     void testSearch() throws Exception {
         var extVersions = mockSearch();
@@ -1299,6 +1356,135 @@ class RegistryAPITest {
                 .andExpect(header().string("Location", "http://localhost/api/-/query?namespaceUuid=1234&includeAllVersions=false"));
     }
 
+    @Test
+    void testBatch() throws Exception {
+        var versions = mockExtensionVersionVersions();
+        Mockito.when(repositories.findActiveVersionKeysByExtensionId(List.of(new ExtensionId("foo", "bar"), new ExtensionId("foo", "baz")), null))
+                .thenReturn(versions);
+        Mockito.when(repositories.findActiveExtensionVersionsById(Set.of(4L, 5L)))
+                .thenReturn(versions.subList(1, 3));
+
+        var content = "{ \"extensions\": [" +
+                "{ \"extensionId\": \"foo.bar\" }, " +
+                "{ \"extensionId\": \"foo.baz\" }, " +
+                "{ \"extensionId\": \"Foo.Bar\", \"version\": \"2.0.0\" }" +
+                "] }";
+
+        var expected = "[" + extensionJson(e -> {
+            e.setNamespace("foo");
+            e.setName("bar");
+            e.setVersion("3.0.0");
+        }) + "," + extensionJson(e -> {
+            e.setNamespace("foo");
+            e.setName("bar");
+            e.setVersion("2.0.0");
+        }) + "]";
+
+        QueryBudget.measure("POST /api/-/batch", repositories, () ->
+                mockMvc.perform(post("/api/-/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(content))
+                        .andExpect(request().asyncStarted())
+                        .andDo(MvcResult::getAsyncResult)
+                        .andExpect(status().isOk())
+                        .andExpect(content().json(expected))
+        ).assertNoRepeatedCalls();
+    }
+
+    @Test
+    void testBatchInvalidExtensionId() throws Exception {
+        mockMvc.perform(post("/api/-/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{ \"extensions\": [{ \"extensionId\": \"foo\" }] }"))
+                .andExpect(request().asyncStarted())
+                .andDo(MvcResult::getAsyncResult)
+                .andExpect(status().isBadRequest())
+                .andExpect(content().json(errorJson("The 'extensionId' parameter must have the format 'namespace.extension'.")));
+    }
+
+    @Test
+    void testExport() throws Exception {
+        var versions = mockExtensionVersionTargetPlatforms();
+        Mockito.when(repositories.findActiveVersionsAfter(0L, null, 500))
+                .thenReturn(versions);
+
+        var result = mockMvc.perform(get("/api/-/export"))
+                .andExpect(request().asyncStarted())
+                .andDo(MvcResult::getAsyncResult)
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn();
+
+        var mapper = new ObjectMapper();
+        var lines = result.getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(Arrays.stream(lines).map(line -> {
+            try {
+                return mapper.readValue(line, ExtensionJson.class).getTargetPlatform();
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException(e);
+            }
+        })).containsExactly("darwin-x64", "linux-x64", "alpine-arm64");
+    }
+
+    @Test
+    void testExportInChunks() throws Exception {
+        var versionStrings = IntStream.range(0, 503).mapToObj(i -> "1.0." + i).toList();
+        var versions = mockExtensionVersions(null, versionStrings, (ev, version) -> {
+            ev.setVersion(version);
+            ev.setTargetPlatform(TargetPlatform.NAME_UNIVERSAL);
+            ev.setTimestamp(LocalDateTime.parse("2000-01-01T10:00"));
+            ev.setDisplayName("Foo Bar");
+            return ev;
+        });
+        // the second chunk starts after the last version of the full first chunk
+        var lastIdOfFirstChunk = versions.get(499).getId();
+        Mockito.when(repositories.findActiveVersionsAfter(0L, null, 500))
+                .thenReturn(versions.subList(0, 500));
+        Mockito.when(repositories.findActiveVersionsAfter(lastIdOfFirstChunk, null, 500))
+                .thenReturn(versions.subList(500, 503));
+
+        var result = mockMvc.perform(get("/api/-/export"))
+                .andExpect(request().asyncStarted())
+                .andDo(MvcResult::getAsyncResult)
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(exportedVersions(result.getResponse().getContentAsString())).containsExactlyElementsOf(versionStrings);
+        Mockito.verify(repositories, Mockito.times(2)).findActiveVersionsAfter(anyLong(), isNull(), eq(500));
+    }
+
+    @Test
+    void testExportGzip() throws Exception {
+        var versions = mockExtensionVersionTargetPlatforms();
+        Mockito.when(repositories.findActiveVersionsAfter(0L, null, 500))
+                .thenReturn(versions);
+
+        var result = mockMvc.perform(get("/api/-/export").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andDo(MvcResult::getAsyncResult)
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn();
+
+        String content;
+        try (var gzip = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            content = new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertThat(content.split("\n")).hasSize(3);
+        assertThat(exportedVersions(content)).containsExactly("1.0.0", "1.0.0", "1.0.0");
+    }
+
+    @Test
+    void testExportInvalidSince() throws Exception {
+        mockMvc.perform(get("/api/-/export?since={since}", "2024-01-01"))
+                .andExpect(request().asyncStarted())
+                .andDo(MvcResult::getAsyncResult)
+                .andExpect(status().isBadRequest())
+                .andExpect(content().json(errorJson("The 'since' parameter must be an ISO-8601 UTC timestamp, e.g. 2024-01-01T00:00:00Z.")));
+    }
+
     @Test
     void testCreateNamespace() throws Exception {
         mockAccessToken();
@@ -1496,6 +1682,42 @@ class RegistryAPITest {
                 })));
     }
 
+    @Test
+    void testPublishQueueFull() throws Exception {
+        mockForPublish("owner");
+        var message = "Too many extensions are waiting to be published. Please try again later.";
+        Mockito.when(publishQueue.reserve(any(UserData.class)))
+                .thenThrow(new ErrorResultException(message, HttpStatus.TOO_MANY_REQUESTS));
+        var bytes = createExtensionPackage("bar", "1.0.0", null);
+        mockMvc.perform(post("/api/-/publish?token={token}", "my_token")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content(bytes))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(content().json(errorJson(message)));
+    }
+
+    @Test
+    void testPublishStatus() throws Exception {
+        var publishStatus = new PublishStatus(0L);
+        publishStatus.setStage(PublishStatus.Stage.EXTRACT);
+        Mockito.when(publishQueue.getStatus(publishStatus.getId()))
+                .thenReturn(publishStatus);
+        Mockito.when(publishQueue.getQueueDepth())
+                .thenReturn(3);
+        Mockito.when(publishQueue.getWorkers())
+                .thenReturn(4);
+        mockMvc.perform(get("/api/-/publish/status/{id}", publishStatus.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"id\":\"" + publishStatus.getId() + "\",\"stage\":\"extract\",\"queueDepth\":3,\"workers\":4}"));
+    }
+
+    @Test
+    void testPublishStatusNotFound() throws Exception {
+        mockMvc.perform(get("/api/-/publish/status/{id}", "unknown"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().json(errorJson("Publish status not found: unknown")));
+    }
+
     @Test
     void testPublishVerifiedContributor() throws Exception {
         mockForPublish("contributor");
@@ -1877,6 +2099,17 @@ class RegistryAPITest {
         });
     }
 
+    private List<String> exportedVersions(String content) {
+        var mapper = new ObjectMapper();
+        return Arrays.stream(content.split("\n")).map(line -> {
+            try {
+                return mapper.readValue(line, ExtensionJson.class).getVersion();
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException(e);
+            }
+        }).toList();
+    }
+
     private List<ExtensionVersion> mockExtensionVersionTargetPlatforms() {
         var targetPlatforms = List.of("darwin-x64", "linux-x64", "alpine-arm64");
         return mockExtensionVersions(null, targetPlatforms, (ev, targetPlatform) -> {
@@ -2035,6 +2268,11 @@ class RegistryAPITest {
             signature.setName("extension-1.0.0.sigzip");
         }
         Mockito.when(entityManager.merge(download)).thenReturn(download);
+        extensionFiles.clear();
+        extensionFiles.add(download);
+        if(withSignature) {
+            extensionFiles.add(signature);
+        }
         Mockito.when(repositories.findFilesByType(anyCollection(), anyCollection())).thenAnswer(invocation -> {
             Collection<ExtensionVersion> extVersions = invocation.getArgument(0);
             Collection<String> types = invocation.getArgument(1);
@@ -2042,20 +2280,31 @@ class RegistryAPITest {
                     ? extVersions.iterator().next()
                     : null;
 
-            var files = new ArrayList<>();
-            if(types.contains(DOWNLOAD) && download.getExtension().equals(extensionVersion)) {
-                files.add(download);
-            }
-            if(withSignature && types.contains(DOWNLOAD_SIG) && signature.getExtension().equals(extensionVersion)) {
-                files.add(signature);
-            }
-
-            return files;
+            return getExtensionFiles(extensionVersion, types);
         });
 
         return extVersion;
     }
 
+    /**
+     * Get the files of the last mocked extension, without calling the repository mock,
+     * so that the calls of the code under test can be counted.
+     */
+    private List<FileResource> getExtensionFiles(ExtensionVersion extVersion, Collection<String> types) {
+        return extensionFiles.stream()
+                .filter(file -> types.contains(file.getType()) && file.getExtension().equals(extVersion))
+                .toList();
+    }
+
+    private void mockExtensionVersionDetails(ExtensionVersion extVersion, String targetPlatform, String version, ExtensionVersion latest, ExtensionVersion latestPreRelease) {
+        Mockito.when(repositories.findExtensionVersionDetails(eq("foo"), eq("bar"), eq(targetPlatform), eq(version), anyCollection())).thenAnswer(invocation -> {
+            Collection<String> types = invocation.getArgument(4);
+            var files = getExtensionFiles(extVersion, types);
+            var downloads = getExtensionFiles(extVersion, List.of(DOWNLOAD));
+            return new ExtensionVersionDetails(extVersion, latest, latestPreRelease, null, false, Collections.emptyList(), files, downloads);
+        });
+    }
+
     private String extensionJson(Consumer<ExtensionJson> content) throws JsonProcessingException {
         var json = new ExtensionJson();
         content.accept(json);
@@ -2195,6 +2444,12 @@ class RegistryAPITest {
         return List.of(extVersion);
     }
 
+    private String installSetJson(Consumer<InstallSetJson> content) throws JsonProcessingException {
+        var json = new InstallSetJson();
+        content.accept(json);
+        return new ObjectMapper().writeValueAsString(json);
+    }
+
     private String searchJson(Consumer<SearchResultJson> content) throws JsonProcessingException {
         var json = new SearchResultJson();
         json.setExtensions(new ArrayList<>());
@@ -2224,6 +2479,8 @@ class RegistryAPITest {
         namespace.setName("foo");
         Mockito.when(repositories.findNamespace("foo"))
                 .thenReturn(namespace);
+        Mockito.when(publishQueue.reserve(any(UserData.class)))
+                .thenAnswer(invocation -> new PublishStatus(token.getUser().getId()));
         if (mode.equals("existing")) {
             var extension = new Extension();
             extension.setName("bar");
@@ -2425,7 +2682,11 @@ class RegistryAPITest {
                 StorageUtilService storageUtil,
                 EclipseService eclipse,
                 CacheService cache,
-                ExtensionVersionIntegrityService integrityService
+                ExtensionVersionIntegrityService integrityService,
+                FileResourceLocationCache fileLocations,
+                PublishQueue publishQueue,
+                ExtensionExistenceFilter existenceFilter,
+                ObjectMapper mapper
         ) {
             return new LocalRegistryService(
                     entityManager,
@@ -2438,18 +2699,42 @@ class RegistryAPITest {
                     storageUtil,
                     eclipse,
                     cache,
-                    integrityService
+                    integrityService,
+                    fileLocations,
+                    publishQueue,
+                    existenceFilter,
+                    mapper
             );
         }
 
+        @Bean
+        AccessTokenUsageWriter accessTokenUsageWriter(RepositoryService repositories) {
+            return new AccessTokenUsageWriter(repositories);
+        }
+
+        @Bean
+        FileResourceLocationCache fileResourceLocationCache(RepositoryService repositories) {
+            // caching is disabled, so that each test sees its own mocked file resources
+            return new FileResourceLocationCache(repositories, new SimpleMeterRegistry(), 0, 3600, 300);
+        }
+
+        @Bean
+        ExtensionExistenceFilter extensionExistenceFilter(RepositoryService repositories) {
+            // the filter is disabled, so that lookups always go to the mocked repositories
+            return new ExtensionExistenceFilter(repositories, Mockito.mock(CacheInvalidationBus.class), new SimpleMeterRegistry(), false, 1000, 0.01);
+        }
+
         @Bean
         ExtensionService extensionService(
                 RepositoryService repositories,
                 SearchUtilService search,
                 CacheService cache,
-                PublishExtensionVersionHandler publishHandler
+                PublishExtensionVersionHandler publishHandler,
+                AdminStatisticCounters statisticCounters,
+                PublishQueue publishQueue,
+                ExtensionExistenceFilter existenceFilter
         ) {
-            return new ExtensionService(repositories, search, cache, publishHandler);
+            return new ExtensionService(repositories, search, cache, publishHandler, statisticCounters, publishQueue, existenceFilter);
         }
 
         @Bean
@@ -2463,20 +2748,24 @@ class RegistryAPITest {
                 GoogleCloudStorageService googleStorage,
                 AzureBlobStorageService azureStorage,
                 LocalStorageService localStorage,
+                VsixEntryService vsixEntries,
                 AzureDownloadCountService azureDownloadCountService,
                 SearchUtilService search,
                 CacheService cache,
-                EntityManager entityManager
+                EntityManager entityManager,
+                AdminStatisticCounters statisticCounters
         ) {
             return new StorageUtilService(
                     repositories,
                     googleStorage,
                     azureStorage,
                     localStorage,
+                    vsixEntries,
                     azureDownloadCountService,
                     search,
                     cache,
-                    entityManager
+                    entityManager,
+                    statisticCounters
             );
         }
 
@@ -2507,7 +2796,8 @@ class RegistryAPITest {
                 JobRequestScheduler scheduler,
                 UserService users,
                 ExtensionValidator validator,
-                ExtensionControlService extensionControl
+                ExtensionControlService extensionControl,
+                FileResourceBatchWriter resourceWriter
         ) {
             return new PublishExtensionVersionHandler(
                     service,
@@ -2517,8 +2807,15 @@ class RegistryAPITest {
                     scheduler,
                     users,
                     validator,
-                    extensionControl
+                    extensionControl,
+                    resourceWriter,
+                    ObservationRegistry.NOOP
             );
         }
+
+        @Bean
+        FileResourceBatchWriter fileResourceBatchWriter(RepositoryService repositories, EntityManager entityManager) {
+            return new FileResourceBatchWriter(repositories, entityManager);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,118 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx;
+
+import org.eclipse.openvsx.cache.UpstreamMetadataCache;
+import org.eclipse.openvsx.json.BatchParamJson;
+import org.eclipse.openvsx.json.ExtensionJson;
+import org.eclipse.openvsx.storage.UpstreamFileCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class UpstreamRegistryServiceTest {
+
+    private UpstreamMetadataCache metadataCache;
+    private UpstreamRegistryService upstream;
+
+    @BeforeEach
+    void setup() {
+        var urlConfigService = Mockito.mock(UrlConfigService.class);
+        when(urlConfigService.getUpstreamUrl()).thenReturn("https://open-vsx.org");
+        metadataCache = Mockito.mock(UpstreamMetadataCache.class);
+        upstream = new UpstreamRegistryService(Mockito.mock(RestTemplate.class), Optional.empty(), urlConfigService,
+                metadataCache, Mockito.mock(UpstreamFileCache.class), 2);
+    }
+
+    @AfterEach
+    void shutdown() {
+        upstream.shutdown();
+    }
+
+    @Test
+    void testBatchIsolatesFailedEntries() {
+        mockUpstream(Map.of(
+                "found", "ok",
+                "missing", "404",
+                "broken", "500"
+        ));
+
+        var jsons = upstream.getExtensions(List.of(
+                param("foo.broken"),
+                param("foo.found"),
+                param("foo"),
+                param("foo.missing")
+        ), null);
+
+        assertThat(jsons).hasSize(4);
+        assertThat(jsons.get(0)).isNull();
+        assertThat(jsons.get(1).getName()).isEqualTo("found");
+        assertThat(jsons.get(1).getDownloads()).containsEntry("universal", "https://open-vsx.org/found.vsix");
+        assertThat(jsons.get(2)).isNull();
+        assertThat(jsons.get(3)).isNull();
+    }
+
+    @Test
+    void testBatchLooksUpEntriesConcurrently() {
+        // each lookup waits for the other one, so this only completes if both run at the same time
+        var bothStarted = new CountDownLatch(2);
+        when(metadataCache.getForObject(anyString(), eq(ExtensionJson.class), anyMap()))
+                .thenAnswer(invocation -> {
+                    bothStarted.countDown();
+                    assertThat(bothStarted.await(10, TimeUnit.SECONDS)).isTrue();
+                    Map<String, String> uriVariables = invocation.getArgument(2);
+                    return extension(uriVariables.get("extension"));
+                });
+
+        var jsons = upstream.getExtensions(List.of(param("foo.one"), param("foo.two")), null);
+        assertThat(jsons).extracting(ExtensionJson::getName).containsExactly("one", "two");
+    }
+
+    private void mockUpstream(Map<String, String> responses) {
+        when(metadataCache.getForObject(anyString(), eq(ExtensionJson.class), anyMap()))
+                .thenAnswer(invocation -> {
+                    Map<String, String> uriVariables = invocation.getArgument(2);
+                    var name = uriVariables.get("extension");
+                    return switch (responses.get(name)) {
+                        case "404" -> throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null);
+                        case "500" -> throw HttpServerErrorException.create(HttpStatus.INTERNAL_SERVER_ERROR, "Error", null, null, null);
+                        default -> extension(name);
+                    };
+                });
+    }
+
+    private ExtensionJson extension(String name) {
+        var json = new ExtensionJson();
+        json.setNamespace("foo");
+        json.setName(name);
+        json.setFiles(Map.of("download", "https://open-vsx.org/" + name + ".vsix"));
+        return json;
+    }
+
+    private BatchParamJson.ExtensionParamJson param(String extensionId) {
+        var param = new BatchParamJson.ExtensionParamJson();
+        param.setExtensionId(extensionId);
+        return param;
+    }
+}
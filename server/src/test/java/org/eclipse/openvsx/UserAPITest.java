@@ -24,6 +24,7 @@ import java.util.function.Consumer;
 
 import jakarta.persistence.EntityManager;
 
+import org.eclipse.openvsx.admin.AdminStatisticCounters;
 import org.eclipse.openvsx.cache.CacheService;
 import org.eclipse.openvsx.cache.LatestExtensionVersionCacheKeyGenerator;
 import org.eclipse.openvsx.eclipse.EclipseService;
@@ -38,6 +39,7 @@ import org.eclipse.openvsx.json.NamespaceMembershipListJson;
 import org.eclipse.openvsx.json.ResultJson;
 import org.eclipse.openvsx.json.UserJson;
 import org.eclipse.openvsx.repositories.RepositoryService;
+import org.eclipse.openvsx.security.AccessTokenUsageWriter;
 import org.eclipse.openvsx.security.OAuth2UserServices;
 import org.eclipse.openvsx.security.SecurityConfig;
 import org.eclipse.openvsx.security.TokenService;
@@ -66,7 +68,7 @@ import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 @AutoConfigureWebClient
 @MockBean({
         EclipseService.class, ClientRegistrationRepository.class, StorageUtilService.class, CacheService.class,
-        ExtensionValidator.class, SimpleMeterRegistry.class
+        ExtensionValidator.class, SimpleMeterRegistry.class, AdminStatisticCounters.class
 })
 class UserAPITest {
 
@@ -557,6 +559,11 @@ class UserAPITest {
             return new MockTransactionTemplate();
         }
 
+        @Bean
+        AccessTokenUsageWriter accessTokenUsageWriter(RepositoryService repositories) {
+            return new AccessTokenUsageWriter(repositories);
+        }
+
         @Bean
         OAuth2UserServices oauth2UserServices(
                 UserService users,
@@ -16,8 +16,11 @@ import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityManager;
 import org.eclipse.openvsx.ExtensionValidator;
 import org.eclipse.openvsx.MockTransactionTemplate;
+import org.eclipse.openvsx.QueryBudget;
 import org.eclipse.openvsx.UserService;
+import org.eclipse.openvsx.admin.AdminStatisticCounters;
 import org.eclipse.openvsx.cache.CacheService;
+import org.eclipse.openvsx.cache.FileResourceLocationCache;
 import org.eclipse.openvsx.cache.LatestExtensionVersionCacheKeyGenerator;
 import org.eclipse.openvsx.eclipse.EclipseService;
 import org.eclipse.openvsx.entities.*;
@@ -26,6 +29,7 @@ import org.eclipse.openvsx.repositories.RepositoryService;
 import org.eclipse.openvsx.search.ExtensionSearch;
 import org.eclipse.openvsx.search.ISearchService;
 import org.eclipse.openvsx.search.SearchUtilService;
+import org.eclipse.openvsx.security.AccessTokenUsageWriter;
 import org.eclipse.openvsx.security.OAuth2UserServices;
 import org.eclipse.openvsx.security.SecurityConfig;
 import org.eclipse.openvsx.security.TokenService;
@@ -33,6 +37,7 @@ import org.eclipse.openvsx.storage.*;
 import org.eclipse.openvsx.util.TargetPlatform;
 import org.eclipse.openvsx.util.VersionService;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.client.AutoConfigureWebClient;
@@ -68,11 +73,12 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @WebMvcTest(VSCodeAPI.class)
 @AutoConfigureWebClient
+@ExtendWith(QueryBudget.class)
 @MockBean({
     ClientRegistrationRepository.class, GoogleCloudStorageService.class, AzureBlobStorageService.class,
     AzureDownloadCountService.class, CacheService.class, UpstreamVSCodeService.class,
     VSCodeIdService.class, EntityManager.class, EclipseService.class, ExtensionValidator.class,
-    SimpleMeterRegistry.class
+    SimpleMeterRegistry.class, AdminStatisticCounters.class, VsixEntryService.class
 })
 class VSCodeAPITest {
 
@@ -103,6 +109,19 @@ class VSCodeAPITest {
                 .andExpect(content().json(file("search-yaml-response.json")));
     }
 
+    @Test
+    void testSearchQueryBudget() throws Exception {
+        var extension = mockSearch(true);
+        mockExtensionVersions(extension, null, "universal");
+
+        QueryBudget.measure("POST /vscode/gallery/extensionquery", repositories, () ->
+                mockMvc.perform(post("/vscode/gallery/extensionquery")
+                        .content(file("search-yaml-query.json"))
+                        .contentType(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+        ).assertAtMost(3).assertNoRepeatedCalls();
+    }
+
     @Test
     void testSearchMacOSXTarget() throws Exception {
         var targetPlatform = "darwin-x64";
@@ -1037,9 +1056,21 @@ class VSCodeAPITest {
                 VersionService versions,
                 SearchUtilService search,
                 StorageUtilService storageUtil,
-                ExtensionVersionIntegrityService integrityService
+                ExtensionVersionIntegrityService integrityService,
+                FileResourceLocationCache fileLocations
         ) {
-            return new LocalVSCodeService(repositories, versions, search, storageUtil, integrityService);
+            return new LocalVSCodeService(repositories, versions, search, storageUtil, integrityService, fileLocations);
+        }
+
+        @Bean
+        AccessTokenUsageWriter accessTokenUsageWriter(RepositoryService repositories) {
+            return new AccessTokenUsageWriter(repositories);
+        }
+
+        @Bean
+        FileResourceLocationCache fileResourceLocationCache(RepositoryService repositories) {
+            // caching is disabled, so that each test sees its own mocked file resources
+            return new FileResourceLocationCache(repositories, new SimpleMeterRegistry(), 0, 3600, 300);
         }
 
         @Bean
@@ -1048,9 +1079,11 @@ class VSCodeAPITest {
                 RepositoryService repositories,
                 StorageUtilService storageUtil,
                 CacheService cache,
-                ExtensionValidator validator
+                ExtensionValidator validator,
+                AccessTokenUsageWriter accessTokenUsage,
+                AdminStatisticCounters statisticCounters
         ) {
-            return new UserService(entityManager, repositories, storageUtil, cache, validator);
+            return new UserService(entityManager, repositories, storageUtil, cache, validator, accessTokenUsage, statisticCounters);
         }
 
         @Bean
@@ -1059,20 +1092,24 @@ class VSCodeAPITest {
                 GoogleCloudStorageService googleStorage,
                 AzureBlobStorageService azureStorage,
                 LocalStorageService localStorage,
+                VsixEntryService vsixEntries,
                 AzureDownloadCountService azureDownloadCountService,
                 SearchUtilService search,
                 CacheService cache,
-                EntityManager entityManager
+                EntityManager entityManager,
+                AdminStatisticCounters statisticCounters
         ) {
             return new StorageUtilService(
                     repositories,
                     googleStorage,
                     azureStorage,
                     localStorage,
+                    vsixEntries,
                     azureDownloadCountService,
                     search,
                     cache,
-                    entityManager
+                    entityManager,
+                    statisticCounters
             );
         }
 
@@ -14,15 +14,20 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.eclipse.openvsx.*;
 import org.eclipse.openvsx.adapter.VSCodeIdService;
+import org.eclipse.openvsx.cache.CacheInvalidationBus;
 import org.eclipse.openvsx.cache.CacheService;
+import org.eclipse.openvsx.cache.ExtensionExistenceFilter;
+import org.eclipse.openvsx.cache.FileResourceLocationCache;
 import org.eclipse.openvsx.cache.LatestExtensionVersionCacheKeyGenerator;
 import org.eclipse.openvsx.eclipse.EclipseService;
 import org.eclipse.openvsx.entities.*;
 import org.eclipse.openvsx.json.*;
 import org.eclipse.openvsx.publish.ExtensionVersionIntegrityService;
 import org.eclipse.openvsx.publish.PublishExtensionVersionHandler;
+import org.eclipse.openvsx.publish.PublishQueue;
 import org.eclipse.openvsx.repositories.RepositoryService;
 import org.eclipse.openvsx.search.SearchUtilService;
+import org.eclipse.openvsx.security.AccessTokenUsageWriter;
 import org.eclipse.openvsx.security.OAuth2UserServices;
 import org.eclipse.openvsx.security.SecurityConfig;
 import org.eclipse.openvsx.security.TokenService;
@@ -69,7 +74,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
     ClientRegistrationRepository.class, UpstreamRegistryService.class, GoogleCloudStorageService.class,
     AzureBlobStorageService.class, VSCodeIdService.class, AzureDownloadCountService.class,
     CacheService.class, PublishExtensionVersionHandler.class, SearchUtilService.class,
-    EclipseService.class, SimpleMeterRegistry.class
+    EclipseService.class, SimpleMeterRegistry.class, AdminStatisticCounters.class, VsixEntryService.class, PublishQueue.class
 })
 class AdminAPITest {
     
@@ -1127,7 +1132,7 @@ class AdminAPITest {
             bundles.add(bundle);
         }
         Mockito.when(repositories.findBundledExtensionsReference(extension))
-                .thenReturn(Streamable.of(bundles));
+                .thenReturn(bundles);
 
         var dependantExt = new Extension();
         dependantExt.setName("dependant");
@@ -1142,7 +1147,7 @@ class AdminAPITest {
             dependants.add(dependant);
         }
         Mockito.when(repositories.findDependenciesReference(extension))
-                .thenReturn(Streamable.of(dependants));
+                .thenReturn(dependants);
 
         Mockito.when(repositories.findAllReviews(extension))
                 .thenReturn(Streamable.empty());
@@ -1222,7 +1227,9 @@ class AdminAPITest {
                 EclipseService eclipse,
                 StorageUtilService storageUtil,
                 CacheService cache,
-                JobRequestScheduler scheduler
+                JobRequestScheduler scheduler,
+                AdminStatisticCounters statisticCounters,
+                ExtensionExistenceFilter existenceFilter
         ) {
             return new AdminService(
                     repositories,
@@ -1234,7 +1241,9 @@ class AdminAPITest {
                     eclipse,
                     storageUtil,
                     cache,
-                    scheduler
+                    scheduler,
+                    statisticCounters,
+                    existenceFilter
             );
         }
 
@@ -1250,7 +1259,11 @@ class AdminAPITest {
                 StorageUtilService storageUtil,
                 EclipseService eclipse,
                 CacheService cache,
-                ExtensionVersionIntegrityService integrityService
+                ExtensionVersionIntegrityService integrityService,
+                FileResourceLocationCache fileLocations,
+                PublishQueue publishQueue,
+                ExtensionExistenceFilter existenceFilter,
+                ObjectMapper mapper
         ) {
             return new LocalRegistryService(
                     entityManager,
@@ -1263,18 +1276,42 @@ class AdminAPITest {
                     storageUtil,
                     eclipse,
                     cache,
-                    integrityService
+                    integrityService,
+                    fileLocations,
+                    publishQueue,
+                    existenceFilter,
+                    mapper
             );
         }
 
+        @Bean
+        AccessTokenUsageWriter accessTokenUsageWriter(RepositoryService repositories) {
+            return new AccessTokenUsageWriter(repositories);
+        }
+
+        @Bean
+        FileResourceLocationCache fileResourceLocationCache(RepositoryService repositories) {
+            // caching is disabled, so that each test sees its own mocked file resources
+            return new FileResourceLocationCache(repositories, new SimpleMeterRegistry(), 0, 3600, 300);
+        }
+
+        @Bean
+        ExtensionExistenceFilter extensionExistenceFilter(RepositoryService repositories) {
+            // the filter is disabled, so that lookups always go to the mocked repositories
+            return new ExtensionExistenceFilter(repositories, Mockito.mock(CacheInvalidationBus.class), new SimpleMeterRegistry(), false, 1000, 0.01);
+        }
+
         @Bean
         ExtensionService extensionService(
                 RepositoryService repositories,
                 SearchUtilService search,
                 CacheService cache,
-                PublishExtensionVersionHandler publishHandler
+                PublishExtensionVersionHandler publishHandler,
+                AdminStatisticCounters statisticCounters,
+                PublishQueue publishQueue,
+                ExtensionExistenceFilter existenceFilter
         ) {
-            return new ExtensionService(repositories, search, cache, publishHandler);
+            return new ExtensionService(repositories, search, cache, publishHandler, statisticCounters, publishQueue, existenceFilter);
         }
 
         @Bean
@@ -1288,20 +1325,24 @@ class AdminAPITest {
                 GoogleCloudStorageService googleStorage,
                 AzureBlobStorageService azureStorage,
                 LocalStorageService localStorage,
+                VsixEntryService vsixEntries,
                 AzureDownloadCountService azureDownloadCountService,
                 SearchUtilService search,
                 CacheService cache,
-                EntityManager entityManager
+                EntityManager entityManager,
+                AdminStatisticCounters statisticCounters
         ) {
             return new StorageUtilService(
                     repositories,
                     googleStorage,
                     azureStorage,
                     localStorage,
+                    vsixEntries,
                     azureDownloadCountService,
                     search,
                     cache,
-                    entityManager
+                    entityManager,
+                    statisticCounters
             );
         }
 
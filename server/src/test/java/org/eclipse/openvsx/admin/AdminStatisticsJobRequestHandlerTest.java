@@ -31,6 +31,9 @@ class AdminStatisticsJobRequestHandlerTest {
     @MockBean
     AdminStatisticsService service;
 
+    @MockBean
+    AdminStatisticCounters counters;
+
     @Autowired
     AdminStatisticsJobRequestHandler handler;
 
@@ -40,6 +43,7 @@ class AdminStatisticsJobRequestHandlerTest {
 
         var request = new AdminStatisticsJobRequest(2023, 11);
         handler.run(request);
+        Mockito.verify(counters).flush();
         Mockito.verify(service).saveAdminStatistics(expectedStatistics);
     }
 
@@ -62,9 +66,10 @@ class AdminStatisticsJobRequestHandlerTest {
         @Bean
         AdminStatisticsJobRequestHandler adminStatisticsJobRequestHandler(
                 RepositoryService repositories,
-                AdminStatisticsService service
+                AdminStatisticsService service,
+                AdminStatisticCounters counters
         ) {
-            return new AdminStatisticsJobRequestHandler(repositories, service);
+            return new AdminStatisticsJobRequestHandler(repositories, service, counters);
         }
     }
 
@@ -0,0 +1,253 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.openvsx.repositories.RepositoryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CacheInvalidationBusTest {
+
+    private RepositoryService repositories;
+    private ApplicationEventPublisher events;
+    private SimpleMeterRegistry registry;
+    private CacheInvalidationBus bus;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        repositories = Mockito.mock(RepositoryService.class);
+        events = Mockito.mock(ApplicationEventPublisher.class);
+        registry = new SimpleMeterRegistry();
+        // the listener keeps waiting to reconnect, the tests don't receive notifications from the database
+        var dataSource = Mockito.mock(DataSource.class);
+        when(dataSource.getConnection()).thenThrow(new SQLException("Database is not available"));
+        bus = new CacheInvalidationBus(repositories, dataSource, events, registry, true, 60000, 3, 60000);
+    }
+
+    @AfterEach
+    void stop() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        bus.stop();
+    }
+
+    @Test
+    void testSendAfterCommit() {
+        bus.start(null);
+        var invalidation = CacheInvalidation.evict(CacheService.CACHE_EXISTENCE_FILTER, "foo/bar");
+
+        TransactionSynchronizationManager.initSynchronization();
+        bus.publish(invalidation);
+        bus.flush();
+        verify(repositories, never()).sendNotification(anyString(), anyString());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+        bus.flush();
+        assertThat(sentInvalidations()).containsExactly(invalidation);
+        assertThat(registry.get("ovsx_cache_invalidations_sent").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testDoNotSendRolledBackInvalidations() {
+        bus.start(null);
+
+        TransactionSynchronizationManager.initSynchronization();
+        bus.publish(CacheInvalidation.evict(CacheService.CACHE_EXISTENCE_FILTER, "foo/bar"));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        bus.flush();
+        verify(repositories, never()).sendNotification(anyString(), anyString());
+    }
+
+    @Test
+    void testDoNotSendBeforeStart() {
+        bus.publish(CacheInvalidation.clearAll());
+        bus.flush();
+        verify(repositories, never()).sendNotification(anyString(), anyString());
+    }
+
+    @Test
+    void testSendDuplicatesOnce() {
+        bus.start(null);
+        var first = CacheInvalidation.clear(CacheService.CACHE_SITEMAP);
+        var second = CacheInvalidation.evictExtension(CacheService.CACHE_EXTENSION_JSON, "foo", "bar");
+        bus.publish(first);
+        bus.publish(second);
+        bus.publish(first);
+
+        bus.flush();
+        assertThat(sentInvalidations()).containsExactly(first, second);
+    }
+
+    @Test
+    void testClearAllWhenTooManyInvalidationsArePending() {
+        bus.start(null);
+        for (var i = 0; i < 4; i++) {
+            bus.publish(CacheInvalidation.evict(CacheService.CACHE_EXISTENCE_FILTER, "foo/bar-" + i));
+        }
+
+        bus.flush();
+        assertThat(sentInvalidations()).containsExactly(CacheInvalidation.clearAll());
+
+        // the next batch is sent as usual
+        clearInvocations(repositories);
+        var next = CacheInvalidation.evict(CacheService.CACHE_EXISTENCE_FILTER, "foo/bar-4");
+        bus.publish(next);
+        bus.flush();
+        assertThat(sentInvalidations()).containsExactly(next);
+    }
+
+    @Test
+    void testClearAllWhenSendingFails() {
+        bus.start(null);
+        doThrow(new IllegalStateException("Database is not available")).doNothing()
+                .when(repositories).sendNotification(anyString(), anyString());
+        bus.publish(CacheInvalidation.evict(CacheService.CACHE_EXISTENCE_FILTER, "foo/bar"));
+        bus.flush();
+
+        clearInvocations(repositories);
+        bus.flush();
+        assertThat(sentInvalidations()).containsExactly(CacheInvalidation.clearAll());
+    }
+
+    @Test
+    void testSplitLargeBatches() {
+        var batch = new ArrayList<CacheInvalidation>();
+        for (var i = 0; i < 200; i++) {
+            // multi-byte characters count with their encoded size
+            var key = (i % 2 == 0 ? "ä" : "a").repeat(100) + i;
+            batch.add(CacheInvalidation.evict(CacheService.CACHE_EXISTENCE_FILTER, key));
+        }
+
+        var payloads = bus.toPayloads(batch);
+        assertThat(payloads).hasSizeGreaterThan(1);
+        var instanceIds = payloads.stream().map(payload -> payload.split("\n")[0]).distinct().toList();
+        assertThat(instanceIds).hasSize(1);
+        assertThat(payloads).allSatisfy(payload -> assertThat(payload.getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(8000));
+        assertThat(decode(payloads)).containsExactlyElementsOf(batch);
+    }
+
+    @Test
+    void testReceiveInvalidationsOfOtherInstances() {
+        var invalidation = CacheInvalidation.evictExtension(CacheService.CACHE_EXTENSION_JSON, "foo", "bar");
+        bus.receive("other-instance\n" + invalidation.encode() + "\nUNKNOWN");
+
+        var event = ArgumentCaptor.forClass(Object.class);
+        verify(events).publishEvent(event.capture());
+        assertThat(event.getValue()).isEqualTo(new CacheInvalidationEvent(List.of(invalidation)));
+        assertThat(registry.get("ovsx_cache_invalidations_received").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testIgnoreOwnInvalidations() {
+        var payload = bus.toPayloads(List.of(CacheInvalidation.clearAll())).get(0);
+        bus.receive(payload);
+        verify(events, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void testRemoteInvalidationsAreNotSentAgain() {
+        var broadcasts = new ArrayList<CacheInvalidation>();
+        var cacheManager = new RegistryCacheManager(
+                new ConcurrentMapCacheManager(CacheService.CACHE_EXTENSION_JSON, CacheService.CACHE_SITEMAP),
+                registry,
+                Set.of(CacheService.CACHE_EXTENSION_JSON),
+                Set.of(),
+                false,
+                0,
+                Duration.ZERO,
+                broadcasts::add
+        );
+        var fileResourceLocations = Mockito.mock(FileResourceLocationCache.class);
+        var existenceFilter = Mockito.mock(ExtensionExistenceFilter.class);
+        var upstreamMetadata = Mockito.mock(UpstreamMetadataCache.class);
+        var invalidationBus = Mockito.mock(CacheInvalidationBus.class);
+        var cacheService = new CacheService(
+                cacheManager,
+                repositories,
+                new ExtensionJsonCacheKeyGenerator(),
+                new LatestExtensionVersionCacheKeyGenerator(),
+                fileResourceLocations,
+                existenceFilter,
+                upstreamMetadata,
+                invalidationBus,
+                60
+        );
+
+        var extensionJsons = cacheManager.getCache(CacheService.CACHE_EXTENSION_JSON);
+        var sitemap = cacheManager.getCache(CacheService.CACHE_SITEMAP);
+        var latest = new ExtensionJsonCacheKeyGenerator().generate("foo", "bar", null, "latest");
+        var other = new ExtensionJsonCacheKeyGenerator().generate("foo", "baz", null, "latest");
+        extensionJsons.put(latest, "latest");
+        extensionJsons.put(other, "other");
+        sitemap.put("sitemap", "sitemap");
+
+        cacheService.evictRemoteInvalidations(new CacheInvalidationEvent(List.of(
+                CacheInvalidation.evictExtension(CacheService.CACHE_EXTENSION_JSON, "foo", "bar"),
+                CacheInvalidation.clear(CacheService.CACHE_SITEMAP),
+                CacheInvalidation.evict(CacheService.CACHE_EXISTENCE_FILTER, "foo/bar"),
+                CacheInvalidation.clear(CacheService.CACHE_UPSTREAM_METADATA)
+        )));
+        assertThat(extensionJsons.get(latest)).isNull();
+        assertThat(extensionJsons.get(other)).isNotNull();
+        assertThat(sitemap.get("sitemap")).isNull();
+        verify(existenceFilter).addLocal("foo/bar");
+        verify(upstreamMetadata).invalidate();
+
+        cacheService.evictRemoteInvalidations(new CacheInvalidationEvent(List.of(CacheInvalidation.clearAll())));
+        assertThat(extensionJsons.get(other)).isNull();
+        verify(fileResourceLocations).invalidate();
+        verify(existenceFilter).invalidate();
+        verify(upstreamMetadata, times(2)).invalidate();
+
+        assertThat(broadcasts).isEmpty();
+        verify(invalidationBus, never()).publish(any());
+    }
+
+    private List<CacheInvalidation> sentInvalidations() {
+        var payloads = ArgumentCaptor.forClass(String.class);
+        verify(repositories, atLeastOnce()).sendNotification(eq(CacheInvalidationBus.CHANNEL), payloads.capture());
+        return decode(payloads.getAllValues());
+    }
+
+    private List<CacheInvalidation> decode(List<String> payloads) {
+        return payloads.stream()
+                .flatMap(payload -> Arrays.stream(payload.split("\n")).skip(1))
+                .map(CacheInvalidation::decode)
+                .toList();
+    }
+}
@@ -0,0 +1,39 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheInvalidationTest {
+
+    @Test
+    void testEncodeDecode() {
+        var invalidations = new CacheInvalidation[] {
+                CacheInvalidation.clearAll(),
+                CacheInvalidation.clear(CacheService.CACHE_SITEMAP),
+                CacheInvalidation.evict(CacheService.CACHE_NAMESPACE_DETAILS_JSON, "foo"),
+                CacheInvalidation.evictExtension(CacheService.CACHE_EXTENSION_JSON, "foo", "bar")
+        };
+
+        for (var invalidation : invalidations) {
+            assertThat(CacheInvalidation.decode(invalidation.encode())).isEqualTo(invalidation);
+        }
+    }
+
+    @Test
+    void testDecodeInvalid() {
+        assertThat(CacheInvalidation.decode("UNKNOWN\tfoo")).isNull();
+        assertThat(CacheInvalidation.decode("CLEAR")).isNull();
+        assertThat(CacheInvalidation.decode("EVICT\textension.json")).isNull();
+        assertThat(CacheInvalidation.decode("EVICT_EXTENSION\textension.json\tfoo")).isNull();
+    }
+}
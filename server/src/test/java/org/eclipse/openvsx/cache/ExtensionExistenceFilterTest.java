@@ -0,0 +1,174 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.openvsx.repositories.RepositoryService;
+import org.eclipse.openvsx.util.ExtensionId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ExtensionExistenceFilterTest {
+
+    private RepositoryService repositories;
+    private CacheInvalidationBus invalidationBus;
+    private SimpleMeterRegistry registry;
+    private ExtensionExistenceFilter filter;
+
+    @BeforeEach
+    void setup() {
+        repositories = Mockito.mock(RepositoryService.class);
+        invalidationBus = Mockito.mock(CacheInvalidationBus.class);
+        registry = new SimpleMeterRegistry();
+        filter = new ExtensionExistenceFilter(repositories, invalidationBus, registry, true, 1000, 0.0001);
+        when(repositories.findAllNamespaceNames()).thenReturn(List.of("Foo"));
+        when(repositories.findAllExtensionIds()).thenReturn(List.of(new ExtensionId("Foo", "Bar")));
+    }
+
+    @AfterEach
+    void shutdown() {
+        filter.shutdown();
+    }
+
+    @Test
+    void testLookUpEverythingBeforeFirstRebuild() {
+        assertThat(filter.mightContainNamespace("unknown")).isTrue();
+        assertThat(filter.mightContainExtension("unknown", "extension")).isTrue();
+        assertThat(registry.get("ovsx_existence_filter_skipped").counter().count()).isZero();
+    }
+
+    @Test
+    void testNamesAreCaseInsensitive() {
+        filter.rebuild();
+
+        assertThat(filter.mightContainNamespace("foo")).isTrue();
+        assertThat(filter.mightContainNamespace("FOO")).isTrue();
+        assertThat(filter.mightContainExtension("foo", "BAR")).isTrue();
+        assertThat(filter.mightContainExtension("fOO", "bar")).isTrue();
+        assertThat(filter.mightContainNamespace("unknown")).isFalse();
+        assertThat(filter.mightContainExtension("foo", "unknown")).isFalse();
+        assertThat(registry.get("ovsx_existence_filter_skipped").counter().count()).isEqualTo(2);
+
+        filter.addExtension("Foo", "Baz");
+        assertThat(filter.mightContainExtension("FOO", "baz")).isTrue();
+    }
+
+    @Test
+    void testKeepNamesAddedDuringRebuild() {
+        when(repositories.findAllNamespaceNames())
+                .thenAnswer(invocation -> {
+                    // created after the names were read, but before the new filter is installed
+                    filter.addNamespace("New");
+                    return List.of("Foo");
+                })
+                .thenReturn(List.of("Foo"));
+
+        filter.rebuild();
+        assertThat(filter.mightContainNamespace("new")).isTrue();
+
+        // the next rebuild may have read the names before the namespace was committed
+        filter.rebuild();
+        assertThat(filter.mightContainNamespace("new")).isTrue();
+
+        // the namespace has not been committed after all
+        filter.rebuild();
+        assertThat(filter.mightContainNamespace("new")).isFalse();
+    }
+
+    @Test
+    void testKeepNamesWhenRebuildFails() {
+        filter.rebuild();
+        filter.addNamespace("New");
+
+        when(repositories.findAllNamespaceNames())
+                .thenThrow(new IllegalStateException("Database is not available"))
+                .thenReturn(List.of("Foo"));
+        filter.rebuild();
+        assertThat(filter.mightContainNamespace("new")).isTrue();
+
+        filter.rebuild();
+        assertThat(filter.mightContainNamespace("new")).isTrue();
+    }
+
+    @Test
+    void testSendAddedNamesToOtherInstances() {
+        filter.rebuild();
+
+        filter.addNamespace("Other");
+        filter.addExtension("Foo", "Other");
+        verify(invalidationBus).publish(CacheInvalidation.evict(CacheService.CACHE_EXISTENCE_FILTER, "other"));
+        verify(invalidationBus).publish(CacheInvalidation.evict(CacheService.CACHE_EXISTENCE_FILTER, "foo/other"));
+
+        filter.addLocal("remote/extension");
+        assertThat(filter.mightContainExtension("Remote", "Extension")).isTrue();
+        verifyNoMoreInteractions(invalidationBus);
+    }
+
+    @Test
+    void testInvalidateRebuildsInBackground() {
+        filter.rebuild();
+        assertThat(filter.mightContainNamespace("remote")).isFalse();
+
+        var rebuildThread = new AtomicReference<String>();
+        when(repositories.findAllNamespaceNames()).thenAnswer(invocation -> {
+            rebuildThread.set(Thread.currentThread().getName());
+            return List.of("Foo", "Remote");
+        });
+        filter.invalidate().join();
+
+        assertThat(rebuildThread.get()).isEqualTo("existence-filter-rebuild");
+        assertThat(filter.mightContainNamespace("remote")).isTrue();
+        assertThat(filter.mightContainNamespace("unknown")).isFalse();
+    }
+
+    @Test
+    void testInvalidateDiscardsRunningRebuild() {
+        filter.rebuild();
+        assertThat(filter.mightContainNamespace("remote")).isFalse();
+
+        var invalidation = new AtomicReference<CompletableFuture<Void>>();
+        when(repositories.findAllNamespaceNames())
+                .thenAnswer(invocation -> {
+                    // added names were missed on another instance while this rebuild was running
+                    invalidation.set(filter.invalidate());
+                    return List.of("Foo");
+                })
+                .thenReturn(List.of("Foo", "Remote"));
+
+        // the discarded filter is rebuilt again, either by the running rebuild or by the invalidation
+        filter.rebuild();
+        invalidation.get().join();
+        assertThat(filter.mightContainNamespace("remote")).isTrue();
+        assertThat(filter.mightContainNamespace("unknown")).isFalse();
+    }
+
+    @Test
+    void testDisabledFilter() {
+        filter.shutdown();
+        filter = new ExtensionExistenceFilter(repositories, invalidationBus, registry, false, 1000, 0.0001);
+        filter.scheduledRebuild();
+        filter.addNamespace("New");
+        assertThat(filter.invalidate()).isDone();
+
+        assertThat(filter.mightContainNamespace("unknown")).isTrue();
+        verify(invalidationBus, never()).publish(any());
+        verify(repositories, never()).findAllNamespaceNames();
+    }
+}
@@ -0,0 +1,117 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ExtensionKeyIndexedCacheTest {
+
+    private final ExtensionJsonCacheKeyGenerator keyGenerator = new ExtensionJsonCacheKeyGenerator();
+
+    @Test
+    void testKeysAreIndexedPerExtension() {
+        var cache = new ExtensionKeyIndexedCache(new ConcurrentMapCache("test"), new SimpleMeterRegistry());
+        var latest = keyGenerator.generate("foo", "bar", null, "latest");
+        var version = keyGenerator.generate("Foo", "Bar", "linux-x64", "1.0.0");
+        var other = keyGenerator.generate("foo", "baz", null, "latest");
+        cache.put(latest, "latest");
+        cache.put(version, "1.0.0");
+        cache.get(other, () -> "other");
+
+        assertThat(cache.getKeys("foo", "bar")).containsExactlyInAnyOrder(latest, version);
+        assertThat(cache.getKeys("foo", "baz")).containsExactly(other);
+        assertThat(cache.getKeys("foo", "qux")).isEmpty();
+    }
+
+    @Test
+    void testEvictedKeysAreRemovedFromIndex() {
+        var cache = new ExtensionKeyIndexedCache(new ConcurrentMapCache("test"), new SimpleMeterRegistry());
+        var latest = keyGenerator.generate("foo", "bar", null, "latest");
+        var version = keyGenerator.generate("foo", "bar", null, "1.0.0");
+        cache.put(latest, "latest");
+        cache.put(version, "1.0.0");
+
+        assertThat(cache.evictIfPresent(latest)).isTrue();
+        assertThat(cache.removeExpiredKeys(Duration.ZERO)).isEqualTo(1);
+        assertThat(cache.getKeys("foo", "bar")).containsExactly(version);
+        assertThat(cache.get(version, String.class)).isEqualTo("1.0.0");
+
+        cache.clear();
+        assertThat(cache.getKeys("foo", "bar")).isEmpty();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testValuesAreLoadedByDelegate() {
+        Cache delegate = spy(new ConcurrentMapCache("test"));
+        var cache = new ExtensionKeyIndexedCache(delegate, new SimpleMeterRegistry());
+        var key = keyGenerator.generate("foo", "bar", null, "latest");
+        var loads = new AtomicInteger();
+        Callable<String> loader = () -> {
+            // the key is recorded when the value has been loaded
+            assertThat(cache.getKeys("foo", "bar")).isEmpty();
+            return "latest-" + loads.incrementAndGet();
+        };
+
+        assertThat(cache.get(key, loader)).isEqualTo("latest-1");
+        assertThat(cache.get(key, loader)).isEqualTo("latest-1");
+        assertThat(loads).hasValue(1);
+        assertThat(cache.getKeys("foo", "bar")).containsExactly(key);
+        verify(delegate, times(2)).get(eq(key), any(Callable.class));
+    }
+
+    @Test
+    void testFailedLoadIsNotIndexed() {
+        var cache = new ExtensionKeyIndexedCache(new ConcurrentMapCache("test"), new SimpleMeterRegistry());
+        var key = keyGenerator.generate("foo", "bar", null, "latest");
+
+        assertThatThrownBy(() -> cache.get(key, () -> {
+            throw new IllegalStateException("Database is not available");
+        })).isInstanceOf(Cache.ValueRetrievalException.class);
+        assertThat(cache.getKeys("foo", "bar")).isEmpty();
+    }
+
+    @Test
+    void testExpiredKeysAreRemovedFromIndex() {
+        var delegate = new ConcurrentMapCache("test");
+        var registry = new SimpleMeterRegistry();
+        var cache = new ExtensionKeyIndexedCache(delegate, registry);
+        var latest = keyGenerator.generate("foo", "bar", null, "latest");
+        var other = keyGenerator.generate("foo", "baz", null, "latest");
+        cache.put(latest, "latest");
+        cache.put(other, "other");
+        // the entry expires in the delegate cache without going through the index
+        delegate.evict(latest);
+
+        // the value of a recently recorded key may not be stored yet
+        assertThat(cache.removeExpiredKeys(Duration.ofMinutes(1))).isZero();
+        assertThat(cache.getKeys("foo", "bar")).containsExactly(latest);
+
+        assertThat(cache.removeExpiredKeys(Duration.ZERO)).isEqualTo(1);
+        assertThat(cache.getKeys("foo", "bar")).isEmpty();
+        assertThat(cache.getKeys("foo", "baz")).containsExactly(other);
+        assertThat(registry.get("ovsx_cache_key_index_extensions").gauge().value()).isEqualTo(1);
+    }
+}
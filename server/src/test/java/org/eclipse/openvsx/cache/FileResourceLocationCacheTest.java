@@ -0,0 +1,183 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.openvsx.entities.Extension;
+import org.eclipse.openvsx.entities.ExtensionVersion;
+import org.eclipse.openvsx.entities.FileResource;
+import org.eclipse.openvsx.entities.Namespace;
+import org.eclipse.openvsx.repositories.RepositoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class FileResourceLocationCacheTest {
+
+    private RepositoryService repositories;
+    private FileResourceLocationCache cache;
+
+    @BeforeEach
+    void setup() {
+        repositories = Mockito.mock(RepositoryService.class);
+        cache = new FileResourceLocationCache(repositories, new SimpleMeterRegistry(), 100, 3600, 300);
+        when(repositories.findFileByType(anyString(), anyString(), anyString(), anyString(), anyString()))
+                .thenAnswer(invocation -> resource(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(3), invocation.getArgument(4)));
+    }
+
+    @Test
+    void testLocationIsCached() {
+        var first = cache.findByType("foo", "bar", "universal", "1.0.0", FileResource.DOWNLOAD);
+        var second = cache.findByType("foo", "bar", "universal", "1.0.0", FileResource.DOWNLOAD);
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(second.getName()).isEqualTo("foo.bar-1.0.0.vsix");
+        assertThat(second.getStorageType()).isEqualTo(FileResource.STORAGE_LOCAL);
+        assertThat(second.getExtension().getVersion()).isEqualTo("1.0.0");
+        assertThat(second.getExtension().getExtension().getName()).isEqualTo("bar");
+        assertThat(second.getExtension().getExtension().getNamespace().getName()).isEqualTo("foo");
+        verify(repositories, times(1)).findFileByType("foo", "bar", "universal", "1.0.0", FileResource.DOWNLOAD);
+    }
+
+    @Test
+    void testNamesAreCaseInsensitive() {
+        cache.findByType("Foo", "Bar", "universal", "1.0.0", FileResource.DOWNLOAD);
+        cache.findByType("foo", "BAR", "universal", "1.0.0", FileResource.DOWNLOAD);
+        verify(repositories, times(1)).findFileByType(anyString(), anyString(), anyString(), anyString(), anyString());
+
+        cache.evict("FOO", "bar");
+        assertThat(cache.getIndexedKeyCount()).isZero();
+        cache.findByType("foo", "bar", "universal", "1.0.0", FileResource.DOWNLOAD);
+        verify(repositories, times(2)).findFileByType(anyString(), anyString(), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void testAliasesAreCachedSeparately() {
+        cache.findByType("foo", "bar", "universal", "latest", FileResource.DOWNLOAD);
+        cache.findByType("foo", "bar", "universal", "1.0.0", FileResource.DOWNLOAD);
+        cache.findByType("foo", "bar", "universal", "latest", FileResource.DOWNLOAD);
+        cache.findByType("foo", "bar", "universal", "1.0.0", FileResource.DOWNLOAD);
+        verify(repositories, times(1)).findFileByType("foo", "bar", "universal", "latest", FileResource.DOWNLOAD);
+        verify(repositories, times(1)).findFileByType("foo", "bar", "universal", "1.0.0", FileResource.DOWNLOAD);
+        assertThat(cache.getIndexedKeyCount()).isEqualTo(2);
+
+        // publishing a version evicts both the aliases and the versions of the extension
+        cache.evict("foo", "bar");
+        cache.findByType("foo", "bar", "universal", "latest", FileResource.DOWNLOAD);
+        cache.findByType("foo", "bar", "universal", "1.0.0", FileResource.DOWNLOAD);
+        verify(repositories, times(2)).findFileByType("foo", "bar", "universal", "latest", FileResource.DOWNLOAD);
+        verify(repositories, times(2)).findFileByType("foo", "bar", "universal", "1.0.0", FileResource.DOWNLOAD);
+    }
+
+    @Test
+    void testEvictOnlyMatchingExtension() {
+        cache.findByType("foo", "bar", "universal", "1.0.0", FileResource.DOWNLOAD);
+        cache.findByType("foo", "bar", "universal", "1.0.0", FileResource.MANIFEST);
+        cache.findByType("foo", "baz", "universal", "1.0.0", FileResource.DOWNLOAD);
+        cache.findByType("foobar", "baz", "universal", "1.0.0", FileResource.DOWNLOAD);
+
+        cache.evict("foo", "bar");
+        assertThat(cache.getIndexedKeyCount()).isEqualTo(2);
+
+        cache.findByType("foo", "baz", "universal", "1.0.0", FileResource.DOWNLOAD);
+        cache.findByType("foobar", "baz", "universal", "1.0.0", FileResource.DOWNLOAD);
+        cache.findByType("foo", "bar", "universal", "1.0.0", FileResource.DOWNLOAD);
+        verify(repositories, times(1)).findFileByType("foo", "baz", "universal", "1.0.0", FileResource.DOWNLOAD);
+        verify(repositories, times(1)).findFileByType("foobar", "baz", "universal", "1.0.0", FileResource.DOWNLOAD);
+        verify(repositories, times(2)).findFileByType("foo", "bar", "universal", "1.0.0", FileResource.DOWNLOAD);
+    }
+
+    @Test
+    void testEvictedBySizeAreRemovedFromIndex() {
+        cache = new FileResourceLocationCache(repositories, new SimpleMeterRegistry(), 1, 3600, 300);
+        cache.findByType("foo", "bar", "universal", "1.0.0", FileResource.DOWNLOAD);
+        cache.findByType("foo", "baz", "universal", "1.0.0", FileResource.DOWNLOAD);
+        assertThat(cache.getIndexedKeyCount()).isEqualTo(1);
+
+        cache.findByType("foo", "bar", "universal", "1.0.0", FileResource.DOWNLOAD);
+        verify(repositories, times(2)).findFileByType("foo", "bar", "universal", "1.0.0", FileResource.DOWNLOAD);
+        assertThat(cache.getIndexedKeyCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testMissingFilesAreNotCached() {
+        when(repositories.findFileByType("foo", "bar", "universal", "1.0.0", FileResource.README)).thenReturn(null);
+        assertThat(cache.findByType("foo", "bar", "universal", "1.0.0", FileResource.README)).isNull();
+        assertThat(cache.findByType("foo", "bar", "universal", "1.0.0", FileResource.README)).isNull();
+        verify(repositories, times(2)).findFileByType("foo", "bar", "universal", "1.0.0", FileResource.README);
+        assertThat(cache.getIndexedKeyCount()).isZero();
+    }
+
+    @Test
+    void testEntryPackageIsCached() {
+        when(repositories.findFileByName("foo", "bar", "universal", "1.0.0", "extension/README.md")).thenAnswer(invocation -> {
+            var resource = resource("foo", "bar", "1.0.0", FileResource.README);
+            resource.setName("extension/README.md");
+            resource.setStorageType(FileResource.STORAGE_VSIX);
+            var entryPackage = resource("foo", "bar", "1.0.0", FileResource.DOWNLOAD);
+            entryPackage.setId(5L);
+            entryPackage.setExtension(resource.getExtension());
+            resource.setEntryPackage(entryPackage);
+            return resource;
+        });
+
+        cache.findByName("foo", "bar", "universal", "1.0.0", "extension/README.md");
+        var cached = cache.findByName("foo", "bar", "universal", "1.0.0", "extension/README.md");
+        verify(repositories, times(1)).findFileByName("foo", "bar", "universal", "1.0.0", "extension/README.md");
+
+        var entryPackage = cached.getEntryPackage();
+        assertThat(entryPackage.getId()).isEqualTo(5L);
+        assertThat(entryPackage.getName()).isEqualTo("foo.bar-1.0.0.vsix");
+        assertThat(entryPackage.getType()).isEqualTo(FileResource.DOWNLOAD);
+        assertThat(entryPackage.getStorageType()).isEqualTo(FileResource.STORAGE_LOCAL);
+        assertThat(entryPackage.getExtension()).isSameAs(cached.getExtension());
+
+        // resources that were not extracted from a package don't have one
+        assertThat(cache.findByType("foo", "bar", "universal", "1.0.0", FileResource.DOWNLOAD).getEntryPackage()).isNull();
+    }
+
+    @Test
+    void testInvalidate() {
+        cache.findByType("foo", "bar", "universal", "1.0.0", FileResource.DOWNLOAD);
+        cache.findByType("foo", "bar", "universal", "latest", FileResource.DOWNLOAD);
+
+        cache.invalidate();
+        assertThat(cache.getIndexedKeyCount()).isZero();
+        cache.findByType("foo", "bar", "universal", "1.0.0", FileResource.DOWNLOAD);
+        verify(repositories, times(2)).findFileByType("foo", "bar", "universal", "1.0.0", FileResource.DOWNLOAD);
+    }
+
+    private FileResource resource(String namespaceName, String extensionName, String version, String type) {
+        var namespace = new Namespace();
+        namespace.setId(1L);
+        namespace.setName(namespaceName);
+        var extension = new Extension();
+        extension.setId(2L);
+        extension.setName(extensionName);
+        extension.setNamespace(namespace);
+        var extVersion = new ExtensionVersion();
+        extVersion.setId(3L);
+        extVersion.setVersion(version);
+        extVersion.setTargetPlatform("universal");
+        extVersion.setExtension(extension);
+        var resource = new FileResource();
+        resource.setId(4L);
+        resource.setName(namespaceName + "." + extensionName + "-" + version + ".vsix");
+        resource.setType(type);
+        resource.setStorageType(FileResource.STORAGE_LOCAL);
+        resource.setExtension(extVersion);
+        return resource;
+    }
+}
@@ -0,0 +1,112 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightCacheTest {
+
+    private static final String KEY = "foo.bar";
+
+    @Test
+    void testConcurrentMissesAreComputedOnce() throws Exception {
+        var registry = new SimpleMeterRegistry();
+        var cache = new SingleFlightCache(new ConcurrentMapCache("test"), registry, false, 100, Duration.ofSeconds(60));
+        var calls = new AtomicInteger();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            var results = new ArrayList<Future<String>>();
+            results.add(executor.submit(() -> cache.get(KEY, () -> {
+                calls.incrementAndGet();
+                started.countDown();
+                release.await();
+                return "value";
+            })));
+            assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+            for(var i = 0; i < 3; i++) {
+                results.add(executor.submit(() -> cache.get(KEY, () -> "other" + calls.incrementAndGet())));
+            }
+
+            awaitCount(registry, "ovsx_cache_single_flight_waits", 3);
+            release.countDown();
+            for(var result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("value");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(cache.get(KEY, String.class)).isEqualTo("value");
+    }
+
+    @Test
+    void testStaleValueIsServedWhileRecomputing() throws Exception {
+        var cache = new SingleFlightCache(new ConcurrentMapCache("test"), new SimpleMeterRegistry(), true, 100, Duration.ofSeconds(60));
+        cache.put(KEY, "old");
+        cache.evictIfPresent(KEY);
+
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            var refresh = executor.submit(() -> cache.get(KEY, () -> {
+                started.countDown();
+                release.await();
+                return "new";
+            }));
+            assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(cache.get(KEY, () -> "unexpected")).isEqualTo("old");
+            release.countDown();
+            assertThat(refresh.get(10, TimeUnit.SECONDS)).isEqualTo("new");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(cache.get(KEY, () -> "unexpected")).isEqualTo("new");
+    }
+
+    @Test
+    void testFailedComputationIsNotCached() {
+        var cache = new SingleFlightCache(new ConcurrentMapCache("test"), new SimpleMeterRegistry(), false, 100, Duration.ofSeconds(60));
+        assertThatThrownBy(() -> cache.get(KEY, () -> {
+            throw new IllegalStateException("failed");
+        })).isInstanceOf(Cache.ValueRetrievalException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.get(KEY, () -> "value")).isEqualTo("value");
+    }
+
+    private void awaitCount(SimpleMeterRegistry registry, String name, double count) throws InterruptedException {
+        var counter = registry.get(name).counter();
+        for(var i = 0; i < 1000 && counter.count() < count; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(counter.count()).isEqualTo(count);
+    }
+}
@@ -0,0 +1,168 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.openvsx.json.NamespaceJson;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class UpstreamMetadataCacheTest {
+
+    private static final String URL_TEMPLATE = "http://upstream.example/api/{namespace}";
+    private static final String URL = "http://upstream.example/api/foo";
+    private static final String BODY = "{\"name\":\"foo\"}";
+
+    @Test
+    void testFreshResponseIsCached() {
+        var restTemplate = new RestTemplate();
+        var server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(ExpectedCount.once(), requestTo(URL))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(BODY, MediaType.APPLICATION_JSON).headers(headers("max-age=60", "\"1\"")));
+
+        var cache = createCache(restTemplate);
+        var first = cache.getForObject(URL_TEMPLATE, NamespaceJson.class, Map.of("namespace", "foo"));
+        var second = cache.getForObject(URL_TEMPLATE, NamespaceJson.class, Map.of("namespace", "foo"));
+
+        assertThat(first.getName()).isEqualTo("foo");
+        assertThat(second.getName()).isEqualTo("foo");
+        assertThat(second).isNotSameAs(first);
+        server.verify();
+    }
+
+    @Test
+    void testExpiredResponseIsRevalidated() {
+        var restTemplate = new RestTemplate();
+        var server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(ExpectedCount.once(), requestTo(URL))
+                .andRespond(withSuccess(BODY, MediaType.APPLICATION_JSON).headers(headers("max-age=0, must-revalidate", "\"1\"")));
+        server.expect(ExpectedCount.once(), requestTo(URL))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(headers("max-age=60", "\"1\"")));
+
+        var cache = createCache(restTemplate);
+        cache.getForObject(URL_TEMPLATE, NamespaceJson.class, Map.of("namespace", "foo"));
+        var revalidated = cache.getForObject(URL_TEMPLATE, NamespaceJson.class, Map.of("namespace", "foo"));
+        var cached = cache.getForObject(URL_TEMPLATE, NamespaceJson.class, Map.of("namespace", "foo"));
+
+        assertThat(revalidated.getName()).isEqualTo("foo");
+        assertThat(cached.getName()).isEqualTo("foo");
+        server.verify();
+    }
+
+    @Test
+    void testNoStoreResponseIsNotCached() {
+        var restTemplate = new RestTemplate();
+        var server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(ExpectedCount.twice(), requestTo(URL))
+                .andRespond(withSuccess(BODY, MediaType.APPLICATION_JSON).headers(headers("no-store", null)));
+
+        var cache = createCache(restTemplate);
+        cache.getForObject(URL_TEMPLATE, NamespaceJson.class, Map.of("namespace", "foo"));
+        cache.getForObject(URL_TEMPLATE, NamespaceJson.class, Map.of("namespace", "foo"));
+        server.verify();
+    }
+
+    @Test
+    void testNotFoundResponseIsCached() {
+        var restTemplate = new RestTemplate();
+        var server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(ExpectedCount.once(), requestTo(URL))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        var cache = createCache(restTemplate);
+        for(var i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> cache.getForObject(URL_TEMPLATE, NamespaceJson.class, Map.of("namespace", "foo")))
+                    .isInstanceOf(HttpClientErrorException.NotFound.class);
+        }
+        server.verify();
+    }
+
+    @Test
+    void testNotFoundResponseIsCachedWhenMetadataCacheIsDisabled() {
+        var restTemplate = new RestTemplate();
+        var server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(ExpectedCount.once(), requestTo(URL))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        var cache = createCache(restTemplate, false);
+        for(var i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> cache.getForObject(URL_TEMPLATE, NamespaceJson.class, Map.of("namespace", "foo")))
+                    .isInstanceOf(HttpClientErrorException.NotFound.class);
+        }
+        server.verify();
+    }
+
+    @Test
+    void testNotFoundResponseIsFetchedAgainAfterInvalidation() {
+        var restTemplate = new RestTemplate();
+        var server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(ExpectedCount.once(), requestTo(URL))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+        server.expect(ExpectedCount.once(), requestTo(URL))
+                .andRespond(withSuccess(BODY, MediaType.APPLICATION_JSON).headers(headers("max-age=60", "\"1\"")));
+
+        var cache = createCache(restTemplate);
+        assertThatThrownBy(() -> cache.getForObject(URL_TEMPLATE, NamespaceJson.class, Map.of("namespace", "foo")))
+                .isInstanceOf(HttpClientErrorException.NotFound.class);
+        cache.invalidate();
+        assertThat(cache.getForObject(URL_TEMPLATE, NamespaceJson.class, Map.of("namespace", "foo")).getName()).isEqualTo("foo");
+        server.verify();
+    }
+
+    @Test
+    void testDisabledCacheFetchesEveryRequest() {
+        var restTemplate = new RestTemplate();
+        var server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(ExpectedCount.twice(), requestTo(URL))
+                .andRespond(withSuccess(BODY, MediaType.APPLICATION_JSON).headers(headers("max-age=60", "\"1\"")));
+
+        var cache = createCache(restTemplate, false);
+        cache.getForObject(URL_TEMPLATE, NamespaceJson.class, Map.of("namespace", "foo"));
+        cache.getForObject(URL_TEMPLATE, NamespaceJson.class, Map.of("namespace", "foo"));
+        server.verify();
+    }
+
+    private UpstreamMetadataCache createCache(RestTemplate restTemplate) {
+        return createCache(restTemplate, true);
+    }
+
+    private UpstreamMetadataCache createCache(RestTemplate restTemplate, boolean enabled) {
+        var registry = new SimpleMeterRegistry();
+        var notFound = new UpstreamNotFoundCache(registry, true, 100, 300);
+        return new UpstreamMetadataCache(restTemplate, new ObjectMapper(), registry, notFound, enabled, 100, 60, 300, 3600, 1);
+    }
+
+    private HttpHeaders headers(String cacheControl, String etag) {
+        var headers = new HttpHeaders();
+        headers.setCacheControl(cacheControl);
+        if(etag != null) {
+            headers.setETag(etag);
+        }
+        return headers;
+    }
+}
@@ -17,10 +17,13 @@ import org.eclipse.openvsx.ExtensionValidator;
 import org.eclipse.openvsx.MockTransactionTemplate;
 import org.eclipse.openvsx.UserService;
 import org.eclipse.openvsx.adapter.VSCodeIdService;
+import org.eclipse.openvsx.admin.AdminStatisticCounters;
 import org.eclipse.openvsx.cache.CacheService;
+import org.eclipse.openvsx.cache.ExtensionExistenceFilter;
 import org.eclipse.openvsx.cache.LatestExtensionVersionCacheKeyGenerator;
 import org.eclipse.openvsx.entities.*;
 import org.eclipse.openvsx.publish.PublishExtensionVersionHandler;
+import org.eclipse.openvsx.publish.PublishQueue;
 import org.eclipse.openvsx.repositories.RepositoryService;
 import org.eclipse.openvsx.search.SearchUtilService;
 import org.eclipse.openvsx.security.TokenService;
@@ -57,7 +60,8 @@ import static org.mockito.ArgumentMatchers.eq;
     EntityManager.class, SearchUtilService.class, GoogleCloudStorageService.class, AzureBlobStorageService.class,
     VSCodeIdService.class, AzureDownloadCountService.class, CacheService.class,
     UserService.class, PublishExtensionVersionHandler.class,
-    SimpleMeterRegistry.class
+    SimpleMeterRegistry.class, AdminStatisticCounters.class, VsixEntryService.class, PublishQueue.class,
+    ExtensionExistenceFilter.class
 })
 class EclipseServiceTest {
 
@@ -95,6 +99,54 @@ class EclipseServiceTest {
         assertThat(profile.getPublisherAgreements().getOpenVsx().getVersion()).isEqualTo("1");
     }
 
+    @Test
+    void testCheckPublisherAgreementCached() throws Exception {
+        var user = mockUser();
+        user.setProvider("github");
+        user.setEclipsePersonId("test");
+
+        var urlTemplate = "https://test.openvsx.eclipse.org/account/profile/{personId}";
+        Mockito.when(restTemplate.exchange(eq(urlTemplate), eq(HttpMethod.GET), any(HttpEntity.class), eq(String.class), eq(Map.of("personId", "test"))))
+                .thenReturn(mockProfileResponse());
+        Mockito.when(restTemplate.postForEntity(any(String.class), any(), eq(String.class)))
+                .thenReturn(mockAgreementResponse());
+        Mockito.when(repositories.findVersionsByUser(user, false))
+                .thenReturn(Streamable.empty());
+
+        eclipse.checkPublisherAgreement(user);
+        eclipse.checkPublisherAgreement(user);
+        Mockito.verify(restTemplate, Mockito.times(1))
+                .exchange(eq(urlTemplate), eq(HttpMethod.GET), any(HttpEntity.class), eq(String.class), eq(Map.of("personId", "test")));
+
+        // signing the agreement evicts the cached profile
+        eclipse.signPublisherAgreement(user);
+        eclipse.checkPublisherAgreement(user);
+        Mockito.verify(restTemplate, Mockito.times(2))
+                .exchange(eq(urlTemplate), eq(HttpMethod.GET), any(HttpEntity.class), eq(String.class), eq(Map.of("personId", "test")));
+    }
+
+    @Test
+    void testCheckPublisherAgreementNoProfile() {
+        var user = mockUser();
+        user.setProvider("github");
+        user.setEclipsePersonId("unknown");
+
+        var urlTemplate = "https://test.openvsx.eclipse.org/account/profile/{personId}";
+        Mockito.when(restTemplate.exchange(eq(urlTemplate), eq(HttpMethod.GET), any(HttpEntity.class), eq(String.class), eq(Map.of("personId", "unknown"))))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+        for (var i = 0; i < 2; i++) {
+            try {
+                eclipse.checkPublisherAgreement(user);
+                fail("Expected an ErrorResultException");
+            } catch (ErrorResultException exc) {
+                assertThat(exc.getMessage()).isEqualTo("No Eclipse profile data available for user: unknown");
+            }
+        }
+        Mockito.verify(restTemplate, Mockito.times(1))
+                .exchange(eq(urlTemplate), eq(HttpMethod.GET), any(HttpEntity.class), eq(String.class), eq(Map.of("personId", "unknown")));
+    }
+
     @Test
     void testGetUserProfile() throws Exception {
         Mockito.when(restTemplate.exchange(any(RequestEntity.class), eq(String.class)))
@@ -266,9 +318,15 @@ class EclipseServiceTest {
                 TokenService tokens,
                 ExtensionService extensions,
                 EntityManager entityManager,
-                RestTemplate restTemplate
+                RestTemplate restTemplate,
+                EclipseProfileCache profileCache
         ) {
-            return new EclipseService(tokens, extensions, entityManager, restTemplate);
+            return new EclipseService(tokens, extensions, entityManager, restTemplate, profileCache);
+        }
+
+        @Bean
+        EclipseProfileCache eclipseProfileCache() {
+            return new EclipseProfileCache(new SimpleMeterRegistry(), 100, 3600, 300, 60);
         }
 
         @Bean
@@ -276,9 +334,12 @@ class EclipseServiceTest {
                 RepositoryService repositories,
                 SearchUtilService search,
                 CacheService cache,
-                PublishExtensionVersionHandler publishHandler
+                PublishExtensionVersionHandler publishHandler,
+                AdminStatisticCounters statisticCounters,
+                PublishQueue publishQueue,
+                ExtensionExistenceFilter existenceFilter
         ) {
-            return new ExtensionService(repositories, search, cache, publishHandler);
+            return new ExtensionService(repositories, search, cache, publishHandler, statisticCounters, publishQueue, existenceFilter);
         }
 
         @Bean
@@ -292,20 +353,24 @@ class EclipseServiceTest {
                 GoogleCloudStorageService googleStorage,
                 AzureBlobStorageService azureStorage,
                 LocalStorageService localStorage,
+                VsixEntryService vsixEntries,
                 AzureDownloadCountService azureDownloadCountService,
                 SearchUtilService search,
                 CacheService cache,
-                EntityManager entityManager
+                EntityManager entityManager,
+                AdminStatisticCounters statisticCounters
         ) {
             return new StorageUtilService(
                     repositories,
                     googleStorage,
                     azureStorage,
                     localStorage,
+                    vsixEntries,
                     azureDownloadCountService,
                     search,
                     cache,
-                    entityManager
+                    entityManager,
+                    statisticCounters
             );
         }
 
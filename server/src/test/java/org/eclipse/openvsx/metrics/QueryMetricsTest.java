@@ -0,0 +1,146 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.metrics;
+
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.eclipse.openvsx.repositories.NamespaceJooqRepository;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultConfiguration;
+import org.jooq.impl.DefaultExecuteListenerProvider;
+import org.jooq.tools.jdbc.MockConnection;
+import org.jooq.tools.jdbc.MockResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.openvsx.jooq.Tables.NAMESPACE;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class QueryMetricsTest {
+
+    private SimpleMeterRegistry meters;
+    private QueryMetrics metrics;
+    private NamespaceJooqRepository repository;
+
+    @BeforeEach
+    void setup() {
+        meters = new SimpleMeterRegistry();
+        var observations = ObservationRegistry.create();
+        observations.observationConfig().observationHandler(new DefaultMeterObservationHandler(meters));
+        metrics = new QueryMetrics(meters, observations, 0, 2);
+
+        var result = DSL.using(SQLDialect.POSTGRES).newResult(NAMESPACE.NAME);
+        result.add(DSL.using(SQLDialect.POSTGRES).newRecord(NAMESPACE.NAME).values("redhat"));
+        var connection = new MockConnection(ctx -> new MockResult[] { new MockResult(1, result) });
+        var configuration = new DefaultConfiguration()
+                .set(connection)
+                .set(SQLDialect.POSTGRES)
+                .set(new DefaultExecuteListenerProvider(new QueryExecuteListener(metrics)));
+        repository = new NamespaceJooqRepository(DSL.using(configuration));
+    }
+
+    @Test
+    void testJooqQueryIsTimed() {
+        assertThat(repository.findAllNames()).containsExactly("redhat");
+
+        var timer = meters.get("ovsx.query")
+                .tag("source", QueryMetrics.SOURCE_JOOQ)
+                .tag("method", "NamespaceJooqRepository.findAllNames")
+                .timer();
+        assertThat(timer.count()).isEqualTo(1);
+
+        var rows = meters.get("ovsx_query_rows")
+                .tag("method", "NamespaceJooqRepository.findAllNames")
+                .summary();
+        assertThat(rows.count()).isEqualTo(1);
+        assertThat(rows.totalAmount()).isEqualTo(1);
+    }
+
+    @Test
+    void testJpaStatementIsCounted() {
+        var sql = "select n1_0.id from namespace n1_0";
+        assertThat(new QueryStatementInspector(metrics).inspect(sql)).isEqualTo(sql);
+
+        var counter = meters.get("ovsx_query_statements")
+                .tag("source", QueryMetrics.SOURCE_JPA)
+                .counter();
+        assertThat(counter.count()).isEqualTo(1);
+    }
+
+    @Test
+    void testQueriesOfRequest() throws Exception {
+        mockMvc().perform(get("/names"))
+                .andExpect(status().isOk());
+
+        var queries = meters.get("ovsx_request_queries").tag("uri", "/names").summary();
+        assertThat(queries.count()).isEqualTo(1);
+        assertThat(queries.totalAmount()).isEqualTo(1);
+    }
+
+    @Test
+    void testQueriesOfStreamingResponseBody() throws Exception {
+        var result = mockMvc().perform(get("/stream"))
+                .andExpect(request().asyncStarted())
+                .andDo(MvcResult::getAsyncResult)
+                .andReturn();
+
+        // the request is recorded when the async processing is completed
+        assertThat(meters.find("ovsx_request_queries").tag("uri", "/stream").summary()).isNull();
+        result.getRequest().getAsyncContext().complete();
+
+        var queries = meters.get("ovsx_request_queries").tag("uri", "/stream").summary();
+        assertThat(queries.count()).isEqualTo(1);
+        assertThat(queries.totalAmount()).isEqualTo(2);
+        assertThat(meters.get("ovsx_query_n_plus_one").tag("uri", "/stream").counter().count()).isEqualTo(1);
+    }
+
+    private MockMvc mockMvc() {
+        return MockMvcBuilders.standaloneSetup(new NamesController(repository))
+                .addFilters(new QueryCountFilter(metrics))
+                .build();
+    }
+
+    @RestController
+    static class NamesController {
+
+        private final NamespaceJooqRepository repository;
+
+        NamesController(NamespaceJooqRepository repository) {
+            this.repository = repository;
+        }
+
+        @GetMapping("/names")
+        List<String> getNames() {
+            return repository.findAllNames();
+        }
+
+        @GetMapping("/stream")
+        StreamingResponseBody streamNames() {
+            return outputStream -> {
+                for (var i = 0; i < 2; i++) {
+                    outputStream.write(String.join("\n", repository.findAllNames()).getBytes());
+                }
+            };
+        }
+    }
+}
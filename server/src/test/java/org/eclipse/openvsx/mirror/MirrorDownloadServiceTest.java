@@ -0,0 +1,189 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software Ltd and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.mirror;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.eclipse.openvsx.entities.FileResource;
+import org.eclipse.openvsx.json.ExtensionJson;
+import org.eclipse.openvsx.repositories.RepositoryService;
+import org.eclipse.openvsx.storage.StorageUtilService;
+import org.eclipse.openvsx.util.TempFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class MirrorDownloadServiceTest {
+
+    private static final String PACKAGE_URL = "http://upstream.example/api/foo/bar/1.0.0/file/foo.bar-1.0.0.vsix";
+    private static final String SHA256_URL = "http://upstream.example/api/foo/bar/1.0.0/file/foo.bar-1.0.0.sha256";
+    private static final String PACKAGE = "package";
+    private static final String CHECKSUM = DigestUtils.sha256Hex(PACKAGE);
+
+    private MockRestServiceServer server;
+    private RepositoryService repositories;
+    private StorageUtilService storageUtil;
+    private SimpleMeterRegistry registry;
+    private MirrorDownloadService downloads;
+
+    @BeforeEach
+    void setup() {
+        var restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).ignoreExpectOrder(true).build();
+        repositories = Mockito.mock(RepositoryService.class);
+        storageUtil = Mockito.mock(StorageUtilService.class);
+        registry = new SimpleMeterRegistry();
+        downloads = new MirrorDownloadService(restTemplate, repositories, storageUtil, 4, registry);
+    }
+
+    @Test
+    void testSkipWhenLocalChecksumMatches() throws IOException {
+        expect(SHA256_URL, CHECKSUM + "\n", ExpectedCount.once());
+        mockLocalChecksum(CHECKSUM.toUpperCase());
+
+        var consumed = new ArrayList<String>();
+        assertThat(downloads.downloadExtensionPackage(extensionJson(), file -> consumed.add(read(file)))).isFalse();
+
+        server.verify();
+        assertThat(consumed).isEmpty();
+        assertThat(downloadCount("deduplicated")).isEqualTo(1);
+        assertThat(downloadCount("transferred")).isZero();
+    }
+
+    @Test
+    void testDownloadWhenLocalChecksumDiffers() throws IOException {
+        expect(SHA256_URL, CHECKSUM, ExpectedCount.once());
+        expect(PACKAGE_URL, PACKAGE, ExpectedCount.once());
+        mockLocalChecksum(DigestUtils.sha256Hex("other package"));
+
+        var consumed = new ArrayList<String>();
+        assertThat(downloads.downloadExtensionPackage(extensionJson(), file -> consumed.add(read(file)))).isTrue();
+
+        server.verify();
+        assertThat(consumed).containsExactly(PACKAGE);
+        assertThat(downloadCount("transferred")).isEqualTo(1);
+        assertThat(downloadCount("deduplicated")).isZero();
+    }
+
+    @Test
+    void testDownloadWhenNotMirroredYet() throws IOException {
+        expect(SHA256_URL, CHECKSUM, ExpectedCount.once());
+        expect(PACKAGE_URL, PACKAGE, ExpectedCount.once());
+
+        var consumed = new ArrayList<String>();
+        assertThat(downloads.downloadExtensionPackage(extensionJson(), file -> consumed.add(read(file)))).isTrue();
+
+        server.verify();
+        assertThat(consumed).containsExactly(PACKAGE);
+        verify(storageUtil, never()).downloadFile(any());
+    }
+
+    @Test
+    void testRejectPackageWithWrongChecksum() {
+        expect(SHA256_URL, DigestUtils.sha256Hex("other package"), ExpectedCount.once());
+        expect(PACKAGE_URL, PACKAGE, ExpectedCount.once());
+
+        var consumed = new ArrayList<String>();
+        assertThatThrownBy(() -> downloads.downloadExtensionPackage(extensionJson(), file -> consumed.add(read(file))))
+                .hasMessageContaining("sha256 checksum mismatch");
+        assertThat(consumed).isEmpty();
+    }
+
+    @Test
+    void testConcurrentDownloadsOfSameChecksum() throws Exception {
+        expect(SHA256_URL, CHECKSUM, ExpectedCount.twice());
+        expect(PACKAGE_URL, PACKAGE, ExpectedCount.once());
+
+        var second = new CompletableFuture<Boolean>();
+        var secondThread = new Thread(() -> {
+            try {
+                second.complete(downloads.downloadExtensionPackage(extensionJson(), file -> {
+                    throw new IllegalStateException("package must not be downloaded twice");
+                }));
+            } catch (Throwable t) {
+                second.completeExceptionally(t);
+            }
+        });
+
+        var consumed = new ArrayList<String>();
+        var first = downloads.downloadExtensionPackage(extensionJson(), file -> {
+            // the second download waits for this one while the package is mirrored
+            secondThread.start();
+            var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (secondThread.getState() != Thread.State.BLOCKED && System.nanoTime() < deadline) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+            }
+
+            consumed.add(read(file));
+            mockLocalChecksum(CHECKSUM);
+        });
+
+        assertThat(first).isTrue();
+        assertThat(second.get(10, TimeUnit.SECONDS)).isFalse();
+        server.verify();
+        assertThat(consumed).containsExactly(PACKAGE);
+        assertThat(downloadCount("transferred")).isEqualTo(1);
+        assertThat(downloadCount("deduplicated")).isEqualTo(1);
+    }
+
+    private void mockLocalChecksum(String checksum) throws IOException {
+        var resource = new FileResource();
+        resource.setName("foo.bar-1.0.0.sha256");
+        resource.setType(FileResource.DOWNLOAD_SHA256);
+        resource.setStorageType(FileResource.STORAGE_LOCAL);
+        when(repositories.findFileByType("foo", "bar", "universal", "1.0.0", FileResource.DOWNLOAD_SHA256)).thenReturn(resource);
+        when(storageUtil.downloadFile(resource)).thenAnswer(invocation -> {
+            var file = new TempFile("extension_", ".sha256");
+            Files.writeString(file.getPath(), checksum);
+            return file;
+        });
+    }
+
+    private ExtensionJson extensionJson() {
+        var json = new ExtensionJson();
+        json.setNamespace("foo");
+        json.setName("bar");
+        json.setVersion("1.0.0");
+        json.setTargetPlatform("universal");
+        json.setFiles(Map.of(FileResource.DOWNLOAD, PACKAGE_URL, FileResource.DOWNLOAD_SHA256, SHA256_URL));
+        return json;
+    }
+
+    private void expect(String url, String body, ExpectedCount count) {
+        server.expect(count, requestTo(url)).andRespond(withSuccess(body, MediaType.APPLICATION_OCTET_STREAM));
+    }
+
+    private String read(TempFile file) throws IOException {
+        return Files.readString(file.getPath());
+    }
+
+    private double downloadCount(String outcome) {
+        return registry.get("ovsx_mirror_downloads").tag("outcome", outcome).counter().count();
+    }
+}
@@ -0,0 +1,127 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software Ltd and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.mirror;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MirrorWorkerPoolTest {
+
+    private SimpleMeterRegistry registry;
+    private MirrorWorkerPool workers;
+
+    @BeforeEach
+    void setup() {
+        registry = new SimpleMeterRegistry();
+        workers = new MirrorWorkerPool(2, 1, registry);
+    }
+
+    @AfterEach
+    void shutdown() {
+        workers.shutdown();
+    }
+
+    @Test
+    void testTasksRunInParallel() throws Exception {
+        // each task waits for the other one, so this only completes if both run at the same time
+        var bothStarted = new CountDownLatch(2);
+        Runnable task = () -> {
+            bothStarted.countDown();
+            try {
+                assertThat(bothStarted.await(10, TimeUnit.SECONDS)).isTrue();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        };
+
+        CompletableFuture.allOf(workers.submit(task), workers.submit(task)).get(10, TimeUnit.SECONDS);
+        assertThat(gauge("ovsx_mirror_active_workers")).isZero();
+        assertThat(gauge("ovsx_mirror_queue_depth")).isZero();
+    }
+
+    @Test
+    void testSubmitBlocksWhenQueueIsFull() throws Exception {
+        var release = new CountDownLatch(1);
+        Runnable task = () -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        };
+
+        // two workers and one queued task
+        var first = workers.submit(task);
+        var second = workers.submit(task);
+        var third = workers.submit(task);
+        awaitGauge("ovsx_mirror_active_workers", 2);
+        assertThat(gauge("ovsx_mirror_queue_depth")).isEqualTo(1);
+
+        var fourth = new CompletableFuture<CompletableFuture<Void>>();
+        var submitter = new Thread(() -> {
+            try {
+                fourth.complete(workers.submit(task));
+            } catch (InterruptedException e) {
+                fourth.completeExceptionally(e);
+            }
+        });
+        submitter.start();
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (submitter.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        assertThat(fourth).isNotDone();
+
+        release.countDown();
+        CompletableFuture.allOf(first, second, third, fourth.get(10, TimeUnit.SECONDS)).get(10, TimeUnit.SECONDS);
+        awaitGauge("ovsx_mirror_active_workers", 0);
+        assertThat(gauge("ovsx_mirror_queue_depth")).isZero();
+    }
+
+    @Test
+    void testFailedTaskReleasesSlot() throws Exception {
+        var failed = workers.submit(() -> {
+            throw new IllegalStateException("mirror failed");
+        });
+        assertThatThrownBy(() -> failed.get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasRootCauseInstanceOf(IllegalStateException.class);
+
+        // all slots are still available
+        var tasks = new CompletableFuture[3];
+        for (var i = 0; i < tasks.length; i++) {
+            tasks[i] = workers.submit(() -> {});
+        }
+        CompletableFuture.allOf(tasks).get(10, TimeUnit.SECONDS);
+    }
+
+    private void awaitGauge(String name, double expected) {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (gauge(name) != expected && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        assertThat(gauge(name)).isEqualTo(expected);
+    }
+
+    private double gauge(String name) {
+        return registry.get(name).gauge().value();
+    }
+}
@@ -0,0 +1,156 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.publish;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.eclipse.openvsx.entities.Extension;
+import org.eclipse.openvsx.entities.ExtensionVersion;
+import org.eclipse.openvsx.entities.FileResource;
+import org.eclipse.openvsx.entities.Namespace;
+import org.eclipse.openvsx.repositories.RepositoryService;
+import org.eclipse.openvsx.util.TimeUtil;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.ZipEntry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.openvsx.jooq.Tables.FILE_RESOURCE;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class FileResourceBatchWriterTest {
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    RepositoryService repositories;
+
+    @Autowired
+    DSLContext dsl;
+
+    @Test
+    @Transactional
+    void testBatchIdsDoNotCollideWithEntityIds() {
+        var extVersion = extensionVersion();
+        var entityResources = new ArrayList<FileResource>();
+        entityResources.add(persistResource(extVersion, "before"));
+
+        var writer = new FileResourceBatchWriter(repositories, entityManager);
+        writer.batchSize = 120;
+        var batch = writer.newBatch();
+        var batchResources = new ArrayList<FileResource>();
+        // the first insert allocates two full blocks of file_resource_seq and a partial one
+        for(var i = 0; i < 120; i++) {
+            batchResources.add(addResource(batch, extVersion, i));
+        }
+        entityResources.add(persistResource(extVersion, "between"));
+        // the second insert only uses a partial block
+        for(var i = 120; i < 127; i++) {
+            batchResources.add(addResource(batch, extVersion, i));
+        }
+        batch.flush();
+        entityResources.add(persistResource(extVersion, "after"));
+        entityManager.flush();
+
+        var batchIds = batchResources.stream().map(FileResource::getId).toList();
+        var entityIds = entityResources.stream().map(FileResource::getId).toList();
+        assertThat(batchIds).doesNotHaveDuplicates().doesNotContainAnyElementsOf(entityIds);
+        assertThat(entityIds).doesNotHaveDuplicates();
+
+        var storedIds = dsl.select(FILE_RESOURCE.ID)
+                .from(FILE_RESOURCE)
+                .where(FILE_RESOURCE.EXTENSION_ID.eq(extVersion.getId()))
+                .fetch(FILE_RESOURCE.ID);
+        assertThat(storedIds).hasSize(130).containsAll(batchIds).containsAll(entityIds);
+
+        var resource = dsl.selectFrom(FILE_RESOURCE)
+                .where(FILE_RESOURCE.ID.eq(batchIds.get(125)))
+                .fetchOne();
+        assertThat(resource.getName()).isEqualTo("extension/file-125.txt");
+        assertThat(resource.getType()).isEqualTo(FileResource.RESOURCE);
+        assertThat(resource.getStorageType()).isEqualTo(FileResource.STORAGE_VSIX);
+        assertThat(resource.getEntryOffset()).isEqualTo(12500L);
+        assertThat(resource.getEntryCompressedSize()).isEqualTo(25L);
+        assertThat(resource.getEntrySize()).isEqualTo(125L);
+        assertThat(resource.getEntryMethod()).isEqualTo(ZipEntry.DEFLATED);
+    }
+
+    @Test
+    @Transactional
+    void testEmptyBatchIsNotInserted() {
+        var extVersion = extensionVersion();
+        var writer = new FileResourceBatchWriter(repositories, entityManager);
+        writer.batchSize = 500;
+        writer.newBatch().flush();
+        repositories.insertFileResources(List.of());
+
+        assertThat(dsl.fetchCount(FILE_RESOURCE, FILE_RESOURCE.EXTENSION_ID.eq(extVersion.getId()))).isZero();
+    }
+
+    private ExtensionVersion extensionVersion() {
+        var namespace = new Namespace();
+        namespace.setName("batch");
+        namespace.setPublicId("batch-writer-namespace");
+        entityManager.persist(namespace);
+
+        var extension = new Extension();
+        extension.setNamespace(namespace);
+        extension.setName("resources");
+        extension.setActive(true);
+        extension.setDownloadCount(0);
+        entityManager.persist(extension);
+
+        // not flushed, the batch writer flushes before inserting
+        var extVersion = new ExtensionVersion();
+        extVersion.setExtension(extension);
+        extVersion.setVersion("1.0.0");
+        extVersion.setTargetPlatform("universal");
+        extVersion.setPreview(false);
+        extVersion.setActive(true);
+        extVersion.setTimestamp(TimeUtil.getCurrentUTC());
+        extVersion.setCategories(Collections.emptyList());
+        extVersion.setTags(Collections.emptyList());
+        entityManager.persist(extVersion);
+        return extVersion;
+    }
+
+    private FileResource addResource(FileResourceBatchWriter.Batch batch, ExtensionVersion extVersion, int index) {
+        var resource = new FileResource();
+        resource.setExtension(extVersion);
+        resource.setName("extension/file-" + index + ".txt");
+        resource.setType(FileResource.RESOURCE);
+        resource.setStorageType(FileResource.STORAGE_VSIX);
+        resource.setEntryOffset(index * 100L);
+        resource.setEntryCompressedSize(index / 5L);
+        resource.setEntrySize((long) index);
+        resource.setEntryMethod(ZipEntry.DEFLATED);
+        batch.add(resource);
+        return resource;
+    }
+
+    private FileResource persistResource(ExtensionVersion extVersion, String name) {
+        var resource = new FileResource();
+        resource.setExtension(extVersion);
+        resource.setName(name);
+        resource.setType(FileResource.README);
+        resource.setStorageType(FileResource.STORAGE_LOCAL);
+        entityManager.persist(resource);
+        return resource;
+    }
+}
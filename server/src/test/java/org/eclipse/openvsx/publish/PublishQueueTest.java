@@ -0,0 +1,218 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.publish;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.openvsx.ExtensionService;
+import org.eclipse.openvsx.admin.AdminStatisticCounters;
+import org.eclipse.openvsx.cache.CacheService;
+import org.eclipse.openvsx.cache.ExtensionExistenceFilter;
+import org.eclipse.openvsx.entities.PersonalAccessToken;
+import org.eclipse.openvsx.entities.UserData;
+import org.eclipse.openvsx.repositories.RepositoryService;
+import org.eclipse.openvsx.search.SearchUtilService;
+import org.eclipse.openvsx.util.ErrorResultException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.*;
+
+class PublishQueueTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    PublishQueue queue;
+
+    @AfterEach
+    void shutdown() {
+        if(queue != null) {
+            queue.shutdown();
+        }
+    }
+
+    @Test
+    void testPublishReservedVersion() throws InterruptedException {
+        queue = new PublishQueue(1, 10, 10, 60, registry);
+        var status = queue.reserve(user(1));
+        assertThat(status.getStage()).isEqualTo(PublishStatus.Stage.QUEUED);
+        assertThat(queue.getQueueDepth()).isEqualTo(1);
+        assertThat(queue.getStatus(status.getId())).isSameAs(status);
+
+        var published = new CountDownLatch(1);
+        queue.submit(status, published::countDown);
+
+        assertThat(published.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        awaitDone(status);
+        assertThat(status.getStage()).isEqualTo(PublishStatus.Stage.COMPLETED);
+        assertThat(queue.getQueueDepth()).isZero();
+    }
+
+    @Test
+    void testServePublishersRoundRobin() throws InterruptedException {
+        queue = new PublishQueue(1, 10, 10, 60, registry);
+
+        // keep the only worker busy until all versions have been submitted
+        var blocked = new CountDownLatch(1);
+        var started = new CountDownLatch(1);
+        var blocker = queue.reserve(user(3));
+        queue.submit(blocker, () -> {
+            started.countDown();
+            try {
+                blocked.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertThat(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+
+        var order = Collections.synchronizedList(new ArrayList<String>());
+        var statuses = new ArrayList<PublishStatus>();
+        for(var name : List.of("a1", "a2", "a3")) {
+            statuses.add(submit(user(1), () -> order.add(name)));
+        }
+        for(var name : List.of("b1", "b2")) {
+            statuses.add(submit(user(2), () -> order.add(name)));
+        }
+        assertThat(queue.getQueueDepth()).isEqualTo(5);
+
+        blocked.countDown();
+        statuses.forEach(this::awaitDone);
+        assertThat(order).containsExactly("a1", "b1", "a2", "b2", "a3");
+    }
+
+    @Test
+    void testRejectWhenQueueIsFull() {
+        queue = new PublishQueue(1, 2, 10, 60, registry);
+        var first = queue.reserve(user(1));
+        queue.reserve(user(2));
+
+        assertThatThrownBy(() -> queue.reserve(user(3)))
+                .isInstanceOfSatisfying(ErrorResultException.class, e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS));
+        assertThat(registry.get("ovsx_publish_rejected").counter().count()).isEqualTo(1);
+
+        queue.release(first, "failed");
+        assertThat(queue.reserve(user(3))).isNotNull();
+        assertThat(queue.getQueueDepth()).isEqualTo(2);
+    }
+
+    @Test
+    void testRejectWhenPublisherHasTooManyPendingVersions() {
+        queue = new PublishQueue(1, 10, 2, 60, registry);
+        queue.reserve(user(1));
+        var second = queue.reserve(user(1));
+
+        assertThatThrownBy(() -> queue.reserve(user(1))).isInstanceOf(ErrorResultException.class);
+        assertThat(queue.reserve(user(2))).isNotNull();
+
+        queue.release(second, "failed");
+        assertThat(queue.reserve(user(1))).isNotNull();
+    }
+
+    @Test
+    void testInternalReservationIgnoresLimits() {
+        queue = new PublishQueue(1, 1, 1, 60, registry);
+        queue.reserve(user(1));
+        assertThatThrownBy(() -> queue.reserve(user(1))).isInstanceOf(ErrorResultException.class);
+
+        var internal = queue.reserveInternal(user(1));
+        assertThat(internal.getStage()).isEqualTo(PublishStatus.Stage.QUEUED);
+        assertThat(queue.getQueueDepth()).isEqualTo(2);
+        assertThat(registry.get("ovsx_publish_rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testReleaseMarksVersionAsFailed() {
+        queue = new PublishQueue(1, 1, 1, 60, registry);
+        var status = queue.reserve(user(1));
+
+        queue.release(status, "Invalid extension package");
+        assertThat(status.getStage()).isEqualTo(PublishStatus.Stage.FAILED);
+        assertThat(status.getError()).isEqualTo("Invalid extension package");
+        assertThat(queue.getQueueDepth()).isZero();
+    }
+
+    @Test
+    void testFailedPublishingFreesWorker() {
+        queue = new PublishQueue(1, 1, 1, 60, registry);
+        var failing = submit(user(1), () -> {
+            throw new IllegalStateException("Storage is not available");
+        });
+        awaitDone(failing);
+        assertThat(failing.getStage()).isEqualTo(PublishStatus.Stage.FAILED);
+        assertThat(failing.getError()).isEqualTo("Storage is not available");
+
+        var next = submit(user(1), () -> {});
+        awaitDone(next);
+        assertThat(next.getStage()).isEqualTo(PublishStatus.Stage.COMPLETED);
+    }
+
+    @Test
+    void testReleaseWhenUploadCannotBeProcessed() {
+        queue = new PublishQueue(1, 1, 1, 60, registry);
+        var publishHandler = mock(PublishExtensionVersionHandler.class);
+        when(publishHandler.createExtensionVersion(any(), any(), any(), anyBoolean()))
+                .thenThrow(new ErrorResultException("Invalid extension package"));
+        var extensions = new ExtensionService(
+                mock(RepositoryService.class),
+                mock(SearchUtilService.class),
+                mock(CacheService.class),
+                publishHandler,
+                mock(AdminStatisticCounters.class),
+                queue,
+                mock(ExtensionExistenceFilter.class)
+        );
+
+        var token = new PersonalAccessToken();
+        token.setUser(user(1));
+        var status = queue.reserve(token.getUser());
+        assertThatThrownBy(() -> extensions.publishVersion(new ByteArrayInputStream(new byte[0]), token, status))
+                .isInstanceOf(ErrorResultException.class);
+
+        assertThat(status.getStage()).isEqualTo(PublishStatus.Stage.FAILED);
+        assertThat(status.getError()).isEqualTo("Invalid extension package");
+        assertThat(queue.getQueueDepth()).isZero();
+        assertThat(queue.reserve(token.getUser())).isNotNull();
+    }
+
+    private PublishStatus submit(UserData publisher, Runnable task) {
+        var status = queue.reserve(publisher);
+        queue.submit(status, task);
+        return status;
+    }
+
+    private void awaitDone(PublishStatus status) {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while(!status.getStage().isDone()) {
+            assertThat(System.nanoTime()).as("publishing has finished").isLessThan(deadline);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+
+    private UserData user(long id) {
+        var user = new UserData();
+        user.setId(id);
+        user.setLoginName("user" + id);
+        return user;
+    }
+}
@@ -0,0 +1,71 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.ratelimit;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.BucketConfiguration;
+import org.eclipse.openvsx.repositories.RepositoryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the compare-and-swap operations of the bucket store against the {@code rate_limit_bucket} table.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class PostgreSQLProxyManagerTest {
+
+    @Autowired
+    RepositoryService repositories;
+
+    private final BucketConfiguration configuration = BucketConfiguration.builder()
+            .addLimit(Bandwidth.simple(3, Duration.ofHours(1)))
+            .build();
+
+    @Test
+    void testInstancesShareBucket() {
+        // two proxy managers without prefetch act like two server instances
+        var settings = new PrefetchingBucketBuilder.Settings(0, Duration.ofMillis(500), 100);
+        var first = new PostgreSQLProxyManager(repositories, "test", settings);
+        var second = new PostgreSQLProxyManager(repositories, "test", settings);
+        var key = UUID.randomUUID().toString();
+
+        // inserts the bucket state
+        assertThat(first.builder().build(key, () -> configuration).tryConsume(2)).isTrue();
+        // updates the bucket state with compare-and-swap
+        assertThat(second.builder().build(key, () -> configuration).tryConsume(1)).isTrue();
+        assertThat(first.builder().build(key, () -> configuration).tryConsume(1)).isFalse();
+
+        first.removeProxy(key);
+        assertThat(repositories.findRateLimitBucketState("test:" + key)).isNull();
+    }
+
+    @Test
+    void testCompareAndSwap() {
+        var id = "test:" + UUID.randomUUID();
+        assertThat(repositories.insertRateLimitBucketState(id, new byte[] { 1 })).isTrue();
+        assertThat(repositories.insertRateLimitBucketState(id, new byte[] { 2 })).isFalse();
+        assertThat(repositories.findRateLimitBucketState(id)).containsExactly(1);
+
+        assertThat(repositories.compareAndSetRateLimitBucketState(id, new byte[] { 2 }, new byte[] { 3 })).isFalse();
+        assertThat(repositories.compareAndSetRateLimitBucketState(id, new byte[] { 1 }, new byte[] { 3 })).isTrue();
+        assertThat(repositories.findRateLimitBucketState(id)).containsExactly(3);
+
+        repositories.deleteRateLimitBucket(id);
+        assertThat(repositories.findRateLimitBucketState(id)).isNull();
+    }
+}
@@ -0,0 +1,130 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.ratelimit;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.distributed.BucketProxy;
+import org.eclipse.openvsx.repositories.RepositoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class PrefetchingBucketBuilderTest {
+
+    private final BucketConfiguration configuration = BucketConfiguration.builder()
+            .addLimit(Bandwidth.simple(100, Duration.ofHours(1)))
+            .build();
+
+    private final Map<String, byte[]> states = new ConcurrentHashMap<>();
+    private RepositoryService repositories;
+
+    @BeforeEach
+    void setup() {
+        repositories = Mockito.mock(RepositoryService.class);
+        when(repositories.findRateLimitBucketState(anyString()))
+                .thenAnswer(invocation -> states.get(invocation.getArgument(0, String.class)));
+        when(repositories.insertRateLimitBucketState(anyString(), any()))
+                .thenAnswer(invocation -> states.putIfAbsent(invocation.getArgument(0), invocation.getArgument(1)) == null);
+        when(repositories.compareAndSetRateLimitBucketState(anyString(), any(), any()))
+                .thenAnswer(invocation -> {
+                    byte[] expected = invocation.getArgument(1);
+                    byte[] state = invocation.getArgument(2);
+                    var swapped = new AtomicBoolean();
+                    states.computeIfPresent(invocation.getArgument(0), (id, current) -> {
+                        swapped.set(Arrays.equals(current, expected));
+                        return swapped.get() ? state : current;
+                    });
+                    return swapped.get();
+                });
+    }
+
+    @Test
+    void testProxiesAreSeparatedByCacheName() {
+        var settings = new PrefetchingBucketBuilder.Settings(5, Duration.ofSeconds(10), 100);
+        var first = new PostgreSQLProxyManager(repositories, "first", settings);
+        var second = new PostgreSQLProxyManager(repositories, "second", settings);
+
+        var firstBucket = first.builder().build("key", () -> configuration);
+        assertThat(first.builder().build("key", () -> configuration)).isSameAs(firstBucket);
+
+        var secondBucket = second.builder().build("key", () -> configuration);
+        assertThat(secondBucket).isNotSameAs(firstBucket);
+
+        assertThat(firstBucket.tryConsume(1)).isTrue();
+        assertThat(secondBucket.tryConsume(1)).isTrue();
+        assertThat(states).containsOnlyKeys("first:key", "second:key");
+    }
+
+    @Test
+    void testPrefetchedTokensAreConsumedLocally() {
+        var settings = new PrefetchingBucketBuilder.Settings(5, Duration.ofSeconds(10), 100);
+        var proxyManager = new PostgreSQLProxyManager(repositories, "test", settings);
+        for (var i = 0; i < 4; i++) {
+            assertThat(proxyManager.builder().build("key", () -> configuration).tryConsume(1)).isTrue();
+        }
+
+        // the first request creates the shared state, the other tokens are below the synchronization threshold
+        verify(repositories, times(1)).insertRateLimitBucketState(eq("test:key"), any());
+        verify(repositories, never()).compareAndSetRateLimitBucketState(anyString(), any(), any());
+    }
+
+    @Test
+    void testEveryRequestIsSynchronizedWithoutPrefetch() {
+        var settings = new PrefetchingBucketBuilder.Settings(0, Duration.ofSeconds(10), 100);
+        var proxyManager = new PostgreSQLProxyManager(repositories, "test", settings);
+        for (var i = 0; i < 4; i++) {
+            assertThat(proxyManager.builder().build("key", () -> configuration).tryConsume(1)).isTrue();
+        }
+
+        verify(repositories, times(1)).insertRateLimitBucketState(eq("test:key"), any());
+        verify(repositories, times(3)).compareAndSetRateLimitBucketState(eq("test:key"), any(), any());
+    }
+
+    @Test
+    void testConcurrentRequestsShareOneProxy() throws Exception {
+        var settings = new PrefetchingBucketBuilder.Settings(5, Duration.ofSeconds(10), 100);
+        var proxyManager = new PostgreSQLProxyManager(repositories, "test", settings);
+        var threads = 8;
+        var executor = Executors.newFixedThreadPool(threads);
+        try {
+            var start = new CountDownLatch(1);
+            var futures = new ArrayList<Future<BucketProxy>>();
+            for (var i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return proxyManager.builder().build("key", () -> configuration);
+                }));
+            }
+
+            start.countDown();
+            var proxy = futures.get(0).get(10, TimeUnit.SECONDS);
+            for (var future : futures) {
+                assertThat(future.get(10, TimeUnit.SECONDS)).isSameAs(proxy);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
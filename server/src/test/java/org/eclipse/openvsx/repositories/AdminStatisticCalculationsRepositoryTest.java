@@ -0,0 +1,447 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.eclipse.openvsx.admin.AdminStatisticCounters;
+import org.eclipse.openvsx.entities.*;
+import org.eclipse.openvsx.jooq.tables.records.NamespaceStatisticsRecord;
+import org.eclipse.openvsx.jooq.tables.records.PublisherStatisticsRecord;
+import org.eclipse.openvsx.util.TimeUtil;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.eclipse.openvsx.jooq.Tables.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class AdminStatisticCalculationsRepositoryTest {
+
+    private static final int LIMIT = 100;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    DSLContext dsl;
+
+    @Autowired
+    RepositoryService repositories;
+
+    @Autowired
+    AdminStatisticCalculationsRepository repository;
+
+    @Test
+    @Transactional
+    void testCountersMatchExtensionTables() {
+        new Fixture();
+        repository.refreshNamespaceStatistics(dsl.select(NAMESPACE.ID).from(NAMESPACE).fetch(NAMESPACE.ID));
+        repository.refreshPublisherStatistics(dsl.select(USER_DATA.ID).from(USER_DATA).fetch(USER_DATA.ID));
+
+        var legacy = new LegacyStatistics(dsl);
+        assertThat(repository.downloadsTotal()).isEqualTo(legacy.downloadsTotal());
+        assertThat(repository.countActiveExtensions()).isEqualTo(legacy.countActiveExtensions());
+        assertThat(repository.countActiveExtensionPublishers()).isEqualTo(legacy.countActiveExtensionPublishers());
+        assertThat(repository.countActiveExtensionPublishersGroupedByExtensionsPublished())
+                .isEqualTo(legacy.countActiveExtensionPublishersGroupedByExtensionsPublished());
+        assertThat(repository.countActiveExtensionsGroupedByExtensionReviewRating())
+                .isEqualTo(legacy.countActiveExtensionsGroupedByExtensionReviewRating());
+        assertThat(repository.averageNumberOfActiveReviewsPerActiveExtension())
+                .isCloseTo(legacy.averageNumberOfActiveReviewsPerActiveExtension(), within(1e-9));
+        assertThat(repository.countPublishersThatClaimedNamespaceOwnership())
+                .isEqualTo(legacy.countPublishersThatClaimedNamespaceOwnership());
+        assertThat(repository.topMostActivePublishingUsers(LIMIT)).isEqualTo(legacy.topMostActivePublishingUsers(LIMIT));
+        assertThat(repository.topNamespaceExtensions(LIMIT)).isEqualTo(legacy.topNamespaceExtensions(LIMIT));
+        assertThat(repository.topNamespaceExtensionVersions(LIMIT)).isEqualTo(legacy.topNamespaceExtensionVersions(LIMIT));
+        assertThat(repository.topMostDownloadedExtensions(LIMIT)).isEqualTo(legacy.topMostDownloadedExtensions(LIMIT));
+    }
+
+    @Test
+    @Transactional
+    void testTopMostDownloadedExtensionsIncludesTiedNamespaces() {
+        // the second most downloaded extension is tied between two namespaces
+        var p = namespace("tie-p");
+        extension(p, "hundred", true, 100);
+        var q = namespace("tie-q");
+        extension(q, "eighty", true, 80);
+        extension(q, "seventy", true, 70);
+        var r = namespace("tie-r");
+        extension(r, "eighty", true, 80);
+        extension(r, "ninety", false, 90);
+        entityManager.flush();
+        repository.refreshNamespaceStatistics(dsl.select(NAMESPACE.ID).from(NAMESPACE).fetch(NAMESPACE.ID));
+
+        var legacy = new LegacyStatistics(dsl);
+        for(var limit = 1; limit <= 5; limit++) {
+            assertThat(repository.topMostDownloadedExtensions(limit))
+                    .as("limit %d", limit)
+                    .isEqualTo(legacy.topMostDownloadedExtensions(limit));
+        }
+        assertThat(repository.topMostDownloadedExtensions(2)).isEqualTo(Map.of("tie-p.hundred", 100L, "tie-q.eighty", 80L));
+        assertThat(repository.topMostDownloadedExtensions(3))
+                .isEqualTo(Map.of("tie-p.hundred", 100L, "tie-q.eighty", 80L, "tie-r.eighty", 80L));
+        assertThat(repository.topMostDownloadedExtensions(0)).isEmpty();
+    }
+
+    @Test
+    @Transactional
+    void testFlushRefreshesMarkedNamespacesAndPublishers() {
+        var fixture = new Fixture();
+        var counters = new AdminStatisticCounters(repositories);
+        counters.extensionChanged(fixture.one);
+        counters.publisherChanged(fixture.carol);
+
+        // marks are only recorded when the transaction commits
+        counters.flush();
+        assertThat(namespaceStatistics(fixture.a)).isNull();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        counters.flush();
+
+        var namespace = namespaceStatistics(fixture.a);
+        assertThat(namespace.getExtensions()).isEqualTo(2);
+        assertThat(namespace.getExtensionVersions()).isEqualTo(3);
+        assertThat(namespace.getDownloads()).isEqualTo(150L);
+        assertThat(namespace.getMaxExtensionDownloads()).isEqualTo(100);
+        assertThat(namespaceStatistics(fixture.b)).isNull();
+
+        // the publisher of the changed extension is resolved by the flush
+        var alice = publisherStatistics(fixture.alice);
+        assertThat(alice.getExtensions()).isEqualTo(1);
+        assertThat(alice.getExtensionVersions()).isEqualTo(3);
+        assertThat(alice.getNamespaceOwner()).isTrue();
+        var carol = publisherStatistics(fixture.carol);
+        assertThat(carol.getExtensions()).isZero();
+        assertThat(carol.getExtensionVersions()).isZero();
+        assertThat(carol.getNamespaceOwner()).isFalse();
+        assertThat(publisherStatistics(fixture.bob)).isNull();
+
+        assertThat(repository.topNamespaceExtensions(LIMIT)).containsEntry("stats-a", 2).doesNotContainKey("stats-b");
+        assertThat(repository.topNamespaceExtensionVersions(LIMIT)).containsEntry("stats-a", 3);
+        assertThat(repository.topMostActivePublishingUsers(LIMIT)).containsEntry("alice", 3).doesNotContainKey("carol");
+
+        // a later change is picked up by the flush after its commit
+        fixture.two.setActive(false);
+        entityManager.flush();
+        counters.extensionChanged(fixture.two);
+        counters.flush();
+        assertThat(namespaceStatistics(fixture.a).getExtensions()).isEqualTo(2);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        counters.flush();
+
+        namespace = namespaceStatistics(fixture.a);
+        assertThat(namespace.getExtensions()).isEqualTo(1);
+        assertThat(namespace.getExtensionVersions()).isEqualTo(2);
+        assertThat(namespace.getDownloads()).isEqualTo(100L);
+        assertThat(publisherStatistics(fixture.bob).getExtensions()).isEqualTo(1);
+        assertThat(publisherStatistics(fixture.alice).getExtensions()).isEqualTo(1);
+    }
+
+    private NamespaceStatisticsRecord namespaceStatistics(Namespace namespace) {
+        return dsl.selectFrom(NAMESPACE_STATISTICS)
+                .where(NAMESPACE_STATISTICS.NAMESPACE_ID.eq(namespace.getId()))
+                .fetchOne();
+    }
+
+    private PublisherStatisticsRecord publisherStatistics(UserData user) {
+        return dsl.selectFrom(PUBLISHER_STATISTICS)
+                .where(PUBLISHER_STATISTICS.USER_DATA_ID.eq(user.getId()))
+                .fetchOne();
+    }
+
+    /**
+     * Two namespaces with active, inactive and reviewed extensions, published by two users,
+     * and a third user without extensions.
+     */
+    private class Fixture {
+        final UserData alice = user("alice");
+        final UserData bob = user("bob");
+        final UserData carol = user("carol");
+        final Namespace a = namespace("stats-a");
+        final Namespace b = namespace("stats-b");
+        final Extension one = extension(a, "one", true, 100);
+        final Extension two = extension(a, "two", true, 50);
+        final Extension gone = extension(a, "gone", false, 500);
+        final Extension three = extension(b, "three", true, 100);
+
+        Fixture() {
+            namespace("stats-empty");
+            membership(alice, a, NamespaceMembership.ROLE_OWNER);
+            membership(bob, b, NamespaceMembership.ROLE_CONTRIBUTOR);
+            membership(carol, b, NamespaceMembership.ROLE_OWNER);
+
+            var aliceToken = token(alice);
+            var bobToken = token(bob);
+            version(one, "1.0.0", aliceToken, true);
+            version(one, "1.1.0", aliceToken, true);
+            version(one, "0.9.0", aliceToken, false);
+            version(two, "1.0.0", bobToken, true);
+            version(gone, "1.0.0", aliceToken, true);
+            version(three, "1.0.0", bobToken, true);
+
+            review(one, bob, 4, true);
+            review(one, carol, 5, true);
+            review(one, carol, 1, false);
+            review(three, alice, 3, true);
+            review(gone, bob, 2, true);
+            entityManager.flush();
+        }
+    }
+
+    private UserData user(String loginName) {
+        var user = new UserData();
+        user.setLoginName(loginName);
+        user.setProvider("github");
+        entityManager.persist(user);
+        return user;
+    }
+
+    private PersonalAccessToken token(UserData user) {
+        var token = new PersonalAccessToken();
+        token.setUser(user);
+        token.setValue("statistics-" + user.getLoginName());
+        token.setActive(true);
+        token.setCreatedTimestamp(TimeUtil.getCurrentUTC());
+        token.setDescription("statistics");
+        entityManager.persist(token);
+        return token;
+    }
+
+    private Namespace namespace(String name) {
+        var namespace = new Namespace();
+        namespace.setName(name);
+        namespace.setPublicId("statistics-" + name);
+        entityManager.persist(namespace);
+        return namespace;
+    }
+
+    private void membership(UserData user, Namespace namespace, String role) {
+        var membership = new NamespaceMembership();
+        membership.setUser(user);
+        membership.setNamespace(namespace);
+        membership.setRole(role);
+        entityManager.persist(membership);
+    }
+
+    private Extension extension(Namespace namespace, String name, boolean active, int downloads) {
+        var extension = new Extension();
+        extension.setNamespace(namespace);
+        extension.setName(name);
+        extension.setActive(active);
+        extension.setDownloadCount(downloads);
+        entityManager.persist(extension);
+        return extension;
+    }
+
+    private void version(Extension extension, String version, PersonalAccessToken token, boolean active) {
+        var extVersion = new ExtensionVersion();
+        extVersion.setExtension(extension);
+        extVersion.setVersion(version);
+        extVersion.setTargetPlatform("universal");
+        extVersion.setPreview(false);
+        extVersion.setActive(active);
+        extVersion.setPublishedWith(token);
+        extVersion.setTimestamp(TimeUtil.getCurrentUTC());
+        extVersion.setCategories(Collections.emptyList());
+        extVersion.setTags(Collections.emptyList());
+        entityManager.persist(extVersion);
+    }
+
+    private void review(Extension extension, UserData user, int rating, boolean active) {
+        var review = new ExtensionReview();
+        review.setExtension(extension);
+        review.setUser(user);
+        review.setRating(rating);
+        review.setActive(active);
+        review.setTimestamp(TimeUtil.getCurrentUTC());
+        entityManager.persist(review);
+
+        // mirror LocalRegistryService.updateExtensionReviewCounts
+        var reviews = entityManager.createQuery(
+                "select r.rating from ExtensionReview r where r.extension = :extension and r.active = true", Integer.class)
+                .setParameter("extension", extension)
+                .getResultList();
+        extension.setReviewCount((long) reviews.size());
+        extension.setAverageRating(reviews.stream().mapToInt(Integer::intValue).average().orElse(0));
+    }
+
+    /**
+     * The statistic queries that aggregated the extension tables before the counter tables were introduced.
+     */
+    private record LegacyStatistics(DSLContext dsl) {
+
+        long downloadsTotal() {
+            var sum = DSL.coalesce(DSL.sum(EXTENSION.DOWNLOAD_COUNT), BigDecimal.ZERO);
+            return dsl.select(sum)
+                    .from(EXTENSION)
+                    .where(EXTENSION.ACTIVE.eq(true))
+                    .fetchOne(sum)
+                    .longValue();
+        }
+
+        int countActiveExtensions() {
+            return dsl.fetchCount(EXTENSION, EXTENSION.ACTIVE.eq(true));
+        }
+
+        int countActiveExtensionPublishers() {
+            var publishers = DSL.countDistinct(PERSONAL_ACCESS_TOKEN.USER_DATA);
+            return dsl.select(publishers)
+                    .from(EXTENSION)
+                    .join(EXTENSION_VERSION).on(EXTENSION_VERSION.EXTENSION_ID.eq(EXTENSION.ID))
+                    .join(PERSONAL_ACCESS_TOKEN).on(PERSONAL_ACCESS_TOKEN.ID.eq(EXTENSION_VERSION.PUBLISHED_WITH_ID))
+                    .where(EXTENSION.ACTIVE.eq(true))
+                    .and(EXTENSION_VERSION.ACTIVE.eq(true))
+                    .fetchOne(publishers);
+        }
+
+        Map<Integer, Integer> countActiveExtensionPublishersGroupedByExtensionsPublished() {
+            var extensionCount = DSL.countDistinct(EXTENSION.ID).as("extension_count");
+            var extensionCountsByPublisher = dsl.select(PERSONAL_ACCESS_TOKEN.USER_DATA, extensionCount)
+                    .from(EXTENSION)
+                    .join(EXTENSION_VERSION).on(EXTENSION_VERSION.EXTENSION_ID.eq(EXTENSION.ID))
+                    .join(PERSONAL_ACCESS_TOKEN).on(PERSONAL_ACCESS_TOKEN.ID.eq(EXTENSION_VERSION.PUBLISHED_WITH_ID))
+                    .where(EXTENSION.ACTIVE.eq(true))
+                    .and(EXTENSION_VERSION.ACTIVE.eq(true))
+                    .groupBy(PERSONAL_ACCESS_TOKEN.USER_DATA)
+                    .asTable("aep");
+
+            var extensions = extensionCountsByPublisher.field(extensionCount);
+            var count = DSL.count();
+            return dsl.select(extensions, count)
+                    .from(extensionCountsByPublisher)
+                    .groupBy(extensions)
+                    .fetch()
+                    .stream()
+                    .collect(Collectors.toMap(r -> r.get(extensions), r -> r.get(count)));
+        }
+
+        Map<Integer, Integer> countActiveExtensionsGroupedByExtensionReviewRating() {
+            var averageRating = DSL.round(DSL.avg(EXTENSION_REVIEW.RATING)).as("average_rating");
+            var averageRatingByExtension = dsl.select(EXTENSION.ID, averageRating)
+                    .from(EXTENSION)
+                    .join(EXTENSION_REVIEW).on(EXTENSION_REVIEW.EXTENSION_ID.eq(EXTENSION.ID))
+                    .where(EXTENSION.ACTIVE.eq(true))
+                    .and(EXTENSION_REVIEW.ACTIVE.eq(true))
+                    .groupBy(EXTENSION.ID)
+                    .asTable("aer");
+
+            var rating = averageRatingByExtension.field(averageRating.getName(), Integer.class);
+            var count = DSL.count();
+            return dsl.select(rating, count)
+                    .from(averageRatingByExtension)
+                    .groupBy(rating)
+                    .fetch()
+                    .stream()
+                    .collect(Collectors.toMap(r -> r.get(rating), r -> r.get(count)));
+        }
+
+        double averageNumberOfActiveReviewsPerActiveExtension() {
+            var averageReviewsPerExtension = DSL.case_()
+                    .when(DSL.count(EXTENSION.ID).greaterThan(0), DSL.count(EXTENSION_REVIEW.ID).divide(DSL.countDistinct(EXTENSION.ID).times(1.0)))
+                    .otherwise(0)
+                    .coerce(double.class)
+                    .as("avg_reviews_per_extension");
+
+            return dsl.select(averageReviewsPerExtension)
+                    .from(EXTENSION)
+                    .join(EXTENSION_REVIEW).on(EXTENSION_REVIEW.EXTENSION_ID.eq(EXTENSION.ID))
+                    .where(EXTENSION.ACTIVE.eq(true))
+                    .and(EXTENSION_REVIEW.ACTIVE.eq(true))
+                    .fetchOne(averageReviewsPerExtension);
+        }
+
+        int countPublishersThatClaimedNamespaceOwnership() {
+            var count = DSL.countDistinct(NAMESPACE_MEMBERSHIP.USER_DATA);
+            return dsl.select(count)
+                    .from(EXTENSION)
+                    .join(EXTENSION_VERSION).on(EXTENSION_VERSION.EXTENSION_ID.eq(EXTENSION.ID))
+                    .join(PERSONAL_ACCESS_TOKEN).on(PERSONAL_ACCESS_TOKEN.ID.eq(EXTENSION_VERSION.PUBLISHED_WITH_ID))
+                    .join(NAMESPACE_MEMBERSHIP).on(NAMESPACE_MEMBERSHIP.USER_DATA.eq(PERSONAL_ACCESS_TOKEN.USER_DATA).and(NAMESPACE_MEMBERSHIP.NAMESPACE.eq(EXTENSION.NAMESPACE_ID)))
+                    .where(EXTENSION.ACTIVE.eq(true))
+                    .and(EXTENSION_VERSION.ACTIVE.eq(true))
+                    .and(NAMESPACE_MEMBERSHIP.ROLE.eq(NamespaceMembership.ROLE_OWNER))
+                    .fetchOne(count);
+        }
+
+        Map<String, Integer> topMostActivePublishingUsers(int limit) {
+            var count = DSL.count(EXTENSION_VERSION.ID).as("extension_version_count");
+            return dsl.select(USER_DATA.ID, USER_DATA.LOGIN_NAME, count)
+                    .from(EXTENSION_VERSION)
+                    .join(PERSONAL_ACCESS_TOKEN).on(PERSONAL_ACCESS_TOKEN.ID.eq(EXTENSION_VERSION.PUBLISHED_WITH_ID))
+                    .join(USER_DATA).on(USER_DATA.ID.eq(PERSONAL_ACCESS_TOKEN.USER_DATA))
+                    .where(EXTENSION_VERSION.ACTIVE.eq(true))
+                    .groupBy(USER_DATA.ID)
+                    .orderBy(count.desc())
+                    .limit(limit)
+                    .fetch()
+                    .stream()
+                    .collect(Collectors.toMap(r -> r.get(USER_DATA.LOGIN_NAME), r -> r.get(count)));
+        }
+
+        Map<String, Integer> topNamespaceExtensions(int limit) {
+            var count = DSL.count(EXTENSION.ID).as("extension_count");
+            return dsl.select(NAMESPACE.ID, NAMESPACE.NAME, count)
+                    .from(NAMESPACE)
+                    .join(EXTENSION).on(EXTENSION.NAMESPACE_ID.eq(NAMESPACE.ID))
+                    .where(EXTENSION.ACTIVE.eq(true))
+                    .groupBy(NAMESPACE.ID)
+                    .orderBy(count.desc())
+                    .limit(limit)
+                    .fetch()
+                    .stream()
+                    .collect(Collectors.toMap(r -> r.get(NAMESPACE.NAME), r -> r.get(count)));
+        }
+
+        Map<String, Integer> topNamespaceExtensionVersions(int limit) {
+            var count = DSL.count(EXTENSION_VERSION.ID).as("extension_version_count");
+            return dsl.select(NAMESPACE.ID, NAMESPACE.NAME, count)
+                    .from(NAMESPACE)
+                    .join(EXTENSION).on(EXTENSION.NAMESPACE_ID.eq(NAMESPACE.ID))
+                    .join(EXTENSION_VERSION).on(EXTENSION_VERSION.EXTENSION_ID.eq(EXTENSION.ID))
+                    .where(EXTENSION.ACTIVE.eq(true))
+                    .and(EXTENSION_VERSION.ACTIVE.eq(true))
+                    .groupBy(NAMESPACE.ID)
+                    .orderBy(count.desc())
+                    .limit(limit)
+                    .fetch()
+                    .stream()
+                    .collect(Collectors.toMap(r -> r.get(NAMESPACE.NAME), r -> r.get(count)));
+        }
+
+        Map<String, Long> topMostDownloadedExtensions(int limit) {
+            // same tie-break as the counter table query, so that the selected set is comparable
+            var downloads = EXTENSION.DOWNLOAD_COUNT;
+            var extensionId = DSL.concat(NAMESPACE.NAME, DSL.value("."), EXTENSION.NAME);
+            return dsl.select(extensionId, downloads)
+                    .from(NAMESPACE)
+                    .join(EXTENSION).on(EXTENSION.NAMESPACE_ID.eq(NAMESPACE.ID))
+                    .where(EXTENSION.ACTIVE.eq(true))
+                    .orderBy(downloads.desc(), NAMESPACE.NAME, EXTENSION.NAME)
+                    .limit(limit)
+                    .fetch()
+                    .stream()
+                    .collect(Collectors.toMap(r -> r.get(extensionId), r -> r.get(downloads).longValue()));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.repositories;
+
+import jakarta.transaction.Transactional;
+import org.jooq.DSLContext;
+import org.jooq.Query;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.openvsx.jooq.Tables.*;
+import static org.eclipse.openvsx.repositories.JooqUtil.equalIgnoreCase;
+
+/**
+ * Check that the case-insensitive name lookups are resolved with an index scan.
+ * Sequential scans are disabled, because the planner prefers them for the tiny test tables.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class CaseInsensitiveLookupPlanTest {
+
+    @Autowired
+    DSLContext dsl;
+
+    @Test
+    @Transactional
+    void testNamespaceByName() {
+        var query = dsl.select(NAMESPACE.ID)
+                .from(NAMESPACE)
+                .where(equalIgnoreCase(NAMESPACE.NAME, "RedHat"));
+
+        assertThat(plan(query)).contains("ukeq2y9mghytirkcofquanv5frf");
+    }
+
+    @Test
+    @Transactional
+    void testExtensionByName() {
+        var query = dsl.select(EXTENSION.ID)
+                .from(EXTENSION)
+                .where(EXTENSION.NAMESPACE_ID.eq(1L))
+                .and(equalIgnoreCase(EXTENSION.NAME, "Java"));
+
+        assertThat(plan(query)).contains("unique_extension");
+    }
+
+    @Test
+    @Transactional
+    void testFileResourceByName() {
+        var query = dsl.select(FILE_RESOURCE.ID)
+                .from(FILE_RESOURCE)
+                .where(FILE_RESOURCE.EXTENSION_ID.eq(1L))
+                .and(equalIgnoreCase(FILE_RESOURCE.NAME, "Package.json"));
+
+        assertThat(plan(query)).contains("file_resource_extension_id_upper_name_idx");
+    }
+
+    @Test
+    @Transactional
+    void testFileResourceByType() {
+        var query = dsl.select(FILE_RESOURCE.ID)
+                .from(FILE_RESOURCE)
+                .where(FILE_RESOURCE.EXTENSION_ID.eq(1L))
+                .and(FILE_RESOURCE.TYPE.eq("manifest"));
+
+        assertThat(plan(query)).contains("unique_file_resource");
+    }
+
+    private String plan(Query query) {
+        dsl.execute("SET LOCAL enable_seqscan = off");
+        return dsl.explain(query).plan();
+    }
+}
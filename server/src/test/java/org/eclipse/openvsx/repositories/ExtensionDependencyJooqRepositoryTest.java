@@ -0,0 +1,122 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.eclipse.openvsx.entities.Extension;
+import org.eclipse.openvsx.entities.ExtensionDependency;
+import org.eclipse.openvsx.entities.ExtensionVersion;
+import org.eclipse.openvsx.entities.Namespace;
+import org.eclipse.openvsx.util.ExtensionId;
+import org.eclipse.openvsx.util.TimeUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ExtensionDependencyJooqRepositoryTest {
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    ExtensionDependencyJooqRepository repository;
+
+    @Test
+    @Transactional
+    void testInstallSetOfPack() {
+        var namespace = namespace("a");
+        var pack = extension(namespace, "pack", true);
+        var one = extension(namespace, "one", true);
+        var two = extension(namespace, "two", true);
+        var three = extension(namespace, "three", true);
+        extension(namespace, "old", true);
+        extension(namespace, "inactive", false);
+
+        var packVersion = version(pack, "1.0.0");
+        dependency(packVersion, ExtensionDependency.BUNDLE, "a", "one");
+        dependency(packVersion, ExtensionDependency.BUNDLE, "A", "Two");
+        dependency(packVersion, ExtensionDependency.BUNDLE, "a", "inactive");
+
+        // chain: one -> three, and three closes a cycle back to one and to the pack itself
+        dependency(version(one, "1.0.0"), ExtensionDependency.DEPENDENCY, "a", "three");
+        var threeVersion = version(three, "2.0.0");
+        dependency(threeVersion, ExtensionDependency.DEPENDENCY, "a", "one");
+        dependency(threeVersion, ExtensionDependency.DEPENDENCY, "a", "pack");
+
+        // only the dependencies of the latest version are followed
+        dependency(version(two, "1.0.0"), ExtensionDependency.DEPENDENCY, "a", "old");
+        version(two, "1.1.0");
+
+        // references to extensions that are not published are ignored
+        dependency(threeVersion, ExtensionDependency.DEPENDENCY, "b", "missing");
+        entityManager.flush();
+
+        assertThat(repository.findInstallSet(pack)).containsExactly(
+                new ExtensionId("a", "one"),
+                new ExtensionId("a", "three"),
+                new ExtensionId("a", "two")
+        );
+        assertThat(repository.findInstallSet(three)).containsExactly(
+                new ExtensionId("a", "one"),
+                new ExtensionId("a", "pack"),
+                new ExtensionId("a", "two")
+        );
+        assertThat(repository.findInstallSet(two)).isEmpty();
+    }
+
+    private Namespace namespace(String name) {
+        var namespace = new Namespace();
+        namespace.setName(name);
+        namespace.setPublicId("install-set-" + name);
+        entityManager.persist(namespace);
+        return namespace;
+    }
+
+    private Extension extension(Namespace namespace, String name, boolean active) {
+        var extension = new Extension();
+        extension.setNamespace(namespace);
+        extension.setName(name);
+        extension.setActive(active);
+        extension.setDownloadCount(0);
+        entityManager.persist(extension);
+        return extension;
+    }
+
+    private ExtensionVersion version(Extension extension, String version) {
+        var extVersion = new ExtensionVersion();
+        extVersion.setExtension(extension);
+        extVersion.setVersion(version);
+        extVersion.setTargetPlatform("universal");
+        extVersion.setPreview(false);
+        extVersion.setActive(true);
+        extVersion.setTimestamp(TimeUtil.getCurrentUTC());
+        extVersion.setCategories(Collections.emptyList());
+        extVersion.setTags(Collections.emptyList());
+        entityManager.persist(extVersion);
+        return extVersion;
+    }
+
+    private void dependency(ExtensionVersion extVersion, String type, String namespaceName, String extensionName) {
+        var dependency = new ExtensionDependency();
+        dependency.setExtensionVersion(extVersion);
+        dependency.setType(type);
+        dependency.setNamespaceName(namespaceName);
+        dependency.setExtensionName(extensionName);
+        entityManager.persist(dependency);
+    }
+}
@@ -0,0 +1,237 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.eclipse.openvsx.entities.*;
+import org.eclipse.openvsx.util.TimeUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ExtensionVersionJooqRepositoryTest {
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    ExtensionVersionJooqRepository repository;
+
+    @Test
+    @Transactional
+    void testFindActiveExtensionIdsByLatestCategory() {
+        var namespace = namespace("category");
+        var one = extension(namespace, "one", true);
+        version(one, "1.0.0", true, List.of("Repository Test Themes"));
+        version(one, "2.0.0", true, List.of("Repository Test Languages"));
+
+        // the category is matched ignoring case, against every element of the array
+        var two = extension(namespace, "two", true);
+        version(two, "1.0.0", true, List.of("Other", "repository test LANGUAGES"));
+
+        // only the latest version is checked
+        var three = extension(namespace, "three", true);
+        version(three, "1.0.0", true, List.of("Repository Test Languages"));
+        version(three, "1.1.0", true, List.of("Repository Test Themes"));
+
+        // inactive versions are not the latest version
+        var four = extension(namespace, "four", true);
+        version(four, "1.0.0", true, List.of("Repository Test Themes"));
+        version(four, "2.0.0", false, List.of("Repository Test Languages"));
+
+        var inactive = extension(namespace, "inactive", false);
+        version(inactive, "1.0.0", true, List.of("Repository Test Languages"));
+        extension(namespace, "empty", true);
+        entityManager.flush();
+
+        assertThat(repository.findActiveExtensionIdsByLatestCategory("Repository Test Languages"))
+                .containsExactlyInAnyOrder(one.getId(), two.getId());
+        assertThat(repository.findActiveExtensionIdsByLatestCategory("REPOSITORY TEST THEMES"))
+                .containsExactlyInAnyOrder(three.getId(), four.getId());
+        assertThat(repository.findActiveExtensionIdsByLatestCategory("Repository Test")).isEmpty();
+    }
+
+    @Test
+    @Transactional
+    void testFindDetails() {
+        var fixture = new DetailsFixture();
+        var fileTypes = List.of(FileResource.DOWNLOAD, FileResource.MANIFEST);
+
+        // the latest version may be a pre-release, inactive versions are ignored
+        var latest = repository.findDetails("Details", "EXT", null, "latest", fileTypes, 100);
+        assertThat(latest.extVersion().getId()).isEqualTo(fixture.preRelease.getId());
+        assertThat(latest.latest().getId()).isEqualTo(fixture.preRelease.getId());
+        assertThat(latest.latestPreRelease().getId()).isEqualTo(fixture.preRelease.getId());
+        assertThat(latest.replacement().getId()).isEqualTo(fixture.replacement.getId());
+        assertThat(latest.replacement().getDisplayName()).isEqualTo("Replacement");
+        assertThat(latest.replacement().getExtension().getName()).isEqualTo("replacement");
+        assertThat(latest.verified()).isTrue();
+        assertThat(latest.versions()).containsExactly("1.2.0", "1.1.0", "1.0.0");
+        assertThat(latest.files()).extracting(FileResource::getType).containsExactly(FileResource.DOWNLOAD);
+        assertThat(latest.downloads()).extracting(download -> download.getExtension().getTargetPlatform())
+                .containsExactly("universal");
+
+        // a specific target platform filters the versions, the downloads and the replacement
+        var linux = repository.findDetails("details", "ext", "linux-x64", "latest", fileTypes, 100);
+        assertThat(linux.extVersion().getId()).isEqualTo(fixture.linux.getId());
+        assertThat(linux.latest().getId()).isEqualTo(fixture.linux.getId());
+        assertThat(linux.latestPreRelease()).isNull();
+        assertThat(linux.replacement()).isNull();
+        assertThat(linux.versions()).containsExactly("1.1.0");
+        assertThat(linux.files()).extracting(FileResource::getType)
+                .containsExactlyInAnyOrder(FileResource.DOWNLOAD, FileResource.MANIFEST);
+        assertThat(linux.downloads()).extracting(download -> download.getExtension().getTargetPlatform())
+                .containsExactly("linux-x64");
+
+        // without a target platform, the downloads of all target platforms of the version are returned
+        var version = repository.findDetails("details", "ext", null, "1.1.0", fileTypes, 100);
+        assertThat(version.extVersion().getId()).isEqualTo(fixture.linux.getId());
+        assertThat(version.latest().getId()).isEqualTo(fixture.preRelease.getId());
+        assertThat(version.downloads()).extracting(download -> download.getExtension().getTargetPlatform())
+                .containsExactlyInAnyOrder("linux-x64", "win32-x64");
+        assertThat(version.downloads()).extracting(FileResource::getName)
+                .containsExactlyInAnyOrder("details.ext-1.1.0@linux-x64.vsix", "details.ext-1.1.0@win32-x64.vsix");
+
+        var preRelease = repository.findDetails("details", "ext", "universal", "pre-release", fileTypes, 100);
+        assertThat(preRelease.extVersion().getId()).isEqualTo(fixture.preRelease.getId());
+        assertThat(preRelease.versions()).containsExactly("1.2.0", "1.0.0");
+
+        var limited = repository.findDetails("details", "ext", null, "1.0.0", fileTypes, 2);
+        assertThat(limited.extVersion().getId()).isEqualTo(fixture.universal.getId());
+        assertThat(limited.versions()).containsExactly("1.2.0", "1.1.0");
+
+        assertThat(repository.findDetails("details", "ext", null, "3.0.0", fileTypes, 100)).isNull();
+        assertThat(repository.findDetails("details", "ext", "linux-x64", "1.0.0", fileTypes, 100)).isNull();
+    }
+
+    private class DetailsFixture {
+        final ExtensionVersion universal;
+        final ExtensionVersion linux;
+        final ExtensionVersion preRelease;
+        final ExtensionVersion replacement;
+
+        DetailsFixture() {
+            var namespace = namespace("details");
+            var user = user("details-publisher");
+            membership(user, namespace, NamespaceMembership.ROLE_OWNER);
+            var token = token(user);
+
+            var extension = extension(namespace, "ext", true);
+            universal = version(extension, "1.0.0", "universal", false, true, token);
+            linux = version(extension, "1.1.0", "linux-x64", false, true, token);
+            version(extension, "1.1.0", "win32-x64", false, true, token);
+            preRelease = version(extension, "1.2.0", "universal", true, true, token);
+            version(extension, "3.0.0", "universal", false, false, token);
+            file(linux, FileResource.MANIFEST, "package.json");
+
+            var replacementExtension = extension(namespace, "replacement", true);
+            replacement = version(replacementExtension, "1.0.0", "universal", false, true, token);
+            replacement.setDisplayName("Replacement");
+            extension.setReplacement(replacementExtension);
+            entityManager.flush();
+        }
+    }
+
+    private UserData user(String loginName) {
+        var user = new UserData();
+        user.setLoginName(loginName);
+        user.setProvider("github");
+        entityManager.persist(user);
+        return user;
+    }
+
+    private void membership(UserData user, Namespace namespace, String role) {
+        var membership = new NamespaceMembership();
+        membership.setUser(user);
+        membership.setNamespace(namespace);
+        membership.setRole(role);
+        entityManager.persist(membership);
+    }
+
+    private PersonalAccessToken token(UserData user) {
+        var token = new PersonalAccessToken();
+        token.setUser(user);
+        token.setValue("extension-version-" + user.getLoginName());
+        token.setActive(true);
+        token.setCreatedTimestamp(TimeUtil.getCurrentUTC());
+        token.setDescription("extension version");
+        entityManager.persist(token);
+        return token;
+    }
+
+    private Namespace namespace(String name) {
+        var namespace = new Namespace();
+        namespace.setName(name);
+        namespace.setPublicId("extension-version-" + name);
+        entityManager.persist(namespace);
+        return namespace;
+    }
+
+    private Extension extension(Namespace namespace, String name, boolean active) {
+        var extension = new Extension();
+        extension.setNamespace(namespace);
+        extension.setName(name);
+        extension.setActive(active);
+        extension.setDownloadCount(0);
+        entityManager.persist(extension);
+        return extension;
+    }
+
+    private ExtensionVersion version(Extension extension, String version, boolean active, List<String> categories) {
+        var extVersion = newVersion(extension, version, "universal", active);
+        extVersion.setCategories(categories);
+        entityManager.persist(extVersion);
+        return extVersion;
+    }
+
+    private ExtensionVersion version(Extension extension, String version, String targetPlatform, boolean preRelease, boolean active, PersonalAccessToken token) {
+        var extVersion = newVersion(extension, version, targetPlatform, active);
+        extVersion.setCategories(Collections.emptyList());
+        extVersion.setPreRelease(preRelease);
+        extVersion.setPublishedWith(token);
+        entityManager.persist(extVersion);
+
+        var namespaceName = extension.getNamespace().getName();
+        var suffix = Objects.equals(targetPlatform, "universal") ? "" : "@" + targetPlatform;
+        file(extVersion, FileResource.DOWNLOAD, namespaceName + "." + extension.getName() + "-" + version + suffix + ".vsix");
+        return extVersion;
+    }
+
+    private ExtensionVersion newVersion(Extension extension, String version, String targetPlatform, boolean active) {
+        var extVersion = new ExtensionVersion();
+        extVersion.setExtension(extension);
+        extVersion.setVersion(version);
+        extVersion.setTargetPlatform(targetPlatform);
+        extVersion.setPreview(false);
+        extVersion.setActive(active);
+        extVersion.setTimestamp(TimeUtil.getCurrentUTC());
+        extVersion.setTags(Collections.emptyList());
+        return extVersion;
+    }
+
+    private void file(ExtensionVersion extVersion, String type, String name) {
+        var resource = new FileResource();
+        resource.setExtension(extVersion);
+        resource.setType(type);
+        resource.setName(name);
+        resource.setStorageType(FileResource.STORAGE_LOCAL);
+        entityManager.persist(resource);
+    }
+}
@@ -26,6 +26,7 @@ import java.lang.reflect.Modifier;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.toList;
@@ -65,6 +66,11 @@ class RepositoryServiceSmokeTest {
         extVersion.setTargetPlatform("targetPlatform");
         extVersion.setExtension(extension);
         var personalAccessToken = new PersonalAccessToken();
+        var fileResource = new FileResource();
+        fileResource.setExtension(extVersion);
+        fileResource.setName("name");
+        fileResource.setType(FileResource.RESOURCE);
+        fileResource.setStorageType(FileResource.STORAGE_LOCAL);
         var keyPair = new SignatureKeyPair();
         keyPair.setPrivateKey(new byte[0]);
         keyPair.setPublicKeyText("");
@@ -95,6 +101,7 @@ class RepositoryServiceSmokeTest {
                 () -> repositories.downloadsTotal(),
                 () -> repositories.findAccessToken("value"),
                 () -> repositories.findAccessToken(1L),
+                () -> repositories.updateAccessTokenTimestamps(Map.of(1L, NOW)),
                 () -> repositories.findAccessTokens(userData),
                 () -> repositories.findActiveExtensions(namespace),
                 () -> repositories.findActiveReviews(extension),
@@ -102,6 +109,8 @@ class RepositoryServiceSmokeTest {
                 () -> repositories.findActiveVersions(extension),
                 () -> repositories.findAdminStatisticsByYearAndMonth(1997, 1),
                 () -> repositories.findAllActiveExtensions(),
+                () -> repositories.findActiveExtensionIdsByLatestCategory("category"),
+                () -> repositories.findInstallSet(extension),
                 () -> repositories.findAllPersistedLogs(),
                 () -> repositories.findAllReviews(extension),
                 () -> repositories.findAllSucceededAzureDownloadCountProcessedItemsByNameIn(STRING_LIST),
@@ -137,6 +146,9 @@ class RepositoryServiceSmokeTest {
                 () -> repositories.findFilesByType(List.of(extVersion), STRING_LIST),
                 () -> repositories.countVersions(extension),
                 () -> repositories.topMostDownloadedExtensions(1),
+                () -> repositories.findPublisherIds(LONG_LIST),
+                () -> repositories.refreshNamespaceStatistics(LONG_LIST),
+                () -> repositories.refreshPublisherStatistics(LONG_LIST),
                 () -> repositories.deleteFileResources(extVersion, "download"),
                 () -> repositories.countActiveAccessTokens(userData),
                 () -> repositories.findNotMigratedResources(),
@@ -151,7 +163,10 @@ class RepositoryServiceSmokeTest {
                 () -> repositories.topNamespaceExtensionVersions(1),
                 () -> repositories.findFileResourcesByExtensionVersionIdAndType(LONG_LIST, STRING_LIST),
                 () -> repositories.findResourceFileResources(extVersion, "prefix"),
+                () -> repositories.insertFileResources(List.of(fileResource)),
                 () -> repositories.findActiveExtensionVersions(LONG_LIST, "targetPlatform"),
+                () -> repositories.findActiveVersionKeysByExtensionId(List.of(new ExtensionId("namespace", "extension")), "targetPlatform"),
+                () -> repositories.findActiveExtensionVersionsById(LONG_LIST),
                 () -> repositories.findActiveExtension("name", "namespaceName"),
                 () -> repositories.findActiveExtensionsById(LONG_LIST),
                 () -> repositories.findActiveExtensionsByPublicId(STRING_LIST, "namespaceName"),
@@ -173,6 +188,7 @@ class RepositoryServiceSmokeTest {
                 () -> repositories.findVersionStringsSorted(extension, "targetPlatform", true),
                 () -> repositories.findVersionStringsSorted(extension, "targetPlatform", true),
                 () -> repositories.findActiveVersions(queryRequest),
+                () -> repositories.findActiveVersionsAfter(0L, NOW, 100),
                 () -> repositories.findActiveVersionStringsSorted(LONG_LIST,"targetPlatform"),
                 () -> repositories.findActiveVersionReferencesSorted(List.of(1L)),
                 () -> repositories.findAllPublicIds(),
@@ -185,8 +201,7 @@ class RepositoryServiceSmokeTest {
                 () -> repositories.namespacePublicIdExists("namespaceName.extensionName"),
                 () -> repositories.fetchSitemapRows(),
                 () -> repositories.findTargetPlatformsGroupedByVersion(extension),
-                () -> repositories.findVersionsForUrls(extension, "targetPlatform", "version"),
-                () -> repositories.findExtensionVersion("namespaceName", "extensionName", "targetPlatform", "version"),
+                () -> repositories.findExtensionVersionDetails("namespaceName", "extensionName", "targetPlatform", "version", List.of("type")),
                 () -> repositories.findLatestVersionForAllUrls(extension, "targetPlatform", false, false),
                 () -> repositories.findLatestVersion(extension, "targetPlatform", false, false),
                 () -> repositories.findLatestVersions(namespace),
@@ -195,6 +210,7 @@ class RepositoryServiceSmokeTest {
                 () -> repositories.isNamespaceOwner(userData, namespace),
                 () -> repositories.findMembershipsForOwner(userData,"namespaceName"),
                 () -> repositories.findNamespaceName("namespaceName"),
+                () -> repositories.findAllNamespaceNames(),
                 () -> repositories.findMemberships("namespaceName"),
                 () -> repositories.findActiveExtensionNames(namespace),
                 () -> repositories.namespaceExists("namespaceName"),
@@ -209,6 +225,8 @@ class RepositoryServiceSmokeTest {
                 () -> repositories.isAdminToken("tokenValue"),
                 () -> repositories.findFileByTypeAndName("namespaceName", "extensionName", "targetPlatform", "version", "type", "name"),
                 () -> repositories.findLatestVersions(List.of(1L)),
+                () -> repositories.findLatestActiveVersions(LONG_LIST),
+                () -> repositories.findExtensionTargetPlatforms(LONG_LIST),
                 () -> repositories.hasSameVersion(extVersion),
                 () -> repositories.hasActiveReview(extension, userData),
                 () -> repositories.findLatestVersionsIsPreview(List.of(1L)),
@@ -225,10 +243,18 @@ class RepositoryServiceSmokeTest {
                 () -> repositories.findActiveExtensionsForUrls(namespace),
                 () -> repositories.deactivateKeyPairs(),
                 () -> repositories.hasExtension("namespaceName", "extensionName"),
+                () -> repositories.findAllExtensionIds(),
                 () -> repositories.findDeprecatedExtensions(extension),
                 () -> repositories.findLatestReplacement(1L, null, false, false),
+                () -> repositories.findLatestReplacements(LONG_LIST, null),
                 () -> repositories.findNotMigratedLocalNamespaceLogos(),
-                () -> repositories.findNotMigratedLocalFileResourceContent()
+                () -> repositories.findNotMigratedLocalFileResourceContent(),
+                () -> repositories.findRateLimitBucketState("bucketId"),
+                () -> repositories.insertRateLimitBucketState("bucketId", new byte[0]),
+                () -> repositories.compareAndSetRateLimitBucketState("bucketId", new byte[0], new byte[0]),
+                () -> repositories.deleteRateLimitBucket("bucketId"),
+                () -> repositories.deleteRateLimitBucketsUpdatedBefore(NOW),
+                () -> repositories.sendNotification("channel", "payload")
         );
 
         // check that we did not miss anything
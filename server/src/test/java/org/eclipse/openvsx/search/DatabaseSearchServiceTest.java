@@ -11,6 +11,7 @@
 package org.eclipse.openvsx.search;
 
 import jakarta.persistence.EntityManager;
+import org.eclipse.openvsx.QueryBudget;
 import org.eclipse.openvsx.cache.LatestExtensionVersionCacheKeyGenerator;
 import org.eclipse.openvsx.entities.*;
 import org.eclipse.openvsx.repositories.RepositoryService;
@@ -27,11 +28,14 @@ import org.springframework.data.util.Streamable;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
 
-@ExtendWith(SpringExtension.class)
+@ExtendWith({SpringExtension.class, QueryBudget.class})
 class DatabaseSearchServiceTest {
 
     @MockBean
@@ -43,12 +47,15 @@ class DatabaseSearchServiceTest {
     @Autowired
     DatabaseSearchService search;
 
+    private final Map<Long, ExtensionVersion> latestVersions = new HashMap<>();
+
     @Test
     void testCategory() {
         var ext1 = mockExtension("yaml", 3.0, 100, 0, "redhat", List.of("Snippets", "Programming Languages"));
         var ext2 = mockExtension("java", 4.0, 100, 0, "redhat", List.of("Snippets", "Programming Languages"));
         var ext3 = mockExtension("openshift", 4.0, 100, 0, "redhat", List.of("Snippets", "Other"));
         Mockito.when(repositories.findAllActiveExtensions()).thenReturn(Streamable.of(List.of(ext1, ext2, ext3)));
+        Mockito.when(repositories.findActiveExtensionIdsByLatestCategory("Programming Languages")).thenReturn(Set.of(ext1.getId(), ext2.getId()));
 
         var searchOptions = new ISearchService.Options(null, "Programming Languages", TargetPlatform.NAME_UNIVERSAL, 50, 0, null, null, false, null);
         var result = search.search(searchOptions);
@@ -56,6 +63,36 @@ class DatabaseSearchServiceTest {
         assertThat(result.getTotalHits()).isEqualTo(2);
     }
 
+    @Test
+    void testCategoryQueryBudget() throws Exception {
+        var queries = measureCategorySearch();
+        assertThat(queries.count("findAllActiveExtensions")).isEqualTo(1);
+        assertThat(queries.count("findActiveExtensionIdsByLatestCategory")).isEqualTo(1);
+    }
+
+    @Test
+    void testCategoryQueryBudgetIsConstant() throws Exception {
+        // the latest versions and the target platforms of all hits are loaded at once
+        measureCategorySearch().assertNoRepeatedCalls().assertAtMost(4);
+    }
+
+    private QueryBudget.Queries measureCategorySearch() throws Exception {
+        var ext1 = mockExtension("yaml", 3.0, 100, 0, "redhat", List.of("Snippets", "Programming Languages"));
+        var ext2 = mockExtension("java", 4.0, 100, 0, "redhat", List.of("Snippets", "Programming Languages"));
+        var ext3 = mockExtension("openshift", 4.0, 100, 0, "redhat", List.of("Snippets", "Other"));
+        Mockito.when(repositories.findAllActiveExtensions()).thenReturn(Streamable.of(List.of(ext1, ext2, ext3)));
+        Mockito.when(repositories.findActiveExtensionIdsByLatestCategory("Programming Languages")).thenReturn(Set.of(ext1.getId(), ext2.getId()));
+
+        var searchOptions = new ISearchService.Options(null, "Programming Languages", TargetPlatform.NAME_UNIVERSAL, 50, 0, null, null, false, null);
+        var totalHits = new AtomicLong();
+        var queries = QueryBudget.measure("DatabaseSearchService.search (category)", repositories, () -> {
+            totalHits.set(search.search(searchOptions).getTotalHits());
+        });
+
+        assertThat(totalHits.get()).isEqualTo(2);
+        return queries;
+    }
+
     @Test
     void testRelevance() {
         var ext1 = mockExtension("yaml", 1.0, 100, 100, "redhat", List.of("Snippets", "Programming Languages"));
@@ -325,7 +362,17 @@ class DatabaseSearchServiceTest {
         token.setUser(user);
         extVer.setPublishedWith(token);
         Mockito.when(repositories.isVerified(namespace, user)).thenReturn(false);
-        Mockito.when(repositories.findLatestVersion(extension, null, false, true)).thenReturn(extVer);
+        latestVersions.put(extension.getId(), extVer);
+        Mockito.when(repositories.findLatestActiveVersions(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> extensionIds = invocation.getArgument(0);
+            return extensionIds.stream().map(latestVersions::get).filter(Objects::nonNull).toList();
+        });
+        Mockito.when(repositories.findExtensionTargetPlatforms(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> extensionIds = invocation.getArgument(0);
+            return extensionIds.stream()
+                    .filter(latestVersions::containsKey)
+                    .collect(Collectors.toMap(id -> id, id -> List.of(latestVersions.get(id).getTargetPlatform())));
+        });
         return extension;
     }
 
@@ -0,0 +1,72 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.security;
+
+import org.eclipse.openvsx.entities.PersonalAccessToken;
+import org.eclipse.openvsx.repositories.RepositoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+class AccessTokenUsageWriterTest {
+
+    private static final LocalDateTime EARLIER = LocalDateTime.parse("2024-01-01T10:00");
+    private static final LocalDateTime LATER = LocalDateTime.parse("2024-01-01T10:05");
+
+    private RepositoryService repositories;
+    private AccessTokenUsageWriter writer;
+
+    @BeforeEach
+    void setup() {
+        repositories = Mockito.mock(RepositoryService.class);
+        writer = new AccessTokenUsageWriter(repositories);
+    }
+
+    @Test
+    void testFlushWritesLatestTimestampPerToken() {
+        writer.recordAccess(token(1L), LATER);
+        writer.recordAccess(token(1L), EARLIER);
+        writer.recordAccess(token(2L), EARLIER);
+
+        writer.flush();
+        verify(repositories).updateAccessTokenTimestamps(Map.of(1L, LATER, 2L, EARLIER));
+
+        // the timestamps are only written once
+        writer.flush();
+        verify(repositories, times(1)).updateAccessTokenTimestamps(anyMap());
+    }
+
+    @Test
+    void testFailedFlushIsRetried() {
+        when(repositories.updateAccessTokenTimestamps(anyMap()))
+                .thenThrow(new IllegalStateException("Database is not available"))
+                .thenReturn(1);
+
+        writer.recordAccess(token(1L), EARLIER);
+        writer.flush();
+        writer.recordAccess(token(1L), LATER);
+        writer.flush();
+
+        verify(repositories).updateAccessTokenTimestamps(Map.of(1L, EARLIER));
+        verify(repositories).updateAccessTokenTimestamps(Map.of(1L, LATER));
+    }
+
+    private PersonalAccessToken token(long id) {
+        var token = new PersonalAccessToken();
+        token.setId(id);
+        return token;
+    }
+}
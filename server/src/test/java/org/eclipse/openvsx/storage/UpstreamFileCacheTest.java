@@ -0,0 +1,154 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.storage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class UpstreamFileCacheTest {
+
+    private static final URI PACKAGE = URI.create("http://upstream.example/api/foo/bar/1.0.0/file/foo.bar-1.0.0.vsix");
+    private static final URI ICON = URI.create("http://upstream.example/api/foo/bar/1.0.0/file/icon.png");
+
+    @TempDir
+    Path directory;
+
+    RestTemplate restTemplate;
+    MockRestServiceServer server;
+    SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setup() {
+        restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).ignoreExpectOrder(true).build();
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testFileIsDownloadedOnce() throws IOException {
+        expect(PACKAGE, "package", ExpectedCount.once());
+        var cache = createCache(1024);
+
+        var first = cache.getFile(PACKAGE);
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(first.getHeaders().getContentLength()).isEqualTo(7);
+        assertThat(first.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_OCTET_STREAM);
+        assertThat(body(first)).isEqualTo("package");
+        assertThat(body(cache.getFile(PACKAGE))).isEqualTo("package");
+
+        server.verify();
+        assertThat(registry.get("ovsx_upstream_file_cache_misses").counter().count()).isEqualTo(1);
+        assertThat(registry.get("ovsx_upstream_file_cache_hits").counter().count()).isEqualTo(1);
+        assertThat(registry.get("ovsx_upstream_file_cache_size_bytes").gauge().value()).isEqualTo(7);
+    }
+
+    @Test
+    void testFileIsOpenedWhenResponseIsWritten() throws IOException {
+        expect(PACKAGE, "package", ExpectedCount.twice());
+        expect(ICON, "icon-png", ExpectedCount.once());
+        var cache = createCache(10);
+
+        // the package is evicted by the icon before its response is written
+        var response = cache.getFile(PACKAGE);
+        assertThat(body(cache.getFile(ICON))).isEqualTo("icon-png");
+        try (var files = Files.list(directory)) {
+            assertThat(files).hasSize(1);
+        }
+
+        assertThat(body(response)).isEqualTo("package");
+        server.verify();
+    }
+
+    @Test
+    void testEvictLeastRecentlyUsedFile() throws IOException {
+        var third = URI.create("http://upstream.example/api/foo/bar/1.0.0/file/README.md");
+        expect(PACKAGE, "package", ExpectedCount.once());
+        expect(ICON, "icon", ExpectedCount.once());
+        expect(third, "readme", ExpectedCount.twice());
+        var cache = createCache(13);
+
+        body(cache.getFile(PACKAGE));
+        body(cache.getFile(third));
+        // using the package again makes the readme the least recently used file
+        body(cache.getFile(PACKAGE));
+        body(cache.getFile(ICON));
+        assertThat(body(cache.getFile(PACKAGE))).isEqualTo("package");
+        assertThat(body(cache.getFile(third))).isEqualTo("readme");
+
+        server.verify();
+    }
+
+    @Test
+    void testIndexIsRebuiltFromDirectory() throws IOException {
+        expect(PACKAGE, "package", ExpectedCount.once());
+        body(createCache(1024).getFile(PACKAGE));
+        Files.writeString(directory.resolve("incomplete.part"), "inc");
+
+        var cache = createCache(1024);
+        assertThat(body(cache.getFile(PACKAGE))).isEqualTo("package");
+        assertThat(directory.resolve("incomplete.part")).doesNotExist();
+        assertThat(registry.get("ovsx_upstream_file_cache_hits").counter().count()).isEqualTo(1);
+        server.verify();
+    }
+
+    @Test
+    void testFailedDownloadIsNotCached() throws IOException {
+        server.expect(ExpectedCount.once(), requestTo(PACKAGE))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+        var cache = createCache(1024);
+
+        assertThatThrownBy(() -> cache.getFile(PACKAGE)).isInstanceOf(HttpClientErrorException.NotFound.class);
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+        server.verify();
+    }
+
+    private UpstreamFileCache createCache(long maxSizeBytes) throws IOException {
+        return new UpstreamFileCache(restTemplate, registry, true, directory.toString(), maxSizeBytes);
+    }
+
+    private void expect(URI uri, String content, ExpectedCount count) {
+        server.expect(count, requestTo(uri))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(content, MediaType.APPLICATION_OCTET_STREAM));
+    }
+
+    private String body(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        var out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,223 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.storage;
+
+import com.google.common.io.ByteStreams;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.openvsx.entities.Extension;
+import org.eclipse.openvsx.entities.ExtensionVersion;
+import org.eclipse.openvsx.entities.FileResource;
+import org.eclipse.openvsx.entities.Namespace;
+import org.eclipse.openvsx.repositories.RepositoryService;
+import org.eclipse.openvsx.util.NotFoundException;
+import org.eclipse.openvsx.util.ZipCentralDirectory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class VsixEntryServiceTest {
+
+    private static final String README = "# Readme\n" + "Lorem ipsum dolor sit amet. ".repeat(100);
+    private static final String SCRIPT = "console.log('stored');\n";
+    private static final String LARGE = "x".repeat(16 * 1024);
+
+    @TempDir
+    Path tempDir;
+
+    RepositoryService repositories;
+    LocalStorageService localStorage;
+    SimpleMeterRegistry registry;
+    ExtensionVersion extVersion;
+    FileResource download;
+    Path vsix;
+
+    @BeforeEach
+    void setup() throws IOException {
+        vsix = tempDir.resolve("extension.vsix");
+        try (var out = new ZipOutputStream(Files.newOutputStream(vsix))) {
+            out.putNextEntry(new ZipEntry("extension/"));
+            out.closeEntry();
+            out.putNextEntry(new ZipEntry("extension/README.md"));
+            out.write(README.getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+            var stored = new ZipEntry("extension/out/main.js");
+            var bytes = SCRIPT.getBytes(StandardCharsets.UTF_8);
+            var crc = new CRC32();
+            crc.update(bytes);
+            stored.setMethod(ZipEntry.STORED);
+            stored.setSize(bytes.length);
+            stored.setCrc(crc.getValue());
+            out.putNextEntry(stored);
+            out.write(bytes);
+            out.closeEntry();
+            out.putNextEntry(new ZipEntry("extension/large.txt"));
+            out.write(LARGE.getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+
+        var namespace = new Namespace();
+        namespace.setName("foo");
+        var extension = new Extension();
+        extension.setName("bar");
+        extension.setNamespace(namespace);
+        extVersion = new ExtensionVersion();
+        extVersion.setId(7);
+        extVersion.setVersion("1.0.0");
+        extVersion.setTargetPlatform("universal");
+        extVersion.setExtension(extension);
+
+        download = new FileResource();
+        download.setId(1);
+        download.setName("foo.bar-1.0.0.vsix");
+        download.setType(FileResource.DOWNLOAD);
+        download.setStorageType(FileResource.STORAGE_LOCAL);
+        download.setExtension(extVersion);
+
+        repositories = mock(RepositoryService.class);
+        localStorage = mock(LocalStorageService.class);
+        when(localStorage.readRange(any(FileResource.class), anyLong(), anyLong())).thenAnswer(invocation -> {
+            long offset = invocation.getArgument(1);
+            long length = invocation.getArgument(2);
+            var channel = FileChannel.open(vsix).position(offset);
+            return ByteStreams.limit(Channels.newInputStream(channel), length);
+        });
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testServeDeflatedEntry() throws IOException {
+        var service = service(1024 * 1024, 8 * 1024);
+        var resource = entry("extension/README.md", 10);
+        assertThat(resource.getEntryMethod()).isEqualTo(ZipEntry.DEFLATED);
+        assertThat(resource.getEntryCompressedSize()).isLessThan(resource.getEntrySize());
+
+        var response = service.getFile(resource);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentLength()).isEqualTo(README.length());
+        assertThat(response.getHeaders().getContentType()).isEqualTo(StorageUtil.getFileType(resource.getName()));
+        assertThat(body(response)).isEqualTo(README);
+
+        // the package is carried by the resource, so it isn't looked up
+        verify(repositories, never()).findFileByType(any(), any());
+        verify(localStorage).readRange(download, resource.getEntryOffset(), resource.getEntryCompressedSize());
+    }
+
+    @Test
+    void testServeStoredEntry() throws IOException {
+        var service = service(1024 * 1024, 8 * 1024);
+        var resource = entry("extension/out/main.js", 11);
+        assertThat(resource.getEntryMethod()).isEqualTo(ZipEntry.STORED);
+
+        var response = service.getFile(resource);
+        assertThat(body(response)).isEqualTo(SCRIPT);
+    }
+
+    @Test
+    void testCacheSmallEntries() throws IOException {
+        var service = service(1024 * 1024, 8 * 1024);
+        var resource = entry("extension/README.md", 10);
+
+        assertThat(body(service.getFile(resource))).isEqualTo(README);
+        assertThat(body(service.getFile(resource))).isEqualTo(README);
+        assertThat(body(service.getFile(resource))).isEqualTo(README);
+
+        verify(localStorage, times(1)).readRange(any(), anyLong(), anyLong());
+        assertThat(registry.get("cache.gets").tag("cache", "vsix.entry").tag("result", "hit").functionCounter().count())
+                .isEqualTo(2);
+        assertThat(registry.get("cache.gets").tag("cache", "vsix.entry").tag("result", "miss").functionCounter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void testStreamLargeEntriesWithoutCaching() throws IOException {
+        var service = service(1024 * 1024, 8 * 1024);
+        var resource = entry("extension/large.txt", 12);
+
+        assertThat(body(service.getFile(resource))).isEqualTo(LARGE);
+        assertThat(body(service.getFile(resource))).isEqualTo(LARGE);
+
+        verify(localStorage, times(2)).readRange(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    void testLookUpPackageOfDetachedResource() throws IOException {
+        var service = service(1024 * 1024, 8 * 1024);
+        var resource = entry("extension/README.md", 10);
+        resource.setEntryPackage(null);
+        when(repositories.findFileByType(extVersion, FileResource.DOWNLOAD)).thenReturn(download);
+
+        assertThat(body(service.getFile(resource))).isEqualTo(README);
+        verify(repositories).findFileByType(extVersion, FileResource.DOWNLOAD);
+    }
+
+    @Test
+    void testMissingPackage() throws IOException {
+        var service = service(1024 * 1024, 8 * 1024);
+        var resource = entry("extension/README.md", 10);
+        resource.setEntryPackage(null);
+
+        assertThatThrownBy(() -> service.getFile(resource)).isInstanceOf(NotFoundException.class);
+    }
+
+    private VsixEntryService service(long maxSizeBytes, long maxCachedEntrySize) {
+        var googleStorage = mock(GoogleCloudStorageService.class);
+        var azureStorage = mock(AzureBlobStorageService.class);
+        return new VsixEntryService(repositories, googleStorage, azureStorage, localStorage, registry, maxSizeBytes, maxCachedEntrySize);
+    }
+
+    /**
+     * Create the resource of an entry like {@link org.eclipse.openvsx.ExtensionProcessor} does on publish.
+     */
+    private FileResource entry(String name, long id) throws IOException {
+        var entry = ZipCentralDirectory.read(vsix).stream()
+                .filter(e -> e.name().equals(name))
+                .findFirst()
+                .orElseThrow();
+
+        var resource = new FileResource();
+        resource.setId(id);
+        resource.setName(entry.name());
+        resource.setType(FileResource.RESOURCE);
+        resource.setStorageType(FileResource.STORAGE_VSIX);
+        resource.setEntryOffset(entry.offset());
+        resource.setEntryCompressedSize(entry.compressedSize());
+        resource.setEntrySize(entry.size());
+        resource.setEntryMethod(entry.method());
+        resource.setExtension(extVersion);
+        resource.setEntryPackage(download);
+        return resource;
+    }
+
+    private String body(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        var out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,58 @@
+/** ******************************************************************************
+ * Copyright (c) 2024 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ZipCentralDirectoryTest {
+
+    @Test
+    void testEntriesMatchZipFile() throws Exception {
+        var packageUrl = getClass().getResource("todo-tree.zip");
+        var path = Path.of(packageUrl.toURI());
+        var entries = ZipCentralDirectory.read(path);
+        try (
+                var archive = new ZipFile(path.toFile());
+                var channel = FileChannel.open(path)
+        ) {
+            assertThat(entries).hasSize(archive.size());
+            for (var entry : entries) {
+                var zipEntry = archive.getEntry(entry.name());
+                assertThat(zipEntry).isNotNull();
+                assertThat(entry.size()).isEqualTo(zipEntry.getSize());
+                assertThat(entry.compressedSize()).isEqualTo(zipEntry.getCompressedSize());
+                assertThat(entry.method()).isEqualTo(zipEntry.getMethod());
+                if (entry.isDirectory()) {
+                    continue;
+                }
+
+                var data = new byte[(int) entry.compressedSize()];
+                channel.read(ByteBuffer.wrap(data), entry.offset());
+                var in = entry.method() == ZipEntry.DEFLATED
+                        ? new InflaterInputStream(new ByteArrayInputStream(data), new Inflater(true))
+                        : new ByteArrayInputStream(data);
+                try (in; var expected = archive.getInputStream(zipEntry)) {
+                    assertThat(in.readAllBytes()).isEqualTo(expected.readAllBytes());
+                }
+            }
+        }
+    }
+}